@@ -0,0 +1,93 @@
+#!/bin/bash
+# Smoke test do executável nativo (gerado com: mvn -Pnative,native-smoke package)
+#
+# Sobe target/auth-service-smoke (o mesmo build de produção, mais o perfil
+# Spring native-smoke com GET /api/auth/smoke) contra um banco substituto, confere o tempo de
+# partida, o RSS, a assinatura/validação de JWT e a cifra do jasypt
+# (GET /api/auth/smoke) e a rota protegida, e encerra o processo.
+#
+#   DB=h2    (padrão) H2 em memória, embutido no executável pelo perfil native
+#   DB=mysql MySQL 8 descartável em container, na porta 3307
+set -e
+cd "$(dirname "$0")"
+
+BINARIO=target/auth-service-smoke
+PORTA=${PORTA:-18082}
+# HS512 exige chave de 512 bits
+SEGREDO_JWT=smoke-smoke-smoke-smoke-smoke-smoke-smoke-smoke-smoke-smoke-1234
+DB=${DB:-h2}
+
+if [ ! -x "$BINARIO" ]; then
+  echo "❌ $BINARIO não encontrado; gere com: mvn -Pnative,native-smoke package"
+  exit 1
+fi
+
+case "$DB" in
+  h2)
+    # USER é palavra reservada no H2 e a entidade User vira a tabela "user"
+    banco=(--spring.datasource.url="jdbc:h2:mem:authdb;MODE=MySQL;NON_KEYWORDS=USER"
+           --spring.datasource.driver-class-name=org.h2.Driver
+           --spring.datasource.username=sa --spring.datasource.password=
+           --spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect)
+    ;;
+  mysql)
+    docker run -d --rm --name auth-smoke-mysql -p 3307:3306 \
+      -e MYSQL_ROOT_PASSWORD=root -e MYSQL_DATABASE=authdb mysql:8.0 > /dev/null
+    trap 'docker stop auth-smoke-mysql > /dev/null' EXIT
+    until docker exec auth-smoke-mysql mysqladmin ping -h localhost -proot --silent 2> /dev/null; do
+      sleep 1
+    done
+    banco=(--spring.datasource.url=jdbc:mysql://localhost:3307/authdb)
+    ;;
+  *)
+    echo "❌ DB deve ser h2 ou mysql"
+    exit 1
+    ;;
+esac
+
+inicio=$(date +%s%N)
+JASYPT_ENCRYPTOR_PASSWORD=smoke "$BINARIO" --server.port="$PORTA" --spring.jpa.show-sql=false "${banco[@]}" \
+  --spring.profiles.active=prod,native-smoke --jwt.secret="$SEGREDO_JWT" \
+  > target/native-smoke.log 2>&1 &
+pid=$!
+trap 'kill $pid 2> /dev/null; [ "$DB" = mysql ] && docker stop auth-smoke-mysql > /dev/null; true' EXIT
+
+for _ in $(seq 1 200); do
+  if [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORTA/api/auth/test")" != "000" ]; then
+    break
+  fi
+  if ! kill -0 $pid 2> /dev/null; then
+    echo "❌ O executável terminou durante a partida:"
+    tail -30 target/native-smoke.log
+    exit 1
+  fi
+  sleep 0.05
+done
+partida_ms=$(( ($(date +%s%N) - inicio) / 1000000 ))
+rss_kb=$(awk '/VmRSS/ {print $2}' /proc/$pid/status)
+
+falhas=0
+conferir() {
+  local descricao=$1 esperado=$2 obtido=$3
+  if [ "$esperado" = "$obtido" ]; then
+    echo "✅ $descricao ($obtido)"
+  else
+    echo "❌ $descricao: esperado $esperado, obtido $obtido"
+    falhas=$((falhas + 1))
+  fi
+}
+
+smoke=$(curl -s "http://localhost:$PORTA/api/auth/smoke?texto=nativo")
+conferir "JWT assinado e validado (jjwt + Jackson)" '"nativo"' \
+  "$(echo "$smoke" | grep -o '"jwt":"[^"]*"' | cut -d: -f2)"
+conferir "claim de perfis desserializada" '["ROLE_ADMIN"]' \
+  "$(echo "$smoke" | grep -o '"roles":\[[^]]*\]' | cut -d: -f2)"
+conferir "texto cifrado e decifrado (jasypt)" '"nativo"' \
+  "$(echo "$smoke" | grep -o '"jasypt":"[^"]*"' | cut -d: -f2)"
+conferir "rota protegida sem autenticação" 403 \
+  "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORTA/api/auth/test")"
+conferir "tabela do JPA criada" 0 \
+  "$(grep -c 'Error executing DDL' target/native-smoke.log || true)"
+
+echo "⏱  primeira resposta em ${partida_ms} ms, RSS $((rss_kb / 1024)) MB (DB=$DB)"
+exit $falhas
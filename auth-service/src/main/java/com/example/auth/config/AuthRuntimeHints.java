@@ -0,0 +1,46 @@
+package com.example.auth.config;
+
+import org.jasypt.iv.RandomIvGenerator;
+import org.jasypt.salt.RandomSaltGenerator;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+import java.util.List;
+
+/**
+ * Dicas para o executável nativo (perfil Maven native) sobre o que as
+ * bibliotecas carregam por nome, fora do alcance da análise estática:
+ * 
+ * - jjwt: o jjwt-api instancia as implementações do jjwt-impl por nome e
+ *   encontra o serializador Jackson via ServiceLoader
+ * - jasypt: geradores de salt e IV configurados por nome de classe em
+ *   CryptoConfig
+ * 
+ * BCrypt não usa reflexão, e as entidades JPA já são registradas pelo
+ * processamento AOT do Spring.
+ */
+public class AuthRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final List<String> JJWT = List.of(
+            "io.jsonwebtoken.impl.DefaultJwtBuilder",
+            "io.jsonwebtoken.impl.DefaultJwtParser",
+            "io.jsonwebtoken.impl.DefaultJwtParserBuilder",
+            "io.jsonwebtoken.impl.DefaultClaims",
+            "io.jsonwebtoken.impl.DefaultHeader",
+            "io.jsonwebtoken.impl.DefaultJwsHeader",
+            "io.jsonwebtoken.jackson.io.JacksonSerializer",
+            "io.jsonwebtoken.jackson.io.JacksonDeserializer");
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (String tipo : JJWT) {
+            hints.reflection().registerType(TypeReference.of(tipo), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+        hints.resources().registerPattern("META-INF/services/io.jsonwebtoken.io.*");
+
+        hints.reflection().registerType(RandomSaltGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        hints.reflection().registerType(RandomIvGenerator.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.auth.config;
+
+import com.example.auth.controller.SmokeController;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * Libera GET /api/auth/smoke sem autenticação, só no perfil native-smoke
+ * (executável do native-smoke-test.sh). Fora dele a rota não existe e cai
+ * na regra geral de SecurityConfig.
+ */
+@Configuration
+@Profile(SmokeController.PERFIL)
+public class SmokeSecurityConfig {
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityFilterChain smokeFilterChain(HttpSecurity http) throws Exception {
+        http
+            .securityMatcher("/api/auth/smoke")
+            .authorizeHttpRequests(auth -> auth.anyRequest().permitAll());
+
+        return http.build();
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.auth.controller;
+
+import com.example.auth.model.Role;
+import com.example.auth.model.User;
+import com.example.auth.service.JwtService;
+import io.jsonwebtoken.Claims;
+import org.jasypt.encryption.StringEncryptor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Verificação de Ponta a Ponta do Executável Nativo
+ * ==============================================
+ * 
+ * Assina e valida um JWT (jjwt + Jackson) e cifra e decifra um texto com o
+ * jasypt, os dois caminhos que dependem de AuthRuntimeHints e dos provedores
+ * JCA no executável nativo.
+ * 
+ * - Só existe no perfil native-smoke. O processamento AOT fixa os beans no
+ *   build, então o perfil é escolhido ali: mvn -Pnative,native-smoke
+ *   package gera target/auth-service-smoke com este controller; o
+ *   executável de produção (mvn -Pnative package) não o contém
+ * - Liberado sem autenticação por SmokeSecurityConfig, do mesmo perfil
+ */
+@RestController
+@RequestMapping("/api/auth")
+@Profile(SmokeController.PERFIL)
+public class SmokeController {
+
+    public static final String PERFIL = "native-smoke";
+
+    private final JwtService jwtService;
+    private final StringEncryptor encryptor;
+
+    public SmokeController(JwtService jwtService,
+                           @Qualifier("jasyptStringEncryptor") StringEncryptor encryptor) {
+        this.jwtService = jwtService;
+        this.encryptor = encryptor;
+    }
+
+    @GetMapping("/smoke")
+    public ResponseEntity<?> smoke(@RequestParam String texto) {
+        User user = new User();
+        user.setUsername(texto);
+        user.setRoles(Set.of(Role.ROLE_ADMIN));
+        Claims claims = jwtService.parseToken(jwtService.generateToken(user));
+
+        String decifrado = encryptor.decrypt(encryptor.encrypt(texto));
+
+        return ResponseEntity.ok(Map.of(
+            "jwt", claims.getSubject(),
+            "roles", claims.get("roles"),
+            "jasypt", decifrado));
+    }
+}
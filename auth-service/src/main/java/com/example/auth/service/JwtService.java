@@ -1,6 +1,7 @@
 package com.example.auth.service;
 
 import com.example.auth.model.User;
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -34,4 +35,12 @@ public class JwtService {
             .signWith(getSigningKey(), SignatureAlgorithm.HS512)
             .compact();
     }
+
+    public Claims parseToken(String token) {
+        return Jwts.parserBuilder()
+            .setSigningKey(getSigningKey())
+            .build()
+            .parseClaimsJws(token)
+            .getBody();
+    }
 }
\ No newline at end of file
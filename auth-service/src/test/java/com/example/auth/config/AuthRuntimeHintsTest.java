@@ -0,0 +1,62 @@
+package com.example.auth.config;
+
+import org.jasypt.iv.RandomIvGenerator;
+import org.jasypt.salt.RandomSaltGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes na JVM para AuthRuntimeHints: o executável nativo só acusa uma
+ * dica faltando em tempo de execução
+ */
+class AuthRuntimeHintsTest {
+
+    private RuntimeHints hints;
+
+    @BeforeEach
+    void setUp() {
+        hints = new RuntimeHints();
+        new AuthRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void registerHints_Jjwt_DeveRegistrarConstrutoresPublicos() {
+        // Act & Assert
+        for (String tipo : AuthRuntimeHints.JJWT) {
+            assertTrue(RuntimeHintsPredicates.reflection().onType(TypeReference.of(tipo))
+                    .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints), tipo);
+        }
+    }
+
+    @Test
+    void registerHints_Jjwt_TiposDevemExistirNoClasspath() {
+        // Act & Assert
+        for (String tipo : AuthRuntimeHints.JJWT) {
+            assertDoesNotThrow(() -> Class.forName(tipo, false, getClass().getClassLoader()), tipo);
+        }
+    }
+
+    @Test
+    void registerHints_ServiceLoaderDoJjwt_DeveIncluirArquivosDeServico() {
+        // Act & Assert
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Serializer").test(hints));
+        assertTrue(RuntimeHintsPredicates.resource()
+                .forResource("META-INF/services/io.jsonwebtoken.io.Deserializer").test(hints));
+    }
+
+    @Test
+    void registerHints_GeradoresDoJasypt_DevemSerInstanciaveis() {
+        // Act & Assert
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RandomSaltGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(RandomIvGenerator.class)
+                .withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS).test(hints));
+    }
+}
@@ -2,6 +2,7 @@ package com.example.commerce;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -40,6 +41,7 @@ import io.swagger.v3.oas.annotations.info.Info;
  */
 @SpringBootApplication
 @EnableScheduling
+@ConfigurationPropertiesScan
 @OpenAPIDefinition(
     info = @Info(
         title = "API de Comércio",
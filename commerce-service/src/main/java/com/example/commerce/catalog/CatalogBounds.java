@@ -0,0 +1,32 @@
+package com.example.commerce.catalog;
+
+import static com.example.commerce.catalog.CatalogColumns.ANO_NULO;
+import static com.example.commerce.catalog.CatalogColumns.PRECO_NULO;
+
+/**
+ * CatalogFilter convertido para limites primitivos. Sem filtro, os
+ * limites incluem as sentinelas de nulo; com filtro, ficam de fora.
+ */
+record CatalogBounds(boolean qualquerCor, byte cor, int anoMin, int anoMax, long precoMin, long precoMax) {
+
+    static CatalogBounds of(CatalogFilter filtro) {
+        boolean filtraAno = filtro.anoMin() != null || filtro.anoMax() != null;
+        boolean filtraPreco = filtro.precoMin() != null || filtro.precoMax() != null;
+        return new CatalogBounds(
+                filtro.cor() == null,
+                CatalogColumns.cor(filtro.cor()),
+                filtro.anoMin() != null ? filtro.anoMin() : (filtraAno ? ANO_NULO + 1 : ANO_NULO),
+                filtro.anoMax() != null ? filtro.anoMax() : Integer.MAX_VALUE,
+                filtro.precoMin() != null ? CatalogColumns.centavos(filtro.precoMin()) : (filtraPreco ? PRECO_NULO + 1 : PRECO_NULO),
+                filtro.precoMax() != null ? CatalogColumns.centavos(filtro.precoMax()) : Long.MAX_VALUE);
+    }
+
+    /**
+     * Predicados combinados por & para não gerar desvio por linha
+     */
+    boolean aceita(byte cor, int ano, long preco) {
+        return (qualquerCor | cor == this.cor)
+                & ano >= anoMin & ano <= anoMax
+                & preco >= precoMin & preco <= precoMax;
+    }
+}
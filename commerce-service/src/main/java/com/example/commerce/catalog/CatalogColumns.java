@@ -0,0 +1,57 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Cópia compacta (sem linhas mortas) das colunas do catálogo, usada para
+ * gravar o arquivo de snapshot. modelos[i] é índice em dicionario.
+ * 
+ * Também concentra as sentinelas de nulo e a conversão para VehicleDTO,
+ * compartilhadas pelas colunas em heap e pelo arquivo mapeado.
+ */
+record CatalogColumns(int tamanho,
+                      long[] ids,
+                      long[] precos,
+                      int[] anos,
+                      byte[] cores,
+                      int[] modelos,
+                      String[] dicionario) {
+
+    static final int ANO_NULO = Integer.MIN_VALUE;
+    static final long PRECO_NULO = Long.MIN_VALUE;
+    static final byte COR_NULA = -1;
+
+    private static final VehicleColor[] CORES = VehicleColor.values();
+
+    static VehicleDTO dto(long id, String modelo, int ano, byte cor, long preco) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setId(id);
+        dto.setModelo(modelo);
+        dto.setAno(ano == ANO_NULO ? null : ano);
+        dto.setColor(cor == COR_NULA ? null : CORES[cor]);
+        dto.setPreco(preco == PRECO_NULO ? null : BigDecimal.valueOf(preco, 2));
+        dto.setDisponivel(true);
+        dto.setVendido(false);
+        return dto;
+    }
+
+    static int ano(Integer ano) {
+        return ano == null ? ANO_NULO : ano;
+    }
+
+    static long preco(BigDecimal preco) {
+        return preco == null ? PRECO_NULO : centavos(preco);
+    }
+
+    static byte cor(VehicleColor cor) {
+        return cor == null ? COR_NULA : (byte) cor.ordinal();
+    }
+
+    static long centavos(BigDecimal valor) {
+        return valor.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
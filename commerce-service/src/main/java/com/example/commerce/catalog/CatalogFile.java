@@ -0,0 +1,154 @@
+package com.example.commerce.catalog;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Formato Binário do Snapshot do Catálogo
+ * ====================================
+ * 
+ * Arquivo em colunas, lido por mapeamento de memória (MappedCatalog):
+ * 
+ *   cabeçalho (64 bytes): mágico, versão, criadoEm, linhas, modelos distintos, CRC32 do corpo
+ *   long[linhas]  ids
+ *   long[linhas]  preço em centavos
+ *   int[linhas]   ano
+ *   int[linhas]   índice do modelo no dicionário
+ *   byte[linhas]  ordinal da cor (alinhado a 4 bytes)
+ *   int[modelos + 1] deslocamento de cada modelo nos bytes abaixo
+ *   byte[]        modelos em UTF-8
+ * 
+ * Nulos usam as mesmas sentinelas das colunas em heap. A gravação vai para
+ * um arquivo temporário e só substitui o anterior com um move atômico, então
+ * um processo que cai no meio da escrita não deixa um snapshot truncado.
+ */
+final class CatalogFile {
+
+    static final int MAGICO = 0x43415431; // "CAT1"
+    static final int VERSAO = 1;
+    static final int CABECALHO = 64;
+
+    private CatalogFile() {
+    }
+
+    static void gravar(Path destino, CatalogColumns colunas) throws IOException {
+        byte[][] nomes = new byte[colunas.dicionario().length][];
+        int bytesNomes = 0;
+        for (int i = 0; i < nomes.length; i++) {
+            nomes[i] = colunas.dicionario()[i].getBytes(StandardCharsets.UTF_8);
+            bytesNomes += nomes[i].length;
+        }
+        Layout layout = new Layout(colunas.tamanho(), nomes.length, bytesNomes);
+        int n = colunas.tamanho();
+
+        Path temporario = destino.resolveSibling(destino.getFileName() + ".tmp");
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_WRITE, 0, layout.total);
+            buffer.slice(layout.ids, n * 8).asLongBuffer().put(colunas.ids(), 0, n);
+            buffer.slice(layout.precos, n * 8).asLongBuffer().put(colunas.precos(), 0, n);
+            buffer.slice(layout.anos, n * 4).asIntBuffer().put(colunas.anos(), 0, n);
+            buffer.slice(layout.modelos, n * 4).asIntBuffer().put(colunas.modelos(), 0, n);
+            buffer.put(layout.cores, colunas.cores(), 0, n);
+
+            int deslocamento = 0;
+            int posicao = layout.nomes;
+            for (int i = 0; i < nomes.length; i++) {
+                buffer.putInt(layout.deslocamentos + i * 4, deslocamento);
+                buffer.put(posicao, nomes[i]);
+                deslocamento += nomes[i].length;
+                posicao += nomes[i].length;
+            }
+            buffer.putInt(layout.deslocamentos + nomes.length * 4, deslocamento);
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(CABECALHO, layout.total - CABECALHO));
+            buffer.putInt(0, MAGICO)
+                  .putInt(4, VERSAO)
+                  .putLong(8, System.currentTimeMillis())
+                  .putInt(16, n)
+                  .putInt(20, nomes.length)
+                  .putInt(24, bytesNomes)
+                  .putLong(32, crc.getValue());
+            buffer.force();
+        }
+        Files.move(temporario, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Mapeia o arquivo (somente leitura) e confere cabeçalho e CRC
+     */
+    static MappedCatalog abrir(Path origem) throws IOException {
+        try (FileChannel canal = FileChannel.open(origem, StandardOpenOption.READ)) {
+            long tamanhoArquivo = canal.size();
+            if (tamanhoArquivo < CABECALHO || tamanhoArquivo > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot do catálogo com tamanho inválido: " + tamanhoArquivo);
+            }
+            // O mapeamento continua válido depois que o canal é fechado
+            MappedByteBuffer buffer = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamanhoArquivo);
+            if (buffer.getInt(0) != MAGICO || buffer.getInt(4) != VERSAO) {
+                throw new IOException("Snapshot do catálogo em formato desconhecido");
+            }
+            Layout layout = new Layout(buffer.getInt(16), buffer.getInt(20), buffer.getInt(24));
+            if (layout.total != tamanhoArquivo) {
+                throw new IOException("Snapshot do catálogo truncado");
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(CABECALHO, layout.total - CABECALHO));
+            if (crc.getValue() != buffer.getLong(32)) {
+                throw new IOException("Snapshot do catálogo corrompido (CRC)");
+            }
+            return new MappedCatalog(buffer, layout, buffer.getLong(8));
+        }
+    }
+
+    /**
+     * Posição de cada região no arquivo
+     */
+    static final class Layout {
+        final int linhas;
+        final int distintos;
+        final int ids;
+        final int precos;
+        final int anos;
+        final int modelos;
+        final int cores;
+        final int deslocamentos;
+        final int nomes;
+        final int total;
+
+        Layout(int linhas, int distintos, int bytesNomes) {
+            this.linhas = linhas;
+            this.distintos = distintos;
+            this.ids = CABECALHO;
+            this.precos = Math.addExact(ids, Math.multiplyExact(linhas, 8));
+            this.anos = Math.addExact(precos, Math.multiplyExact(linhas, 8));
+            this.modelos = Math.addExact(anos, Math.multiplyExact(linhas, 4));
+            this.cores = Math.addExact(modelos, Math.multiplyExact(linhas, 4));
+            this.deslocamentos = alinhar(Math.addExact(cores, linhas));
+            this.nomes = Math.addExact(deslocamentos, Math.multiplyExact(distintos + 1, 4));
+            this.total = Math.addExact(nomes, bytesNomes);
+        }
+
+        private static int alinhar(int posicao) {
+            return (posicao + 3) & ~3;
+        }
+    }
+
+    static String nome(ByteBuffer buffer, Layout layout, int indice) {
+        int inicio = buffer.getInt(layout.deslocamentos + indice * 4);
+        int fim = buffer.getInt(layout.deslocamentos + (indice + 1) * 4);
+        byte[] bytes = new byte[fim - inicio];
+        buffer.get(layout.nomes + inicio, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros da busca no catálogo; campos nulos não filtram.
+ * Faixas são inclusivas nas duas pontas.
+ */
+public record CatalogFilter(VehicleColor cor,
+                            Integer anoMin,
+                            Integer anoMax,
+                            BigDecimal precoMin,
+                            BigDecimal precoMax) {
+}
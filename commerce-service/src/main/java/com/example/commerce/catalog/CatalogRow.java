@@ -0,0 +1,11 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+
+/**
+ * Colunas de um veículo do catálogo, lidas para o ColumnarCatalog
+ */
+public record CatalogRow(Long id, String modelo, Integer ano, VehicleColor cor, BigDecimal preco) {
+}
@@ -0,0 +1,22 @@
+package com.example.commerce.catalog;
+
+/**
+ * Catálogo de veículos disponíveis já serializado em JSON, Smile e CBOR.
+ * 
+ * @param geracao geração do estoque a partir da qual foi montado
+ * @param json corpo JSON
+ * @param gzip mesmo corpo comprimido com gzip
+ * @param smile mesma lista em Smile
+ * @param cbor mesma lista em CBOR
+ * @param etag ETag forte (hash do JSON), já entre aspas, do JSON sem compressão
+ */
+public record CatalogSnapshot(long geracao, byte[] json, byte[] gzip, byte[] smile, byte[] cbor, String etag) {
+
+    /**
+     * ETag forte de outra representação do mesmo conteúdo ("gzip", "smile",
+     * "cbor"): bytes diferentes não podem compartilhar um ETag forte
+     */
+    public String etag(String representacao) {
+        return etag.substring(0, etag.length() - 1) + '-' + representacao + '"';
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.service.VehicleService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshot Serializado do Catálogo
+ * =============================
+ * 
+ * /api/vehicles/available devolve sempre a mesma lista enquanto o estoque
+ * não muda. Em vez de serializar a lista a cada requisição, o JSON (e sua
+ * versão gzip) é montado uma vez e servido como bytes prontos. Smile e CBOR
+ * também, porque o ui-service pede Smile por padrão.
+ * 
+ * INVALIDAÇÃO:
+ * ----------
+ * - Toda alteração de veículo confirmada (AFTER_COMMIT) avança a geração
+ * - O snapshot guarda a geração em que foi montado; se ela ficou para
+ *   trás, a próxima requisição monta um novo
+ * - A geração é lida antes da consulta: um commit durante a montagem
+ *   deixa o snapshot já desatualizado, e ele é refeito na requisição seguinte
+ * - Apenas uma thread monta o snapshot; as demais aguardam e reaproveitam
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+
+    private final VehicleService vehicleService;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper smileMapper;
+    private final ObjectMapper cborMapper;
+    private final AtomicLong geracao = new AtomicLong();
+    private final Counter reconstrucoes;
+    private volatile CatalogSnapshot atual;
+
+    public CatalogSnapshotService(VehicleService vehicleService, ObjectMapper objectMapper, MeterRegistry registry) {
+        this.vehicleService = vehicleService;
+        this.objectMapper = objectMapper;
+        // Mesma configuração do JSON, como em BinaryFormatsConfig
+        this.smileMapper = objectMapper.copyWith(new SmileFactory());
+        this.cborMapper = objectMapper.copyWith(new CBORFactory());
+        this.reconstrucoes = Counter.builder("catalog.snapshot.rebuilds")
+                .description("Times the serialized catalog was rebuilt")
+                .register(registry);
+    }
+
+    /**
+     * Snapshot do estoque atual, montado apenas se o estoque mudou
+     */
+    public CatalogSnapshot obter() {
+        CatalogSnapshot snapshot = atual;
+        if (snapshot != null && snapshot.geracao() == geracao.get()) {
+            return snapshot;
+        }
+        synchronized (this) {
+            snapshot = atual;
+            long geracaoAtual = geracao.get();
+            if (snapshot != null && snapshot.geracao() == geracaoAtual) {
+                return snapshot;
+            }
+            snapshot = montar(geracaoAtual, vehicleService.listarDisponiveis());
+            atual = snapshot;
+            reconstrucoes.increment();
+            return snapshot;
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarEstoque(VehicleInventoryChangedEvent evento) {
+        geracao.incrementAndGet();
+    }
+
+    private CatalogSnapshot montar(long geracaoLida, List<VehicleDTO> vehicles) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(vehicles);
+            byte[] gzip = comprimir(json);
+            byte[] smile = smileMapper.writeValueAsBytes(vehicles);
+            byte[] cbor = cborMapper.writeValueAsBytes(vehicles);
+            log.debug("Catalog snapshot rebuilt: {} vehicles, {} bytes ({} gzip, {} smile, {} cbor)",
+                vehicles.size(), json.length, gzip.length, smile.length, cbor.length);
+            return new CatalogSnapshot(geracaoLida, json, gzip, smile, cbor, etag(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o catálogo", e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] json) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, json.length / 8));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json);
+            return '"' + HexFormat.of().formatHex(hash, 0, 16) + '"';
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.commerce.catalog;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.IntToLongFunction;
+import java.util.stream.IntStream;
+
+import static com.example.commerce.catalog.CatalogColumns.ANO_NULO;
+import static com.example.commerce.catalog.CatalogColumns.PRECO_NULO;
+
+/**
+ * Ordenação das linhas filtradas com Arrays.sort(long[])
+ */
+final class CatalogSort {
+
+    private CatalogSort() {
+    }
+
+    /**
+     * @param totalLinhas maior índice de linha possível + 1 (define os bits da linha na chave)
+     */
+    static void ordenar(int[] linhas, int n, ColumnarCatalog.Ordem ordem,
+                        IntToLongFunction preco, IntToLongFunction ano, int totalLinhas) {
+        switch (ordem == null ? ColumnarCatalog.Ordem.PADRAO : ordem) {
+            case PRECO_ASC -> ordenarPor(linhas, n, preco, PRECO_NULO, false, totalLinhas);
+            case PRECO_DESC -> ordenarPor(linhas, n, preco, PRECO_NULO, true, totalLinhas);
+            case ANO_ASC -> ordenarPor(linhas, n, ano, ANO_NULO, false, totalLinhas);
+            case ANO_DESC -> ordenarPor(linhas, n, ano, ANO_NULO, true, totalLinhas);
+            case PADRAO -> { }
+        }
+    }
+
+    /**
+     * Ordena as n primeiras linhas pela coluna, nulos por último. Chave
+     * (deslocada para começar em zero) e linha são empacotadas em um long:
+     * com preço em DECIMAL(10,2) e milhões de linhas sobram bits, mas se
+     * a faixa não couber cai em uma ordenação com comparador.
+     */
+    private static void ordenarPor(int[] linhas, int n, IntToLongFunction coluna, long nulo,
+                                   boolean decrescente, int totalLinhas) {
+        if (n < 2) {
+            return;
+        }
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < n; i++) {
+            long valor = coluna.applyAsLong(linhas[i]);
+            if (valor != nulo) {
+                min = Math.min(min, valor);
+                max = Math.max(max, valor);
+            }
+        }
+        if (min > max) {
+            return;
+        }
+
+        int bitsLinha = 32 - Integer.numberOfLeadingZeros(totalLinhas);
+        long faixa = max - min + 1;
+        if (faixa <= 0 || faixa >= (1L << (63 - bitsLinha))) {
+            ordenarComComparador(linhas, n, coluna, nulo, decrescente);
+            return;
+        }
+
+        long mascara = (1L << bitsLinha) - 1;
+        long[] chaves = new long[n];
+        for (int i = 0; i < n; i++) {
+            long valor = coluna.applyAsLong(linhas[i]);
+            long chave = valor == nulo ? faixa : (decrescente ? max - valor : valor - min);
+            chaves[i] = (chave << bitsLinha) | linhas[i];
+        }
+        Arrays.sort(chaves);
+        for (int i = 0; i < n; i++) {
+            linhas[i] = (int) (chaves[i] & mascara);
+        }
+    }
+
+    private static void ordenarComComparador(int[] linhas, int n, IntToLongFunction coluna,
+                                             long nulo, boolean decrescente) {
+        Comparator<Integer> porValor = Comparator.comparingLong(coluna::applyAsLong);
+        Comparator<Integer> ordem = Comparator.<Integer, Boolean>comparing(l -> coluna.applyAsLong(l) == nulo)
+                .thenComparing(decrescente ? porValor.reversed() : porValor);
+        Integer[] ordenadas = IntStream.of(linhas).limit(n).boxed().sorted(ordem).toArray(Integer[]::new);
+        for (int i = 0; i < n; i++) {
+            linhas[i] = ordenadas[i];
+        }
+    }
+}
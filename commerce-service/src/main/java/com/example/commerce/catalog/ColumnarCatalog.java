@@ -0,0 +1,651 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.config.CatalogFileProperties;
+import com.example.commerce.config.FacetProperties;
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.dto.VehicleSearchPageDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Catálogo em Colunas
+ * ================
+ * 
+ * Cópia do estoque disponível em arrays primitivos, para filtrar por cor,
+ * faixa de ano e faixa de preço sem carregar entidades Vehicle (Integer,
+ * BigDecimal, proxies).
+ * 
+ * LAYOUT:
+ * -----
+ * - long[] ids, int[] anos, long[] precos (centavos), byte[] cores
+ *   (ordinal) e int[] modelos (índice no dicionário de modelos distintos
+ *   da carga); a linha i de cada array é o mesmo veículo
+ * - Nenhum objeto por linha além da entrada de linhaPorId: o texto do
+ *   modelo existe uma vez por modelo, não uma vez por veículo
+ * - Nulos viram sentinelas (Integer.MIN_VALUE, Long.MIN_VALUE, -1): sem
+ *   filtro eles passam, com filtro ficam de fora
+ * 
+ * ÍNDICES (CompressedBitmap de linhas):
+ * ---------------------------------
+ * - Um de linhas vivas (disponíveis e não vendidas), um por cor, um por
+ *   ano e um por faixa de preço (os limites de commerce.catalog.facets);
+ *   nulos não entram em nenhum
+ * - Só linhas vivas são indexadas: cada transição remove a linha antiga
+ *   e indexa a nova, um bit por bitmap
+ * - O uso de memória sai no gauge catalog.bitmaps.memory
+ * 
+ * BUSCA:
+ * ----
+ * - AND das linhas vivas com a cor, o OR dos anos da faixa e o OR das
+ *   faixas de preço tocadas pelo filtro
+ * - As linhas resultantes saem em ordem crescente e só as das faixas de
+ *   preço das pontas podem estar fora; a checagem exata é feita em uma
+ *   passada com os predicados combinados por & (sem desvio por linha)
+ * - Ordenação com Arrays.sort(long[]): chave e linha empacotadas no
+ *   mesmo long
+ * - VehicleDTO é montado apenas para a página devolvida
+ * 
+ * ATUALIZAÇÃO:
+ * ----------
+ * - Carga completa quando a aplicação sobe (StartupIndexLoader)
+ * - Cada VehicleInventoryChangedEvent confirmado marca a linha antiga do
+ *   veículo como morta e, se ele continua no catálogo, anexa uma nova
+ * - Quando metade das linhas está morta, as colunas são compactadas
+ * - Buscas usam o lock de leitura; alterações, o de escrita
+ * - A carga monta colunas novas fora do lock, enquanto as atuais continuam
+ *   atendendo buscas e eventos. Eventos desse intervalo também são
+ *   guardados e reaplicados nas colunas novas antes da troca, feita sob o
+ *   lock de escrita. Reaplicar é idempotente (a linha do veículo é
+ *   substituída pelo estado do evento), então um evento já visto pela
+ *   leitura do banco não duplica nada
+ * - Sem arquivo, buscas esperam a primeira carga terminar
+ * 
+ * PARTIDA A QUENTE (commerce.catalog.arquivo.enabled):
+ * ------------------------------------------------
+ * - Periodicamente, se algo mudou, as colunas vivas são gravadas em um
+ *   CatalogFile
+ * - Na subida, se o arquivo existe e é válido, ele é mapeado em memória
+ *   (MappedCatalog, fora do heap) e atende as buscas na hora, enquanto a
+ *   carga do banco roda em segundo plano; ao terminar, o mapeamento é
+ *   descartado e as buscas voltam para as colunas em heap. Fora da
+ *   partida o catálogo vive em heap: o mapeamento só encurta a janela
+ *   até a primeira carga
+ * - O arquivo reflete a última gravação antes de o processo anterior
+ *   parar, que pode ter sido há muito tempo. Mais velho que
+ *   commerce.catalog.arquivo.idade-maxima, ele é ignorado
+ * - Eventos recebidos enquanto o mapeamento atende as buscas também são
+ *   sobrepostos a ele (MappedCatalog.aplicar), sem esperar a carga
+ * - Se a carga em segundo plano falha, ela é repetida
+ *   (commerce.catalog.arquivo.retentativa, dobrando a cada falha); até
+ *   lá, o mapeamento continua atendendo e o arquivo não é regravado
+ */
+@Service
+@Slf4j
+public class ColumnarCatalog {
+
+    public enum Ordem { PADRAO, PRECO_ASC, PRECO_DESC, ANO_ASC, ANO_DESC }
+
+    private static final VehicleColor[] CORES = VehicleColor.values();
+    private static final int CAPACIDADE_INICIAL = 1024;
+    private static final Duration RETENTATIVA_MAXIMA = Duration.ofMinutes(5);
+
+    private final VehicleRepository vehicleRepository;
+    private final CatalogFileProperties arquivoProperties;
+    private final TransactionTemplate leitura;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Limites das faixas de preço, em centavos e em ordem crescente
+     */
+    private final long[] limitesFaixa;
+
+    /**
+     * Colunas que atendem buscas e eventos; trocadas inteiras ao fim de cada
+     * carga (lock de escrita)
+     */
+    private Colunas colunas;
+
+    /**
+     * Eventos recebidos durante uma carga (null fora dela), para reaplicar
+     * nas colunas novas; protegido pelo lock de escrita
+     */
+    private List<VehicleInventoryChangedEvent> durante;
+
+    private final CountDownLatch primeiraCarga = new CountDownLatch(1);
+
+    /**
+     * Snapshot mapeado que atende as buscas até a primeira carga terminar
+     */
+    private volatile MappedCatalog arquivo;
+
+    /**
+     * Houve mudança desde a última gravação do arquivo
+     */
+    private volatile boolean alterado;
+
+    /**
+     * Carga em segundo plano enquanto o snapshot atende as buscas
+     */
+    private volatile Thread carga;
+
+    public ColumnarCatalog(VehicleRepository vehicleRepository, CatalogFileProperties arquivoProperties,
+                           FacetProperties facetProperties, PlatformTransactionManager transactionManager,
+                           MeterRegistry registry) {
+        this.vehicleRepository = vehicleRepository;
+        this.arquivoProperties = arquivoProperties;
+        this.limitesFaixa = facetProperties.getFaixasPreco().stream()
+                .mapToLong(CatalogColumns::centavos).sorted().toArray();
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setReadOnly(true);
+        this.colunas = new Colunas();
+        Gauge.builder("catalog.bitmaps.memory", this, ColumnarCatalog::getBytesIndices)
+                .description("Approximate memory used by the catalog bitmap indexes")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Com um snapshot válido em disco, serve a partir dele e carrega do
+     * banco em segundo plano; sem ele, carrega antes de responder.
+     */
+    public void iniciar() {
+        if (!abrirArquivo()) {
+            carregar();
+            return;
+        }
+        Thread thread = new Thread(this::carregarEmSegundoPlano, "columnar-catalog-loader");
+        thread.setDaemon(true);
+        carga = thread;
+        thread.start();
+    }
+
+    /**
+     * Repete a carga até conseguir: enquanto ela não termina, as buscas
+     * continuam no snapshot mapeado
+     */
+    private void carregarEmSegundoPlano() {
+        Duration espera = arquivoProperties.getRetentativa();
+        while (true) {
+            try {
+                carregar();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Catalog load from the database failed, still serving snapshot {}; retrying in {}",
+                        arquivoProperties.getCaminho(), espera, e);
+            }
+            try {
+                Thread.sleep(espera.toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+            Duration dobro = espera.multipliedBy(2);
+            espera = dobro.compareTo(RETENTATIVA_MAXIMA) > 0 ? RETENTATIVA_MAXIMA : dobro;
+        }
+    }
+
+    /**
+     * Recarrega todas as colunas do banco. A leitura roda fora do lock; só
+     * a troca, com os eventos do intervalo reaplicados, usa o de escrita.
+     */
+    public synchronized void carregar() {
+        try {
+            lock.writeLock().lock();
+            try {
+                durante = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Colunas novas = new Colunas();
+            try {
+                leitura.executeWithoutResult(status -> {
+                    try (Stream<CatalogRow> linhas = vehicleRepository.streamCatalogRows()) {
+                        linhas.forEach(novas::anexar);
+                    }
+                });
+            } catch (RuntimeException e) {
+                lock.writeLock().lock();
+                try {
+                    durante = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                throw e;
+            }
+
+            lock.writeLock().lock();
+            try {
+                durante.forEach(novas::aplicar);
+                durante = null;
+                colunas = novas;
+                alterado = true;
+                arquivo = null;
+                log.info("Columnar catalog loaded: {} vehicles, {} bytes of bitmap indexes",
+                        novas.tamanho, novas.bytesIndices());
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            primeiraCarga.countDown();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarEstoque(VehicleInventoryChangedEvent evento) {
+        lock.writeLock().lock();
+        try {
+            colunas.aplicar(evento);
+            MappedCatalog mapeado = arquivo;
+            if (mapeado != null) {
+                mapeado.aplicar(evento);
+            }
+            if (durante != null) {
+                durante.add(evento);
+            }
+            alterado = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Grava as colunas vivas no arquivo, se mudaram desde a última vez.
+     * Enquanto o snapshot anterior ainda está em uso (carga em andamento),
+     * nada é gravado para não substituí-lo por um catálogo incompleto.
+     */
+    @Scheduled(fixedDelayString = "${commerce.catalog.arquivo.intervalo:PT1M}",
+               initialDelayString = "${commerce.catalog.arquivo.intervalo:PT1M}")
+    public void gravarArquivo() {
+        if (!arquivoProperties.isEnabled() || !alterado || arquivo != null) {
+            return;
+        }
+        CatalogColumns copia;
+        lock.readLock().lock();
+        try {
+            copia = colunas.copiarColunas();
+            alterado = false;
+        } finally {
+            lock.readLock().unlock();
+        }
+        try {
+            CatalogFile.gravar(arquivoProperties.getCaminho(), copia);
+            log.debug("Catalog snapshot written: {} vehicles to {}", copia.tamanho(), arquivoProperties.getCaminho());
+        } catch (IOException | RuntimeException e) {
+            alterado = true;
+            log.warn("Could not write catalog snapshot to {}: {}", arquivoProperties.getCaminho(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void encerrar() {
+        Thread thread = carga;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        gravarArquivo();
+    }
+
+    public VehicleSearchPageDTO buscar(CatalogFilter filtro, Ordem ordem, int pagina, int tamanhoPagina) {
+        MappedCatalog mapeado = arquivo;
+        if (mapeado != null) {
+            return mapeado.buscar(filtro, ordem, pagina, tamanhoPagina);
+        }
+        aguardarPrimeiraCarga();
+        lock.readLock().lock();
+        try {
+            Colunas c = colunas;
+            int[] linhas = new int[c.tamanho];
+            int encontrados = c.filtrar(filtro, CatalogBounds.of(filtro), linhas);
+            CatalogSort.ordenar(linhas, encontrados, ordem, l -> c.precos[l], l -> c.anos[l], c.tamanho);
+
+            int inicio = (int) Math.min(encontrados, (long) pagina * tamanhoPagina);
+            int fim = (int) Math.min(encontrados, (long) inicio + tamanhoPagina);
+            List<VehicleDTO> veiculos = new ArrayList<>(fim - inicio);
+            for (int i = inicio; i < fim; i++) {
+                veiculos.add(c.materializar(linhas[i]));
+            }
+            return new VehicleSearchPageDTO(encontrados, pagina, tamanhoPagina, veiculos);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTamanho() {
+        MappedCatalog mapeado = arquivo;
+        if (mapeado != null) {
+            return mapeado.getTamanho();
+        }
+        aguardarPrimeiraCarga();
+        lock.readLock().lock();
+        try {
+            return colunas.tamanho - colunas.mortos;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Memória aproximada dos bitmaps de índice, em bytes
+     */
+    public long getBytesIndices() {
+        lock.readLock().lock();
+        try {
+            return colunas.bytesIndices();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mapeia o snapshot em disco, se habilitado, válido e recente
+     */
+    boolean abrirArquivo() {
+        if (!arquivoProperties.isEnabled() || !Files.isRegularFile(arquivoProperties.getCaminho())) {
+            return false;
+        }
+        try {
+            MappedCatalog mapeado = CatalogFile.abrir(arquivoProperties.getCaminho());
+            Duration idade = Duration.between(mapeado.getCriadoEm(), Instant.now());
+            if (idade.compareTo(arquivoProperties.getIdadeMaxima()) > 0) {
+                log.info("Ignoring catalog snapshot {}: written at {}, older than {}",
+                        arquivoProperties.getCaminho(), mapeado.getCriadoEm(), arquivoProperties.getIdadeMaxima());
+                return false;
+            }
+            arquivo = mapeado;
+            log.info("Serving catalog from snapshot {} ({} vehicles, written at {}) while loading from the database",
+                    arquivoProperties.getCaminho(), mapeado.getTamanho(), mapeado.getCriadoEm());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring catalog snapshot {}: {}", arquivoProperties.getCaminho(), e.getMessage());
+            return false;
+        }
+    }
+
+    private void aguardarPrimeiraCarga() {
+        try {
+            primeiraCarga.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the catalog to load", e);
+        }
+    }
+
+    private int faixa(long centavos) {
+        int faixa = 0;
+        while (faixa < limitesFaixa.length && limitesFaixa[faixa] <= centavos) {
+            faixa++;
+        }
+        return faixa;
+    }
+
+    /**
+     * Um conjunto completo de colunas e índices. Não é thread-safe: as
+     * colunas em uso são protegidas pelo lock; as de uma carga em
+     * andamento, só a thread da carga toca.
+     */
+    private final class Colunas {
+
+        private long[] ids;
+        private int[] anos;
+        private long[] precos;
+        private byte[] cores;
+        private int[] modelos;
+        private int tamanho;
+        private int mortos;
+        private final Map<Long, Integer> linhaPorId = new HashMap<>();
+
+        /**
+         * Modelos distintos desta carga; modelos[linha] é índice aqui (-1 = nulo)
+         */
+        private final Map<String, Integer> indicePorModelo = new HashMap<>();
+        private final List<String> nomesModelos = new ArrayList<>();
+
+        private CompressedBitmap vivos;
+        private CompressedBitmap[] porCor;
+        private Map<Integer, CompressedBitmap> porAno;
+        private CompressedBitmap[] porFaixa;
+
+        Colunas() {
+            alocar(CAPACIDADE_INICIAL);
+        }
+
+        void aplicar(VehicleInventoryChangedEvent evento) {
+            VehicleInventoryChangedEvent.Estado depois = evento.depois();
+            Long id = depois != null ? depois.id() : evento.antes().id();
+            Integer linha = linhaPorId.remove(id);
+            if (linha != null) {
+                retirar(linha);
+            }
+            if (depois != null && depois.isNoCatalogo()) {
+                anexar(new CatalogRow(depois.id(), depois.modelo(), depois.ano(), depois.cor(), depois.preco()));
+            }
+            if (mortos > CAPACIDADE_INICIAL && mortos * 2 > tamanho) {
+                compactar();
+            }
+        }
+
+        private int filtrar(CatalogFilter filtro, CatalogBounds limites, int[] resultado) {
+            CompressedBitmap candidatos = vivos;
+            if (filtro.cor() != null) {
+                candidatos = candidatos.and(porCor[filtro.cor().ordinal()]);
+            }
+            if (filtro.anoMin() != null || filtro.anoMax() != null) {
+                CompressedBitmap naFaixa = new CompressedBitmap();
+                for (Map.Entry<Integer, CompressedBitmap> ano : porAno.entrySet()) {
+                    if (ano.getKey() >= limites.anoMin() && ano.getKey() <= limites.anoMax()) {
+                        naFaixa = naFaixa.or(ano.getValue());
+                    }
+                }
+                candidatos = candidatos.and(naFaixa);
+            }
+            if (filtro.precoMin() != null || filtro.precoMax() != null) {
+                CompressedBitmap naFaixa = new CompressedBitmap();
+                for (int i = faixa(limites.precoMin()); i <= faixa(limites.precoMax()); i++) {
+                    naFaixa = naFaixa.or(porFaixa[i]);
+                }
+                candidatos = candidatos.and(naFaixa);
+            }
+
+            int total = candidatos.copiarPara(resultado);
+            int[] anos = this.anos;
+            long[] precos = this.precos;
+            byte[] cores = this.cores;
+            int n = 0;
+            for (int i = 0; i < total; i++) {
+                int linha = resultado[i];
+                boolean aceita = limites.aceita(cores[linha], anos[linha], precos[linha]);
+                resultado[n] = linha;
+                n += aceita ? 1 : 0;
+            }
+            return n;
+        }
+
+        private void indexar(int linha) {
+            vivos.adicionar(linha);
+            if (cores[linha] != CatalogColumns.COR_NULA) {
+                porCor[cores[linha]].adicionar(linha);
+            }
+            if (anos[linha] != CatalogColumns.ANO_NULO) {
+                porAno.computeIfAbsent(anos[linha], a -> new CompressedBitmap()).adicionar(linha);
+            }
+            if (precos[linha] != CatalogColumns.PRECO_NULO) {
+                porFaixa[faixa(precos[linha])].adicionar(linha);
+            }
+        }
+
+        private void retirar(int linha) {
+            vivos.remover(linha);
+            if (cores[linha] != CatalogColumns.COR_NULA) {
+                porCor[cores[linha]].remover(linha);
+            }
+            CompressedBitmap ano = porAno.get(anos[linha]);
+            if (ano != null) {
+                ano.remover(linha);
+                if (ano.cardinalidade() == 0) {
+                    porAno.remove(anos[linha]);
+                }
+            }
+            if (precos[linha] != CatalogColumns.PRECO_NULO) {
+                porFaixa[faixa(precos[linha])].remover(linha);
+            }
+            mortos++;
+        }
+
+        private long bytesIndices() {
+            long total = vivos.bytes();
+            for (CompressedBitmap bitmap : porCor) {
+                total += bitmap.bytes();
+            }
+            for (CompressedBitmap bitmap : porAno.values()) {
+                total += bitmap.bytes();
+            }
+            for (CompressedBitmap bitmap : porFaixa) {
+                total += bitmap.bytes();
+            }
+            return total;
+        }
+
+        private void limparIndices() {
+            vivos = new CompressedBitmap();
+            porCor = new CompressedBitmap[CORES.length];
+            Arrays.setAll(porCor, c -> new CompressedBitmap());
+            porAno = new HashMap<>();
+            porFaixa = new CompressedBitmap[limitesFaixa.length + 1];
+            Arrays.setAll(porFaixa, f -> new CompressedBitmap());
+        }
+
+        private VehicleDTO materializar(int linha) {
+            return CatalogColumns.dto(ids[linha], nomeModelo(modelos[linha]), anos[linha], cores[linha], precos[linha]);
+        }
+
+        private String nomeModelo(int indice) {
+            return indice < 0 ? null : nomesModelos.get(indice);
+        }
+
+        private int indiceModelo(String modelo) {
+            if (modelo == null) {
+                return -1;
+            }
+            return indicePorModelo.computeIfAbsent(modelo, m -> {
+                nomesModelos.add(m);
+                return nomesModelos.size() - 1;
+            });
+        }
+
+        /**
+         * Copia as linhas vivas, com um dicionário só dos modelos ainda em uso
+         */
+        private CatalogColumns copiarColunas() {
+            int n = tamanho - mortos;
+            long[] idsVivos = new long[n];
+            long[] precosVivos = new long[n];
+            int[] anosVivos = new int[n];
+            byte[] coresVivas = new byte[n];
+            int[] modelosVivos = new int[n];
+            Map<Integer, Integer> indices = new HashMap<>();
+            List<String> dicionario = new ArrayList<>();
+            int[] linhasVivas = new int[n];
+            vivos.copiarPara(linhasVivas);
+            int destino = 0;
+            for (int i : linhasVivas) {
+                idsVivos[destino] = ids[i];
+                precosVivos[destino] = precos[i];
+                anosVivos[destino] = anos[i];
+                coresVivas[destino] = cores[i];
+                int modelo = modelos[i];
+                modelosVivos[destino] = modelo < 0 ? -1 : indices.computeIfAbsent(modelo, m -> {
+                    dicionario.add(nomesModelos.get(m));
+                    return dicionario.size() - 1;
+                });
+                destino++;
+            }
+            return new CatalogColumns(n, idsVivos, precosVivos, anosVivos, coresVivas, modelosVivos,
+                    dicionario.toArray(String[]::new));
+        }
+
+        private void anexar(CatalogRow row) {
+            if (tamanho == ids.length) {
+                crescer(ids.length * 2);
+            }
+            int linha = tamanho++;
+            ids[linha] = row.id();
+            modelos[linha] = indiceModelo(row.modelo());
+            anos[linha] = CatalogColumns.ano(row.ano());
+            precos[linha] = CatalogColumns.preco(row.preco());
+            cores[linha] = CatalogColumns.cor(row.cor());
+            indexar(linha);
+            Integer anterior = linhaPorId.put(row.id(), linha);
+            if (anterior != null) {
+                retirar(anterior);
+            }
+        }
+
+        /**
+         * Remove as linhas mortas; como os números de linha mudam, os índices
+         * são refeitos
+         */
+        private void compactar() {
+            int[] linhasVivas = new int[tamanho - mortos];
+            vivos.copiarPara(linhasVivas);
+            limparIndices();
+            linhaPorId.clear();
+            int destino = 0;
+            for (int i : linhasVivas) {
+                ids[destino] = ids[i];
+                modelos[destino] = modelos[i];
+                anos[destino] = anos[i];
+                precos[destino] = precos[i];
+                cores[destino] = cores[i];
+                indexar(destino);
+                linhaPorId.put(ids[destino], destino);
+                destino++;
+            }
+            log.debug("Columnar catalog compacted: {} -> {} rows", tamanho, destino);
+            tamanho = destino;
+            mortos = 0;
+        }
+
+        private void alocar(int capacidade) {
+            ids = new long[capacidade];
+            anos = new int[capacidade];
+            precos = new long[capacidade];
+            cores = new byte[capacidade];
+            modelos = new int[capacidade];
+            limparIndices();
+            tamanho = 0;
+            mortos = 0;
+        }
+
+        private void crescer(int capacidade) {
+            ids = Arrays.copyOf(ids, capacidade);
+            anos = Arrays.copyOf(anos, capacidade);
+            precos = Arrays.copyOf(precos, capacidade);
+            cores = Arrays.copyOf(cores, capacidade);
+            modelos = Arrays.copyOf(modelos, capacidade);
+        }
+    }
+}
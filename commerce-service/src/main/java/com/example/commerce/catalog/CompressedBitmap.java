@@ -0,0 +1,393 @@
+package com.example.commerce.catalog;
+
+import java.util.Arrays;
+
+/**
+ * Bitmap Comprimido de Inteiros Não Negativos
+ * ========================================
+ * 
+ * Mesma ideia do Roaring: os 16 bits altos escolhem um bloco de 65536
+ * valores e cada bloco guarda os 16 bits baixos em um de dois formatos:
+ * 
+ * - Esparso: char[] ordenado (2 bytes por valor), até 4096 valores
+ * - Denso: long[1024] (8 KB fixos), acima disso
+ * 
+ * Assim o custo fica perto de 2 bytes por valor em conjuntos esparsos e de
+ * 1 bit por valor nos densos. adicionar/remover mexem em um só bloco, com
+ * trabalho limitado pelo tamanho dele; and/or devolvem um bitmap novo e
+ * não alteram os operandos.
+ * 
+ * Não é thread-safe: o ColumnarCatalog protege com o seu lock.
+ */
+final class CompressedBitmap {
+
+    private static final int LIMITE_ESPARSO = 4096;
+
+    private int[] chaves = new int[4];
+    private Bloco[] blocos = new Bloco[4];
+    private int tamanho;
+
+    void adicionar(int valor) {
+        int chave = valor >>> 16;
+        int i = posicao(chave);
+        if (i < 0) {
+            i = -i - 1;
+            inserir(i, chave, new Esparso(new char[4], 0));
+        }
+        blocos[i] = blocos[i].adicionar((char) valor);
+    }
+
+    void remover(int valor) {
+        int i = posicao(valor >>> 16);
+        if (i < 0) {
+            return;
+        }
+        Bloco bloco = blocos[i].remover((char) valor);
+        if (bloco.cardinalidade() == 0) {
+            System.arraycopy(chaves, i + 1, chaves, i, tamanho - i - 1);
+            System.arraycopy(blocos, i + 1, blocos, i, tamanho - i - 1);
+            blocos[--tamanho] = null;
+        } else {
+            blocos[i] = bloco;
+        }
+    }
+
+    boolean contem(int valor) {
+        int i = posicao(valor >>> 16);
+        return i >= 0 && blocos[i].contem((char) valor);
+    }
+
+    int cardinalidade() {
+        int total = 0;
+        for (int i = 0; i < tamanho; i++) {
+            total += blocos[i].cardinalidade();
+        }
+        return total;
+    }
+
+    /**
+     * Memória aproximada ocupada pelo bitmap (arrays e cabeçalhos)
+     */
+    long bytes() {
+        long total = 16 + 16 + chaves.length * 4L + 16 + blocos.length * 4L;
+        for (int i = 0; i < tamanho; i++) {
+            total += blocos[i].bytes();
+        }
+        return total;
+    }
+
+    CompressedBitmap and(CompressedBitmap outro) {
+        CompressedBitmap resultado = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < tamanho && j < outro.tamanho) {
+            if (chaves[i] < outro.chaves[j]) {
+                i++;
+            } else if (chaves[i] > outro.chaves[j]) {
+                j++;
+            } else {
+                Bloco bloco = blocos[i].and(outro.blocos[j]);
+                if (bloco.cardinalidade() > 0) {
+                    resultado.inserir(resultado.tamanho, chaves[i], bloco);
+                }
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    CompressedBitmap or(CompressedBitmap outro) {
+        CompressedBitmap resultado = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < tamanho || j < outro.tamanho) {
+            if (j == outro.tamanho || (i < tamanho && chaves[i] < outro.chaves[j])) {
+                resultado.inserir(resultado.tamanho, chaves[i], blocos[i].copia());
+                i++;
+            } else if (i == tamanho || chaves[i] > outro.chaves[j]) {
+                resultado.inserir(resultado.tamanho, outro.chaves[j], outro.blocos[j].copia());
+                j++;
+            } else {
+                resultado.inserir(resultado.tamanho, chaves[i], blocos[i].or(outro.blocos[j]));
+                i++;
+                j++;
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Escreve os valores em ordem crescente no início do destino
+     *
+     * @return quantos valores foram escritos
+     */
+    int copiarPara(int[] destino) {
+        int n = 0;
+        for (int i = 0; i < tamanho; i++) {
+            n = blocos[i].copiarPara(chaves[i] << 16, destino, n);
+        }
+        return n;
+    }
+
+    private int posicao(int chave) {
+        // Linhas novas vão sempre para o último bloco
+        if (tamanho > 0 && chaves[tamanho - 1] == chave) {
+            return tamanho - 1;
+        }
+        return Arrays.binarySearch(chaves, 0, tamanho, chave);
+    }
+
+    private void inserir(int i, int chave, Bloco bloco) {
+        if (tamanho == chaves.length) {
+            chaves = Arrays.copyOf(chaves, tamanho * 2);
+            blocos = Arrays.copyOf(blocos, tamanho * 2);
+        }
+        System.arraycopy(chaves, i, chaves, i + 1, tamanho - i);
+        System.arraycopy(blocos, i, blocos, i + 1, tamanho - i);
+        chaves[i] = chave;
+        blocos[i] = bloco;
+        tamanho++;
+    }
+
+    private abstract static class Bloco {
+        abstract Bloco adicionar(char valor);
+
+        abstract Bloco remover(char valor);
+
+        abstract boolean contem(char valor);
+
+        abstract int cardinalidade();
+
+        abstract Bloco and(Bloco outro);
+
+        abstract Bloco or(Bloco outro);
+
+        abstract Bloco copia();
+
+        abstract int copiarPara(int base, int[] destino, int n);
+
+        abstract long bytes();
+    }
+
+    private static final class Esparso extends Bloco {
+        private char[] valores;
+        private int n;
+
+        Esparso(char[] valores, int n) {
+            this.valores = valores;
+            this.n = n;
+        }
+
+        @Override
+        Bloco adicionar(char valor) {
+            int i = n > 0 && valores[n - 1] < valor ? -n - 1 : Arrays.binarySearch(valores, 0, n, valor);
+            if (i >= 0) {
+                return this;
+            }
+            if (n == LIMITE_ESPARSO) {
+                return paraDenso().adicionar(valor);
+            }
+            i = -i - 1;
+            if (n == valores.length) {
+                valores = Arrays.copyOf(valores, Math.min(Math.max(n * 2, 4), LIMITE_ESPARSO));
+            }
+            System.arraycopy(valores, i, valores, i + 1, n - i);
+            valores[i] = valor;
+            n++;
+            return this;
+        }
+
+        @Override
+        Bloco remover(char valor) {
+            int i = Arrays.binarySearch(valores, 0, n, valor);
+            if (i >= 0) {
+                System.arraycopy(valores, i + 1, valores, i, n - i - 1);
+                n--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return Arrays.binarySearch(valores, 0, n, valor) >= 0;
+        }
+
+        @Override
+        int cardinalidade() {
+            return n;
+        }
+
+        @Override
+        Bloco and(Bloco outro) {
+            char[] resultado = new char[n];
+            int k = 0;
+            for (int i = 0; i < n; i++) {
+                if (outro.contem(valores[i])) {
+                    resultado[k++] = valores[i];
+                }
+            }
+            return new Esparso(resultado, k);
+        }
+
+        @Override
+        Bloco or(Bloco outro) {
+            if (outro instanceof Denso) {
+                return outro.or(this);
+            }
+            Esparso esparso = (Esparso) outro;
+            char[] resultado = new char[n + esparso.n];
+            int i = 0;
+            int j = 0;
+            int k = 0;
+            while (i < n || j < esparso.n) {
+                if (j == esparso.n || (i < n && valores[i] < esparso.valores[j])) {
+                    resultado[k++] = valores[i++];
+                } else if (i == n || valores[i] > esparso.valores[j]) {
+                    resultado[k++] = esparso.valores[j++];
+                } else {
+                    resultado[k++] = valores[i++];
+                    j++;
+                }
+            }
+            Esparso uniao = new Esparso(resultado, k);
+            return k > LIMITE_ESPARSO ? uniao.paraDenso() : uniao;
+        }
+
+        @Override
+        Bloco copia() {
+            return new Esparso(Arrays.copyOf(valores, Math.max(n, 4)), n);
+        }
+
+        @Override
+        int copiarPara(int base, int[] destino, int k) {
+            for (int i = 0; i < n; i++) {
+                destino[k++] = base | valores[i];
+            }
+            return k;
+        }
+
+        @Override
+        long bytes() {
+            return 16 + 16 + valores.length * 2L;
+        }
+
+        private Denso paraDenso() {
+            Denso denso = new Denso(new long[1024], 0);
+            for (int i = 0; i < n; i++) {
+                denso.adicionar(valores[i]);
+            }
+            return denso;
+        }
+    }
+
+    private static final class Denso extends Bloco {
+        private final long[] palavras;
+        private int n;
+
+        Denso(long[] palavras, int n) {
+            this.palavras = palavras;
+            this.n = n;
+        }
+
+        @Override
+        Bloco adicionar(char valor) {
+            long antes = palavras[valor >>> 6];
+            long depois = antes | (1L << valor);
+            palavras[valor >>> 6] = depois;
+            n += antes == depois ? 0 : 1;
+            return this;
+        }
+
+        @Override
+        Bloco remover(char valor) {
+            long antes = palavras[valor >>> 6];
+            long depois = antes & ~(1L << valor);
+            palavras[valor >>> 6] = depois;
+            n -= antes == depois ? 0 : 1;
+            // Histerese: volta a esparso só bem abaixo do limite, para não
+            // alternar a cada reserva/liberação na fronteira
+            return n < LIMITE_ESPARSO / 2 ? paraEsparso() : this;
+        }
+
+        @Override
+        boolean contem(char valor) {
+            return (palavras[valor >>> 6] & (1L << valor)) != 0;
+        }
+
+        @Override
+        int cardinalidade() {
+            return n;
+        }
+
+        @Override
+        Bloco and(Bloco outro) {
+            if (outro instanceof Esparso) {
+                return outro.and(this);
+            }
+            long[] resultado = new long[1024];
+            int total = 0;
+            long[] deOutro = ((Denso) outro).palavras;
+            for (int i = 0; i < resultado.length; i++) {
+                resultado[i] = palavras[i] & deOutro[i];
+                total += Long.bitCount(resultado[i]);
+            }
+            Denso intersecao = new Denso(resultado, total);
+            return total <= LIMITE_ESPARSO ? intersecao.paraEsparso() : intersecao;
+        }
+
+        @Override
+        Bloco or(Bloco outro) {
+            Denso uniao = new Denso(palavras.clone(), n);
+            if (outro instanceof Esparso esparso) {
+                for (int i = 0; i < esparso.n; i++) {
+                    uniao.adicionar(esparso.valores[i]);
+                }
+                return uniao;
+            }
+            long[] deOutro = ((Denso) outro).palavras;
+            int total = 0;
+            for (int i = 0; i < uniao.palavras.length; i++) {
+                uniao.palavras[i] |= deOutro[i];
+                total += Long.bitCount(uniao.palavras[i]);
+            }
+            uniao.n = total;
+            return uniao;
+        }
+
+        @Override
+        Bloco copia() {
+            return new Denso(palavras.clone(), n);
+        }
+
+        @Override
+        int copiarPara(int base, int[] destino, int k) {
+            for (int i = 0; i < palavras.length; i++) {
+                long palavra = palavras[i];
+                while (palavra != 0) {
+                    destino[k++] = base | (i << 6) | Long.numberOfTrailingZeros(palavra);
+                    palavra &= palavra - 1;
+                }
+            }
+            return k;
+        }
+
+        @Override
+        long bytes() {
+            return 16 + 16 + palavras.length * 8L;
+        }
+
+        private Esparso paraEsparso() {
+            char[] valores = new char[Math.max(n, 4)];
+            int k = 0;
+            for (int i = 0; i < palavras.length; i++) {
+                long palavra = palavras[i];
+                while (palavra != 0) {
+                    valores[k++] = (char) ((i << 6) | Long.numberOfTrailingZeros(palavra));
+                    palavra &= palavra - 1;
+                }
+            }
+            return new Esparso(valores, k);
+        }
+    }
+}
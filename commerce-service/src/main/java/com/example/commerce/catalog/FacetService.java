@@ -0,0 +1,268 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.config.FacetProperties;
+import com.example.commerce.dto.FacetCountsDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Contagens por Faceta do Catálogo
+ * =============================
+ * 
+ * Cor, ano e faixa de preço para os filtros da listagem, sem GROUP BY
+ * a cada página exibida.
+ * 
+ * CONTADORES:
+ * ---------
+ * - Cor e faixa de preço: AtomicLongArray indexado pelo ordinal / faixa
+ * - Ano: LongAdder por ano (o conjunto de anos não é fixo)
+ * - Leituras não bloqueiam; a resposta pode misturar valores de
+ *   alterações simultâneas, o que é aceitável para filtros
+ * 
+ * ATUALIZAÇÃO:
+ * ----------
+ * - Cada VehicleInventoryChangedEvent confirmado retira o estado anterior
+ *   e soma o novo, se estiverem no catálogo
+ * - Primeira contagem na partida (StartupIndexLoader)
+ * - Reconciliação periódica (commerce.catalog.facets.reconciliacao,
+ *   padrão PT5M) recalcula tudo no banco e substitui os contadores,
+ *   corrigindo eventos perdidos e alterações fora do JPA, como scripts de
+ *   carga
+ * 
+ * RECONCILIAÇÃO:
+ * ------------
+ * - Todas as contagens numa única transação somente leitura em
+ *   REPEATABLE_READ: um só instante do banco, sem total e faixas de
+ *   momentos diferentes
+ * - Eventos confirmados durante a reconciliação são guardados e
+ *   reaplicados nos contadores novos antes da troca. Eventos aplicam sob a
+ *   trava de leitura (vários ao mesmo tempo, nos contadores atômicos); só
+ *   o início da reconciliação e a troca tomam a de escrita. Um evento cujo commit
+ *   antecede a leitura, mas que chega depois de a reconciliação começar,
+ *   é contado duas vezes; a reconciliação seguinte corrige
+ */
+@Service
+@Slf4j
+public class FacetService {
+
+    private static final VehicleColor[] CORES = VehicleColor.values();
+
+    private final VehicleRepository vehicleRepository;
+    private final BigDecimal[] limites;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter correcoes;
+    private volatile Contagens atual;
+
+    /**
+     * Eventos recebidos durante a reconciliação (null fora dela). O campo só
+     * muda sob a trava de escrita, que também ordena os eventos com a troca
+     */
+    private final ReadWriteLock trava = new ReentrantReadWriteLock();
+    private Queue<VehicleInventoryChangedEvent> durante;
+
+    public FacetService(VehicleRepository vehicleRepository, PlatformTransactionManager transactionManager,
+                        FacetProperties properties, MeterRegistry registry) {
+        this.vehicleRepository = vehicleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.transactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.limites = properties.getFaixasPreco().stream().sorted().toArray(BigDecimal[]::new);
+        this.atual = new Contagens(limites.length + 1);
+        this.correcoes = Counter.builder("catalog.facets.corrections")
+                .description("Reconciliations that found counters out of sync with the database")
+                .register(registry);
+    }
+
+    public FacetCountsDTO obter() {
+        Contagens contagens = atual;
+
+        Map<VehicleColor, Long> cores = new EnumMap<>(VehicleColor.class);
+        for (VehicleColor cor : CORES) {
+            cores.put(cor, contagens.cores.get(cor.ordinal()));
+        }
+
+        Map<Integer, Long> anos = contagens.anosNaoZerados();
+
+        List<FacetCountsDTO.FaixaPreco> faixas = new ArrayList<>(limites.length + 1);
+        for (int i = 0; i <= limites.length; i++) {
+            faixas.add(new FacetCountsDTO.FaixaPreco(
+                    i == 0 ? BigDecimal.ZERO : limites[i - 1],
+                    i == limites.length ? null : limites[i],
+                    contagens.faixas.get(i)));
+        }
+
+        return new FacetCountsDTO(contagens.total.sum(), cores, anos, faixas);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarEstoque(VehicleInventoryChangedEvent evento) {
+        trava.readLock().lock();
+        try {
+            atual.aplicar(evento);
+            if (durante != null) {
+                durante.add(evento);
+            }
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${commerce.catalog.facets.reconciliacao:PT5M}",
+               initialDelayString = "${commerce.catalog.facets.reconciliacao:PT5M}")
+    public synchronized void reconciliar() {
+        trava.writeLock().lock();
+        try {
+            durante = new ConcurrentLinkedQueue<>();
+        } finally {
+            trava.writeLock().unlock();
+        }
+        Contagens banco;
+        try {
+            banco = transactionTemplate.execute(status -> contarNoBanco());
+        } catch (RuntimeException e) {
+            trava.writeLock().lock();
+            try {
+                durante = null;
+            } finally {
+                trava.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        Contagens anterior;
+        trava.writeLock().lock();
+        try {
+            durante.forEach(banco::aplicar);
+            durante = null;
+            anterior = atual;
+            atual = banco;
+        } finally {
+            trava.writeLock().unlock();
+        }
+        if (!anterior.vazia() && !anterior.mesmosValores(banco)) {
+            correcoes.increment();
+            log.warn("Facet counters were out of sync with the database and have been reset");
+        }
+    }
+
+    private Contagens contarNoBanco() {
+        Contagens banco = new Contagens(limites.length + 1);
+        banco.total.add(vehicleRepository.countByDisponivelTrueAndVendidoFalse());
+        for (Object[] linha : vehicleRepository.countCatalogByColor()) {
+            banco.cores.set(((VehicleColor) linha[0]).ordinal(), ((Number) linha[1]).longValue());
+        }
+        for (Object[] linha : vehicleRepository.countCatalogByAno()) {
+            banco.ano((Integer) linha[0]).add(((Number) linha[1]).longValue());
+        }
+        long abaixoAnterior = 0;
+        for (int i = 0; i < limites.length; i++) {
+            long abaixo = vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoLessThan(limites[i]);
+            banco.faixas.set(i, abaixo - abaixoAnterior);
+            abaixoAnterior = abaixo;
+        }
+        banco.faixas.set(limites.length,
+                vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoIsNotNull() - abaixoAnterior);
+        return banco;
+    }
+
+    private int faixa(BigDecimal preco) {
+        int indice = Arrays.binarySearch(limites, preco);
+        // Preço igual a um limite pertence à faixa que começa nele
+        return indice >= 0 ? indice + 1 : -indice - 1;
+    }
+
+    private final class Contagens {
+        final LongAdder total = new LongAdder();
+        final AtomicLongArray cores = new AtomicLongArray(CORES.length);
+        final Map<Integer, LongAdder> anos = new ConcurrentHashMap<>();
+        final AtomicLongArray faixas;
+
+        Contagens(int quantidadeFaixas) {
+            this.faixas = new AtomicLongArray(quantidadeFaixas);
+        }
+
+        LongAdder ano(Integer ano) {
+            return anos.computeIfAbsent(ano, a -> new LongAdder());
+        }
+
+        void aplicar(VehicleInventoryChangedEvent evento) {
+            if (evento.antes() != null && evento.antes().isNoCatalogo()) {
+                ajustar(evento.antes(), -1);
+            }
+            if (evento.depois() != null && evento.depois().isNoCatalogo()) {
+                ajustar(evento.depois(), 1);
+            }
+        }
+
+        void ajustar(VehicleInventoryChangedEvent.Estado estado, int delta) {
+            total.add(delta);
+            if (estado.cor() != null) {
+                cores.addAndGet(estado.cor().ordinal(), delta);
+            }
+            if (estado.ano() != null) {
+                ano(estado.ano()).add(delta);
+            }
+            if (estado.preco() != null) {
+                faixas.addAndGet(faixa(estado.preco()), delta);
+            }
+        }
+
+        Map<Integer, Long> anosNaoZerados() {
+            Map<Integer, Long> resultado = new TreeMap<>();
+            anos.forEach((ano, quantidade) -> {
+                long valor = quantidade.sum();
+                if (valor != 0) {
+                    resultado.put(ano, valor);
+                }
+            });
+            return resultado;
+        }
+
+        boolean vazia() {
+            return total.sum() == 0 && anos.isEmpty();
+        }
+
+        boolean mesmosValores(Contagens outra) {
+            if (total.sum() != outra.total.sum()) {
+                return false;
+            }
+            for (int i = 0; i < CORES.length; i++) {
+                if (cores.get(i) != outra.cores.get(i)) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < faixas.length(); i++) {
+                if (faixas.get(i) != outra.faixas.get(i)) {
+                    return false;
+                }
+            }
+            return anosNaoZerados().equals(outra.anosNaoZerados());
+        }
+    }
+}
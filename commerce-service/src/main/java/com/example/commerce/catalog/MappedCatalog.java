@@ -0,0 +1,151 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.dto.VehicleSearchPageDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Catálogo lido direto de um CatalogFile mapeado em memória.
+ * 
+ * As colunas ficam fora do heap (páginas do arquivo); apenas o dicionário
+ * de modelos é decodificado na abertura. Serve buscas enquanto o
+ * ColumnarCatalog ainda está carregando do banco.
+ * 
+ * Eventos de estoque recebidos nesse intervalo ficam em um delta em heap
+ * (id -> estado atual), sobreposto ao arquivo a cada busca: linhas do
+ * arquivo com id no delta são ignoradas e os veículos do delta que estão
+ * no catálogo entram no lugar delas.
+ */
+final class MappedCatalog {
+
+    private static final CatalogRow FORA = new CatalogRow(null, null, null, null, null);
+
+    private final LongBuffer ids;
+    private final LongBuffer precos;
+    private final IntBuffer anos;
+    private final IntBuffer modelos;
+    private final ByteBuffer cores;
+    private final String[] dicionario;
+    private final int tamanho;
+    private final Instant criadoEm;
+
+    /**
+     * Estado atual dos veículos alterados depois da abertura; FORA para os
+     * que saíram do catálogo
+     */
+    private final ConcurrentMap<Long, CatalogRow> alterados = new ConcurrentHashMap<>();
+
+    MappedCatalog(ByteBuffer buffer, CatalogFile.Layout layout, long criadoEm) {
+        int n = layout.linhas;
+        this.tamanho = n;
+        this.ids = buffer.slice(layout.ids, n * 8).asLongBuffer();
+        this.precos = buffer.slice(layout.precos, n * 8).asLongBuffer();
+        this.anos = buffer.slice(layout.anos, n * 4).asIntBuffer();
+        this.modelos = buffer.slice(layout.modelos, n * 4).asIntBuffer();
+        this.cores = buffer.slice(layout.cores, n);
+        this.dicionario = new String[layout.distintos];
+        for (int i = 0; i < dicionario.length; i++) {
+            dicionario[i] = CatalogFile.nome(buffer, layout, i);
+        }
+        this.criadoEm = Instant.ofEpochMilli(criadoEm);
+    }
+
+    void aplicar(VehicleInventoryChangedEvent evento) {
+        VehicleInventoryChangedEvent.Estado depois = evento.depois();
+        Long id = depois != null ? depois.id() : evento.antes().id();
+        alterados.put(id, depois != null && depois.isNoCatalogo()
+                ? new CatalogRow(depois.id(), depois.modelo(), depois.ano(), depois.cor(), depois.preco())
+                : FORA);
+    }
+
+    VehicleSearchPageDTO buscar(CatalogFilter filtro, ColumnarCatalog.Ordem ordem, int pagina, int tamanhoPagina) {
+        CatalogBounds limites = CatalogBounds.of(filtro);
+        Map<Long, CatalogRow> delta = Map.copyOf(alterados);
+        Extras extras = new Extras(delta);
+        int[] linhas = new int[tamanho + extras.tamanho];
+        int encontrados = 0;
+        for (int i = 0; i < tamanho; i++) {
+            boolean aceita = limites.aceita(cores.get(i), anos.get(i), precos.get(i));
+            linhas[encontrados] = i;
+            encontrados += aceita && (delta.isEmpty() || !delta.containsKey(ids.get(i))) ? 1 : 0;
+        }
+        for (int k = 0; k < extras.tamanho; k++) {
+            linhas[encontrados] = tamanho + k;
+            encontrados += limites.aceita(extras.cores[k], extras.anos[k], extras.precos[k]) ? 1 : 0;
+        }
+        IntToLongFunction preco = l -> l < tamanho ? precos.get(l) : extras.precos[l - tamanho];
+        IntToLongFunction ano = l -> l < tamanho ? anos.get(l) : extras.anos[l - tamanho];
+        CatalogSort.ordenar(linhas, encontrados, ordem, preco, ano, tamanho + extras.tamanho);
+
+        int inicio = (int) Math.min(encontrados, (long) pagina * tamanhoPagina);
+        int fim = (int) Math.min(encontrados, (long) inicio + tamanhoPagina);
+        List<VehicleDTO> veiculos = new ArrayList<>(fim - inicio);
+        for (int i = inicio; i < fim; i++) {
+            int linha = linhas[i];
+            if (linha >= tamanho) {
+                veiculos.add(extras.dto(linha - tamanho));
+                continue;
+            }
+            int modelo = modelos.get(linha);
+            veiculos.add(CatalogColumns.dto(ids.get(linha), modelo < 0 ? null : dicionario[modelo],
+                    anos.get(linha), cores.get(linha), precos.get(linha)));
+        }
+        return new VehicleSearchPageDTO(encontrados, pagina, tamanhoPagina, veiculos);
+    }
+
+    int getTamanho() {
+        Map<Long, CatalogRow> delta = Map.copyOf(alterados);
+        if (delta.isEmpty()) {
+            return tamanho;
+        }
+        int vivos = new Extras(delta).tamanho;
+        for (int i = 0; i < tamanho; i++) {
+            vivos += delta.containsKey(ids.get(i)) ? 0 : 1;
+        }
+        return vivos;
+    }
+
+    Instant getCriadoEm() {
+        return criadoEm;
+    }
+
+    /**
+     * Veículos do delta que estão no catálogo, nas mesmas colunas primitivas
+     * do arquivo; a linha k deles é tamanho + k na busca
+     */
+    private static final class Extras {
+        private final CatalogRow[] linhas;
+        private final long[] precos;
+        private final int[] anos;
+        private final byte[] cores;
+        private final int tamanho;
+
+        private Extras(Map<Long, CatalogRow> delta) {
+            this.linhas = delta.values().stream().filter(linha -> linha != FORA).toArray(CatalogRow[]::new);
+            this.tamanho = linhas.length;
+            this.precos = new long[tamanho];
+            this.anos = new int[tamanho];
+            this.cores = new byte[tamanho];
+            for (int k = 0; k < tamanho; k++) {
+                precos[k] = CatalogColumns.preco(linhas[k].preco());
+                anos[k] = CatalogColumns.ano(linhas[k].ano());
+                cores[k] = CatalogColumns.cor(linhas[k].cor());
+            }
+        }
+
+        private VehicleDTO dto(int k) {
+            return CatalogColumns.dto(linhas[k].id(), linhas[k].modelo(), anos[k], cores[k], precos[k]);
+        }
+    }
+}
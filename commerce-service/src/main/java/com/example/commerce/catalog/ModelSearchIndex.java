@@ -0,0 +1,273 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.dto.ModelSuggestionDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de Trigramas sobre Modelos
+ * ==============================
+ * 
+ * Autocomplete de modelo sem consultar o banco: "cor" encontra "Toyota Corolla".
+ * 
+ * ESTRUTURA:
+ * --------
+ * - Um registro por modelo distinto (normalizado: minúsculas, sem acento,
+ *   pontuação vira espaço)
+ *   com a quantidade de veículos no catálogo
+ * - Índice invertido trigrama -> modelos que o contêm. O texto recebe um
+ *   espaço à esquerda, então " co" significa "palavra que começa com co";
+ *   o início de cada palavra também gera o bigrama " c"
+ * - O índice cresce com o número de modelos, não de veículos: 1M de
+ *   veículos com alguns milhares de modelos cabe em poucos MB
+ * 
+ * CONSULTA:
+ * -------
+ * - Consultas com 3+ caracteres intersectam as listas dos trigramas,
+ *   começando pela menor, e confirmam com contains
+ * - Consultas com 1-2 caracteres buscam apenas início de palavra
+ *   (" c" / " co"), uma única lista
+ * - Ranking: começa com a consulta > alguma palavra começa com a consulta
+ *   > trecho no meio; empates pela quantidade em estoque e depois pelo nome
+ * 
+ * SINCRONIZAÇÃO:
+ * -----------
+ * - Carga inicial agregada no banco quando a aplicação sobe
+ *   (StartupIndexLoader)
+ * - Depois, cada VehicleInventoryChangedEvent confirmado ajusta as
+ *   quantidades (antes sai, depois entra); modelos zerados saem do índice
+ * - Escritas são serializadas; leituras não usam lock
+ */
+@Service
+@Slf4j
+public class ModelSearchIndex {
+
+    private static final int N = 3;
+    private static final char INICIO_PALAVRA = ' ';
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private static final Comparator<Candidato> MELHOR_PRIMEIRO = (a, b) -> {
+        if (a.posicao() != b.posicao()) {
+            return Integer.compare(b.posicao(), a.posicao());
+        }
+        if (a.quantidade() != b.quantidade()) {
+            return Long.compare(b.quantidade(), a.quantidade());
+        }
+        return a.modelo().nome.compareTo(b.modelo().nome);
+    };
+
+    private final VehicleRepository vehicleRepository;
+    private final Map<String, Modelo> modelos = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> trigramas = new ConcurrentHashMap<>();
+
+    public ModelSearchIndex(VehicleRepository vehicleRepository) {
+        this.vehicleRepository = vehicleRepository;
+    }
+
+    public synchronized void carregar() {
+        modelos.clear();
+        trigramas.clear();
+        for (Object[] linha : vehicleRepository.countCatalogByModelo()) {
+            ajustar((String) linha[0], ((Number) linha[1]).longValue());
+        }
+        log.info("Model search index loaded: {} models, {} trigrams", modelos.size(), trigramas.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void aoAlterarEstoque(VehicleInventoryChangedEvent evento) {
+        VehicleInventoryChangedEvent.Estado antes = evento.antes();
+        VehicleInventoryChangedEvent.Estado depois = evento.depois();
+        if (antes != null && antes.isNoCatalogo()) {
+            ajustar(antes.modelo(), -1);
+        }
+        if (depois != null && depois.isNoCatalogo()) {
+            ajustar(depois.modelo(), 1);
+        }
+    }
+
+    /**
+     * Até limite modelos que contêm a consulta, melhores primeiro
+     */
+    public List<ModelSuggestionDTO> sugerir(String consulta, int limite) {
+        String termo = consulta == null ? "" : normalizar(consulta);
+        if (termo.isEmpty() || limite <= 0) {
+            return List.of();
+        }
+
+        // Heap com os piores no topo: mantém apenas os limite melhores
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(limite + 1, MELHOR_PRIMEIRO.reversed());
+        for (Modelo modelo : candidatos(termo)) {
+            int posicao = posicao(modelo.normalizado, termo);
+            long quantidade = modelo.quantidade;
+            if (posicao < 0 || quantidade <= 0) {
+                continue;
+            }
+            Candidato candidato = new Candidato(modelo, posicao, quantidade);
+            if (melhores.size() < limite) {
+                melhores.add(candidato);
+            } else if (MELHOR_PRIMEIRO.compare(candidato, melhores.peek()) < 0) {
+                melhores.poll();
+                melhores.add(candidato);
+            }
+        }
+
+        ModelSuggestionDTO[] resultado = new ModelSuggestionDTO[melhores.size()];
+        for (int i = resultado.length - 1; i >= 0; i--) {
+            Candidato candidato = melhores.poll();
+            resultado[i] = new ModelSuggestionDTO(candidato.modelo().nome, candidato.quantidade());
+        }
+        return List.of(resultado);
+    }
+
+    public int getQuantidadeModelos() {
+        return modelos.size();
+    }
+
+    private Iterable<Modelo> candidatos(String termo) {
+        Set<String> chaves = termo.length() < N ? Set.of(INICIO_PALAVRA + termo) : trigramasDaConsulta(termo);
+        List<Set<String>> listas = new ArrayList<>();
+        for (String trigrama : chaves) {
+            Set<String> lista = trigramas.get(trigrama);
+            if (lista == null) {
+                return List.of();
+            }
+            listas.add(lista);
+        }
+        listas.sort(Comparator.comparingInt(Set::size));
+
+        List<Modelo> encontrados = new ArrayList<>();
+        Set<String> menor = listas.get(0);
+        for (String chave : menor) {
+            if (contidoEmTodas(chave, listas)) {
+                Modelo modelo = modelos.get(chave);
+                if (modelo != null) {
+                    encontrados.add(modelo);
+                }
+            }
+        }
+        return encontrados;
+    }
+
+    private static boolean contidoEmTodas(String chave, List<Set<String>> listas) {
+        for (int i = 1; i < listas.size(); i++) {
+            if (!listas.get(i).contains(chave)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 2 = começa com o termo, 1 = uma palavra começa com o termo,
+     * 0 = trecho no meio, -1 = não contém
+     */
+    private static int posicao(String normalizado, String termo) {
+        int indice = normalizado.indexOf(termo);
+        if (indice < 0) {
+            return -1;
+        }
+        if (indice == 0) {
+            return 2;
+        }
+        while (indice > 0) {
+            if (normalizado.charAt(indice - 1) == INICIO_PALAVRA) {
+                return 1;
+            }
+            indice = normalizado.indexOf(termo, indice + 1);
+        }
+        return 0;
+    }
+
+    private void ajustar(String nome, long delta) {
+        if (nome == null || nome.isBlank()) {
+            return;
+        }
+        String chave = normalizar(nome);
+        Modelo modelo = modelos.get(chave);
+        if (modelo == null) {
+            if (delta <= 0) {
+                return;
+            }
+            modelo = new Modelo(nome.strip(), chave);
+            modelos.put(chave, modelo);
+            for (String trigrama : trigramas(chave)) {
+                trigramas.computeIfAbsent(trigrama, t -> ConcurrentHashMap.newKeySet()).add(chave);
+            }
+        }
+
+        modelo.quantidade += delta;
+        if (modelo.quantidade <= 0) {
+            modelos.remove(chave);
+            for (String trigrama : trigramas(chave)) {
+                Set<String> lista = trigramas.get(trigrama);
+                if (lista != null) {
+                    lista.remove(chave);
+                    if (lista.isEmpty()) {
+                        trigramas.remove(trigrama);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Trigramas do modelo (com o espaço inicial) e bigramas de início de palavra
+     */
+    private static Set<String> trigramas(String chave) {
+        String texto = INICIO_PALAVRA + chave;
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + 1 < texto.length(); i++) {
+            if (texto.charAt(i) == INICIO_PALAVRA) {
+                resultado.add(texto.substring(i, i + 2));
+            }
+            if (i + N <= texto.length()) {
+                resultado.add(texto.substring(i, i + N));
+            }
+        }
+        return resultado;
+    }
+
+    private static Set<String> trigramasDaConsulta(String termo) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + N <= termo.length(); i++) {
+            resultado.add(termo.substring(i, i + N));
+        }
+        return resultado;
+    }
+
+    static String normalizar(String texto) {
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private static final class Modelo {
+        final String nome;
+        final String normalizado;
+        volatile long quantidade;
+
+        Modelo(String nome, String normalizado) {
+            this.nome = nome;
+            this.normalizado = normalizado;
+        }
+    }
+
+    private record Candidato(Modelo modelo, int posicao, long quantidade) {
+    }
+}
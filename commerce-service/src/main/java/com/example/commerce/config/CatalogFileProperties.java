@@ -0,0 +1,37 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuração do snapshot do catálogo em arquivo mapeado (partida a quente).
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.catalog.arquivo")
+public class CatalogFileProperties {
+
+    private boolean enabled = false;
+
+    private Path caminho = Path.of(System.getProperty("java.io.tmpdir"), "commerce-catalog.bin");
+
+    /**
+     * Intervalo entre gravações, se o catálogo mudou (lido pelo @Scheduled
+     * de ColumnarCatalog, por isso no formato ISO-8601: PT1M)
+     */
+    private Duration intervalo = Duration.ofMinutes(1);
+
+    /**
+     * Snapshot gravado há mais tempo que isso é ignorado na subida, e a
+     * instância espera a carga do banco
+     */
+    private Duration idadeMaxima = Duration.ofHours(1);
+
+    /**
+     * Espera antes de repetir uma carga do banco que falhou enquanto o
+     * snapshot atende as buscas; dobra a cada falha, até 5 minutos
+     */
+    private Duration retentativa = Duration.ofSeconds(5);
+}
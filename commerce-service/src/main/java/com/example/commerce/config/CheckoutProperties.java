@@ -0,0 +1,29 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do checkout assíncrono.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.checkout")
+public class CheckoutProperties {
+
+    /**
+     * Threads que processam checkouts
+     */
+    private int workers = 4;
+
+    /**
+     * Checkouts aguardando processamento; acima disso a requisição recebe 503
+     */
+    private int capacidadeFila = 200;
+
+    /**
+     * Por quanto tempo o status de um checkout concluído fica disponível
+     */
+    private Duration retencaoStatus = Duration.ofMinutes(10);
+}
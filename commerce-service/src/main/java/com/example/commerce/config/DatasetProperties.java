@@ -0,0 +1,68 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.LocalDate;
+
+/**
+ * Configuração da massa de dados sintética carregada na partida
+ * (testes de desempenho locais).
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.dataset")
+public class DatasetProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Mesma semente e mesmo fimHistorico geram exatamente os mesmos dados
+     */
+    private long semente = 42;
+
+    /**
+     * Total de veículos, incluindo os vendidos e os reservados
+     */
+    private int veiculos = 1_000_000;
+
+    /**
+     * Fração dos veículos já vendida ao longo do histórico
+     */
+    private double fracaoVendidos = 0.3;
+
+    /**
+     * Fração dos veículos reservada em carrinhos ativos
+     */
+    private double fracaoReservados = 0.002;
+
+    /**
+     * Chance de um veículo disponível ter passado por um carrinho expirado
+     */
+    private double fracaoAbandonados = 0.05;
+
+    /**
+     * Anos de vendas terminando em fimHistorico
+     */
+    private int anosHistorico = 3;
+
+    /**
+     * Último dia do histórico (vazio = hoje)
+     */
+    private LocalDate fimHistorico;
+
+    /**
+     * Clientes distintos; poucos clientes concentram muitas compras
+     */
+    private int clientes = 100_000;
+
+    /**
+     * Linhas por INSERT em lote (e por transação). No MySQL, usar
+     * rewriteBatchedStatements=true na URL para um INSERT multi-linha por lote
+     */
+    private int tamanhoLote = 5_000;
+
+    /**
+     * Não gera nada se já houver veículos no banco
+     */
+    private boolean somenteSeVazio = true;
+}
@@ -0,0 +1,25 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Configuração das contagens por faceta do catálogo (GET /api/vehicles/facets).
+ * O intervalo da reconciliação, commerce.catalog.facets.reconciliacao, é lido
+ * direto pelo @Scheduled de FacetService, com o padrão declarado só lá.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.catalog.facets")
+public class FacetProperties {
+
+    /**
+     * Limites das faixas de preço, em ordem crescente. N limites geram N + 1
+     * faixas: [0, l1), [l1, l2), ..., [lN, ∞)
+     */
+    private List<BigDecimal> faixasPreco = List.of(
+            new BigDecimal("50000"), new BigDecimal("100000"), new BigDecimal("150000"),
+            new BigDecimal("200000"), new BigDecimal("300000"));
+}
@@ -0,0 +1,41 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do modo "flash sale" de reservas.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.flash-sale")
+public class FlashSaleProperties {
+
+    /**
+     * Quando ativo, as reservas passam pelas filas dos escritores
+     */
+    private boolean enabled = false;
+
+    /**
+     * Capacidade da fila de pedidos de cada escritor
+     */
+    private int capacidadeFila = 4096;
+
+    /**
+     * Escritores (fila + thread), cada um com os veículos de
+     * vehicleId % escritores; cada um ocupa até uma conexão do pool
+     */
+    private int escritores = 4;
+
+    /**
+     * Tempo máximo que uma requisição aguarda a decisão do escritor
+     */
+    private Duration timeoutResposta = Duration.ofSeconds(5);
+
+    /**
+     * Máximo de veículos decididos em memória, dividido entre os
+     * escritores; o mais antigo de cada escritor sai primeiro
+     */
+    private int maxDecididos = 100_000;
+}
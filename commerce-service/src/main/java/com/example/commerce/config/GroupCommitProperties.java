@@ -0,0 +1,31 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração da gravação em grupo (group commit) de vendas.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.sales.group-commit")
+public class GroupCommitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Latência máxima adicionada esperando outras vendas para o mesmo lote
+     */
+    private Duration maxDelay = Duration.ofMillis(5);
+
+    /**
+     * Quantidade máxima de vendas por transação
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Vendas aguardando gravação; acima disso o pedido é rejeitado
+     */
+    private int capacidadeFila = 2000;
+}
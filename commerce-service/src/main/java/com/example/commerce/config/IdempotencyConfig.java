@@ -0,0 +1,20 @@
+package com.example.commerce.config;
+
+import com.example.commerce.idempotency.IdempotencyFilter;
+import com.example.commerce.idempotency.IdempotencyStore;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilter(IdempotencyProperties properties,
+                                                                      IdempotencyStore store) {
+        FilterRegistrationBean<IdempotencyFilter> registration =
+            new FilterRegistrationBean<>(new IdempotencyFilter(properties, store));
+        registration.addUrlPatterns("/api/cart/*", "/api/vehicles/*");
+        return registration;
+    }
+}
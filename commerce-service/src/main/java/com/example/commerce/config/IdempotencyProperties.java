@@ -0,0 +1,37 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do suporte ao header Idempotency-Key.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.idempotency")
+public class IdempotencyProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Por quanto tempo uma resposta pode ser reaproveitada
+     */
+    private Duration ttl = Duration.ofHours(24);
+
+    /**
+     * Quantidade máxima de chaves mantidas em memória (LRU)
+     */
+    private int maxEntradas = 10_000;
+
+    /**
+     * Quanto tempo uma requisição duplicada espera a execução original
+     */
+    private Duration esperaMaxima = Duration.ofSeconds(10);
+
+    /**
+     * Também grava as respostas no banco (sobrevive a reinícios e é
+     * compartilhado entre instâncias)
+     */
+    private boolean persistir = false;
+}
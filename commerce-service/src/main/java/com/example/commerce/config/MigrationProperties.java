@@ -0,0 +1,22 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração das migrações versionadas do esquema.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.migrations")
+public class MigrationProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Quanto esperar pela trava enquanto outra instância aplica migrações;
+     * esgotado, a partida falha
+     */
+    private Duration esperaTrava = Duration.ofMinutes(10);
+}
@@ -0,0 +1,44 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Limites de admissão (token bucket) para os endpoints de reserva e carrinho.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Limite por usuário (header X-User-Id)
+     */
+    private Limite usuario = new Limite(10, 5);
+
+    /**
+     * Limite global, somando todos os usuários
+     */
+    private Limite global = new Limite(500, 200);
+
+    /**
+     * Quantidade máxima de baldes por usuário em memória; acima disso cada
+     * usuário novo descarta o balde mais perto de cheio de uma amostra
+     */
+    private int maxUsuarios = 100_000;
+
+    @Data
+    public static class Limite {
+        private long capacidade;
+        private double tokensPorSegundo;
+
+        public Limite() {
+        }
+
+        public Limite(long capacidade, double tokensPorSegundo) {
+            this.capacidade = capacidade;
+            this.tokensPorSegundo = tokensPorSegundo;
+        }
+    }
+}
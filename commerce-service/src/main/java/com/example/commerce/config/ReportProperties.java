@@ -0,0 +1,36 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do motor de relatórios paralelos.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.reports")
+public class ReportProperties {
+
+    /**
+     * Threads do pool de relatórios (0 = número de processadores)
+     */
+    private int paralelismo = 0;
+
+    /**
+     * Intervalo de dataVenda lido por cada consulta
+     */
+    private Duration tamanhoParticao = Duration.ofDays(30);
+
+    /**
+     * Tempo máximo que uma exportação CSV segura a conexão com o banco;
+     * esgotado, a exportação é interrompida e o arquivo chega truncado, com
+     * a linha "#truncado" no fim. O timeout assíncrono do MVC é este valor
+     * mais um minuto
+     */
+    private Duration duracaoMaximaExportacao = Duration.ofMinutes(10);
+
+    public int paralelismoEfetivo() {
+        return paralelismo > 0 ? paralelismo : Runtime.getRuntime().availableProcessors();
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração das novas tentativas em conflitos de concorrência otimista.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.retry")
+public class RetryProperties {
+
+    /**
+     * Número máximo de execuções (incluindo a primeira)
+     */
+    private int maxAttempts = 4;
+
+    /**
+     * Espera antes da primeira nova tentativa
+     */
+    private Duration initialBackoff = Duration.ofMillis(20);
+
+    /**
+     * Limite superior da espera entre tentativas
+     */
+    private Duration maxBackoff = Duration.ofMillis(500);
+
+    /**
+     * Fator de crescimento exponencial da espera
+     */
+    private double multiplier = 2.0;
+}
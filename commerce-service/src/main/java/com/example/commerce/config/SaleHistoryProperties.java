@@ -0,0 +1,28 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do histórico de compras paginado.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.sales.history")
+public class SaleHistoryProperties {
+
+    private int tamanhoPagina = 20;
+
+    private int tamanhoMaximoPagina = 100;
+
+    /**
+     * Por quanto tempo a primeira página de um usuário fica em cache
+     */
+    private Duration cacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * Usuários com primeira página em cache; acima disso o mais antigo sai
+     */
+    private int cacheMaxUsuarios = 10_000;
+}
@@ -0,0 +1,21 @@
+package com.example.commerce.config;
+
+import com.example.commerce.warmup.ReadinessFilter;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class WarmupConfig {
+
+    @Bean
+    public FilterRegistrationBean<ReadinessFilter> readinessFilter(ApplicationAvailability availability) {
+        FilterRegistrationBean<ReadinessFilter> registration =
+            new FilterRegistrationBean<>(new ReadinessFilter(availability));
+        registration.addUrlPatterns(ReadinessFilter.CAMINHO);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
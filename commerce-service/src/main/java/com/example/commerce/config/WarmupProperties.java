@@ -0,0 +1,40 @@
+package com.example.commerce.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Configuração do aquecimento executado antes de a instância aceitar tráfego.
+ */
+@Data
+@ConfigurationProperties(prefix = "commerce.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    /**
+     * Tempo máximo de aquecimento; esgotado, a instância passa a aceitar
+     * tráfego com o que já foi aquecido
+     */
+    private Duration orcamento = Duration.ofSeconds(30);
+
+    /**
+     * Tempo máximo de espera pela carga dos índices em memória (catálogo
+     * colunar, modelos, facetas), fase anterior ao aquecimento; esgotado,
+     * as cargas continuam em segundo plano
+     */
+    private Duration orcamentoIndices = Duration.ofSeconds(60);
+
+    /**
+     * Conexões abertas no pool (0 = mínimo ocioso do Hikari)
+     */
+    private int conexoes = 0;
+
+    /**
+     * Rodadas de chamadas às leituras mais usadas (busca, autocomplete,
+     * facetas, disponíveis)
+     */
+    private int iteracoes = 200;
+}
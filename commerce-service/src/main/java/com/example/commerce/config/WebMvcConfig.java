@@ -0,0 +1,32 @@
+package com.example.commerce.config;
+
+import com.example.commerce.security.RateLimitInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ReportProperties reportProperties;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(rateLimitInterceptor)
+                .addPathPatterns("/api/vehicles/*/reserve", "/api/cart/**")
+                .excludePathPatterns("/api/cart/checkouts/*");
+    }
+
+    /**
+     * A exportação CSV (StreamingResponseBody) é a única resposta assíncrona;
+     * o padrão do Tomcat (30s) a cortaria muito antes do limite dela
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(reportProperties.getDuracaoMaximaExportacao().plusMinutes(1).toMillis());
+    }
+}
@@ -1,15 +1,25 @@
 package com.example.commerce.controller;
 
+import com.example.commerce.dto.CartBatchRequestDTO;
+import com.example.commerce.dto.CartBatchResultDTO;
 import com.example.commerce.dto.CartDTO;
+import com.example.commerce.dto.CheckoutStatusDTO;
+import com.example.commerce.exception.ResourceNotFoundException;
 import com.example.commerce.model.Cart;
 import com.example.commerce.service.CartService;
+import com.example.commerce.service.CheckoutService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.bind.annotation.*;
 
+import java.net.URI;
+import java.util.List;
+
 /**
  * Controlador do Carrinho
  * ====================
@@ -39,6 +49,7 @@ import org.springframework.web.bind.annotation.*;
 public class CartController {
 
     private final CartService cartService;
+    private final CheckoutService checkoutService;
 
     @PostMapping
     @Operation(summary = "Cria novo carrinho", security = @SecurityRequirement(name = "jwt"))
@@ -47,6 +58,20 @@ public class CartController {
         return ResponseEntity.ok(CartDTO.fromEntity(cart));
     }
 
+    @GetMapping
+    @Operation(summary = "Lista os carrinhos do usuário", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<List<CartDTO>> listar(@RequestHeader("X-User-Id") String userId) {
+        return ResponseEntity.ok(cartService.listarPorUsuario(userId).stream()
+            .map(CartDTO::fromEntity)
+            .toList());
+    }
+
+    @GetMapping("/{cartId}")
+    @Operation(summary = "Busca carrinho por ID", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<CartDTO> buscar(@PathVariable Long cartId) {
+        return ResponseEntity.ok(CartDTO.fromEntity(cartService.buscarCarrinho(cartId)));
+    }
+
     @PostMapping("/{cartId}/vehicles/{vehicleId}")
     @Operation(summary = "Adiciona veículo ao carrinho", security = @SecurityRequirement(name = "jwt"))
     public ResponseEntity<Void> adicionarVeiculo(
@@ -56,10 +81,37 @@ public class CartController {
         return ResponseEntity.ok().build();
     }
 
+    @PostMapping("/{cartId}/vehicles/batch")
+    @Operation(summary = "Adiciona/remove vários veículos do carrinho em lote", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<List<CartBatchResultDTO>> aplicarLote(
+            @PathVariable Long cartId,
+            @Valid @RequestBody CartBatchRequestDTO request) {
+        return ResponseEntity.ok(cartService.aplicarOperacoesEmLote(cartId, request.getOperacoes()));
+    }
+
     @PostMapping("/{cartId}/finish")
     @Operation(summary = "Finaliza carrinho", security = @SecurityRequirement(name = "jwt"))
     public ResponseEntity<Void> finalizar(@PathVariable Long cartId) {
         cartService.finalizarCarrinho(cartId);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/{cartId}/checkout")
+    @Operation(summary = "Enfileira o checkout assíncrono do carrinho", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<CheckoutStatusDTO> checkoutAssincrono(@PathVariable Long cartId) {
+        CheckoutStatusDTO status = checkoutService.iniciar(cartId);
+        URI location = ServletUriComponentsBuilder.fromCurrentContextPath()
+            .path("/api/cart/checkouts/{checkoutId}")
+            .buildAndExpand(status.getId())
+            .toUri();
+        return ResponseEntity.accepted().location(location).body(status);
+    }
+
+    @GetMapping("/checkouts/{checkoutId}")
+    @Operation(summary = "Consulta o status de um checkout", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<CheckoutStatusDTO> statusCheckout(@PathVariable String checkoutId) {
+        return checkoutService.consultar(checkoutId)
+            .map(ResponseEntity::ok)
+            .orElseThrow(() -> new ResourceNotFoundException("Checkout não encontrado"));
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.commerce.controller;
+
+import com.example.commerce.dto.PhysicalSaleBatchRequestDTO;
+import com.example.commerce.dto.PhysicalSaleResultDTO;
+import com.example.commerce.dto.SaleHistoryPageDTO;
+import com.example.commerce.dto.SalesReportDTO;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.report.SaleExportService;
+import com.example.commerce.report.SalesAggregations;
+import com.example.commerce.report.SalesReportEngine;
+import com.example.commerce.service.PhysicalSaleService;
+import com.example.commerce.service.SaleHistoryService;
+import com.example.commerce.service.SalesRollupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Controlador de Vendas
+ * ==================
+ * 
+ * VENDAS FÍSICAS:
+ * ------------
+ * - Vendedor (X-User-Id) registra um lote de vendas FISICA
+ * - Resultado individual por venda
+ * 
+ * HISTÓRICO:
+ * --------
+ * - Compras do usuário, mais recentes primeiro
+ * - Paginação por cursor (proximoCursor da página anterior)
+ * 
+ * RELATÓRIOS:
+ * ---------
+ * - Receita diária, mensal e anual por tipo, modelo e cor
+ * - Lidos dos totais pré-agregados (tempo constante)
+ * 
+ * RELATÓRIOS AD-HOC:
+ * ---------------
+ * - Calculados sobre as vendas pelo motor paralelo
+ * - Período de inicio a fim, inclusive
+ * 
+ * EXPORTAÇÃO:
+ * ---------
+ * - CSV (ou CSV gzip) escrito direto na resposta, em memória constante
+ */
+@RestController
+@RequestMapping("/api/sales")
+@RequiredArgsConstructor
+@Tag(name = "Vendas", description = "Endpoints para relatórios de vendas")
+public class SaleController {
+
+    private final SalesRollupService salesRollupService;
+    private final SalesReportEngine salesReportEngine;
+    private final SaleExportService saleExportService;
+    private final SaleHistoryService saleHistoryService;
+    private final PhysicalSaleService physicalSaleService;
+
+    @PostMapping("/physical/batch")
+    @Operation(summary = "Registra vendas físicas em lote", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<List<PhysicalSaleResultDTO>> registrarVendasFisicas(
+            @RequestHeader("X-User-Id") String vendedorId,
+            @Valid @RequestBody PhysicalSaleBatchRequestDTO request) {
+        return ResponseEntity.ok(physicalSaleService.registrarLote(vendedorId, request.getVendas()));
+    }
+
+    @GetMapping("/history")
+    @Operation(summary = "Histórico de compras do usuário, paginado por cursor", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<SaleHistoryPageDTO> historico(
+            @RequestHeader("X-User-Id") String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer tamanho) {
+        return ResponseEntity.ok(saleHistoryService.buscarHistorico(userId, cursor, tamanho));
+    }
+
+    @GetMapping("/reports/daily/{data}")
+    @Operation(summary = "Relatório de vendas de um dia", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<SalesReportDTO> diario(
+            @PathVariable @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data) {
+        return ResponseEntity.ok(salesRollupService.relatorioDiario(data));
+    }
+
+    @GetMapping("/reports/monthly/{ano}/{mes}")
+    @Operation(summary = "Relatório de vendas de um mês", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<SalesReportDTO> mensal(@PathVariable int ano, @PathVariable int mes) {
+        return ResponseEntity.ok(salesRollupService.relatorioMensal(ano, mes));
+    }
+
+    @GetMapping("/reports/yearly/{ano}")
+    @Operation(summary = "Relatório de vendas de um ano", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<SalesReportDTO> anual(@PathVariable int ano) {
+        return ResponseEntity.ok(salesRollupService.relatorioAnual(ano));
+    }
+
+    @GetMapping("/reports/revenue-by-model")
+    @Operation(summary = "Receita por modelo e por mês em um período", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<Map<YearMonth, Map<String, BigDecimal>>> receitaPorModelo(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(salesReportEngine.executar(
+            inicio.atStartOfDay(), fimExclusivo(fim), SalesAggregations.receitaPorModeloPorMes()));
+    }
+
+    @GetMapping("/reports/average-discount")
+    @Operation(summary = "Desconto médio por tipo de venda em um período", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<Map<Sale.SaleType, BigDecimal>> descontoMedio(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim) {
+        return ResponseEntity.ok(salesReportEngine.executar(
+            inicio.atStartOfDay(), fimExclusivo(fim), SalesAggregations.descontoMedioPorTipo()));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Exporta as vendas de um período em CSV (formato=csv ou gzip)", security = @SecurityRequirement(name = "jwt"))
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate inicio,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fim,
+            @RequestParam(defaultValue = "csv") String formato) {
+        // Validado antes de iniciar a resposta, que não pode mais virar um 400
+        if (fim.isBefore(inicio)) {
+            throw new BusinessException("Período inválido");
+        }
+        LocalDateTime de = inicio.atStartOfDay();
+        LocalDateTime ate = fimExclusivo(fim);
+        String arquivo = "vendas-" + inicio + "-" + fim + ".csv";
+        boolean gzip = "gzip".equalsIgnoreCase(formato);
+
+        StreamingResponseBody corpo = gzip
+            ? saida -> saleExportService.exportarCsvGzip(de, ate, saida)
+            : saida -> saleExportService.exportarCsv(de, ate, saida);
+        return ResponseEntity.ok()
+            .contentType(gzip ? MediaType.parseMediaType("application/gzip") : MediaType.parseMediaType("text/csv;charset=UTF-8"))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(gzip ? arquivo + ".gz" : arquivo)
+                .build()
+                .toString())
+            .body(corpo);
+    }
+
+    private static LocalDateTime fimExclusivo(LocalDate fim) {
+        return fim.plusDays(1).atStartOfDay();
+    }
+}
@@ -1,16 +1,32 @@
 package com.example.commerce.controller;
 
+import com.example.commerce.catalog.CatalogSnapshot;
+import com.example.commerce.catalog.CatalogFilter;
+import com.example.commerce.catalog.CatalogSnapshotService;
+import com.example.commerce.catalog.ColumnarCatalog;
+import com.example.commerce.catalog.FacetService;
+import com.example.commerce.catalog.ModelSearchIndex;
+import com.example.commerce.dto.FacetCountsDTO;
+import com.example.commerce.dto.ModelSuggestionDTO;
 import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.dto.VehicleSearchPageDTO;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.flashsale.FlashSaleReservationService;
 import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
 import com.example.commerce.service.VehicleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Locale;
 
 /**
  * Controlador responsável pelo gerenciamento de veículos.
@@ -21,23 +37,78 @@ import java.util.List;
 @Tag(name = "Veículos", description = "Endpoints para gerenciamento de veículos")
 public class VehicleController {
 
+    private static final int LIMITE_MAXIMO_SUGESTOES = 50;
+    private static final int TAMANHO_MAXIMO_PAGINA = 100;
+    private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+    /**
+     * Formatos do snapshot, na ordem de preferência em empate de qualidade
+     */
+    private static final List<MediaType> FORMATOS = List.of(MediaType.APPLICATION_JSON, SMILE, MediaType.APPLICATION_CBOR);
+
     private final VehicleService vehicleService;
+    private final FlashSaleReservationService flashSaleReservationService;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ModelSearchIndex modelSearchIndex;
+    private final FacetService facetService;
+    private final ColumnarCatalog columnarCatalog;
 
+    /**
+     * Servido do snapshot pré-serializado: JSON (com gzip quando aceito),
+     * Smile ou CBOR, conforme o Accept. Cada representação tem seu ETag
+     * forte; If-None-Match com o ETag atual recebe 304.
+     */
     @GetMapping("/available")
-    public ResponseEntity<List<VehicleDTO>> listAvailable() {
-        return ResponseEntity.ok(vehicleService.listarDisponiveis());
+    public ResponseEntity<byte[]> listAvailable(
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        CatalogSnapshot snapshot = catalogSnapshotService.obter();
+        MediaType formato = formato(accept);
+        boolean gzip = false;
+        byte[] corpo;
+        String etag;
+        if (formato == SMILE) {
+            corpo = snapshot.smile();
+            etag = snapshot.etag("smile");
+        } else if (formato == MediaType.APPLICATION_CBOR) {
+            corpo = snapshot.cbor();
+            etag = snapshot.etag("cbor");
+        } else if (aceitaGzip(acceptEncoding)) {
+            gzip = true;
+            corpo = snapshot.gzip();
+            etag = snapshot.etag("gzip");
+        } else {
+            corpo = snapshot.json();
+            etag = snapshot.etag();
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(formato)
+                .contentLength(corpo.length)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return resposta.body(corpo);
     }
 
     @PostMapping("/{id}/reserve")
     public ResponseEntity<VehicleDTO> reserveVehicle(
             @PathVariable Long id,
             @RequestHeader("X-User-Id") String userId) {
+        if (flashSaleReservationService.isAtivo()) {
+            return ResponseEntity.ok(flashSaleReservationService.reservar(id, userId));
+        }
         return ResponseEntity.ok(vehicleService.reservarVeiculo(id, userId));
     }
 
     @PostMapping("/{id}/release")
     public ResponseEntity<VehicleDTO> releaseVehicle(@PathVariable Long id) {
-        return ResponseEntity.ok(vehicleService.liberarVeiculo(id));
+        VehicleDTO vehicle = vehicleService.liberarVeiculo(id);
+        if (flashSaleReservationService.isAtivo()) {
+            flashSaleReservationService.liberar(id);
+        }
+        return ResponseEntity.ok(vehicle);
     }
 
     @PostMapping("/{id}/sell")
@@ -52,6 +123,39 @@ public class VehicleController {
         return ResponseEntity.ok(vehicles);
     }
 
+    @GetMapping("/autocomplete")
+    @Operation(summary = "Sugere modelos em estoque que contêm o texto digitado")
+    public ResponseEntity<List<ModelSuggestionDTO>> autocomplete(
+            @RequestParam("q") String consulta,
+            @RequestParam(defaultValue = "10") int limite) {
+        int limiteEfetivo = Math.max(1, Math.min(limite, LIMITE_MAXIMO_SUGESTOES));
+        return ResponseEntity.ok(modelSearchIndex.sugerir(consulta, limiteEfetivo));
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Contagens do catálogo por cor, ano e faixa de preço")
+    public ResponseEntity<FacetCountsDTO> facets() {
+        return ResponseEntity.ok(facetService.obter());
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "Busca no catálogo por cor, faixa de ano e faixa de preço")
+    public ResponseEntity<VehicleSearchPageDTO> search(
+            @RequestParam(required = false) VehicleColor cor,
+            @RequestParam(required = false) Integer anoMin,
+            @RequestParam(required = false) Integer anoMax,
+            @RequestParam(required = false) BigDecimal precoMin,
+            @RequestParam(required = false) BigDecimal precoMax,
+            @RequestParam(defaultValue = "PADRAO") ColumnarCatalog.Ordem ordem,
+            @RequestParam(defaultValue = "0") int pagina,
+            @RequestParam(defaultValue = "20") int tamanho) {
+        if (pagina < 0 || tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new BusinessException("Paginação inválida");
+        }
+        CatalogFilter filtro = new CatalogFilter(cor, anoMin, anoMax, precoMin, precoMax);
+        return ResponseEntity.ok(columnarCatalog.buscar(filtro, ordem, pagina, tamanho));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Busca veículo por ID", security = @SecurityRequirement(name = "jwt"))
     public ResponseEntity<VehicleDTO> buscarPorId(@PathVariable Long id) {
@@ -69,4 +173,58 @@ public class VehicleController {
     public void deleteVehicle(@PathVariable Long id) {
         vehicleService.deleteVehicle(id);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Formato do snapshot com a maior qualidade no Accept; JSON quando
+     * nenhum é pedido explicitamente
+     */
+    private static MediaType formato(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return MediaType.APPLICATION_JSON;
+        }
+        MediaType escolhido = MediaType.APPLICATION_JSON;
+        double melhor = 0;
+        for (MediaType tipo : MediaType.parseMediaTypes(accept)) {
+            for (MediaType formato : FORMATOS) {
+                if (tipo.includes(formato) && tipo.getQualityValue() > melhor) {
+                    escolhido = formato;
+                    melhor = tipo.getQualityValue();
+                }
+            }
+        }
+        return escolhido;
+    }
+
+    /**
+     * gzip listado (ou "*") com qualidade maior que zero
+     */
+    static boolean aceitaGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double qualquer = null;
+        for (String item : acceptEncoding.split(",")) {
+            String[] partes = item.split(";");
+            String codificacao = partes[0].strip().toLowerCase(Locale.ROOT);
+            double qualidade = 1;
+            for (int i = 1; i < partes.length; i++) {
+                String parametro = partes[i].strip();
+                if (parametro.startsWith("q=")) {
+                    try {
+                        qualidade = Double.parseDouble(parametro.substring(2));
+                    } catch (NumberFormatException e) {
+                        qualidade = 0;
+                    }
+                }
+            }
+            if (codificacao.equals("gzip") || codificacao.equals("x-gzip")) {
+                gzip = qualidade;
+            } else if (codificacao.equals("*")) {
+                qualquer = qualidade;
+            }
+        }
+        double efetiva = gzip != null ? gzip : qualquer != null ? qualquer : 0;
+        return efetiva > 0;
+    }
+}
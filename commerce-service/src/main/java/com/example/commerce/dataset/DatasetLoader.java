@@ -0,0 +1,64 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.config.DatasetProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Carrega a massa sintética na partida, com commerce.dataset.enabled=true:
+ * 
+ *   mvn spring-boot:run -Dspring-boot.run.arguments=--commerce.dataset.enabled=true
+ * 
+ * Roda antes do ApplicationReadyEvent, então índices do catálogo, facetas e
+ * aquecimento já partem da massa carregada.
+ */
+@Component
+@ConditionalOnProperty(prefix = "commerce.dataset", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class DatasetLoader implements ApplicationRunner {
+
+    private final DatasetProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        carregar();
+    }
+
+    /**
+     * @return resumo do que foi gravado, vazio se o banco já tinha veículos
+     *         e somenteSeVazio estiver ligado
+     */
+    public Optional<SyntheticDatasetGenerator.Resumo> carregar() {
+        Long existentes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles", Long.class);
+        if (properties.isSomenteSeVazio() && existentes != null && existentes > 0) {
+            log.info("Synthetic dataset skipped: {} vehicles already in the database", existentes);
+            return Optional.empty();
+        }
+
+        LocalDate fim = Optional.ofNullable(properties.getFimHistorico()).orElseGet(LocalDate::now);
+        JdbcDatasetSink destino = new JdbcDatasetSink(jdbcTemplate, new TransactionTemplate(transactionManager),
+            properties.getTamanhoLote());
+
+        long inicio = System.nanoTime();
+        SyntheticDatasetGenerator.Resumo resumo = new SyntheticDatasetGenerator(properties, fim)
+            .gerar(destino.proximosIds(), destino);
+        long ms = (System.nanoTime() - inicio) / 1_000_000;
+
+        log.info("Synthetic dataset loaded in {} ms (seed {}, history until {}): {} vehicles, {} carts, {} sales, {} rollup rows",
+            ms, properties.getSemente(), fim, resumo.veiculos(), resumo.carrinhos(), resumo.vendas(), resumo.totais());
+        return Optional.of(resumo);
+    }
+}
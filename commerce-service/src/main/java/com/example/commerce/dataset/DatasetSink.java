@@ -0,0 +1,28 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.model.Cart;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.SalesRollup;
+import com.example.commerce.model.Vehicle;
+
+/**
+ * Destino das linhas geradas pelo SyntheticDatasetGenerator.
+ * 
+ * As entidades chegam com ids já atribuídos. Um carrinho ou venda só chega
+ * depois de todos os seus veículos.
+ */
+public interface DatasetSink {
+
+    void veiculo(Vehicle vehicle);
+
+    void carrinho(Cart cart);
+
+    void venda(Sale sale);
+
+    void totais(SalesRollup rollup);
+
+    /**
+     * Chamado uma vez, depois da última linha
+     */
+    void concluir();
+}
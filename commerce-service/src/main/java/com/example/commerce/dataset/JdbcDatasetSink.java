@@ -0,0 +1,207 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.model.Cart;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.SalesRollup;
+import com.example.commerce.model.Vehicle;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grava a massa sintética com INSERTs em lote via JDBC, sem passar pelo
+ * contexto de persistência do JPA nem pelos listeners de entidade.
+ * 
+ * Cada lote (veículos, carrinhos, vendas e tabelas de junção acumulados)
+ * vai numa transação. Os ids vêm explícitos do gerador; no fim, o
+ * contador de identidade do H2 é avançado para os INSERTs do JPA não
+ * colidirem (o AUTO_INCREMENT do MySQL avança sozinho).
+ */
+public class JdbcDatasetSink implements DatasetSink {
+
+    private static final String INSERT_VEICULO = "INSERT INTO vehicles " +
+        "(id, modelo, ano, color, preco, disponivel, vendido, carrinho_id, carrinho_timestamp, version) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CARRINHO = "INSERT INTO carts " +
+        "(id, user_id, status, created_at, expiration_time, finalizado) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_CARRINHO_VEICULO = "INSERT INTO cart_vehicle (cart_id, vehicle_id) VALUES (?, ?)";
+    private static final String INSERT_VENDA = "INSERT INTO sales " +
+        "(id, user_id, vendedor_id, valor_total, data_venda, tipo) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_VENDA_VEICULO = "INSERT INTO sale_vehicles (sale_id, vehicle_id) VALUES (?, ?)";
+    /**
+     * MERGE padrão (H2); o MySQL não tem MERGE e usa UPSERT_TOTAL_MYSQL, com
+     * os mesmos parâmetros
+     */
+    private static final String UPSERT_TOTAL = "MERGE INTO sales_rollups t USING (VALUES (" +
+        "CAST(? AS VARCHAR(10)), CAST(? AS DATE), CAST(? AS VARCHAR(10)), CAST(? AS VARCHAR(255)), " +
+        "CAST(? AS BIGINT), CAST(? AS DECIMAL(19, 2)))) AS n (granularidade, periodo, dimensao, valor, quantidade, receita) " +
+        "ON t.granularidade = n.granularidade AND t.periodo = n.periodo AND t.dimensao = n.dimensao AND t.valor = n.valor " +
+        "WHEN MATCHED THEN UPDATE SET quantidade = t.quantidade + n.quantidade, receita = t.receita + n.receita " +
+        "WHEN NOT MATCHED THEN INSERT (granularidade, periodo, dimensao, valor, quantidade, receita) " +
+        "VALUES (n.granularidade, n.periodo, n.dimensao, n.valor, n.quantidade, n.receita)";
+    private static final String UPSERT_TOTAL_MYSQL = "INSERT INTO sales_rollups " +
+        "(granularidade, periodo, dimensao, valor, quantidade, receita) VALUES (?, ?, ?, ?, ?, ?) AS novo " +
+        "ON DUPLICATE KEY UPDATE quantidade = sales_rollups.quantidade + novo.quantidade, " +
+        "receita = sales_rollups.receita + novo.receita";
+
+    private static final String[] TABELAS_COM_ID = {"vehicles", "carts", "sales"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    private final List<Vehicle> veiculos = new ArrayList<>();
+    private final List<Cart> carrinhos = new ArrayList<>();
+    private final List<long[]> carrinhoVeiculos = new ArrayList<>();
+    private final List<Sale> vendas = new ArrayList<>();
+    private final List<long[]> vendaVeiculos = new ArrayList<>();
+    private final List<SalesRollup> totais = new ArrayList<>();
+    private int pendentes;
+    private String upsertTotal;
+
+    public JdbcDatasetSink(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, int tamanhoLote) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Primeiros ids livres, para somar a massa ao que já houver no banco
+     */
+    public SyntheticDatasetGenerator.Ids proximosIds() {
+        return new SyntheticDatasetGenerator.Ids(proximoId("vehicles"), proximoId("carts"), proximoId("sales"));
+    }
+
+    @Override
+    public void veiculo(Vehicle vehicle) {
+        veiculos.add(vehicle);
+        contar(1);
+    }
+
+    @Override
+    public void carrinho(Cart cart) {
+        carrinhos.add(cart);
+        for (Vehicle vehicle : cart.getVehicles()) {
+            carrinhoVeiculos.add(new long[]{cart.getId(), vehicle.getId()});
+        }
+        contar(1 + cart.getVehicles().size());
+    }
+
+    @Override
+    public void venda(Sale sale) {
+        vendas.add(sale);
+        for (Long vehicleId : sale.getVehicleIds()) {
+            vendaVeiculos.add(new long[]{sale.getId(), vehicleId});
+        }
+        contar(1 + sale.getVehicleIds().size());
+    }
+
+    @Override
+    public void totais(SalesRollup rollup) {
+        totais.add(rollup);
+        contar(1);
+    }
+
+    @Override
+    public void concluir() {
+        descarregar();
+        if ("H2".equals(jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName()))) {
+            for (String tabela : TABELAS_COM_ID) {
+                jdbcTemplate.execute("ALTER TABLE " + tabela + " ALTER COLUMN id RESTART WITH " + proximoId(tabela));
+            }
+        }
+    }
+
+    private void contar(int linhas) {
+        pendentes += linhas;
+        if (pendentes >= tamanhoLote) {
+            descarregar();
+        }
+    }
+
+    /**
+     * Ordem das chaves estrangeiras: veículos e cabeçalhos antes das junções
+     */
+    private void descarregar() {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.batchUpdate(INSERT_VEICULO, veiculos, veiculos.size(), (ps, v) -> {
+                ps.setLong(1, v.getId());
+                ps.setString(2, v.getModelo());
+                ps.setInt(3, v.getAno());
+                ps.setString(4, v.getColor().name());
+                ps.setBigDecimal(5, v.getPreco());
+                ps.setBoolean(6, v.isDisponivelNoEstoque());
+                ps.setBoolean(7, v.isVendido());
+                ps.setObject(8, v.getCarrinhoId(), Types.BIGINT);
+                ps.setObject(9, v.getCarrinhoTimestamp(), Types.BIGINT);
+                ps.setLong(10, v.getVersion());
+            });
+            jdbcTemplate.batchUpdate(INSERT_CARRINHO, carrinhos, carrinhos.size(), (ps, c) -> {
+                ps.setLong(1, c.getId());
+                ps.setString(2, c.getUserId());
+                ps.setString(3, c.getStatus().name());
+                ps.setObject(4, c.getCreatedAt());
+                ps.setObject(5, c.getExpirationTime());
+                ps.setBoolean(6, c.isFinalizado());
+            });
+            jdbcTemplate.batchUpdate(INSERT_CARRINHO_VEICULO, carrinhoVeiculos, carrinhoVeiculos.size(), (ps, par) -> {
+                ps.setLong(1, par[0]);
+                ps.setLong(2, par[1]);
+            });
+            jdbcTemplate.batchUpdate(INSERT_VENDA, vendas, vendas.size(), (ps, s) -> {
+                ps.setLong(1, s.getId());
+                ps.setString(2, s.getUserId());
+                ps.setString(3, s.getVendedorId());
+                ps.setBigDecimal(4, s.getValorTotal());
+                ps.setObject(5, s.getDataVenda());
+                ps.setString(6, s.getTipo().name());
+            });
+            jdbcTemplate.batchUpdate(INSERT_VENDA_VEICULO, vendaVeiculos, vendaVeiculos.size(), (ps, par) -> {
+                ps.setLong(1, par[0]);
+                ps.setLong(2, par[1]);
+            });
+            gravarTotais();
+        });
+
+        veiculos.clear();
+        carrinhos.clear();
+        carrinhoVeiculos.clear();
+        vendas.clear();
+        vendaVeiculos.clear();
+        totais.clear();
+        pendentes = 0;
+    }
+
+    /**
+     * Soma nas linhas existentes e cria as chaves novas num único upsert.
+     * Não dá para separar pelo resultado de um UPDATE em lote: com
+     * rewriteBatchedStatements o Connector/J devolve SUCCESS_NO_INFO (-2)
+     * em vez das linhas afetadas.
+     */
+    private void gravarTotais() {
+        if (totais.isEmpty()) {
+            return;
+        }
+        if (upsertTotal == null) {
+            upsertTotal = "MySQL".equals(jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName()))
+                ? UPSERT_TOTAL_MYSQL : UPSERT_TOTAL;
+        }
+        jdbcTemplate.batchUpdate(upsertTotal, totais, totais.size(), (ps, t) -> {
+            ps.setString(1, t.getGranularidade().name());
+            ps.setObject(2, t.getPeriodo());
+            ps.setString(3, t.getDimensao().name());
+            ps.setString(4, t.getValor());
+            ps.setLong(5, t.getQuantidade());
+            ps.setBigDecimal(6, t.getReceita());
+        });
+    }
+
+    private long proximoId(String tabela) {
+        Long maior = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + tabela, Long.class);
+        return maior == null ? 1 : maior + 1;
+    }
+}
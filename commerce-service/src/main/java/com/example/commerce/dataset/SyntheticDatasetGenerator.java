@@ -0,0 +1,354 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.config.DatasetProperties;
+import com.example.commerce.model.Cart;
+import com.example.commerce.model.CartStatus;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.SalesRollup;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Massa de Dados Sintética
+ * =====================
+ * 
+ * Gera veículos, carrinhos, vendas e totais pré-agregados coerentes entre
+ * si, para reproduzir localmente o volume de produção.
+ * 
+ * DETERMINISMO:
+ * -----------
+ * - Um único SplittableRandom com a semente configurada, consumido sempre
+ *   na mesma ordem
+ * - Datas derivadas do fim do histórico, nunca do relógio: mesma semente e
+ *   mesmo fim geram as mesmas linhas
+ * 
+ * DISTRIBUIÇÕES:
+ * ------------
+ * - Modelo: ~25 modelos do mercado brasileiro com pesos de popularidade
+ * - Cor: BRANCA 42%, PRATA 31%, PRETA 27%
+ * - Ano: idade exponencial (média de 4 anos, até 20) a partir do ano em
+ *   que o veículo entrou no estoque
+ * - Preço: preço do modelo depreciado 10% ao ano, com ruído lognormal,
+ *   arredondado a R$ 100
+ * - Vendas: 1 veículo (90%), 2 (8%) ou 3 (2%); 70% ONLINE; clientes com
+ *   compras concentradas em poucos ids
+ * 
+ * ESTADOS:
+ * ------
+ * - Vendido: entra numa venda datada conforme sua posição no histórico;
+ *   vendas ONLINE também ganham um carrinho COMPLETED
+ * - Reservado: em carrinho ACTIVE aberto no fim do histórico
+ * - Disponível: às vezes com um carrinho EXPIRED no passado
+ * - Totais (sales_rollups) somados como o SalesRollupService faria
+ */
+public class SyntheticDatasetGenerator {
+
+    private static final Modelo[] MODELOS = {
+        new Modelo("Fiat Strada", 105_000, 10),
+        new Modelo("Volkswagen Polo", 95_000, 9),
+        new Modelo("Chevrolet Onix", 90_000, 9),
+        new Modelo("Hyundai HB20", 88_000, 8),
+        new Modelo("Fiat Argo", 82_000, 7),
+        new Modelo("Fiat Mobi", 70_000, 6),
+        new Modelo("Volkswagen T-Cross", 140_000, 6),
+        new Modelo("Chevrolet Tracker", 135_000, 5),
+        new Modelo("Hyundai Creta", 140_000, 5),
+        new Modelo("Jeep Renegade", 130_000, 5),
+        new Modelo("Jeep Compass", 185_000, 4),
+        new Modelo("Toyota Corolla", 155_000, 4),
+        new Modelo("Toyota Corolla Cross", 170_000, 4),
+        new Modelo("Nissan Kicks", 120_000, 4),
+        new Modelo("Renault Kwid", 68_000, 4),
+        new Modelo("Fiat Toro", 150_000, 4),
+        new Modelo("Honda HR-V", 150_000, 3),
+        new Modelo("Volkswagen Nivus", 125_000, 3),
+        new Modelo("Fiat Pulse", 110_000, 3),
+        new Modelo("Honda Civic", 170_000, 2),
+        new Modelo("Toyota Hilux", 280_000, 2),
+        new Modelo("Volkswagen Virtus", 115_000, 2),
+        new Modelo("Renault Duster", 120_000, 2),
+        new Modelo("Chevrolet S10", 260_000, 1.5),
+        new Modelo("BYD Dolphin", 150_000, 1.5),
+    };
+    private static final double[] PESOS_MODELO = acumulados(MODELOS);
+
+    /**
+     * Na ordem de VehicleColor: BRANCA, PRATA, PRETA
+     */
+    private static final double[] PESOS_COR = {0.42, 0.73, 1.0};
+    private static final VehicleColor[] CORES = VehicleColor.values();
+
+    private static final SalesRollup.Granularidade[] GRANULARIDADES = SalesRollup.Granularidade.values();
+    private static final BigDecimal DESCONTO_JURIDICA = new BigDecimal("0.8");
+    private static final BigDecimal DESCONTO_PCD = new BigDecimal("0.7");
+    private static final int VENDEDORES = 40;
+    private static final int SEGUNDOS_EXPEDIENTE = 12 * 3600;
+
+    private final DatasetProperties properties;
+    private final LocalDate fim;
+
+    public SyntheticDatasetGenerator(DatasetProperties properties, LocalDate fim) {
+        this.properties = properties;
+        this.fim = fim;
+    }
+
+    /**
+     * Primeiros ids livres de cada tabela
+     */
+    public record Ids(long veiculo, long carrinho, long venda) {
+    }
+
+    public record Resumo(long veiculos, long carrinhos, long vendas, long totais) {
+    }
+
+    public Resumo gerar(Ids inicio, DatasetSink destino) {
+        Execucao execucao = new Execucao(inicio, destino);
+        execucao.executar();
+        destino.concluir();
+        return new Resumo(execucao.veiculos, execucao.carrinhos, execucao.vendas, execucao.totais.size());
+    }
+
+    /**
+     * Estado de uma geração: ids correntes, venda e carrinho ativo em
+     * montagem e totais acumulados.
+     */
+    private final class Execucao {
+
+        private final SplittableRandom random = new SplittableRandom(properties.getSemente());
+        private final DatasetSink destino;
+        private final LocalDate primeiroDia = fim.minusYears(properties.getAnosHistorico());
+        private final long dias = ChronoUnit.DAYS.between(primeiroDia, fim) + 1;
+        private final LocalDateTime agora = fim.atTime(12, 0);
+        private final Map<ChaveTotal, SalesRollup> totais = new LinkedHashMap<>();
+
+        private long proximoVeiculo;
+        private long proximoCarrinho;
+        private long proximaVenda;
+        private long veiculos;
+        private long carrinhos;
+        private long vendas;
+
+        private List<Vehicle> vendaAberta = new ArrayList<>();
+        private int tamanhoVenda;
+        private Cart carrinhoAtivo;
+        private int tamanhoCarrinho;
+
+        Execucao(Ids inicio, DatasetSink destino) {
+            this.destino = destino;
+            this.proximoVeiculo = inicio.veiculo();
+            this.proximoCarrinho = inicio.carrinho();
+            this.proximaVenda = inicio.venda();
+        }
+
+        void executar() {
+            int total = properties.getVeiculos();
+            double limiteReservado = properties.getFracaoVendidos() + properties.getFracaoReservados();
+            for (int i = 0; i < total; i++) {
+                // Posição no histórico: ids maiores entram (e são vendidos) depois
+                LocalDate dia = primeiroDia.plusDays(i * dias / total);
+                Vehicle vehicle = novoVeiculo(dia);
+                double sorteio = random.nextDouble();
+
+                if (sorteio < properties.getFracaoVendidos()) {
+                    vehicle.setDisponivel(false);
+                    vehicle.setVendido(true);
+                    emitir(vehicle);
+                    venderJunto(vehicle, dia);
+                } else if (sorteio < limiteReservado) {
+                    vehicle.setDisponivel(false);
+                    reservar(vehicle);
+                } else {
+                    emitir(vehicle);
+                    if (random.nextDouble() < properties.getFracaoAbandonados()) {
+                        abandonar(vehicle, horario(dia));
+                    }
+                }
+            }
+
+            if (!vendaAberta.isEmpty()) {
+                fecharVenda(primeiroDia.plusDays(dias - 1));
+            }
+            if (carrinhoAtivo != null) {
+                emitir(carrinhoAtivo);
+            }
+            totais.values().forEach(destino::totais);
+        }
+
+        private Vehicle novoVeiculo(LocalDate dia) {
+            Modelo modelo = MODELOS[sortear(PESOS_MODELO)];
+            int idade = (int) Math.min(20, -4 * Math.log(1 - random.nextDouble()));
+            double preco = modelo.preco() * Math.pow(0.9, idade) * Math.exp(0.08 * random.nextGaussian());
+            long reais = Math.max(15_000, Math.round(preco / 100) * 100);
+
+            Vehicle vehicle = new Vehicle();
+            vehicle.setId(proximoVeiculo++);
+            vehicle.setModelo(modelo.nome());
+            vehicle.setAno(dia.getYear() - idade);
+            vehicle.setPreco(BigDecimal.valueOf(reais * 100, 2));
+            vehicle.setColor(CORES[sortear(PESOS_COR)]);
+            vehicle.setVersion(0L);
+            return vehicle;
+        }
+
+        private void venderJunto(Vehicle vehicle, LocalDate dia) {
+            if (vendaAberta.isEmpty()) {
+                double tamanho = random.nextDouble();
+                tamanhoVenda = tamanho < 0.9 ? 1 : tamanho < 0.98 ? 2 : 3;
+            }
+            vendaAberta.add(vehicle);
+            if (vendaAberta.size() == tamanhoVenda) {
+                fecharVenda(dia);
+            }
+        }
+
+        private void fecharVenda(LocalDate dia) {
+            Sale sale = new Sale();
+            sale.setId(proximaVenda++);
+            sale.setUserId(cliente());
+            sale.setDataVenda(horario(dia));
+            sale.setTipo(random.nextDouble() < 0.7 ? Sale.SaleType.ONLINE : Sale.SaleType.FISICA);
+
+            BigDecimal valor = BigDecimal.ZERO;
+            for (Vehicle vehicle : vendaAberta) {
+                valor = valor.add(vehicle.getPreco());
+                sale.getVehicleIds().add(vehicle.getId());
+            }
+            if (sale.getTipo() == Sale.SaleType.FISICA) {
+                sale.setVendedorId("vendedor-" + random.nextInt(VENDEDORES));
+                double desconto = random.nextDouble();
+                if (desconto >= 0.95) {
+                    valor = valor.multiply(DESCONTO_PCD).setScale(2, RoundingMode.HALF_UP);
+                } else if (desconto >= 0.8) {
+                    valor = valor.multiply(DESCONTO_JURIDICA).setScale(2, RoundingMode.HALF_UP);
+                }
+            } else {
+                Cart cart = novoCarrinho(sale.getUserId(), CartStatus.COMPLETED,
+                    sale.getDataVenda().minusSeconds(10 + random.nextInt(50)));
+                vendaAberta.forEach(cart::adicionarVeiculo);
+                emitir(cart);
+            }
+            sale.setValorTotal(valor);
+
+            destino.venda(sale);
+            vendas++;
+            somarTotais(sale, vendaAberta);
+            vendaAberta = new ArrayList<>();
+        }
+
+        private void reservar(Vehicle vehicle) {
+            if (carrinhoAtivo == null) {
+                carrinhoAtivo = novoCarrinho(cliente(), CartStatus.ACTIVE, agora.minusSeconds(random.nextInt(50)));
+                carrinhoAtivo.setFinalizado(false);
+                tamanhoCarrinho = random.nextDouble() < 0.8 ? 1 : 2;
+            }
+            vehicle.setCarrinhoId(carrinhoAtivo.getId());
+            vehicle.setCarrinhoTimestamp(carrinhoAtivo.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            emitir(vehicle);
+            carrinhoAtivo.adicionarVeiculo(vehicle);
+            if (carrinhoAtivo.getVehicles().size() == tamanhoCarrinho) {
+                emitir(carrinhoAtivo);
+                carrinhoAtivo = null;
+            }
+        }
+
+        private void abandonar(Vehicle vehicle, LocalDateTime quando) {
+            Cart cart = novoCarrinho(cliente(), CartStatus.EXPIRED, quando);
+            cart.adicionarVeiculo(vehicle);
+            emitir(cart);
+        }
+
+        private Cart novoCarrinho(String userId, CartStatus status, LocalDateTime criadoEm) {
+            Cart cart = new Cart();
+            cart.setId(proximoCarrinho++);
+            cart.setUserId(userId);
+            cart.setStatus(status);
+            cart.setCreatedAt(criadoEm);
+            cart.setExpirationTime(criadoEm.plusMinutes(1));
+            cart.setFinalizado(status != CartStatus.ACTIVE);
+            return cart;
+        }
+
+        /**
+         * Mesmas chaves e somas do SalesRollupService.registrarVenda
+         */
+        private void somarTotais(Sale sale, List<Vehicle> vehicles) {
+            LocalDate data = sale.getDataVenda().toLocalDate();
+            for (SalesRollup.Granularidade granularidade : GRANULARIDADES) {
+                LocalDate periodo = granularidade.inicio(data);
+                somar(granularidade, periodo, SalesRollup.Dimensao.TIPO, sale.getTipo().name(), sale.getValorTotal());
+                for (Vehicle vehicle : vehicles) {
+                    somar(granularidade, periodo, SalesRollup.Dimensao.MODELO, vehicle.getModelo(), vehicle.getPreco());
+                    somar(granularidade, periodo, SalesRollup.Dimensao.COR, vehicle.getColor().name(), vehicle.getPreco());
+                }
+            }
+        }
+
+        private void somar(SalesRollup.Granularidade granularidade, LocalDate periodo,
+                           SalesRollup.Dimensao dimensao, String valor, BigDecimal receita) {
+            SalesRollup total = totais.computeIfAbsent(new ChaveTotal(granularidade, periodo, dimensao, valor),
+                chave -> new SalesRollup(granularidade, periodo, dimensao, valor, 0, BigDecimal.ZERO));
+            total.setQuantidade(total.getQuantidade() + 1);
+            total.setReceita(total.getReceita().add(receita));
+        }
+
+        private void emitir(Vehicle vehicle) {
+            destino.veiculo(vehicle);
+            veiculos++;
+        }
+
+        private void emitir(Cart cart) {
+            destino.carrinho(cart);
+            carrinhos++;
+        }
+
+        /**
+         * u² concentra as compras nos primeiros ids de cliente
+         */
+        private String cliente() {
+            double u = random.nextDouble();
+            return "cliente-" + (int) (properties.getClientes() * u * u);
+        }
+
+        private LocalDateTime horario(LocalDate dia) {
+            return dia.atTime(9, 0).plusSeconds(random.nextInt(SEGUNDOS_EXPEDIENTE));
+        }
+
+        private int sortear(double[] acumulados) {
+            double u = random.nextDouble() * acumulados[acumulados.length - 1];
+            int i = 0;
+            while (u >= acumulados[i]) {
+                i++;
+            }
+            return i;
+        }
+    }
+
+    private static double[] acumulados(Modelo[] modelos) {
+        double[] acumulados = new double[modelos.length];
+        double soma = 0;
+        for (int i = 0; i < modelos.length; i++) {
+            soma += modelos[i].peso();
+            acumulados[i] = soma;
+        }
+        return acumulados;
+    }
+
+    private record Modelo(String nome, long preco, double peso) {
+    }
+
+    private record ChaveTotal(SalesRollup.Granularidade granularidade, LocalDate periodo,
+                              SalesRollup.Dimensao dimensao, String valor) {
+    }
+}
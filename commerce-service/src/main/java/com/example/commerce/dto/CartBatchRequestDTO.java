@@ -0,0 +1,33 @@
+package com.example.commerce.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lote de operações sobre um único carrinho (compras de frota).
+ */
+@Data
+public class CartBatchRequestDTO {
+
+    @NotEmpty(message = "Informe ao menos uma operação")
+    @Valid
+    private List<Item> operacoes = new ArrayList<>();
+
+    @Data
+    public static class Item {
+        @NotNull(message = "Operação é obrigatória")
+        private Operacao operacao;
+
+        @NotNull(message = "Veículo é obrigatório")
+        private Long vehicleId;
+    }
+
+    public enum Operacao {
+        ADICIONAR,
+        REMOVER
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.commerce.dto;
+
+import lombok.Data;
+
+/**
+ * Resultado de uma operação individual de um lote de carrinho.
+ */
+@Data
+public class CartBatchResultDTO {
+    private Long vehicleId;
+    private CartBatchRequestDTO.Operacao operacao;
+    private boolean sucesso;
+    private String mensagem;
+
+    public static CartBatchResultDTO ok(CartBatchRequestDTO.Item item) {
+        return of(item, true, null);
+    }
+
+    public static CartBatchResultDTO falha(CartBatchRequestDTO.Item item, String mensagem) {
+        return of(item, false, mensagem);
+    }
+
+    private static CartBatchResultDTO of(CartBatchRequestDTO.Item item, boolean sucesso, String mensagem) {
+        CartBatchResultDTO dto = new CartBatchResultDTO();
+        dto.setVehicleId(item.getVehicleId());
+        dto.setOperacao(item.getOperacao());
+        dto.setSucesso(sucesso);
+        dto.setMensagem(mensagem);
+        return dto;
+    }
+}
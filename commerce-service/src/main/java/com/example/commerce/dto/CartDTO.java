@@ -6,6 +6,7 @@ import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 @Data
 public class CartDTO {
@@ -22,6 +23,9 @@ public class CartDTO {
         dto.setUserId(cart.getUserId());
         dto.setStatus(cart.getStatus());
         dto.setExpirationTime(cart.getExpirationTime());
+        dto.setVehicles(cart.getVehicles().stream()
+            .map(VehicleDTO::fromEntity)
+            .collect(Collectors.toSet()));
         return dto;
     }
 
@@ -0,0 +1,39 @@
+package com.example.commerce.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Data;
+import java.time.LocalDateTime;
+
+/**
+ * Situação de um checkout assíncrono.
+ */
+@Data
+public class CheckoutStatusDTO {
+    private String id;
+    private Long cartId;
+    private Estado estado;
+    private Long saleId;
+    private String mensagem;
+    private LocalDateTime atualizadoEm;
+
+    public static CheckoutStatusDTO of(String id, Long cartId, Estado estado) {
+        CheckoutStatusDTO dto = new CheckoutStatusDTO();
+        dto.setId(id);
+        dto.setCartId(cartId);
+        dto.setEstado(estado);
+        dto.setAtualizadoEm(LocalDateTime.now());
+        return dto;
+    }
+
+    @JsonIgnore
+    public boolean isFinalizado() {
+        return estado == Estado.CONCLUIDO || estado == Estado.FALHOU;
+    }
+
+    public enum Estado {
+        PENDENTE,
+        PROCESSANDO,
+        CONCLUIDO,
+        FALHOU
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.commerce.dto;
+
+import com.example.commerce.model.VehicleColor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contagens do catálogo para os filtros da listagem de veículos
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCountsDTO {
+    private long total;
+    private Map<VehicleColor, Long> cores;
+    private Map<Integer, Long> anos;
+    private List<FaixaPreco> faixasPreco;
+
+    /**
+     * Faixa [min, max); max nulo na última faixa
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FaixaPreco {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long quantidade;
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Sugestão de modelo para autocomplete, com a quantidade em estoque
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ModelSuggestionDTO {
+    private String modelo;
+    private long quantidade;
+}
@@ -0,0 +1,39 @@
+package com.example.commerce.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lote de vendas físicas (FISICA) registradas por um vendedor.
+ */
+@Data
+public class PhysicalSaleBatchRequestDTO {
+
+    @NotEmpty(message = "Informe ao menos uma venda")
+    @Valid
+    private List<Item> vendas = new ArrayList<>();
+
+    @Data
+    public static class Item {
+        @NotBlank(message = "Cliente é obrigatório")
+        private String userId;
+
+        @NotEmpty(message = "Informe ao menos um veículo")
+        private List<@NotNull Long> vehicleIds = new ArrayList<>();
+
+        /**
+         * Valor negociado na loja
+         */
+        @NotNull(message = "Valor é obrigatório")
+        @Positive(message = "Valor deve ser positivo")
+        private BigDecimal valorTotal;
+    }
+}
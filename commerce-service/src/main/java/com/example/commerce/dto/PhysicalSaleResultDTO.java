@@ -0,0 +1,37 @@
+package com.example.commerce.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Resultado de uma venda individual de um lote de vendas físicas.
+ */
+@Data
+public class PhysicalSaleResultDTO {
+    private int indice;
+    private List<Long> vehicleIds;
+    private boolean sucesso;
+    private Long saleId;
+    private String mensagem;
+
+    public static PhysicalSaleResultDTO ok(int indice, PhysicalSaleBatchRequestDTO.Item item, Long saleId) {
+        PhysicalSaleResultDTO dto = of(indice, item, true, null);
+        dto.setSaleId(saleId);
+        return dto;
+    }
+
+    public static PhysicalSaleResultDTO falha(int indice, PhysicalSaleBatchRequestDTO.Item item, String mensagem) {
+        return of(indice, item, false, mensagem);
+    }
+
+    private static PhysicalSaleResultDTO of(int indice, PhysicalSaleBatchRequestDTO.Item item,
+                                            boolean sucesso, String mensagem) {
+        PhysicalSaleResultDTO dto = new PhysicalSaleResultDTO();
+        dto.setIndice(indice);
+        dto.setVehicleIds(item.getVehicleIds());
+        dto.setSucesso(sucesso);
+        dto.setMensagem(mensagem);
+        return dto;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.commerce.dto;
+
+import com.example.commerce.model.Sale;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+public class SaleDTO {
+    private Long id;
+    private String userId;
+    private String vendedorId;
+    private Sale.SaleType tipo;
+    private LocalDateTime dataVenda;
+    private BigDecimal valorTotal;
+    private List<Long> vehicleIds;
+
+    public static SaleDTO fromEntity(Sale sale) {
+        SaleDTO dto = new SaleDTO();
+        dto.setId(sale.getId());
+        dto.setUserId(sale.getUserId());
+        dto.setVendedorId(sale.getVendedorId());
+        dto.setTipo(sale.getTipo());
+        dto.setDataVenda(sale.getDataVenda());
+        dto.setValorTotal(sale.getValorTotal());
+        dto.setVehicleIds(List.copyOf(sale.getVehicleIds()));
+        return dto;
+    }
+}
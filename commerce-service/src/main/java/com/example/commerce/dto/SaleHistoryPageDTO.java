@@ -0,0 +1,18 @@
+package com.example.commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página do histórico de compras. proximoCursor é nulo na última página.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SaleHistoryPageDTO {
+    private List<SaleDTO> vendas;
+    private String proximoCursor;
+}
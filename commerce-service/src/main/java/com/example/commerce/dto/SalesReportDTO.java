@@ -0,0 +1,59 @@
+package com.example.commerce.dto;
+
+import com.example.commerce.model.SalesRollup;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Relatório de vendas de um período, montado a partir dos totais pré-agregados
+ */
+@Data
+public class SalesReportDTO {
+
+    private SalesRollup.Granularidade granularidade;
+    private LocalDate periodo;
+    private long quantidadeVendas;
+    private BigDecimal receitaTotal = BigDecimal.ZERO;
+    private List<Total> porTipo;
+    private List<Total> porModelo;
+    private List<Total> porCor;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Total {
+        private String valor;
+        private long quantidade;
+        private BigDecimal receita;
+    }
+
+    public static SalesReportDTO fromRollups(SalesRollup.Granularidade granularidade, LocalDate periodo,
+                                             List<SalesRollup> rollups) {
+        SalesReportDTO dto = new SalesReportDTO();
+        dto.setGranularidade(granularidade);
+        dto.setPeriodo(periodo);
+        dto.setPorTipo(totais(rollups, SalesRollup.Dimensao.TIPO));
+        dto.setPorModelo(totais(rollups, SalesRollup.Dimensao.MODELO));
+        dto.setPorCor(totais(rollups, SalesRollup.Dimensao.COR));
+        // Cada venda entra exatamente uma vez na dimensão TIPO
+        for (Total total : dto.getPorTipo()) {
+            dto.setQuantidadeVendas(dto.getQuantidadeVendas() + total.getQuantidade());
+            dto.setReceitaTotal(dto.getReceitaTotal().add(total.getReceita()));
+        }
+        return dto;
+    }
+
+    private static List<Total> totais(List<SalesRollup> rollups, SalesRollup.Dimensao dimensao) {
+        return rollups.stream()
+            .filter(rollup -> rollup.getDimensao() == dimensao)
+            .map(rollup -> new Total(rollup.getValor(), rollup.getQuantidade(), rollup.getReceita()))
+            .sorted(Comparator.comparing(Total::getReceita).reversed())
+            .toList();
+    }
+}
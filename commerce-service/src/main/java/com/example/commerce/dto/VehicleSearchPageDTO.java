@@ -0,0 +1,20 @@
+package com.example.commerce.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Página da busca no catálogo, com o total de veículos que atendem aos filtros
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VehicleSearchPageDTO {
+    private long total;
+    private int pagina;
+    private int tamanho;
+    private List<VehicleDTO> veiculos;
+}
@@ -0,0 +1,8 @@
+package com.example.commerce.event;
+
+/**
+ * Publicado na transação que grava uma venda.
+ * Ouvintes que dependem do commit devem usar AFTER_COMMIT.
+ */
+public record SaleCreatedEvent(String userId) {
+}
@@ -0,0 +1,39 @@
+package com.example.commerce.event;
+
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+
+/**
+ * Publicado quando um veículo é criado, alterado ou removido.
+ * 
+ * antes é nulo na criação e depois é nulo na remoção. Ouvintes que
+ * dependem do commit devem usar AFTER_COMMIT.
+ */
+public record VehicleInventoryChangedEvent(Estado antes, Estado depois) {
+
+    /**
+     * Valores gravados do veículo (disponivel sem considerar expiração de carrinho)
+     */
+    public record Estado(Long id,
+                         String modelo,
+                         Integer ano,
+                         VehicleColor cor,
+                         BigDecimal preco,
+                         boolean disponivel,
+                         boolean vendido) {
+
+        public static Estado of(Vehicle vehicle) {
+            return new Estado(vehicle.getId(), vehicle.getModelo(), vehicle.getAno(), vehicle.getColor(),
+                vehicle.getPreco(), vehicle.isDisponivelNoEstoque(), vehicle.isVendido());
+        }
+
+        /**
+         * Mesmo critério de VehicleRepository.findByDisponivelTrueAndVendidoFalse
+         */
+        public boolean isNoCatalogo() {
+            return disponivel && !vendido;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.commerce.event;
+
+import com.example.commerce.model.Vehicle;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Listener JPA de Vehicle: publica VehicleInventoryChangedEvent para toda
+ * alteração gravada, qualquer que seja o serviço que alterou o veículo.
+ * 
+ * O estado carregado (@PostLoad) fica no próprio veículo, para que o evento
+ * leve o antes e o depois.
+ */
+@Component
+public class VehicleInventoryListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public VehicleInventoryListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    void aoCarregar(Vehicle vehicle) {
+        vehicle.setEstadoCarregado(VehicleInventoryChangedEvent.Estado.of(vehicle));
+    }
+
+    @PostPersist
+    void aoCriar(Vehicle vehicle) {
+        publicar(vehicle, null, VehicleInventoryChangedEvent.Estado.of(vehicle));
+    }
+
+    @PostUpdate
+    void aoAlterar(Vehicle vehicle) {
+        VehicleInventoryChangedEvent.Estado depois = VehicleInventoryChangedEvent.Estado.of(vehicle);
+        if (!Objects.equals(vehicle.getEstadoCarregado(), depois)) {
+            publicar(vehicle, vehicle.getEstadoCarregado(), depois);
+        }
+    }
+
+    @PostRemove
+    void aoRemover(Vehicle vehicle) {
+        VehicleInventoryChangedEvent.Estado antes = vehicle.getEstadoCarregado() != null
+            ? vehicle.getEstadoCarregado()
+            : VehicleInventoryChangedEvent.Estado.of(vehicle);
+        publicar(vehicle, antes, null);
+    }
+
+    private void publicar(Vehicle vehicle, VehicleInventoryChangedEvent.Estado antes,
+                          VehicleInventoryChangedEvent.Estado depois) {
+        // Alterações seguintes na mesma transação partem do estado já publicado
+        vehicle.setEstadoCarregado(depois);
+        eventPublisher.publishEvent(new VehicleInventoryChangedEvent(antes, depois));
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.commerce.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrencyConflictException extends RuntimeException {
+    public ConcurrencyConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,333 @@
+package com.example.commerce.flashsale;
+
+import com.example.commerce.config.FlashSaleProperties;
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.exception.ResourceNotFoundException;
+import com.example.commerce.exception.ServiceOverloadedException;
+import com.example.commerce.service.VehicleService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Reservas em modo Flash Sale
+ * ========================
+ * 
+ * Quando milhares de usuários disputam o mesmo veículo, cada requisição do
+ * caminho normal disputa o mesmo lock de linha no banco. Neste modo:
+ * 
+ * 1. Veículo já decidido: a requisição é rejeitada na hora, sem banco
+ * 2. Demais pedidos entram na fila limitada do escritor do veículo
+ *    (vehicleId % escritores; vários produtores)
+ * 3. Cada escritor tem uma única thread, que consome sua fila (take
+ *    bloqueante), decide o vencedor em memória e grava a reserva uma única
+ *    vez via VehicleService
+ * 4. Os perdedores enfileirados são rejeitados pela escritora sem banco
+ * 
+ * O estado "veículo decidido" só é alterado pela thread escritora do
+ * veículo, inclusive a reabertura quando ele é liberado; pedidos do mesmo
+ * veículo são sempre atendidos em ordem de chegada.
+ * 
+ * ESCRITORES:
+ * ---------
+ * - A gravação de um vencedor segura a escritora pela transação inteira
+ *   (inclusive as esperas do retry de lock otimista). Com um escritor por
+ *   grupo de veículos, só os pedidos do mesmo grupo esperam por ela; os
+ *   demais veículos seguem nas outras filas
+ * - Cada escritor usa no máximo uma conexão do pool por vez: o número de
+ *   escritores deve ficar abaixo do tamanho do pool
+ * 
+ * VEÍCULOS DECIDIDOS:
+ * ----------------
+ * - Reabertos quando o commit de qualquer serviço devolve o veículo ao
+ *   estoque (liberação, expiração do carrinho), o vende ou o remove
+ * - Limitados a max-decididos, dividido entre os escritores; o mais antigo
+ *   de cada escritor sai primeiro e o próximo pedido para ele volta a ser
+ *   decidido pelo banco
+ * - Se a escritora morrer por um erro inesperado, o erro é registrado e
+ *   outra thread assume a fila
+ * 
+ * PROPRIEDADES:
+ * ----------
+ * commerce.flash-sale.enabled=false
+ * commerce.flash-sale.capacidade-fila=4096
+ * commerce.flash-sale.escritores=4
+ * commerce.flash-sale.timeout-resposta=5s
+ * commerce.flash-sale.max-decididos=100000
+ */
+@Service
+@Slf4j
+public class FlashSaleReservationService {
+
+    private final VehicleService vehicleService;
+    private final FlashSaleProperties properties;
+    private final Escritor[] escritores;
+    private final ConcurrentMap<Long, String> vencedores = new ConcurrentHashMap<>();
+    private final Counter vencedoresCounter;
+    private final Counter rejeitadosRapidoCounter;
+    private final Counter rejeitadosEscritorCounter;
+    private final Counter filaCheiaCounter;
+
+    private volatile boolean executando;
+
+    public FlashSaleReservationService(VehicleService vehicleService,
+                                       FlashSaleProperties properties,
+                                       MeterRegistry registry) {
+        this.vehicleService = vehicleService;
+        this.properties = properties;
+        int quantidade = Math.max(1, properties.getEscritores());
+        int maxDecididos = Math.max(1, (properties.getMaxDecididos() + quantidade - 1) / quantidade);
+        this.escritores = new Escritor[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            escritores[i] = new Escritor(i, maxDecididos);
+        }
+        this.vencedoresCounter = claims(registry, "won");
+        this.rejeitadosRapidoCounter = claims(registry, "rejected_fast");
+        this.rejeitadosEscritorCounter = claims(registry, "rejected_writer");
+        this.filaCheiaCounter = claims(registry, "rejected_queue_full");
+        Gauge.builder("flashsale.queue.size", escritores, FlashSaleReservationService::pendentes)
+                .description("Reservation claims waiting for the writers")
+                .register(registry);
+        Gauge.builder("flashsale.decided.vehicles", vencedores, Map::size)
+                .description("Vehicles currently decided by the flash sale writers")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        executando = true;
+        for (Escritor escritor : escritores) {
+            escritor.iniciar();
+        }
+        log.info("Flash sale mode enabled ({} writers, queue capacity {} each)",
+                escritores.length, properties.getCapacidadeFila());
+    }
+
+    @PreDestroy
+    void parar() {
+        executando = false;
+        for (Escritor escritor : escritores) {
+            escritor.parar();
+        }
+    }
+
+    public boolean isAtivo() {
+        return executando;
+    }
+
+    /**
+     * Solicita a reserva de um veículo. Apenas o primeiro pedido válido vence.
+     */
+    public VehicleDTO reservar(Long vehicleId, String userId) {
+        if (vencedores.containsKey(vehicleId)) {
+            rejeitadosRapidoCounter.increment();
+            throw new BusinessException("Veículo já está reservado");
+        }
+        Pedido pedido = new Pedido(vehicleId, userId);
+        escritorDo(vehicleId).publicar(pedido);
+        return aguardar(pedido);
+    }
+
+    /**
+     * Reabre o veículo para novas reservas (após liberação)
+     */
+    public void liberar(Long vehicleId) {
+        Pedido pedido = new Pedido(vehicleId, null);
+        escritorDo(vehicleId).publicar(pedido);
+        aguardar(pedido);
+    }
+
+    /**
+     * Reabre o veículo quando um commit o devolve ao estoque, o vende ou o
+     * remove. A própria reserva (disponível = false) não reabre.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarEstoque(VehicleInventoryChangedEvent evento) {
+        VehicleInventoryChangedEvent.Estado depois = evento.depois();
+        if (!executando || (depois != null && !depois.disponivel() && !depois.vendido())) {
+            return;
+        }
+        Long id = depois != null ? depois.id() : evento.antes().id();
+        if (vencedores.containsKey(id) && !escritorDo(id).fila.offer(new Pedido(id, null))) {
+            // Fila cheia: a entrada sai pelo limite de max-decididos
+            filaCheiaCounter.increment();
+        }
+    }
+
+    private Escritor escritorDo(Long vehicleId) {
+        return escritores[(int) Math.floorMod(vehicleId, (long) escritores.length)];
+    }
+
+    private VehicleDTO aguardar(Pedido pedido) {
+        try {
+            return pedido.resultado.get(properties.getTimeoutResposta().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ServiceOverloadedException("Tempo esgotado aguardando a reserva");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceOverloadedException("Reserva interrompida");
+        }
+    }
+
+    private static int pendentes(Escritor[] escritores) {
+        int total = 0;
+        for (Escritor escritor : escritores) {
+            total += escritor.fila.size();
+        }
+        return total;
+    }
+
+    private static Counter claims(MeterRegistry registry, String outcome) {
+        return Counter.builder("flashsale.claims")
+                .description("Flash sale reservation claims by outcome")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    /**
+     * Fila e thread escritora de um grupo de veículos
+     */
+    private final class Escritor {
+
+        private final int indice;
+        private final BlockingQueue<Pedido> fila;
+
+        /**
+         * Só a escritora mexe aqui; espelha os vencedores deste escritor em
+         * ordem de decisão
+         */
+        private final Map<Long, String> ordemDecisao;
+
+        private volatile Thread thread;
+
+        private Escritor(int indice, int maxDecididos) {
+            this.indice = indice;
+            this.fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+            this.ordemDecisao = new LinkedHashMap<>() {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, String> maisAntigo) {
+                    if (size() <= maxDecididos) {
+                        return false;
+                    }
+                    vencedores.remove(maisAntigo.getKey());
+                    return true;
+                }
+            };
+        }
+
+        private void iniciar() {
+            Thread nova = new Thread(this::consumir, "flash-sale-writer-" + indice);
+            nova.setDaemon(true);
+            nova.setUncaughtExceptionHandler((morta, erro) -> {
+                if (executando) {
+                    log.error("Flash sale writer {} died, starting a new one", indice, erro);
+                    iniciar();
+                } else {
+                    log.error("Flash sale writer {} died during shutdown", indice, erro);
+                }
+            });
+            thread = nova;
+            nova.start();
+        }
+
+        private void parar() {
+            Thread atual = thread;
+            if (atual != null) {
+                atual.interrupt();
+            }
+        }
+
+        private void publicar(Pedido pedido) {
+            if (!fila.offer(pedido)) {
+                filaCheiaCounter.increment();
+                throw new ServiceOverloadedException("Fila de reservas cheia, tente novamente");
+            }
+        }
+
+        /**
+         * Laço da thread escritora
+         */
+        private void consumir() {
+            while (executando) {
+                Pedido pedido;
+                try {
+                    pedido = fila.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    if (pedido.userId == null) {
+                        ordemDecisao.remove(pedido.vehicleId);
+                        vencedores.remove(pedido.vehicleId);
+                        pedido.resultado.complete(null);
+                    } else {
+                        processar(pedido);
+                    }
+                } catch (Error e) {
+                    pedido.resultado.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        }
+
+        private void processar(Pedido pedido) {
+            if (vencedores.containsKey(pedido.vehicleId)) {
+                rejeitadosEscritorCounter.increment();
+                pedido.resultado.completeExceptionally(new BusinessException("Veículo já está reservado"));
+                return;
+            }
+
+            vencedores.put(pedido.vehicleId, pedido.userId);
+            ordemDecisao.put(pedido.vehicleId, pedido.userId);
+            try {
+                pedido.resultado.complete(vehicleService.reservarVeiculo(pedido.vehicleId, pedido.userId));
+                vencedoresCounter.increment();
+            } catch (BusinessException | ResourceNotFoundException e) {
+                // O banco confirma que o veículo não pode ser reservado: mantém decidido
+                pedido.resultado.completeExceptionally(e);
+            } catch (RuntimeException e) {
+                ordemDecisao.remove(pedido.vehicleId);
+                vencedores.remove(pedido.vehicleId);
+                pedido.resultado.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static final class Pedido {
+        private final Long vehicleId;
+        private final String userId;
+        private final CompletableFuture<VehicleDTO> resultado = new CompletableFuture<>();
+
+        private Pedido(Long vehicleId, String userId) {
+            this.vehicleId = vehicleId;
+            this.userId = userId;
+        }
+    }
+}
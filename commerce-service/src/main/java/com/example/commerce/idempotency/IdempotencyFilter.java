@@ -0,0 +1,178 @@
+package com.example.commerce.idempotency;
+
+import com.example.commerce.config.IdempotencyProperties;
+import com.example.commerce.model.IdempotencyRecord;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Suporte ao header Idempotency-Key
+ * ==============================
+ * 
+ * Aplica-se aos POSTs de checkout e reserva. Para cada chave:
+ * 
+ * 1. Primeira requisição: executa normalmente e guarda a resposta
+ * 2. Repetição após a conclusão: devolve a resposta guardada, sem executar
+ *    a lógica do serviço novamente (header Idempotent-Replayed: true)
+ * 3. Repetição concorrente: aguarda a primeira execução e devolve o resultado
+ * 
+ * Respostas 429 e 5xx não são guardadas, para que o cliente possa tentar de novo.
+ * 
+ * A chave combina usuário, método, caminho e o header; chaves que não cabem
+ * na coluna idempotency_records.chave recebem 400.
+ */
+@RequiredArgsConstructor
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final List<String> CAMINHOS = List.of(
+        "/api/cart/*/finish",
+        "/api/cart/*/checkout",
+        "/api/vehicles/*/reserve"
+    );
+    private static final AntPathMatcher MATCHER = new AntPathMatcher();
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+
+    @Override
+    protected boolean shouldNotFilter(@Nonnull HttpServletRequest request) {
+        if (!properties.isEnabled()
+                || !"POST".equals(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String caminho = request.getRequestURI().substring(request.getContextPath().length());
+        return CAMINHOS.stream().noneMatch(padrao -> MATCHER.match(padrao, caminho));
+    }
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws ServletException, IOException {
+        String chave = chave(request);
+        if (chave.length() > IdempotencyRecord.TAMANHO_CHAVE) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Idempotency-Key muito longa");
+            return;
+        }
+        IdempotencyStore.Reserva reserva = store.reservar(chave);
+
+        if (!reserva.isPrimeira()) {
+            repetir(reserva.getExecucao(), response);
+            return;
+        }
+
+        RespostaCapturada wrapper = new RespostaCapturada(response);
+        StoredResponse resposta = null;
+        try {
+            filterChain.doFilter(request, wrapper);
+            resposta = new StoredResponse(
+                wrapper.getStatus(),
+                wrapper.getContentType(),
+                wrapper.getHeader(HttpHeaders.LOCATION),
+                wrapper.getContentAsByteArray(),
+                wrapper.mensagemErro);
+        } finally {
+            if (resposta != null && deveGuardar(resposta.getStatus())) {
+                store.concluir(chave, reserva.getExecucao(), resposta);
+            } else {
+                store.descartar(chave, reserva.getExecucao(), resposta);
+            }
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private void repetir(IdempotencyStore.Execucao execucao, HttpServletResponse response) throws IOException {
+        StoredResponse resposta;
+        try {
+            resposta = execucao.getResultado().get(properties.getEsperaMaxima().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            response.sendError(HttpStatus.CONFLICT.value(), "Requisição com a mesma Idempotency-Key ainda em processamento");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        } catch (ExecutionException e) {
+            response.sendError(HttpStatus.INTERNAL_SERVER_ERROR.value());
+            return;
+        }
+
+        if (resposta == null) {
+            // A execução original terminou com exceção; o cliente deve tentar de novo
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (resposta.getMensagemErro() != null) {
+            if (resposta.getMensagemErro().isEmpty()) {
+                response.sendError(resposta.getStatus());
+            } else {
+                response.sendError(resposta.getStatus(), resposta.getMensagemErro());
+            }
+            return;
+        }
+        response.setStatus(resposta.getStatus());
+        if (resposta.getContentType() != null) {
+            response.setContentType(resposta.getContentType());
+        }
+        if (resposta.getLocation() != null) {
+            response.setHeader(HttpHeaders.LOCATION, resposta.getLocation());
+        }
+        response.setContentLength(resposta.getCorpo().length);
+        response.getOutputStream().write(resposta.getCorpo());
+    }
+
+    private static boolean deveGuardar(int status) {
+        return status < 500 && status != HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+
+    private static String chave(HttpServletRequest request) {
+        String usuario = request.getHeader("X-User-Id");
+        return (usuario != null ? usuario : "") + '|' + request.getMethod() + '|' + request.getRequestURI() + '|'
+            + request.getHeader(IDEMPOTENCY_KEY_HEADER);
+    }
+
+    /**
+     * Registra as chamadas a sendError, cujo corpo é gerado depois pela
+     * página de erro do container
+     */
+    private static final class RespostaCapturada extends ContentCachingResponseWrapper {
+
+        private String mensagemErro;
+
+        private RespostaCapturada(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            mensagemErro = "";
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            mensagemErro = msg != null ? msg : "";
+            super.sendError(sc, msg);
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.commerce.idempotency;
+
+import com.example.commerce.config.IdempotencyProperties;
+import com.example.commerce.model.IdempotencyRecord;
+import com.example.commerce.repository.IdempotencyRecordRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Armazenamento das execuções por chave de idempotência
+ * =================================================
+ * 
+ * - Memória: LRU limitado a commerce.idempotency.max-entradas, com TTL.
+ *   Execuções em andamento nunca são descartadas pelo limite, senão uma
+ *   duplicata executaria de novo
+ * - Banco (opcional): respostas concluídas em idempotency_records
+ * - Cada chave tem uma única execução; duplicatas concorrentes aguardam o
+ *   resultado da primeira
+ */
+@Component
+@Slf4j
+public class IdempotencyStore {
+
+    private final IdempotencyProperties properties;
+    private final IdempotencyRecordRepository repository;
+    private final Map<String, Execucao> execucoes;
+
+    public IdempotencyStore(IdempotencyProperties properties, IdempotencyRecordRepository repository) {
+        this.properties = properties;
+        this.repository = repository;
+        this.execucoes = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Execucao> eldest) {
+                if (size() > properties.getMaxEntradas()) {
+                    // Remove a concluída menos usada; permitido desde que retorne false
+                    Iterator<Execucao> iterator = values().iterator();
+                    while (iterator.hasNext()) {
+                        if (iterator.next().resultado.isDone()) {
+                            iterator.remove();
+                            break;
+                        }
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Registra a execução de uma chave.
+     *
+     * @return a reserva; {@link Reserva#isPrimeira()} indica se quem chamou
+     *         deve executar a requisição ou aguardar/repetir a resposta
+     */
+    public Reserva reservar(String chave) {
+        long agora = System.currentTimeMillis();
+        Execucao nova;
+        synchronized (execucoes) {
+            Execucao existente = execucoes.get(chave);
+            if (existente != null && !existente.isExpirada(agora)) {
+                return new Reserva(existente, false);
+            }
+            nova = new Execucao(agora + properties.getTtl().toMillis());
+            execucoes.put(chave, nova);
+        }
+
+        Optional<StoredResponse> persistida = buscarPersistida(chave);
+        if (persistida.isPresent()) {
+            nova.resultado.complete(persistida.get());
+            return new Reserva(nova, false);
+        }
+        return new Reserva(nova, true);
+    }
+
+    /**
+     * Guarda a resposta de uma execução concluída e libera quem está aguardando
+     */
+    public void concluir(String chave, Execucao execucao, StoredResponse resposta) {
+        execucao.resultado.complete(resposta);
+        if (properties.isPersistir()) {
+            try {
+                repository.save(toRecord(chave, resposta, execucao.expiraEmMillis));
+            } catch (RuntimeException e) {
+                log.warn("Could not persist idempotent response for key {}: {}", chave, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Descarta uma execução que não deve ser repetida (ex.: erro 5xx). Quem
+     * estava aguardando recebe a mesma resposta; novas tentativas executam de novo.
+     */
+    public void descartar(String chave, Execucao execucao, StoredResponse resposta) {
+        synchronized (execucoes) {
+            execucoes.remove(chave, execucao);
+        }
+        execucao.resultado.complete(resposta);
+    }
+
+    @Scheduled(fixedDelay = 300000)
+    public void removerExpiradas() {
+        long agora = System.currentTimeMillis();
+        synchronized (execucoes) {
+            execucoes.values().removeIf(execucao -> execucao.isExpirada(agora));
+        }
+        if (properties.isPersistir()) {
+            repository.deleteExpired(LocalDateTime.now());
+        }
+    }
+
+    private Optional<StoredResponse> buscarPersistida(String chave) {
+        if (!properties.isPersistir()) {
+            return Optional.empty();
+        }
+        return repository.findById(chave)
+            .filter(record -> record.getExpiraEm().isAfter(LocalDateTime.now()))
+            .map(record -> new StoredResponse(
+                record.getStatus(), record.getContentType(), record.getLocation(), record.getCorpo(),
+                record.getMensagemErro()));
+    }
+
+    private static IdempotencyRecord toRecord(String chave, StoredResponse resposta, long expiraEmMillis) {
+        IdempotencyRecord record = new IdempotencyRecord();
+        record.setChave(chave);
+        record.setStatus(resposta.getStatus());
+        record.setContentType(resposta.getContentType());
+        record.setLocation(resposta.getLocation());
+        record.setCorpo(resposta.getCorpo());
+        String mensagemErro = resposta.getMensagemErro();
+        if (mensagemErro != null && mensagemErro.length() > IdempotencyRecord.TAMANHO_MENSAGEM_ERRO) {
+            mensagemErro = mensagemErro.substring(0, IdempotencyRecord.TAMANHO_MENSAGEM_ERRO);
+        }
+        record.setMensagemErro(mensagemErro);
+        record.setExpiraEm(LocalDateTime.ofInstant(Instant.ofEpochMilli(expiraEmMillis), ZoneId.systemDefault()));
+        return record;
+    }
+
+    /**
+     * Execução (em andamento ou concluída) associada a uma chave
+     */
+    public static final class Execucao {
+        private final CompletableFuture<StoredResponse> resultado = new CompletableFuture<>();
+        private final long expiraEmMillis;
+
+        private Execucao(long expiraEmMillis) {
+            this.expiraEmMillis = expiraEmMillis;
+        }
+
+        public CompletableFuture<StoredResponse> getResultado() {
+            return resultado;
+        }
+
+        private boolean isExpirada(long agora) {
+            return agora > expiraEmMillis;
+        }
+    }
+
+    /**
+     * Resultado de {@link #reservar(String)}
+     */
+    public static final class Reserva {
+        private final Execucao execucao;
+        private final boolean primeira;
+
+        private Reserva(Execucao execucao, boolean primeira) {
+            this.execucao = execucao;
+            this.primeira = primeira;
+        }
+
+        public Execucao getExecucao() {
+            return execucao;
+        }
+
+        public boolean isPrimeira() {
+            return primeira;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.commerce.idempotency;
+
+import lombok.Data;
+
+/**
+ * Resposta HTTP guardada para ser repetida em novas tentativas.
+ * 
+ * mensagemErro não nulo indica resposta produzida por sendError (ex.:
+ * exceções com @ResponseStatus): o corpo é gerado pela página de erro, fora
+ * do filtro, e a repetição também usa sendError.
+ */
+@Data
+public class StoredResponse {
+    private final int status;
+    private final String contentType;
+    private final String location;
+    private final byte[] corpo;
+    private final String mensagemErro;
+}
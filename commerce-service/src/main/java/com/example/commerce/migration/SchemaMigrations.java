@@ -0,0 +1,278 @@
+package com.example.commerce.migration;
+
+import com.example.commerce.config.MigrationProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.UncategorizedSQLException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+
+/**
+ * Migrações Versionadas do Esquema
+ * =============================
+ * 
+ * Scripts em db/migration/V<versão>__<descrição>.sql (mesma convenção do
+ * Flyway), aplicados uma vez cada, em ordem de versão. Scripts que só valem
+ * para um banco ficam em db/migration/<banco>/ (h2, mysql), no mesmo espaço
+ * de versões dos comuns.
+ * 
+ * FUNCIONAMENTO:
+ * ------------
+ * - As tabelas continuam com o Hibernate (ddl-auto); os scripts cuidam do
+ *   que ele não cria, como os índices secundários dos finders
+ * - Roda como primeiro ApplicationRunner: depois do Hibernate, antes da
+ *   massa sintética e do ApplicationReadyEvent (a instância só fica pronta
+ *   com os índices criados). A execução de treino da CDS, que para no
+ *   refresh, não toca no banco
+ * - Tabela schema_migrations guarda versão, descrição, checksum (CRC32) e
+ *   data de aplicação
+ * 
+ * SEGURANÇA:
+ * --------
+ * - Script já aplicado e alterado depois: a partida falha
+ * - Uma instância por vez: a linha de schema_migrations_lock fica travada
+ *   (SELECT ... FOR UPDATE) numa conexão separada durante toda a migração,
+ *   porque no MySQL cada DDL faz commit na conexão que o executa. As outras
+ *   instâncias esperam a trava (até commerce.migrations.espera-trava) e
+ *   depois releem as versões aplicadas
+ * - A versão só é gravada depois de o script inteiro rodar. Falha no meio
+ *   interrompe a partida sem gravar nada, e a próxima partida repete o
+ *   script desde o início
+ * - Por isso cada comando precisa ser repetível: CREATE INDEX de um índice
+ *   que já existe é pulado aqui (o MySQL não tem IF NOT EXISTS para
+ *   índices); os demais comandos devem ser repetíveis por si
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(prefix = "commerce.migrations", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaMigrations implements ApplicationRunner {
+
+    static final String LOCAL = "classpath*:db/migration/";
+
+    private static final Pattern NOME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern CRIAR_INDICE = Pattern.compile(
+        "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(\\w+)\\s+ON\\s+(\\w+)\\b.*", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final String CRIAR_TABELA = "CREATE TABLE IF NOT EXISTS schema_migrations (" +
+        "versao INT NOT NULL PRIMARY KEY, " +
+        "descricao VARCHAR(200) NOT NULL, " +
+        "checksum BIGINT NOT NULL, " +
+        "aplicada_em TIMESTAMP NOT NULL)";
+    private static final String CRIAR_TRAVA = "CREATE TABLE IF NOT EXISTS schema_migrations_lock (" +
+        "id INT NOT NULL PRIMARY KEY)";
+    static final String TRAVAR = "SELECT id FROM schema_migrations_lock WHERE id = 1 FOR UPDATE";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final MigrationProperties properties;
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        migrar();
+    }
+
+    /**
+     * Aplica as versões pendentes e devolve quantas foram aplicadas
+     */
+    public int migrar() throws IOException {
+        jdbcTemplate.execute(CRIAR_TABELA);
+        jdbcTemplate.execute(CRIAR_TRAVA);
+        try {
+            jdbcTemplate.update("INSERT INTO schema_migrations_lock (id) VALUES (1)");
+        } catch (DuplicateKeyException e) {
+            // já criada, por esta ou por outra instância
+        }
+
+        try (Connection trava = travar()) {
+            try {
+                return aplicarPendentes();
+            } finally {
+                trava.rollback();
+            }
+        } catch (SQLException e) {
+            throw translate("schema migration lock", e);
+        }
+    }
+
+    /**
+     * Conexão com a linha da trava presa; fechá-la (ou desfazer a transação)
+     * libera a próxima instância
+     */
+    private Connection travar() throws SQLException {
+        long limite = System.nanoTime() + properties.getEsperaTrava().toNanos();
+        Connection conexao = jdbcTemplate.getDataSource().getConnection();
+        try {
+            conexao.setAutoCommit(false);
+            while (true) {
+                try (Statement comando = conexao.createStatement()) {
+                    comando.executeQuery(TRAVAR).close();
+                    return conexao;
+                } catch (SQLException e) {
+                    conexao.rollback();
+                    if (!(translate(TRAVAR, e) instanceof PessimisticLockingFailureException)
+                            || System.nanoTime() - limite > 0) {
+                        throw e;
+                    }
+                    log.info("Waiting for another instance to finish schema migrations");
+                }
+            }
+        } catch (SQLException | RuntimeException e) {
+            conexao.close();
+            throw e;
+        }
+    }
+
+    private int aplicarPendentes() throws IOException {
+        Map<Integer, Long> aplicadas = new HashMap<>();
+        jdbcTemplate.query("SELECT versao, checksum FROM schema_migrations",
+            rs -> { aplicadas.put(rs.getInt(1), rs.getLong(2)); });
+
+        int novas = 0;
+        for (Migracao migracao : encontrar(banco())) {
+            Long checksum = aplicadas.get(migracao.versao());
+            if (checksum == null) {
+                aplicar(migracao);
+                novas++;
+            } else if (checksum != migracao.checksum()) {
+                throw new IllegalStateException("Schema migration V" + migracao.versao() +
+                    " was changed after being applied; add a new version instead");
+            }
+        }
+        return novas;
+    }
+
+    private void aplicar(Migracao migracao) throws IOException {
+        List<String> comandos = comandos(migracao.recurso().getContentAsString(StandardCharsets.UTF_8));
+
+        long inicio = System.nanoTime();
+        jdbcTemplate.execute((ConnectionCallback<Void>) conexao -> {
+            try (Statement comando = conexao.createStatement()) {
+                for (String sql : comandos) {
+                    Matcher indice = CRIAR_INDICE.matcher(sql);
+                    if (indice.matches() && indiceExiste(conexao, indice.group(2), indice.group(1))) {
+                        log.info("Schema migration V{}: index {} already exists, skipping", migracao.versao(), indice.group(1));
+                        continue;
+                    }
+                    comando.execute(sql);
+                }
+            }
+            return null;
+        });
+        jdbcTemplate.update("INSERT INTO schema_migrations (versao, descricao, checksum, aplicada_em) VALUES (?, ?, ?, ?)",
+            migracao.versao(), migracao.descricao(), migracao.checksum(), LocalDateTime.now());
+        log.info("Applied schema migration V{} ({}) in {} ms", migracao.versao(), migracao.descricao(),
+            (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    /**
+     * Comandos separados por ';', comentários de linha com '--'
+     */
+    static List<String> comandos(String script) {
+        String semComentarios = script.lines()
+            .filter(linha -> !linha.strip().startsWith("--"))
+            .collect(Collectors.joining("\n"));
+        List<String> comandos = new ArrayList<>();
+        for (String comando : semComentarios.split(";")) {
+            if (!comando.isBlank()) {
+                comandos.add(comando.strip());
+            }
+        }
+        return comandos;
+    }
+
+    /**
+     * O H2 guarda nomes em maiúsculas e o MySQL como foram escritos
+     */
+    private static boolean indiceExiste(Connection conexao, String tabela, String indice) throws SQLException {
+        DatabaseMetaData metadados = conexao.getMetaData();
+        Set<String> nomes = new LinkedHashSet<>(List.of(tabela, tabela.toUpperCase(Locale.ROOT), tabela.toLowerCase(Locale.ROOT)));
+        for (String nome : nomes) {
+            try (ResultSet indices = metadados.getIndexInfo(conexao.getCatalog(), null, nome, false, true)) {
+                while (indices.next()) {
+                    if (indice.equalsIgnoreCase(indices.getString("INDEX_NAME"))) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Pasta dos scripts específicos do banco conectado: "h2", "mysql"
+     */
+    private String banco() {
+        return jdbcTemplate.execute((ConnectionCallback<String>) conexao ->
+            conexao.getMetaData().getDatabaseProductName().toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]", ""));
+    }
+
+    static List<Migracao> encontrar(String banco) throws IOException {
+        PathMatchingResourcePatternResolver resolvedor = new PathMatchingResourcePatternResolver();
+        List<Resource> recursos = new ArrayList<>(List.of(resolvedor.getResources(LOCAL + "V*__*.sql")));
+        recursos.addAll(List.of(resolvedor.getResources(LOCAL + banco + "/V*__*.sql")));
+
+        List<Migracao> migracoes = new ArrayList<>();
+        for (Resource recurso : recursos) {
+            Matcher nome = NOME.matcher(recurso.getFilename());
+            if (!nome.matches()) {
+                continue;
+            }
+            int versao = Integer.parseInt(nome.group(1));
+            if (migracoes.stream().anyMatch(m -> m.versao() == versao)) {
+                throw new IllegalStateException("Duplicate schema migration version V" + versao);
+            }
+            migracoes.add(new Migracao(versao, nome.group(2).replace('_', ' '), recurso, checksum(recurso)));
+        }
+        migracoes.sort(Comparator.comparingInt(Migracao::versao));
+        return migracoes;
+    }
+
+    private static long checksum(Resource recurso) throws IOException {
+        CRC32 crc = new CRC32();
+        try (InputStream entrada = recurso.getInputStream()) {
+            crc.update(entrada.readAllBytes());
+        }
+        return crc.getValue();
+    }
+
+    private DataAccessException translate(String tarefa, SQLException e) {
+        DataAccessException traduzida = jdbcTemplate.getExceptionTranslator().translate(tarefa, null, e);
+        return traduzida != null ? traduzida : new UncategorizedSQLException(tarefa, null, e);
+    }
+
+    record Migracao(int versao, String descricao, Resource recurso, long checksum) {
+    }
+}
@@ -43,9 +43,18 @@ import java.util.Set;
  */
 @Entity
 @Table(name = "carts")
+@NamedEntityGraph(
+    name = Cart.GRAPH_VEHICLES,
+    attributeNodes = @NamedAttributeNode("vehicles")
+)
 @Data
 public class Cart {
 
+    /**
+     * Plano de busca que carrega o carrinho junto com seus veículos (evita N+1)
+     */
+    public static final String GRAPH_VEHICLES = "Cart.vehicles";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -0,0 +1,43 @@
+package com.example.commerce.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resposta armazenada para uma chave de idempotência (persistência opcional)
+ */
+@Entity
+@Table(name = "idempotency_records")
+@Data
+public class IdempotencyRecord {
+
+    public static final int TAMANHO_CHAVE = 512;
+    public static final int TAMANHO_MENSAGEM_ERRO = 1000;
+
+    /**
+     * Usuário + método + caminho + valor do header Idempotency-Key
+     */
+    @Id
+    @Column(length = TAMANHO_CHAVE)
+    private String chave;
+
+    private int status;
+
+    private String contentType;
+
+    private String location;
+
+    @Lob
+    private byte[] corpo;
+
+    /**
+     * Preenchido quando a resposta veio de sendError
+     */
+    @Column(length = TAMANHO_MENSAGEM_ERRO)
+    private String mensagemErro;
+
+    @Column(nullable = false)
+    private LocalDateTime expiraEm;
+}
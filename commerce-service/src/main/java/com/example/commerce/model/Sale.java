@@ -2,6 +2,7 @@ package com.example.commerce.model;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -47,7 +48,10 @@ import java.util.List;
  *    - Comum: sem desconto
  */
 @Entity
-@Table(name = "sales")
+@Table(name = "sales", indexes = {
+    // Histórico por usuário com paginação por chave (keyset)
+    @Index(name = "idx_sales_user_data_id", columnList = "userId, dataVenda, id")
+})
 @Data
 public class Sale {
 
@@ -61,10 +65,16 @@ public class Sale {
     @Column(nullable = false)
     private String userId;
 
+    /**
+     * ID do vendedor (apenas vendas FISICA)
+     */
+    private String vendedorId;
+
     /**
      * Lista de IDs dos veículos vendidos
      */
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "sale_vehicles", joinColumns = @JoinColumn(name = "sale_id"))
     @Column(name = "vehicle_id")
     private List<Long> vehicleIds = new ArrayList<>();
@@ -89,7 +99,9 @@ public class Sale {
 
     @PrePersist
     protected void onCreate() {
-        dataVenda = LocalDateTime.now();
+        if (dataVenda == null) {
+            dataVenda = LocalDateTime.now();
+        }
     }
 
     /**
@@ -0,0 +1,94 @@
+package com.example.commerce.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Totais de vendas pré-agregados
+ * ===========================
+ * 
+ * Uma linha por (granularidade, período, dimensão, valor), mantida a cada
+ * venda gravada. Relatórios leem estas linhas em vez das vendas.
+ * 
+ * EXEMPLOS:
+ * -------
+ * - (DIA, 2024-03-15, TIPO, ONLINE)
+ * - (MES, 2024-03-01, MODELO, Civic)
+ * - (ANO, 2024-01-01, COR, PRETA)
+ */
+@Entity
+@Table(name = "sales_rollups",
+       uniqueConstraints = @UniqueConstraint(
+           name = "uk_sales_rollups_chave",
+           columnNames = {"granularidade", "periodo", "dimensao", "valor"}))
+@Data
+@NoArgsConstructor
+public class SalesRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularidade granularidade;
+
+    /**
+     * Primeiro dia do período (dia, mês ou ano)
+     */
+    @Column(nullable = false)
+    private LocalDate periodo;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Dimensao dimensao;
+
+    /**
+     * Mesmo tamanho de vehicles.modelo (varchar 255)
+     */
+    @Column(nullable = false, length = 255)
+    private String valor;
+
+    /**
+     * Vendas (dimensão TIPO) ou veículos vendidos (MODELO e COR)
+     */
+    @Column(nullable = false)
+    private long quantidade;
+
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal receita;
+
+    public SalesRollup(Granularidade granularidade, LocalDate periodo, Dimensao dimensao, String valor,
+                       long quantidade, BigDecimal receita) {
+        this.granularidade = granularidade;
+        this.periodo = periodo;
+        this.dimensao = dimensao;
+        this.valor = valor;
+        this.quantidade = quantidade;
+        this.receita = receita;
+    }
+
+    public enum Granularidade {
+        DIA,
+        MES,
+        ANO;
+
+        public LocalDate inicio(LocalDate data) {
+            return switch (this) {
+                case DIA -> data;
+                case MES -> data.withDayOfMonth(1);
+                case ANO -> data.withDayOfYear(1);
+            };
+        }
+    }
+
+    public enum Dimensao {
+        TIPO,
+        MODELO,
+        COR
+    }
+}
@@ -1,10 +1,14 @@
 package com.example.commerce.model;
 
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.event.VehicleInventoryListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.math.BigDecimal;
 
@@ -39,6 +43,7 @@ import java.math.BigDecimal;
  */
 @Entity
 @Table(name = "vehicles")
+@EntityListeners(VehicleInventoryListener.class)
 @Data
 public class Vehicle {
 
@@ -136,4 +141,20 @@ public class Vehicle {
 
     @Version
     private Long version; // Para controle de concorrência otimista
+
+    /**
+     * Estado lido do banco, usado para publicar o antes/depois das alterações
+     */
+    @Transient
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private VehicleInventoryChangedEvent.Estado estadoCarregado;
+
+    /**
+     * Valor gravado da flag disponivel, sem considerar a expiração do
+     * carrinho (mesmo critério das consultas de estoque)
+     */
+    public boolean isDisponivelNoEstoque() {
+        return disponivel;
+    }
 } 
\ No newline at end of file
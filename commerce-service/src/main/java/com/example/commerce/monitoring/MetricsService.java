@@ -21,10 +21,12 @@ public class MetricsService {
     private final Counter cartsExpiredCounter;
     private final Counter salesCompletedCounter;
     private final Timer cartOperationTimer;
+    private final MeterRegistry registry;
 
 
     @Autowired
     public MetricsService(MeterRegistry registry) {
+        this.registry = registry;
         this.cartsCreatedCounter = Counter.builder("carts.created")
                 .description("Number of shopping carts created")
                 .register(registry);
@@ -54,4 +56,23 @@ public class MetricsService {
     public void recordCartOperationTime(long timeInMs) {
         cartOperationTimer.record(timeInMs, TimeUnit.MILLISECONDS);
     }
+
+    public void incrementOptimisticConflict(String operation) {
+        optimisticCounter("vehicle.optimistic.conflicts", "Optimistic lock conflicts", operation).increment();
+    }
+
+    public void incrementOptimisticRetry(String operation) {
+        optimisticCounter("vehicle.optimistic.retries", "Retries after optimistic lock conflicts", operation).increment();
+    }
+
+    public void incrementOptimisticGiveUp(String operation) {
+        optimisticCounter("vehicle.optimistic.giveups", "Operations abandoned after exhausting retries", operation).increment();
+    }
+
+    private Counter optimisticCounter(String name, String description, String operation) {
+        return Counter.builder(name)
+                .description(description)
+                .tag("operation", operation)
+                .register(registry);
+    }
 } 
\ No newline at end of file
@@ -0,0 +1,77 @@
+package com.example.commerce.report;
+
+import com.example.commerce.repository.SaleRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Lê as vendas de uma partição com uma consulta em streaming.
+ * 
+ * As linhas vêm ordenadas por venda; linhas consecutivas da mesma venda
+ * são agrupadas em um SaleFact antes de chegar ao consumidor. Vendas sem
+ * veículos chegam com itens vazios.
+ * 
+ * No MySQL o fetch size da consulta só vale com useCursorFetch=true na URL
+ * (docker-compose e Dockerfile); sem isso cada partição viria inteira para
+ * a memória.
+ */
+@Component
+public class JpaSalesPartitionSource implements SalesPartitionSource {
+
+    private final SaleRepository saleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaSalesPartitionSource(SaleRepository saleRepository, PlatformTransactionManager transactionManager) {
+        this.saleRepository = saleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void percorrer(LocalDateTime inicio, LocalDateTime fim, Consumer<SaleFact> consumidor) {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<SaleReportLine> linhas = saleRepository.streamReportLines(inicio, fim)) {
+                Agrupador agrupador = new Agrupador(consumidor);
+                linhas.forEach(agrupador::adicionar);
+                agrupador.emitir();
+            }
+        });
+    }
+
+    private static final class Agrupador {
+        private final Consumer<SaleFact> consumidor;
+        private SaleReportLine atual;
+        private List<SaleFact.Item> itens = new ArrayList<>();
+
+        Agrupador(Consumer<SaleFact> consumidor) {
+            this.consumidor = consumidor;
+        }
+
+        void adicionar(SaleReportLine linha) {
+            if (atual != null && !Objects.equals(atual.saleId(), linha.saleId())) {
+                emitir();
+            }
+            atual = linha;
+            if (linha.preco() != null) {
+                itens.add(new SaleFact.Item(linha.modelo(), linha.cor(), linha.preco()));
+            }
+        }
+
+        void emitir() {
+            if (atual == null) {
+                return;
+            }
+            consumidor.accept(new SaleFact(atual.saleId(), atual.dataVenda(), atual.tipo(), atual.valorTotal(), itens));
+            atual = null;
+            itens = new ArrayList<>();
+        }
+    }
+}
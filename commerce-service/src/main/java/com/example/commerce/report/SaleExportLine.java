@@ -0,0 +1,18 @@
+package com.example.commerce.report;
+
+import com.example.commerce.model.Sale;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da consulta de exportação: uma venda + um de seus vehicleIds
+ * (nulo quando a venda não tem veículos).
+ */
+public record SaleExportLine(Long saleId,
+                             String userId,
+                             Sale.SaleType tipo,
+                             LocalDateTime dataVenda,
+                             BigDecimal valorTotal,
+                             Long vehicleId) {
+}
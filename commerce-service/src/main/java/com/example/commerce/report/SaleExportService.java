@@ -0,0 +1,193 @@
+package com.example.commerce.report;
+
+import com.example.commerce.config.ReportProperties;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.repository.SaleRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação de Vendas em CSV
+ * ========================
+ * 
+ * MEMÓRIA CONSTANTE:
+ * ---------------
+ * - Uma única consulta com cursor somente-avanço e fetch size. No MySQL
+ *   o fetch size só vale com useCursorFetch=true na URL (docker-compose e
+ *   Dockerfile); sem isso o Connector/J traz o resultado inteiro
+ * - vehicleIds vêm na mesma consulta (uma linha por veículo, ordenadas por venda)
+ * - Cada venda é escrita assim que sua última linha chega
+ * - Nenhuma entidade é carregada no contexto de persistência
+ * 
+ * O cabeçalho e os primeiros lotes são enviados (flush) antes de a
+ * consulta terminar, então o cliente recebe o primeiro byte cedo.
+ * 
+ * CONEXÃO:
+ * -------
+ * A conexão fica presa durante todo o download, inclusive enquanto um
+ * cliente lento consome a resposta. commerce.reports.duracao-maxima-exportacao
+ * limita esse tempo: esgotado, a exportação é interrompida com
+ * TransactionTimedOutException. O timeout das requisições assíncronas
+ * (WebMvcConfig) é maior que esse limite, para o container não cortar a
+ * resposta antes.
+ * 
+ * TRUNCAMENTO:
+ * ----------
+ * O status 200 já foi enviado quando a consulta falha ou o limite se
+ * esgota. Por isso a última linha passa a ser TRUNCADO e a exceção propaga,
+ * sem o fim normal da resposta; no gzip falta também o rodapé do formato,
+ * e a descompressão acusa o arquivo incompleto.
+ */
+@Service
+public class SaleExportService {
+
+    static final String CABECALHO = "id,userId,tipo,dataVenda,valorTotal,vehicleIds";
+    static final String TRUNCADO = "#truncado";
+
+    /**
+     * Vendas escritas entre dois flush da resposta
+     */
+    private static final int VENDAS_POR_FLUSH = 500;
+
+    private final SaleRepository saleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration duracaoMaxima;
+
+    public SaleExportService(SaleRepository saleRepository, PlatformTransactionManager transactionManager,
+                             ReportProperties properties) {
+        this.saleRepository = saleRepository;
+        this.duracaoMaxima = properties.getDuracaoMaximaExportacao();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        // Também vira timeout da consulta no JDBC
+        this.transactionTemplate.setTimeout((int) Math.max(1, duracaoMaxima.toSeconds()));
+    }
+
+    /**
+     * Escreve em CSV as vendas com dataVenda em [inicio, fim)
+     */
+    public void exportarCsv(LocalDateTime inicio, LocalDateTime fim, OutputStream destino) throws IOException {
+        validarPeriodo(inicio, fim);
+        Writer writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8));
+        writer.write(CABECALHO);
+        writer.write('\n');
+        writer.flush();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<SaleExportLine> linhas = saleRepository.streamExportLines(inicio, fim)) {
+                    EscritorCsv escritor = new EscritorCsv(writer, System.nanoTime() + duracaoMaxima.toNanos());
+                    linhas.forEach(escritor::adicionar);
+                    escritor.emitir();
+                }
+            });
+        } catch (UncheckedIOException e) {
+            // Cliente desconectou ou falha de escrita: propaga a causa original
+            throw e.getCause();
+        } catch (RuntimeException e) {
+            writer.write(TRUNCADO);
+            writer.write('\n');
+            writer.flush();
+            throw e;
+        }
+        writer.flush();
+    }
+
+    /**
+     * Igual a exportarCsv, comprimido com gzip
+     */
+    public void exportarCsvGzip(LocalDateTime inicio, LocalDateTime fim, OutputStream destino) throws IOException {
+        validarPeriodo(inicio, fim);
+        // syncFlush: cada flush do CSV também esvazia o compressor
+        GZIPOutputStream gzip = new GZIPOutputStream(destino, 8192, true);
+        exportarCsv(inicio, fim, gzip);
+        gzip.finish();
+        gzip.flush();
+    }
+
+    private static void validarPeriodo(LocalDateTime inicio, LocalDateTime fim) {
+        if (inicio == null || fim == null || !inicio.isBefore(fim)) {
+            throw new BusinessException("Período inválido");
+        }
+    }
+
+    private static String escapar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Agrupa as linhas consecutivas de uma venda em uma linha de CSV
+     */
+    private static final class EscritorCsv {
+        private final Writer writer;
+        private final StringBuilder vehicleIds = new StringBuilder();
+        private final long limite;
+        private SaleExportLine atual;
+        private int escritas;
+
+        EscritorCsv(Writer writer, long limite) {
+            this.writer = writer;
+            this.limite = limite;
+        }
+
+        void adicionar(SaleExportLine linha) {
+            if (System.nanoTime() - limite > 0) {
+                throw new TransactionTimedOutException("Sale export exceeded its maximum duration after " +
+                    escritas + " sales");
+            }
+            if (atual != null && !Objects.equals(atual.saleId(), linha.saleId())) {
+                emitir();
+            }
+            atual = linha;
+            if (linha.vehicleId() != null) {
+                if (!vehicleIds.isEmpty()) {
+                    vehicleIds.append(';');
+                }
+                vehicleIds.append(linha.vehicleId());
+            }
+        }
+
+        void emitir() {
+            if (atual == null) {
+                return;
+            }
+            try {
+                writer.write(String.valueOf(atual.saleId()));
+                writer.write(',');
+                writer.write(escapar(atual.userId()));
+                writer.write(',');
+                writer.write(atual.tipo().name());
+                writer.write(',');
+                writer.write(atual.dataVenda() != null ? atual.dataVenda().toString() : "");
+                writer.write(',');
+                writer.write(atual.valorTotal().toPlainString());
+                writer.write(',');
+                writer.write(vehicleIds.toString());
+                writer.write('\n');
+                if (++escritas % VENDAS_POR_FLUSH == 0) {
+                    writer.flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            atual = null;
+            vehicleIds.setLength(0);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.commerce.report;
+
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Uma venda com os veículos vendidos, como vista pelos relatórios
+ */
+public record SaleFact(Long id,
+                       LocalDateTime dataVenda,
+                       Sale.SaleType tipo,
+                       BigDecimal valorTotal,
+                       List<Item> itens) {
+
+    public record Item(String modelo, VehicleColor cor, BigDecimal preco) {
+    }
+
+    /**
+     * Venda com veículos; as vendas sem veículos ficam nos totais de
+     * receita, mas não têm preço de tabela
+     */
+    public boolean temItens() {
+        return !itens.isEmpty();
+    }
+
+    /**
+     * Soma dos preços de tabela dos veículos
+     */
+    public BigDecimal precoTabela() {
+        return itens.stream()
+            .map(Item::preco)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    /**
+     * Diferença entre o preço de tabela e o valor cobrado. Sem itens não há
+     * preço de tabela e o resultado não é um desconto (ver temItens)
+     */
+    public BigDecimal desconto() {
+        return precoTabela().subtract(valorTotal);
+    }
+
+    /**
+     * Parte do valor cobrado atribuída a um item, proporcional ao seu preço de tabela
+     */
+    public BigDecimal receitaDe(Item item) {
+        BigDecimal tabela = precoTabela();
+        if (tabela.signum() == 0) {
+            return BigDecimal.ZERO;
+        }
+        return valorTotal.multiply(item.preco()).divide(tabela, 2, RoundingMode.HALF_EVEN);
+    }
+}
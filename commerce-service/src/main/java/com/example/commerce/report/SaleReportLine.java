@@ -0,0 +1,21 @@
+package com.example.commerce.report;
+
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.VehicleColor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha da consulta de relatórios: uma venda + um de seus veículos.
+ * Veículos removidos depois da venda, e vendas sem veículos, chegam com
+ * modelo, cor e preço nulos.
+ */
+public record SaleReportLine(Long saleId,
+                             LocalDateTime dataVenda,
+                             Sale.SaleType tipo,
+                             BigDecimal valorTotal,
+                             String modelo,
+                             VehicleColor cor,
+                             BigDecimal preco) {
+}
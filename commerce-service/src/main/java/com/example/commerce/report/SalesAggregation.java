@@ -0,0 +1,24 @@
+package com.example.commerce.report;
+
+/**
+ * Agregação executada pelo motor de relatórios.
+ * 
+ * Cada partição acumula em seu próprio acumulador (sem compartilhamento
+ * entre threads); os parciais são combinados dois a dois ao fim das tarefas.
+ * 
+ * @param <A> acumulador parcial, mutável e confinado a uma thread
+ * @param <R> resultado final
+ */
+public interface SalesAggregation<A, R> {
+
+    A criar();
+
+    void acumular(A acumulador, SaleFact venda);
+
+    /**
+     * Combina dois parciais; pode reaproveitar e devolver o primeiro
+     */
+    A combinar(A esquerda, A direita);
+
+    R resultado(A acumulador);
+}
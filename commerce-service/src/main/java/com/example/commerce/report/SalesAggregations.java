@@ -0,0 +1,115 @@
+package com.example.commerce.report;
+
+import com.example.commerce.model.Sale;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Relatórios ad-hoc disponíveis no motor paralelo
+ */
+public final class SalesAggregations {
+
+    private SalesAggregations() {
+    }
+
+    /**
+     * Receita por mês e por modelo
+     */
+    public static SalesAggregation<Map<YearMonth, Map<String, BigDecimal>>, Map<YearMonth, Map<String, BigDecimal>>> receitaPorModeloPorMes() {
+        return new SalesAggregation<>() {
+            @Override
+            public Map<YearMonth, Map<String, BigDecimal>> criar() {
+                return new TreeMap<>();
+            }
+
+            @Override
+            public void acumular(Map<YearMonth, Map<String, BigDecimal>> acumulador, SaleFact venda) {
+                Map<String, BigDecimal> doMes = acumulador.computeIfAbsent(
+                    YearMonth.from(venda.dataVenda()), mes -> new TreeMap<>());
+                for (SaleFact.Item item : venda.itens()) {
+                    doMes.merge(item.modelo(), venda.receitaDe(item), BigDecimal::add);
+                }
+            }
+
+            @Override
+            public Map<YearMonth, Map<String, BigDecimal>> combinar(Map<YearMonth, Map<String, BigDecimal>> esquerda,
+                                                                    Map<YearMonth, Map<String, BigDecimal>> direita) {
+                direita.forEach((mes, porModelo) -> {
+                    Map<String, BigDecimal> destino = esquerda.computeIfAbsent(mes, m -> new TreeMap<>());
+                    porModelo.forEach((modelo, receita) -> destino.merge(modelo, receita, BigDecimal::add));
+                });
+                return esquerda;
+            }
+
+            @Override
+            public Map<YearMonth, Map<String, BigDecimal>> resultado(Map<YearMonth, Map<String, BigDecimal>> acumulador) {
+                return acumulador;
+            }
+        };
+    }
+
+    /**
+     * Desconto médio por venda, por tipo de venda. Vendas sem veículos não
+     * entram: sem preço de tabela, o "desconto" seria o valor cobrado negativo
+     */
+    public static SalesAggregation<Map<Sale.SaleType, Media>, Map<Sale.SaleType, BigDecimal>> descontoMedioPorTipo() {
+        return new SalesAggregation<>() {
+            @Override
+            public Map<Sale.SaleType, Media> criar() {
+                return new EnumMap<>(Sale.SaleType.class);
+            }
+
+            @Override
+            public void acumular(Map<Sale.SaleType, Media> acumulador, SaleFact venda) {
+                if (!venda.temItens()) {
+                    return;
+                }
+                acumulador.computeIfAbsent(venda.tipo(), tipo -> new Media()).somar(venda.desconto());
+            }
+
+            @Override
+            public Map<Sale.SaleType, Media> combinar(Map<Sale.SaleType, Media> esquerda,
+                                                      Map<Sale.SaleType, Media> direita) {
+                direita.forEach((tipo, media) -> esquerda.merge(tipo, media, Media::combinar));
+                return esquerda;
+            }
+
+            @Override
+            public Map<Sale.SaleType, BigDecimal> resultado(Map<Sale.SaleType, Media> acumulador) {
+                Map<Sale.SaleType, BigDecimal> medias = new EnumMap<>(Sale.SaleType.class);
+                acumulador.forEach((tipo, media) -> medias.put(tipo, media.valor()));
+                return medias;
+            }
+        };
+    }
+
+    /**
+     * Soma e contagem para médias combináveis
+     */
+    public static final class Media {
+        private BigDecimal soma = BigDecimal.ZERO;
+        private long quantidade;
+
+        void somar(BigDecimal valor) {
+            soma = soma.add(valor);
+            quantidade++;
+        }
+
+        Media combinar(Media outra) {
+            soma = soma.add(outra.soma);
+            quantidade += outra.quantidade;
+            return this;
+        }
+
+        BigDecimal valor() {
+            return quantidade == 0
+                ? BigDecimal.ZERO
+                : soma.divide(BigDecimal.valueOf(quantidade), 2, RoundingMode.HALF_EVEN);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.commerce.report;
+
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/**
+ * Fonte das vendas de uma partição do relatório.
+ * 
+ * Chamada em paralelo, uma vez por partição; cada chamada deve usar sua
+ * própria conexão/transação e entregar as vendas sem materializar a
+ * partição inteira.
+ */
+public interface SalesPartitionSource {
+
+    /**
+     * Entrega ao consumidor as vendas com dataVenda em [inicio, fim)
+     */
+    void percorrer(LocalDateTime inicio, LocalDateTime fim, Consumer<SaleFact> consumidor);
+}
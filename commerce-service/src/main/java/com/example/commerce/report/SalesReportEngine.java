@@ -0,0 +1,112 @@
+package com.example.commerce.report;
+
+import com.example.commerce.config.ReportProperties;
+import com.example.commerce.exception.BusinessException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Motor de Relatórios Paralelo
+ * =========================
+ * 
+ * FUNCIONAMENTO:
+ * ------------
+ * 1. O intervalo de dataVenda é dividido em partições de
+ *    commerce.reports.tamanho-particao
+ * 2. Cada partição vira uma tarefa fork/join que lê suas vendas em
+ *    streaming (uma consulta por partição) e acumula em um parcial próprio
+ * 3. Os parciais são combinados dois a dois no join das tarefas
+ * 
+ * Nenhum acumulador é compartilhado entre threads, então não há locks.
+ * O pool é limitado (commerce.reports.paralelismo) e separado do
+ * ForkJoinPool comum, para não competir com streams paralelos da aplicação
+ * nem ocupar mais conexões que o previsto.
+ */
+@Service
+@Slf4j
+public class SalesReportEngine {
+
+    private final SalesPartitionSource source;
+    private final Duration tamanhoParticao;
+    private final ForkJoinPool pool;
+
+    public SalesReportEngine(SalesPartitionSource source, ReportProperties properties) {
+        this.source = source;
+        this.tamanhoParticao = properties.getTamanhoParticao();
+        this.pool = new ForkJoinPool(properties.paralelismoEfetivo());
+    }
+
+    /**
+     * Executa a agregação sobre as vendas com dataVenda em [inicio, fim)
+     */
+    public <A, R> R executar(LocalDateTime inicio, LocalDateTime fim, SalesAggregation<A, R> agregacao) {
+        if (inicio == null || fim == null || !inicio.isBefore(fim)) {
+            throw new BusinessException("Período inválido");
+        }
+        List<LocalDateTime[]> particoes = particionar(inicio, fim);
+        long comeco = System.nanoTime();
+        A parcial = pool.invoke(new Tarefa<>(particoes, 0, particoes.size(), agregacao));
+        log.debug("Report over {} partitions took {} ms", particoes.size(),
+            Duration.ofNanos(System.nanoTime() - comeco).toMillis());
+        return agregacao.resultado(parcial);
+    }
+
+    List<LocalDateTime[]> particionar(LocalDateTime inicio, LocalDateTime fim) {
+        List<LocalDateTime[]> particoes = new ArrayList<>();
+        LocalDateTime atual = inicio;
+        while (atual.isBefore(fim)) {
+            LocalDateTime proximo = atual.plus(tamanhoParticao);
+            if (proximo.isAfter(fim)) {
+                proximo = fim;
+            }
+            particoes.add(new LocalDateTime[]{atual, proximo});
+            atual = proximo;
+        }
+        return particoes;
+    }
+
+    @PreDestroy
+    void encerrar() {
+        pool.shutdown();
+    }
+
+    private final class Tarefa<A> extends RecursiveTask<A> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<LocalDateTime[]> particoes;
+        private final int de;
+        private final int ate;
+        private final SalesAggregation<A, ?> agregacao;
+
+        Tarefa(List<LocalDateTime[]> particoes, int de, int ate, SalesAggregation<A, ?> agregacao) {
+            this.particoes = particoes;
+            this.de = de;
+            this.ate = ate;
+            this.agregacao = agregacao;
+        }
+
+        @Override
+        protected A compute() {
+            if (ate - de == 1) {
+                A acumulador = agregacao.criar();
+                LocalDateTime[] particao = particoes.get(de);
+                source.percorrer(particao[0], particao[1], venda -> agregacao.acumular(acumulador, venda));
+                return acumulador;
+            }
+            int meio = (de + ate) >>> 1;
+            Tarefa<A> esquerda = new Tarefa<>(particoes, de, meio, agregacao);
+            Tarefa<A> direita = new Tarefa<>(particoes, meio, ate, agregacao);
+            esquerda.fork();
+            A resultadoDireita = direita.compute();
+            return agregacao.combinar(esquerda.join(), resultadoDireita);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.example.commerce.repository;
 
 import com.example.commerce.model.Cart;
 import com.example.commerce.model.CartStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -22,15 +23,24 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
      */
     Optional<Cart> findByUserIdAndFinalizadoFalse(String userId);
     
+    /**
+     * Busca o carrinho já com seus veículos (uma única consulta com join)
+     */
+    @EntityGraph(Cart.GRAPH_VEHICLES)
+    @Query("SELECT c FROM Cart c WHERE c.id = :id")
+    Optional<Cart> findByIdWithVehicles(Long id);
+
     /**
      * Lista carrinhos expirados e não finalizados
      */
+    @EntityGraph(Cart.GRAPH_VEHICLES)
     @Query("SELECT c FROM Cart c WHERE c.expiresAt < :now AND c.finalizado = false")
     List<Cart> findExpiredCarts(LocalDateTime now);
     
     /**
      * Lista carrinhos por usuário
      */
+    @EntityGraph(Cart.GRAPH_VEHICLES)
     List<Cart> findByUserId(String userId);
 
     Cart findFirstByOrderByCreatedAtDesc();
@@ -38,5 +48,6 @@ public interface CartRepository extends JpaRepository<Cart, Long> {
     Optional<Cart> findByUserIdAndStatus(String userId, CartStatus status);
     boolean existsByVehiclesIdAndStatus(Long vehicleId, CartStatus status);
 
+    @EntityGraph(Cart.GRAPH_VEHICLES)
     List<Cart> findByStatusAndExpirationTimeBefore(CartStatus status, LocalDateTime time);
 } 
\ No newline at end of file
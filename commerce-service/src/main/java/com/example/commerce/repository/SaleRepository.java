@@ -1,11 +1,19 @@
 package com.example.commerce.repository;
 
 import com.example.commerce.model.Sale;
+import com.example.commerce.report.SaleExportLine;
+import com.example.commerce.report.SaleReportLine;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Repositório para a entidade Sale.
@@ -18,6 +26,20 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
      * Lista vendas por usuário
      */
     List<Sale> findByUserId(String userId);
+
+    /**
+     * Primeira página do histórico de um usuário (mais recentes primeiro)
+     */
+    List<Sale> findByUserIdOrderByDataVendaDescIdDesc(String userId, Limit limit);
+
+    /**
+     * Página seguinte do histórico: vendas anteriores à última da página
+     * anterior, percorrendo o índice (userId, dataVenda, id)
+     */
+    @Query("SELECT s FROM Sale s WHERE s.userId = :userId " +
+           "AND (s.dataVenda < :dataVenda OR (s.dataVenda = :dataVenda AND s.id < :id)) " +
+           "ORDER BY s.dataVenda DESC, s.id DESC")
+    List<Sale> findHistoryAfter(String userId, LocalDateTime dataVenda, Long id, Limit limit);
     
     /**
      * Lista vendas por tipo
@@ -28,4 +50,33 @@ public interface SaleRepository extends JpaRepository<Sale, Long> {
      * Lista vendas por período
      */
     List<Sale> findByDataVendaBetween(LocalDateTime inicio, LocalDateTime fim);
-} 
\ No newline at end of file
+
+    /**
+     * Linhas (venda, veículo) de um período para o motor de relatórios,
+     * ordenadas por venda. Vendas sem veículos vêm em uma linha só, com
+     * veículo nulo. Deve ser consumido dentro de uma transação e fechado.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.example.commerce.report.SaleReportLine(" +
+           "s.id, s.dataVenda, s.tipo, s.valorTotal, v.modelo, v.color, v.preco) " +
+           "FROM Sale s LEFT JOIN s.vehicleIds vehicleId LEFT JOIN Vehicle v ON v.id = vehicleId " +
+           "WHERE s.dataVenda >= :inicio AND s.dataVenda < :fim " +
+           "ORDER BY s.id")
+    Stream<SaleReportLine> streamReportLines(LocalDateTime inicio, LocalDateTime fim);
+
+    /**
+     * Linhas (venda, vehicleId) de um período para exportação, ordenadas por
+     * venda, sem carregar entidades. Deve ser consumido dentro de uma
+     * transação e fechado.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.commerce.report.SaleExportLine(" +
+           "s.id, s.userId, s.tipo, s.dataVenda, s.valorTotal, vehicleId) " +
+           "FROM Sale s LEFT JOIN s.vehicleIds vehicleId " +
+           "WHERE s.dataVenda >= :inicio AND s.dataVenda < :fim " +
+           "ORDER BY s.id")
+    Stream<SaleExportLine> streamExportLines(LocalDateTime inicio, LocalDateTime fim);
+}
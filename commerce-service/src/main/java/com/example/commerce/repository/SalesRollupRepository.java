@@ -0,0 +1,35 @@
+package com.example.commerce.repository;
+
+import com.example.commerce.model.SalesRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repositório para os totais de vendas pré-agregados.
+ */
+@Repository
+public interface SalesRollupRepository extends JpaRepository<SalesRollup, Long> {
+
+    /**
+     * Soma quantidade e receita a uma linha existente.
+     * Retorna 0 quando a linha ainda não existe.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE SalesRollup r SET r.quantidade = r.quantidade + :quantidade, r.receita = r.receita + :receita " +
+           "WHERE r.granularidade = :granularidade AND r.periodo = :periodo " +
+           "AND r.dimensao = :dimensao AND r.valor = :valor")
+    int incrementar(SalesRollup.Granularidade granularidade, LocalDate periodo,
+                    SalesRollup.Dimensao dimensao, String valor,
+                    long quantidade, BigDecimal receita);
+
+    /**
+     * Todas as linhas de um período (busca pela chave única)
+     */
+    List<SalesRollup> findByGranularidadeAndPeriodo(SalesRollup.Granularidade granularidade, LocalDate periodo);
+}
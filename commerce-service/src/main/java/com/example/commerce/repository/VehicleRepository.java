@@ -1,16 +1,22 @@
 package com.example.commerce.repository;
 
+import com.example.commerce.catalog.CatalogRow;
 import com.example.commerce.model.Vehicle;
 import com.example.commerce.model.VehicleColor;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.jpa.repository.Lock;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repositório de Veículos
@@ -36,10 +42,12 @@ import java.util.Optional;
  * 
  * ÍNDICES:
  * -------
- * - Disponibilidade
- * - Modelo
- * - Preço
- * - Ano
+ * Criados por db/migration/V1__indices_repositorios.sql (o ddl-auto não
+ * cria índices secundários); RepositoryQueryPlanTest falha se um finder
+ * varrer a tabela.
+ * - (disponivel, vendido, preco): catálogo, contagens e faixa de preço
+ * - (disponivel, vendido, modelo): contagem por modelo
+ * - color, carrinho_id e carrinho_timestamp
  */
 @Repository
 public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
@@ -72,8 +80,55 @@ public interface VehicleRepository extends JpaRepository<Vehicle, Long> {
     List<Vehicle> findExpiredCartVehicles(Long timestamp);
 
     List<Vehicle> findByDisponivelTrueAndVendidoFalse();
+
+    /**
+     * Quantidade de veículos no catálogo por modelo: [modelo, quantidade]
+     */
+    @Query("SELECT v.modelo, COUNT(v) FROM Vehicle v WHERE v.disponivel = true AND v.vendido = false " +
+           "AND v.modelo IS NOT NULL GROUP BY v.modelo")
+    List<Object[]> countCatalogByModelo();
+
+    long countByDisponivelTrueAndVendidoFalse();
+
+    /**
+     * Colunas do catálogo em streaming (exige transação aberta)
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.example.commerce.catalog.CatalogRow(v.id, v.modelo, v.ano, v.color, v.preco) " +
+           "FROM Vehicle v WHERE v.disponivel = true AND v.vendido = false")
+    Stream<CatalogRow> streamCatalogRows();
+
+    /**
+     * Quantidade de veículos no catálogo por cor: [cor, quantidade]
+     */
+    @Query("SELECT v.color, COUNT(v) FROM Vehicle v WHERE v.disponivel = true AND v.vendido = false " +
+           "AND v.color IS NOT NULL GROUP BY v.color")
+    List<Object[]> countCatalogByColor();
+
+    /**
+     * Quantidade de veículos no catálogo por ano: [ano, quantidade]
+     */
+    @Query("SELECT v.ano, COUNT(v) FROM Vehicle v WHERE v.disponivel = true AND v.vendido = false " +
+           "AND v.ano IS NOT NULL GROUP BY v.ano")
+    List<Object[]> countCatalogByAno();
+
+    long countByDisponivelTrueAndVendidoFalseAndPrecoIsNotNull();
+
+    long countByDisponivelTrueAndVendidoFalseAndPrecoLessThan(BigDecimal limite);
     
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @Query("SELECT v FROM Vehicle v WHERE v.id = :id")
     Optional<Vehicle> findByIdWithLock(Long id);
+
+    /**
+     * Bloqueia vários veículos em uma única consulta (SELECT ... FOR UPDATE).
+     * A ordenação por id garante que os locks sejam adquiridos sempre na mesma
+     * ordem, evitando deadlocks entre lotes concorrentes.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT v FROM Vehicle v WHERE v.id IN :ids ORDER BY v.id ASC")
+    List<Vehicle> findAllByIdInWithLock(Collection<Long> ids);
 } 
\ No newline at end of file
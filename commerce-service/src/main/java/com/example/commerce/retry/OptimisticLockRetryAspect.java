@@ -0,0 +1,89 @@
+package com.example.commerce.retry;
+
+import com.example.commerce.config.RetryProperties;
+import com.example.commerce.exception.ConcurrencyConflictException;
+import com.example.commerce.monitoring.MetricsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Aspecto que repete operações anotadas com {@link RetryOnConflict} quando
+ * ocorre conflito de versão (OptimisticLockingFailureException).
+ * 
+ * REGRAS:
+ * -----
+ * - Executa antes do @Transactional: cada tentativa roda em uma transação nova
+ * - Backoff exponencial com jitter, limitado por commerce.retry.*
+ * - Erros de negócio (ex.: veículo já vendido) não são repetidos: como cada
+ *   tentativa relê o estado, um estado terminal falha imediatamente
+ * - Dentro de uma transação já existente não há nova tentativa (o conflito
+ *   é propagado para quem controla a transação)
+ */
+@Aspect
+@Component
+@Slf4j
+@Order(0) // antes do @Transactional (LOWEST_PRECEDENCE), depois do ExposeInvocationInterceptor
+@RequiredArgsConstructor
+public class OptimisticLockRetryAspect {
+
+    private final RetryProperties properties;
+    private final MetricsService metricsService;
+
+    @Around("@annotation(retryOnConflict)")
+    public Object retry(ProceedingJoinPoint joinPoint, RetryOnConflict retryOnConflict) throws Throwable {
+        String operation = retryOnConflict.value();
+        boolean podeRepetir = !TransactionSynchronizationManager.isActualTransactionActive();
+        int attempt = 1;
+
+        while (true) {
+            try {
+                return joinPoint.proceed();
+            } catch (OptimisticLockingFailureException e) {
+                metricsService.incrementOptimisticConflict(operation);
+
+                if (!podeRepetir) {
+                    throw e;
+                }
+                if (attempt >= properties.getMaxAttempts()) {
+                    metricsService.incrementOptimisticGiveUp(operation);
+                    log.warn("Operation {} gave up after {} conflicting attempts", operation, attempt);
+                    throw new ConcurrencyConflictException(
+                        "Conflito de concorrência, tente novamente mais tarde", e);
+                }
+
+                metricsService.incrementOptimisticRetry(operation);
+                aguardar(backoff(attempt), e);
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Espera exponencial com jitter ("equal jitter"): metade fixa, metade aleatória
+     */
+    long backoff(int attempt) {
+        double exponencial = properties.getInitialBackoff().toMillis()
+            * Math.pow(properties.getMultiplier(), attempt - 1);
+        long teto = (long) Math.min(exponencial, properties.getMaxBackoff().toMillis());
+        long metade = teto / 2;
+        return metade + ThreadLocalRandom.current().nextLong(teto - metade + 1);
+    }
+
+    private void aguardar(long millis, OptimisticLockingFailureException conflito) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConcurrencyConflictException("Operação interrompida durante nova tentativa", conflito);
+        }
+    }
+}
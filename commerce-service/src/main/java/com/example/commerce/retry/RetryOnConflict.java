@@ -0,0 +1,20 @@
+package com.example.commerce.retry;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Anotação para marcar operações que devem ser repetidas em caso de conflito
+ * de concorrência otimista (@Version).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RetryOnConflict {
+
+    /**
+     * Nome da operação, usado como tag nas métricas
+     */
+    String value();
+}
@@ -0,0 +1,174 @@
+package com.example.commerce.security;
+
+import com.example.commerce.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controle de admissão dos endpoints de reserva e carrinho
+ * =====================================================
+ * 
+ * - Um token bucket por usuário (X-User-Id, ou IP quando ausente)
+ * - Um token bucket global para todo o serviço
+ * - O balde do usuário é consultado primeiro, para que requisições de um
+ *   usuário já limitado não consumam a cota global; se o global rejeitar,
+ *   o token do usuário é devolvido
+ * - Requisições rejeitadas recebem 429 com Retry-After, sem tocar no banco
+ * - Chamadas do aquecimento (cabeçalho X-Warmup com o WarmupToken desta
+ *   partida) não passam pelos baldes, para não gastar a cota global
+ * 
+ * LIMITE DE USUÁRIOS:
+ * -----------------
+ * Com commerce.rate-limit.max-usuarios baldes no mapa, um usuário novo só
+ * entra depois de descartar outro: entre uma amostra de AMOSTRA_DESCARTE
+ * baldes, sai o que está mais perto de cheio (um balde cheio sai na hora).
+ * Descartar um balde quase cheio quase não muda o limite do dono, que volta
+ * com um balde cheio; os baldes esgotados, de quem está sendo limitado, são
+ * os últimos a sair. Não há balde compartilhado: uma rajada de ids novos não
+ * esgota a cota dos demais usuários novos.
+ */
+@Component
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private static final String USER_HEADER = "X-User-Id";
+    public static final String WARMUP_HEADER = "X-Warmup";
+    static final int AMOSTRA_DESCARTE = 16;
+
+    private final RateLimitProperties properties;
+    private final WarmupToken warmupToken;
+    private final ConcurrentMap<String, TokenBucket> baldesPorUsuario = new ConcurrentHashMap<>();
+    private final TokenBucket baldeGlobal;
+    private final Counter permitidas;
+    private final Counter rejeitadasUsuario;
+    private final Counter rejeitadasGlobal;
+    private final Counter descartados;
+
+    public RateLimitInterceptor(RateLimitProperties properties, MeterRegistry registry, WarmupToken warmupToken) {
+        this.properties = properties;
+        this.warmupToken = warmupToken;
+        this.baldeGlobal = novoBalde(properties.getGlobal(), System.nanoTime());
+        this.permitidas = Counter.builder("ratelimit.requests")
+                .description("Requests admitted by the rate limiter")
+                .tag("outcome", "allowed")
+                .register(registry);
+        this.rejeitadasUsuario = Counter.builder("ratelimit.requests")
+                .description("Requests rejected by the per-user limit")
+                .tag("outcome", "rejected")
+                .tag("scope", "user")
+                .register(registry);
+        this.rejeitadasGlobal = Counter.builder("ratelimit.requests")
+                .description("Requests rejected by the global limit")
+                .tag("outcome", "rejected")
+                .tag("scope", "global")
+                .register(registry);
+        this.descartados = Counter.builder("ratelimit.evictions")
+                .description("Per-user buckets evicted to make room for new users")
+                .register(registry);
+        Gauge.builder("ratelimit.tracked.users", baldesPorUsuario, ConcurrentMap::size)
+                .description("Users with an active token bucket")
+                .register(registry);
+    }
+
+    @Override
+    public boolean preHandle(@Nonnull HttpServletRequest request,
+    @Nonnull HttpServletResponse response,
+    @Nonnull Object handler) {
+        if (!properties.isEnabled() || isAquecimento(request)) {
+            return true;
+        }
+
+        long agora = System.nanoTime();
+        TokenBucket baldeUsuario = baldeDoUsuario(chaveDoUsuario(request), agora);
+        long espera = baldeUsuario.tryAcquire(agora);
+        if (espera > 0) {
+            rejeitadasUsuario.increment();
+            return rejeitar(response, espera);
+        }
+
+        espera = baldeGlobal.tryAcquire(agora);
+        if (espera > 0) {
+            baldeUsuario.devolver();
+            rejeitadasGlobal.increment();
+            return rejeitar(response, espera);
+        }
+
+        permitidas.increment();
+        return true;
+    }
+
+    /**
+     * Descarta periodicamente os baldes cheios (usuários sem atividade recente)
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void descartarBaldesOciosos() {
+        long agora = System.nanoTime();
+        baldesPorUsuario.values().removeIf(balde -> balde.isCheio(agora));
+    }
+
+    private TokenBucket baldeDoUsuario(String chave, long agora) {
+        TokenBucket balde = baldesPorUsuario.get(chave);
+        if (balde != null) {
+            return balde;
+        }
+        if (baldesPorUsuario.size() >= properties.getMaxUsuarios()) {
+            descartarUm(agora);
+        }
+        return baldesPorUsuario.computeIfAbsent(chave, k -> novoBalde(properties.getUsuario(), agora));
+    }
+
+    /**
+     * Descarta, dentre uma amostra do mapa, o balde mais perto de cheio
+     */
+    private void descartarUm(long agora) {
+        String escolhido = null;
+        long menor = Long.MAX_VALUE;
+        int vistos = 0;
+        for (Map.Entry<String, TokenBucket> entrada : baldesPorUsuario.entrySet()) {
+            long cheioEm = entrada.getValue().cheioEm();
+            if (cheioEm < menor) {
+                menor = cheioEm;
+                escolhido = entrada.getKey();
+            }
+            if (cheioEm <= agora || ++vistos >= AMOSTRA_DESCARTE) {
+                break;
+            }
+        }
+        if (escolhido != null && baldesPorUsuario.remove(escolhido) != null) {
+            descartados.increment();
+        }
+    }
+
+    private boolean isAquecimento(HttpServletRequest request) {
+        return warmupToken.confere(request.getHeader(WARMUP_HEADER));
+    }
+
+    private static String chaveDoUsuario(HttpServletRequest request) {
+        String userId = request.getHeader(USER_HEADER);
+        return userId != null && !userId.isBlank() ? userId : "ip:" + request.getRemoteAddr();
+    }
+
+    private static boolean rejeitar(HttpServletResponse response, long esperaNanos) {
+        long segundos = Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(segundos));
+        return false;
+    }
+
+    private static TokenBucket novoBalde(RateLimitProperties.Limite limite, long agora) {
+        return new TokenBucket(limite.getCapacidade(), limite.getTokensPorSegundo(), agora);
+    }
+}
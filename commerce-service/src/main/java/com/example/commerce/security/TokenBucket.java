@@ -0,0 +1,70 @@
+package com.example.commerce.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem locks.
+ * 
+ * Implementado na forma de "virtual scheduling" (GCRA): o estado inteiro do
+ * balde é um único long com o instante teórico em que ele estará cheio de
+ * novo, atualizado por compare-and-set. Equivale a um balde com
+ * {@code capacidade} tokens reabastecido a {@code tokensPorSegundo}.
+ */
+public class TokenBucket {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long intervaloNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong chegadaTeorica;
+
+    public TokenBucket(long capacidade, double tokensPorSegundo, long agoraNanos) {
+        if (capacidade < 1 || tokensPorSegundo <= 0) {
+            throw new IllegalArgumentException("Capacidade e taxa devem ser positivas");
+        }
+        this.intervaloNanos = Math.max(1L, (long) (NANOS_PER_SECOND / tokensPorSegundo));
+        this.toleranciaNanos = intervaloNanos * capacidade;
+        this.chegadaTeorica = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Tenta consumir um token.
+     *
+     * @return 0 se o token foi concedido, ou quantos nanossegundos faltam até
+     *         haver um token disponível
+     */
+    public long tryAcquire(long agoraNanos) {
+        while (true) {
+            long atual = chegadaTeorica.get();
+            long proxima = Math.max(atual, agoraNanos) + intervaloNanos;
+            long excesso = proxima - agoraNanos - toleranciaNanos;
+            if (excesso > 0) {
+                return excesso;
+            }
+            if (chegadaTeorica.compareAndSet(atual, proxima)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devolve um token concedido por tryAcquire que acabou não sendo usado
+     */
+    public void devolver() {
+        chegadaTeorica.addAndGet(-intervaloNanos);
+    }
+
+    /**
+     * Instante (nanoTime) em que o balde estará cheio de novo
+     */
+    public long cheioEm() {
+        return chegadaTeorica.get();
+    }
+
+    /**
+     * Indica se o balde está cheio (sem uso recente), podendo ser descartado
+     */
+    public boolean isCheio(long agoraNanos) {
+        return chegadaTeorica.get() <= agoraNanos;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.commerce.security;
+
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Segredo sorteado a cada partida, que identifica as chamadas do próprio
+ * aquecimento (cabeçalho X-Warmup).
+ *
+ * Nunca sai do processo: só o WarmupService o envia, e o RateLimitInterceptor
+ * compara em tempo constante. Um cabeçalho X-Warmup vindo de fora, mesmo de
+ * loopback (sidecar, proxy local), não libera nada.
+ */
+@Component
+public class WarmupToken {
+
+    private static final int BYTES = 32;
+
+    private final String valor;
+
+    public WarmupToken() {
+        byte[] aleatorio = new byte[BYTES];
+        new SecureRandom().nextBytes(aleatorio);
+        this.valor = Base64.getUrlEncoder().withoutPadding().encodeToString(aleatorio);
+    }
+
+    public String valor() {
+        return valor;
+    }
+
+    public boolean confere(String recebido) {
+        return recebido != null && MessageDigest.isEqual(
+                valor.getBytes(StandardCharsets.US_ASCII), recebido.getBytes(StandardCharsets.US_ASCII));
+    }
+}
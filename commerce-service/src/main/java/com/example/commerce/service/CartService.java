@@ -1,16 +1,29 @@
 package com.example.commerce.service;
 
+import com.example.commerce.dto.CartBatchRequestDTO;
+import com.example.commerce.dto.CartBatchResultDTO;
+import com.example.commerce.event.SaleCreatedEvent;
 import com.example.commerce.model.*;
 import com.example.commerce.repository.CartRepository;
+import com.example.commerce.repository.SaleRepository;
 import com.example.commerce.repository.VehicleRepository;
 import com.example.commerce.exception.BusinessException;
+import com.example.commerce.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Serviço de Carrinho
@@ -46,6 +59,9 @@ public class CartService {
 
     private final CartRepository cartRepository;
     private final VehicleRepository vehicleRepository;
+    private final SaleRepository saleRepository;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
     private static final long CART_TIMEOUT_MINUTES = 1; // 1 minuto
 
     /**
@@ -80,19 +96,132 @@ public class CartService {
         cartRepository.save(cart);
     }
 
+    /**
+     * Aplica um lote de operações (adicionar/remover) em um único carrinho.
+     * 
+     * - Todos os veículos referenciados são carregados em uma única consulta IN
+     * - Os locks são adquiridos em ordem crescente de id (evita deadlock)
+     * - Todas as alterações são gravadas na mesma transação
+     * - Falhas de um item não impedem os demais; cada item recebe seu resultado
+     */
+    @Transactional
+    public List<CartBatchResultDTO> aplicarOperacoesEmLote(Long cartId, List<CartBatchRequestDTO.Item> operacoes) {
+        Cart cart = buscarComVeiculos(cartId);
+        if (cart.isExpirado()) {
+            throw new BusinessException("Carrinho expirado");
+        }
+
+        TreeSet<Long> vehicleIds = operacoes.stream()
+            .map(CartBatchRequestDTO.Item::getVehicleId)
+            .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllByIdInWithLock(vehicleIds).stream()
+            .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+
+        List<CartBatchResultDTO> resultados = new ArrayList<>(operacoes.size());
+        for (CartBatchRequestDTO.Item item : operacoes) {
+            Vehicle vehicle = vehicles.get(item.getVehicleId());
+            if (vehicle == null) {
+                resultados.add(CartBatchResultDTO.falha(item, "Veículo não encontrado"));
+                continue;
+            }
+
+            switch (item.getOperacao()) {
+                case ADICIONAR -> {
+                    if (cart.getVehicles().contains(vehicle)) {
+                        resultados.add(CartBatchResultDTO.ok(item));
+                    } else if (vehicle.isVendido() || !vehicle.isDisponivel()) {
+                        resultados.add(CartBatchResultDTO.falha(item, "Veículo não está disponível"));
+                    } else {
+                        cart.adicionarVeiculo(vehicle);
+                        resultados.add(CartBatchResultDTO.ok(item));
+                    }
+                }
+                case REMOVER -> {
+                    cart.removerVeiculo(vehicle);
+                    resultados.add(CartBatchResultDTO.ok(item));
+                }
+            }
+        }
+
+        cartRepository.save(cart);
+        return resultados;
+    }
+
     /**
      * Finaliza o carrinho (compra ou cancelamento)
      */
     @Transactional
     public void finalizarCarrinho(Long cartId) {
-        Cart cart = buscarPorId(cartId);
+        finalizar(buscarComVeiculos(cartId));
+    }
+
+    /**
+     * Validação barata feita antes de enfileirar um checkout assíncrono
+     */
+    @Transactional(readOnly = true)
+    public void validarCheckout(Long cartId) {
+        validarParaCheckout(buscarComVeiculos(cartId));
+    }
+
+    /**
+     * Checkout completo: gera a venda e dá baixa nos veículos.
+     * 
+     * - Veículos bloqueados em uma consulta, em ordem crescente de id
+     * - Falha se algum veículo já tiver sido vendido
+     * - Carrinho passa para COMPLETED
+     * - Totais de vendas pré-agregados atualizados na mesma transação
+     */
+    @Transactional
+    public Sale checkout(Long cartId) {
+        return saleRepository.save(prepararCheckout(cartId));
+    }
+
+    /**
+     * Executa o checkout dentro de uma transação já existente e devolve a
+     * venda ainda não gravada (usado pela gravação em grupo de vendas).
+     * Toda validação acontece antes de qualquer alteração de estado, então um
+     * erro de negócio não marca a transação do lote como rollback-only: as
+     * demais vendas do lote continuam gravando.
+     */
+    @Transactional(propagation = Propagation.MANDATORY,
+                   noRollbackFor = {BusinessException.class, ResourceNotFoundException.class})
+    public Sale prepararCheckout(Long cartId) {
+        Cart cart = buscarComVeiculos(cartId);
+        validarParaCheckout(cart);
+
+        TreeSet<Long> vehicleIds = cart.getVehicles().stream()
+            .map(Vehicle::getId)
+            .collect(Collectors.toCollection(TreeSet::new));
+        List<Vehicle> vehicles = vehicleRepository.findAllByIdInWithLock(vehicleIds);
+        if (vehicles.size() != vehicleIds.size()) {
+            throw new BusinessException("Veículo não encontrado");
+        }
+
+        BigDecimal valorTotal = BigDecimal.ZERO;
+        for (Vehicle vehicle : vehicles) {
+            if (vehicle.isVendido()) {
+                throw new BusinessException("Veículo já foi vendido");
+            }
+            valorTotal = valorTotal.add(vehicle.getPreco());
+        }
+        for (Vehicle vehicle : vehicles) {
+            vehicle.marcarComoVendido();
+            vehicle.setVendido(true);
+        }
+
+        cart.setStatus(CartStatus.COMPLETED);
         cart.finalizar();
         cartRepository.save(cart);
-        
-        // Remove todos os veículos do carrinho
-        cart.getVehicles().stream()
-            .map(Vehicle::getId)
-            .forEach(vehicleRepository::deleteById);
+
+        Sale sale = new Sale();
+        sale.setUserId(cart.getUserId());
+        sale.setTipo(Sale.SaleType.ONLINE);
+        sale.setValorTotal(valorTotal);
+        sale.setVehicleIds(new ArrayList<>(vehicleIds));
+        sale.setDataVenda(LocalDateTime.now());
+        salesRollupService.registrarVenda(sale, vehicles);
+        eventPublisher.publishEvent(new SaleCreatedEvent(sale.getUserId()));
+        return sale;
     }
 
     /**
@@ -102,13 +231,55 @@ public class CartService {
     @Transactional
     public void limparCarrinhosExpirados() {
         LocalDateTime now = LocalDateTime.now();
+        // Os carrinhos já vêm com os veículos (entity graph), sem nova consulta por carrinho
         cartRepository.findExpiredCarts(now)
-            .forEach(cart -> this.finalizarCarrinho(cart.getId()));
+            .forEach(this::finalizar);
+    }
+
+    /**
+     * Busca um carrinho com seus veículos
+     */
+    @Transactional(readOnly = true)
+    public Cart buscarCarrinho(Long cartId) {
+        return buscarComVeiculos(cartId);
+    }
+
+    /**
+     * Lista os carrinhos de um usuário com seus veículos
+     */
+    @Transactional(readOnly = true)
+    public List<Cart> listarPorUsuario(String userId) {
+        return cartRepository.findByUserId(userId);
+    }
+
+    private void finalizar(Cart cart) {
+        cart.finalizar();
+        cartRepository.save(cart);
+
+        // Remove todos os veículos do carrinho (já carregados junto com o carrinho)
+        vehicleRepository.deleteAll(new ArrayList<>(cart.getVehicles()));
+    }
+
+    private static void validarParaCheckout(Cart cart) {
+        if (cart.isFinalizado() || cart.getStatus() != CartStatus.ACTIVE) {
+            throw new BusinessException("Carrinho já foi finalizado");
+        }
+        if (cart.isVazio()) {
+            throw new BusinessException("Carrinho vazio");
+        }
+        if (cart.getExpirationTime() != null && cart.isExpirado()) {
+            throw new BusinessException("Carrinho expirado");
+        }
     }
 
     private Cart buscarPorId(Long id) {
         return cartRepository.findById(id)
-            .orElseThrow(() -> new RuntimeException("Carrinho não encontrado"));
+            .orElseThrow(() -> new ResourceNotFoundException("Carrinho não encontrado"));
+    }
+
+    private Cart buscarComVeiculos(Long id) {
+        return cartRepository.findByIdWithVehicles(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Carrinho não encontrado"));
     }
 
     public void createCart(long cartId) {
@@ -0,0 +1,181 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.CheckoutProperties;
+import com.example.commerce.dto.CheckoutStatusDTO;
+import com.example.commerce.exception.ServiceOverloadedException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.monitoring.MetricsService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checkout Assíncrono
+ * =================
+ * 
+ * FLUXO:
+ * ----
+ * 1. Validação rápida do carrinho na thread da requisição
+ * 2. Checkout enfileirado; a requisição recebe 202 com o id do checkout
+ * 3. Um pool limitado de workers gera a venda e dá baixa nos veículos
+ *    (com group commit ativo, a gravação é feita em lote pela SaleGroupCommitWriter)
+ * 4. O cliente consulta o status (leitura em memória, sem banco)
+ * 
+ * CONTRAPRESSÃO:
+ * -----------
+ * - Fila limitada (commerce.checkout.capacidade-fila)
+ * - Fila cheia: 503 imediato, sem ocupar threads nem conexões
+ * - Um checkout em andamento por carrinho; pedidos repetidos recebem o
+ *   status do checkout já enfileirado
+ */
+@Service
+@Slf4j
+public class CheckoutService {
+
+    private final CartService cartService;
+    private final SaleGroupCommitWriter saleGroupCommitWriter;
+    private final MetricsService metricsService;
+    private final CheckoutProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final ConcurrentMap<String, CheckoutStatusDTO> checkouts = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, String> checkoutPorCarrinho = new ConcurrentHashMap<>();
+
+    public CheckoutService(CartService cartService,
+                           SaleGroupCommitWriter saleGroupCommitWriter,
+                           MetricsService metricsService,
+                           CheckoutProperties properties,
+                           MeterRegistry registry) {
+        this.cartService = cartService;
+        this.saleGroupCommitWriter = saleGroupCommitWriter;
+        this.metricsService = metricsService;
+        this.properties = properties;
+        this.executor = new ThreadPoolExecutor(
+            properties.getWorkers(), properties.getWorkers(),
+            0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getCapacidadeFila()),
+            threadFactory(),
+            new ThreadPoolExecutor.AbortPolicy());
+        Gauge.builder("checkout.queue.depth", executor, e -> e.getQueue().size())
+                .description("Checkouts waiting for a worker")
+                .register(registry);
+    }
+
+    /**
+     * Valida e enfileira o checkout de um carrinho
+     */
+    public CheckoutStatusDTO iniciar(Long cartId) {
+        cartService.validarCheckout(cartId);
+
+        String novo = UUID.randomUUID().toString();
+        // O status é publicado dentro do computeIfAbsent: quem encontra o id
+        // do carrinho sempre encontra o status
+        String id = checkoutPorCarrinho.computeIfAbsent(cartId, carrinho -> {
+            checkouts.put(novo, CheckoutStatusDTO.of(novo, carrinho, CheckoutStatusDTO.Estado.PENDENTE));
+            return novo;
+        });
+        CheckoutStatusDTO pendente = checkouts.get(id);
+        if (!id.equals(novo)) {
+            return pendente;
+        }
+
+        try {
+            executor.execute(() -> processar(id, cartId));
+        } catch (RejectedExecutionException e) {
+            checkouts.remove(id);
+            checkoutPorCarrinho.remove(cartId, id);
+            throw new ServiceOverloadedException("Fila de checkout cheia, tente novamente");
+        }
+        return pendente;
+    }
+
+    /**
+     * Consulta o status de um checkout
+     */
+    public Optional<CheckoutStatusDTO> consultar(String checkoutId) {
+        return Optional.ofNullable(checkouts.get(checkoutId));
+    }
+
+    /**
+     * Remove status de checkouts finalizados há mais tempo que a retenção
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void descartarStatusAntigos() {
+        LocalDateTime limite = LocalDateTime.now().minus(properties.getRetencaoStatus());
+        checkouts.values().removeIf(status ->
+            status.isFinalizado() && status.getAtualizadoEm().isBefore(limite));
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdown();
+    }
+
+    private void processar(String id, Long cartId) {
+        checkouts.put(id, CheckoutStatusDTO.of(id, cartId, CheckoutStatusDTO.Estado.PROCESSANDO));
+        if (saleGroupCommitWriter.isAtivo()) {
+            // O worker apenas entrega o checkout; a venda é gravada no próximo lote
+            try {
+                saleGroupCommitWriter.enviar(() -> cartService.prepararCheckout(cartId))
+                    .whenComplete((sale, erro) -> concluir(id, cartId, sale, erro));
+            } catch (RuntimeException e) {
+                concluir(id, cartId, null, e);
+            }
+            return;
+        }
+
+        try {
+            concluir(id, cartId, checkoutSincrono(cartId), null);
+        } catch (RuntimeException e) {
+            concluir(id, cartId, null, e);
+        }
+    }
+
+    /**
+     * Primeira venda de uma chave de totais disputada com outra transação: a
+     * segunda falha na chave única de sales_rollups. O checkout é refeito uma
+     * vez, em transação nova, e já encontra a linha criada.
+     */
+    private Sale checkoutSincrono(Long cartId) {
+        try {
+            return cartService.checkout(cartId);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Checkout of cart {} hit a unique-key conflict, retrying once: {}", cartId, e.getMessage());
+            return cartService.checkout(cartId);
+        }
+    }
+
+    private void concluir(String id, Long cartId, Sale sale, Throwable erro) {
+        CheckoutStatusDTO resultado;
+        if (erro == null) {
+            resultado = CheckoutStatusDTO.of(id, cartId, CheckoutStatusDTO.Estado.CONCLUIDO);
+            resultado.setSaleId(sale.getId());
+            metricsService.incrementSalesCompleted();
+        } else {
+            Throwable causa = erro instanceof CompletionException && erro.getCause() != null ? erro.getCause() : erro;
+            log.warn("Checkout {} for cart {} failed: {}", id, cartId, causa.getMessage());
+            resultado = CheckoutStatusDTO.of(id, cartId, CheckoutStatusDTO.Estado.FALHOU);
+            resultado.setMensagem(causa.getMessage());
+        }
+        checkouts.put(id, resultado);
+        checkoutPorCarrinho.remove(cartId, id);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger contador = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "checkout-worker-" + contador.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
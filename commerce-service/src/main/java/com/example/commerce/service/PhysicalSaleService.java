@@ -0,0 +1,151 @@
+package com.example.commerce.service;
+
+import com.example.commerce.dto.PhysicalSaleBatchRequestDTO;
+import com.example.commerce.dto.PhysicalSaleResultDTO;
+import com.example.commerce.event.SaleCreatedEvent;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.monitoring.MetricsService;
+import com.example.commerce.repository.SaleRepository;
+import com.example.commerce.repository.VehicleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Vendas Físicas (loja)
+ * ==================
+ * 
+ * REGISTRO EM LOTE:
+ * --------------
+ * - Vendedor envia as vendas do dia em uma única requisição
+ * - Todos os veículos do lote bloqueados em uma consulta, em ordem
+ *   crescente de id (mesma ordem do checkout, sem deadlock)
+ * - Cada venda é validada isoladamente; falhas não afetam as demais
+ * - Vendas válidas gravadas com saveAll e veículos marcados como vendidos,
+ *   tudo na mesma transação
+ * - Lote que disputa com outra transação a primeira venda de uma chave de
+ *   sales_rollups falha na chave única; é refeito uma vez, em transação
+ *   nova, como o checkout síncrono
+ * 
+ * VALIDAÇÕES POR VENDA:
+ * ------------------
+ * - Veículos existentes, disponíveis e não vendidos
+ * - Um veículo não pode aparecer em duas vendas do mesmo lote
+ */
+@Service
+@Slf4j
+public class PhysicalSaleService {
+
+    private final VehicleRepository vehicleRepository;
+    private final SaleRepository saleRepository;
+    private final SalesRollupService salesRollupService;
+    private final MetricsService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public PhysicalSaleService(VehicleRepository vehicleRepository,
+                               SaleRepository saleRepository,
+                               SalesRollupService salesRollupService,
+                               MetricsService metricsService,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager) {
+        this.vehicleRepository = vehicleRepository;
+        this.saleRepository = saleRepository;
+        this.salesRollupService = salesRollupService;
+        this.metricsService = metricsService;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public List<PhysicalSaleResultDTO> registrarLote(String vendedorId, List<PhysicalSaleBatchRequestDTO.Item> itens) {
+        List<PhysicalSaleResultDTO> resultados;
+        try {
+            resultados = transactionTemplate.execute(status -> gravarLote(vendedorId, itens));
+        } catch (DataIntegrityViolationException e) {
+            log.info("Physical sale batch of {} hit a unique-key conflict, retrying once: {}", vendedorId, e.getMessage());
+            resultados = transactionTemplate.execute(status -> gravarLote(vendedorId, itens));
+        }
+        resultados.stream()
+            .filter(PhysicalSaleResultDTO::isSucesso)
+            .forEach(resultado -> metricsService.incrementSalesCompleted());
+        return resultados;
+    }
+
+    private List<PhysicalSaleResultDTO> gravarLote(String vendedorId, List<PhysicalSaleBatchRequestDTO.Item> itens) {
+        TreeSet<Long> todosIds = itens.stream()
+            .flatMap(item -> item.getVehicleIds().stream())
+            .collect(Collectors.toCollection(TreeSet::new));
+        Map<Long, Vehicle> vehicles = vehicleRepository.findAllByIdInWithLock(todosIds).stream()
+            .collect(Collectors.toMap(Vehicle::getId, Function.identity()));
+
+        PhysicalSaleResultDTO[] resultados = new PhysicalSaleResultDTO[itens.size()];
+        List<Integer> indicesValidos = new ArrayList<>();
+        List<Sale> vendas = new ArrayList<>();
+        Set<Long> usados = new HashSet<>();
+
+        for (int i = 0; i < itens.size(); i++) {
+            PhysicalSaleBatchRequestDTO.Item item = itens.get(i);
+            TreeSet<Long> ids = new TreeSet<>(item.getVehicleIds());
+            String erro = validar(ids, vehicles, usados);
+            if (erro != null) {
+                resultados[i] = PhysicalSaleResultDTO.falha(i, item, erro);
+                continue;
+            }
+
+            List<Vehicle> vendidos = ids.stream().map(vehicles::get).toList();
+            for (Vehicle vehicle : vendidos) {
+                vehicle.marcarComoVendido();
+                vehicle.setVendido(true);
+            }
+            usados.addAll(ids);
+
+            Sale sale = new Sale();
+            sale.setUserId(item.getUserId());
+            sale.setVendedorId(vendedorId);
+            sale.setTipo(Sale.SaleType.FISICA);
+            sale.setValorTotal(item.getValorTotal());
+            sale.setVehicleIds(new ArrayList<>(ids));
+            sale.setDataVenda(LocalDateTime.now());
+            salesRollupService.registrarVenda(sale, vendidos);
+            eventPublisher.publishEvent(new SaleCreatedEvent(sale.getUserId()));
+
+            vendas.add(sale);
+            indicesValidos.add(i);
+        }
+
+        List<Sale> gravadas = saleRepository.saveAll(vendas);
+        for (int j = 0; j < gravadas.size(); j++) {
+            int indice = indicesValidos.get(j);
+            resultados[indice] = PhysicalSaleResultDTO.ok(indice, itens.get(indice), gravadas.get(j).getId());
+        }
+        return Arrays.asList(resultados);
+    }
+
+    private static String validar(Set<Long> ids, Map<Long, Vehicle> vehicles, Set<Long> usados) {
+        for (Long id : ids) {
+            Vehicle vehicle = vehicles.get(id);
+            if (vehicle == null) {
+                return "Veículo " + id + " não encontrado";
+            }
+            if (usados.contains(id)) {
+                return "Veículo " + id + " já foi vendido neste lote";
+            }
+            if (vehicle.isVendido()) {
+                return "Veículo " + id + " já foi vendido";
+            }
+            if (!vehicle.isDisponivel()) {
+                return "Veículo " + id + " não está disponível";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.GroupCommitProperties;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.exception.ResourceNotFoundException;
+import com.example.commerce.exception.ServiceOverloadedException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.repository.SaleRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Gravação em Grupo de Vendas (group commit)
+ * =======================================
+ * 
+ * Com innodb_flush_log_at_trx_commit = 1, cada commit custa um fsync. Em
+ * picos de checkout, gravar uma venda por transação faz do fsync o gargalo.
+ * 
+ * FUNCIONAMENTO:
+ * ------------
+ * 1. Cada chamador envia uma unidade de trabalho que prepara a venda
+ *    (validação + baixa dos veículos) e recebe um CompletableFuture
+ * 2. Uma thread gravadora junta as unidades que chegam em até
+ *    commerce.sales.group-commit.max-delay (ou até max-batch-size)
+ * 3. Todas as unidades do lote rodam em uma única transação
+ * 4. Erros de negócio afetam apenas a própria unidade
+ * 5. Se o lote inteiro falhar, cada unidade é refeita em sua própria
+ *    transação, para que cada chamador receba o seu resultado ou erro
+ * 
+ * As unidades devem validar tudo antes de alterar qualquer estado, já que
+ * compartilham o mesmo contexto de persistência.
+ */
+@Service
+@Slf4j
+public class SaleGroupCommitWriter {
+
+    private final SaleRepository saleRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final GroupCommitProperties properties;
+    private final BlockingQueue<Pedido> fila;
+    private final DistributionSummary tamanhoLote;
+    private final Counter lotesRefeitos;
+
+    private volatile boolean executando;
+    private Thread gravadora;
+
+    public SaleGroupCommitWriter(SaleRepository saleRepository,
+                                 PlatformTransactionManager transactionManager,
+                                 GroupCommitProperties properties,
+                                 MeterRegistry registry) {
+        this.saleRepository = saleRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+        this.fila = new ArrayBlockingQueue<>(properties.getCapacidadeFila());
+        this.tamanhoLote = DistributionSummary.builder("sales.batch.size")
+                .description("Sales committed per group-commit transaction")
+                .register(registry);
+        this.lotesRefeitos = Counter.builder("sales.batch.fallbacks")
+                .description("Group-commit batches retried one sale per transaction")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void iniciar() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        executando = true;
+        gravadora = new Thread(this::executar, "sale-group-commit");
+        gravadora.setDaemon(true);
+        gravadora.start();
+    }
+
+    @PreDestroy
+    void parar() {
+        executando = false;
+        if (gravadora != null) {
+            gravadora.interrupt();
+        }
+    }
+
+    public boolean isAtivo() {
+        return executando;
+    }
+
+    /**
+     * Enfileira uma unidade de trabalho que devolve a venda a ser gravada.
+     * A unidade é executada dentro da transação do lote.
+     */
+    public CompletableFuture<Sale> enviar(Supplier<Sale> unidade) {
+        Pedido pedido = new Pedido(unidade);
+        if (!fila.offer(pedido)) {
+            throw new ServiceOverloadedException("Fila de gravação de vendas cheia, tente novamente");
+        }
+        return pedido.resultado;
+    }
+
+    private void executar() {
+        List<Pedido> lote = new ArrayList<>(properties.getMaxBatchSize());
+        while (executando) {
+            try {
+                lote.add(fila.take());
+                long prazo = System.nanoTime() + properties.getMaxDelay().toNanos();
+                while (lote.size() < properties.getMaxBatchSize()) {
+                    Pedido proximo = fila.poll(prazo - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (proximo == null) {
+                        break;
+                    }
+                    lote.add(proximo);
+                }
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                lote.forEach(pedido -> pedido.resultado.completeExceptionally(
+                    new ServiceOverloadedException("Gravação de vendas interrompida")));
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    void gravar(List<Pedido> lote) {
+        tamanhoLote.record(lote.size());
+        try {
+            List<Sale> gravadas = transactionTemplate.execute(status -> executarLote(lote));
+            for (int i = 0; i < lote.size(); i++) {
+                Pedido pedido = lote.get(i);
+                if (pedido.erroNegocio != null) {
+                    pedido.resultado.completeExceptionally(pedido.erroNegocio);
+                } else {
+                    pedido.resultado.complete(gravadas.get(i));
+                }
+            }
+        } catch (RuntimeException e) {
+            if (lote.size() == 1) {
+                lote.get(0).resultado.completeExceptionally(e);
+                return;
+            }
+            log.warn("Group commit of {} sales failed, retrying one by one: {}", lote.size(), e.getMessage());
+            lotesRefeitos.increment();
+            for (Pedido pedido : lote) {
+                pedido.erroNegocio = null;
+                gravar(List.of(pedido));
+            }
+        }
+    }
+
+    private List<Sale> executarLote(List<Pedido> lote) {
+        List<Sale> vendas = new ArrayList<>(lote.size());
+        for (Pedido pedido : lote) {
+            try {
+                vendas.add(pedido.unidade.get());
+            } catch (BusinessException | ResourceNotFoundException e) {
+                pedido.erroNegocio = e;
+                vendas.add(null);
+            }
+        }
+        List<Sale> validas = vendas.stream().filter(sale -> sale != null).toList();
+        saleRepository.saveAll(validas);
+        return vendas;
+    }
+
+    static final class Pedido {
+        private final Supplier<Sale> unidade;
+        final CompletableFuture<Sale> resultado = new CompletableFuture<>();
+        private RuntimeException erroNegocio;
+
+        Pedido(Supplier<Sale> unidade) {
+            this.unidade = unidade;
+        }
+    }
+}
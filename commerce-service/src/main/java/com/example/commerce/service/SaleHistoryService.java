@@ -0,0 +1,188 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.SaleHistoryProperties;
+import com.example.commerce.dto.SaleDTO;
+import com.example.commerce.dto.SaleHistoryPageDTO;
+import com.example.commerce.event.SaleCreatedEvent;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.repository.SaleRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Histórico de Compras
+ * =================
+ * 
+ * PAGINAÇÃO POR CHAVE (keyset):
+ * --------------------------
+ * - Ordem: dataVenda desc, id desc
+ * - O cursor carrega (dataVenda, id) da última venda da página
+ * - Cada página é uma busca no índice (userId, dataVenda, id), sem OFFSET:
+ *   o custo não cresce com a profundidade da página
+ * 
+ * CACHE DA PRIMEIRA PÁGINA:
+ * ----------------------
+ * - Por usuário, com TTL curto (commerce.sales.history.cache-ttl)
+ * - Invalidado após o commit de uma venda do usuário
+ * - Uma versão por usuário impede que uma leitura iniciada antes da
+ *   invalidação grave uma página desatualizada
+ */
+@Service
+public class SaleHistoryService {
+
+    private final SaleRepository saleRepository;
+    private final SaleHistoryProperties properties;
+    private final Map<String, PrimeiraPagina> cache;
+    private final ConcurrentMap<String, AtomicLong> versoes = new ConcurrentHashMap<>();
+
+    public SaleHistoryService(SaleRepository saleRepository, SaleHistoryProperties properties) {
+        this.saleRepository = saleRepository;
+        this.properties = properties;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PrimeiraPagina> eldest) {
+                return size() > properties.getCacheMaxUsuarios();
+            }
+        };
+    }
+
+    /**
+     * Página do histórico de compras de um usuário
+     * 
+     * @param cursor nulo para a primeira página
+     * @param tamanho nulo para o tamanho padrão
+     */
+    @Transactional(readOnly = true)
+    public SaleHistoryPageDTO buscarHistorico(String userId, String cursor, Integer tamanho) {
+        int limite = tamanho != null ? tamanho : properties.getTamanhoPagina();
+        if (limite < 1 || limite > properties.getTamanhoMaximoPagina()) {
+            throw new BusinessException("Tamanho de página deve estar entre 1 e " + properties.getTamanhoMaximoPagina());
+        }
+
+        if (cursor != null) {
+            Cursor posicao = Cursor.decodificar(cursor);
+            return montarPagina(saleRepository.findHistoryAfter(
+                userId, posicao.dataVenda(), posicao.id(), Limit.of(limite + 1)), limite);
+        }
+
+        boolean cacheavel = limite == properties.getTamanhoPagina();
+        if (cacheavel) {
+            PrimeiraPagina emCache = lerCache(userId);
+            if (emCache != null) {
+                return emCache.pagina();
+            }
+        }
+
+        long versao = versao(userId).get();
+        SaleHistoryPageDTO pagina = montarPagina(
+            saleRepository.findByUserIdOrderByDataVendaDescIdDesc(userId, Limit.of(limite + 1)), limite);
+        if (cacheavel) {
+            gravarCache(userId, versao, pagina);
+        }
+        return pagina;
+    }
+
+    /**
+     * Descarta a primeira página do usuário depois que a venda é confirmada
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void aoCriarVenda(SaleCreatedEvent evento) {
+        versao(evento.userId()).incrementAndGet();
+        synchronized (cache) {
+            cache.remove(evento.userId());
+        }
+    }
+
+    /**
+     * Remove primeiras páginas expiradas
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void limparExpirados() {
+        LocalDateTime agora = LocalDateTime.now();
+        synchronized (cache) {
+            cache.values().removeIf(pagina -> pagina.expiraEm().isBefore(agora));
+            // Versões só importam para usuários com página em cache; o TTL
+            // limita o efeito de uma versão descartada durante uma leitura
+            versoes.keySet().retainAll(cache.keySet());
+        }
+    }
+
+    private PrimeiraPagina lerCache(String userId) {
+        synchronized (cache) {
+            PrimeiraPagina pagina = cache.get(userId);
+            if (pagina == null) {
+                return null;
+            }
+            if (pagina.expiraEm().isBefore(LocalDateTime.now())) {
+                cache.remove(userId);
+                return null;
+            }
+            return pagina;
+        }
+    }
+
+    private void gravarCache(String userId, long versaoLida, SaleHistoryPageDTO pagina) {
+        synchronized (cache) {
+            // Uma venda confirmada durante a leitura invalida o resultado
+            if (versao(userId).get() == versaoLida) {
+                cache.put(userId, new PrimeiraPagina(pagina, LocalDateTime.now().plus(properties.getCacheTtl())));
+            }
+        }
+    }
+
+    private AtomicLong versao(String userId) {
+        return versoes.computeIfAbsent(userId, id -> new AtomicLong());
+    }
+
+    private static SaleHistoryPageDTO montarPagina(List<Sale> vendas, int limite) {
+        // Uma venda a mais que o limite indica que existe próxima página
+        boolean temProxima = vendas.size() > limite;
+        List<Sale> pagina = temProxima ? vendas.subList(0, limite) : vendas;
+        String proximoCursor = temProxima ? Cursor.de(pagina.get(pagina.size() - 1)).codificar() : null;
+        return new SaleHistoryPageDTO(pagina.stream().map(SaleDTO::fromEntity).toList(), proximoCursor);
+    }
+
+    private record PrimeiraPagina(SaleHistoryPageDTO pagina, LocalDateTime expiraEm) {
+    }
+
+    /**
+     * Posição (dataVenda, id) codificada em base64 url-safe
+     */
+    record Cursor(LocalDateTime dataVenda, Long id) {
+
+        static Cursor de(Sale sale) {
+            return new Cursor(sale.getDataVenda(), sale.getId());
+        }
+
+        String codificar() {
+            String valor = dataVenda + "|" + id;
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(valor.getBytes(StandardCharsets.UTF_8));
+        }
+
+        static Cursor decodificar(String cursor) {
+            try {
+                String valor = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+                int separador = valor.indexOf('|');
+                return new Cursor(LocalDateTime.parse(valor.substring(0, separador)),
+                    Long.parseLong(valor.substring(separador + 1)));
+            } catch (RuntimeException e) {
+                throw new BusinessException("Cursor inválido");
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.commerce.service;
+
+import com.example.commerce.dto.SalesReportDTO;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.SalesRollup;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.repository.SalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Totais de Vendas Pré-agregados
+ * ===========================
+ * 
+ * MANUTENÇÃO:
+ * ---------
+ * - Atualizados na mesma transação que grava a venda
+ * - Dimensões: tipo da venda, modelo e cor dos veículos
+ * - Granularidades: dia, mês e ano
+ * - Receita: o valor cobrado da venda. Em modelo e cor ele é rateado entre
+ *   os veículos na proporção do preço de tabela (como em
+ *   SaleFact.receitaDe), para as três dimensões somarem o mesmo
+ * - UPDATE incremental; INSERT apenas na primeira venda da chave
+ * 
+ * RELATÓRIOS:
+ * ---------
+ * - Leem apenas as linhas do período pedido (chave única indexada)
+ * - Custo independe da quantidade de vendas
+ * 
+ * CONCORRÊNCIA:
+ * -----------
+ * O UPDATE é atômico no banco. Duas transações criando a mesma chave ao
+ * mesmo tempo fazem a segunda falhar na chave única; a venda é refeita
+ * (pela gravação em grupo ou, no caminho síncrono, pelo CheckoutService)
+ * e passa a encontrar a linha já criada.
+ */
+@Service
+@RequiredArgsConstructor
+public class SalesRollupService {
+
+    private static final SalesRollup.Granularidade[] GRANULARIDADES = SalesRollup.Granularidade.values();
+
+    private final SalesRollupRepository salesRollupRepository;
+
+    /**
+     * Soma a venda aos totais. Deve rodar na transação que grava a venda.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void registrarVenda(Sale sale, Collection<Vehicle> vehicles) {
+        LocalDate data = sale.getDataVenda().toLocalDate();
+
+        // Agrupa por chave antes de tocar no banco: um UPDATE por linha afetada
+        Map<String, Acumulado> porModelo = new TreeMap<>();
+        Map<String, Acumulado> porCor = new TreeMap<>();
+        List<Vehicle> lista = List.copyOf(vehicles);
+        BigDecimal[] receitas = ratear(sale.getValorTotal(), lista);
+        for (int i = 0; i < lista.size(); i++) {
+            Vehicle vehicle = lista.get(i);
+            porModelo.computeIfAbsent(vehicle.getModelo(), k -> new Acumulado()).somar(receitas[i]);
+            porCor.computeIfAbsent(vehicle.getColor().name(), k -> new Acumulado()).somar(receitas[i]);
+        }
+
+        for (SalesRollup.Granularidade granularidade : GRANULARIDADES) {
+            LocalDate periodo = granularidade.inicio(data);
+            incrementar(granularidade, periodo, SalesRollup.Dimensao.TIPO, sale.getTipo().name(),
+                1, sale.getValorTotal());
+            porModelo.forEach((modelo, acumulado) -> incrementar(granularidade, periodo,
+                SalesRollup.Dimensao.MODELO, modelo, acumulado.quantidade, acumulado.receita));
+            porCor.forEach((cor, acumulado) -> incrementar(granularidade, periodo,
+                SalesRollup.Dimensao.COR, cor, acumulado.quantidade, acumulado.receita));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public SalesReportDTO relatorioDiario(LocalDate data) {
+        return relatorio(SalesRollup.Granularidade.DIA, data);
+    }
+
+    @Transactional(readOnly = true)
+    public SalesReportDTO relatorioMensal(int ano, int mes) {
+        if (mes < 1 || mes > 12) {
+            throw new BusinessException("Mês inválido");
+        }
+        return relatorio(SalesRollup.Granularidade.MES, LocalDate.of(ano, mes, 1));
+    }
+
+    @Transactional(readOnly = true)
+    public SalesReportDTO relatorioAnual(int ano) {
+        return relatorio(SalesRollup.Granularidade.ANO, LocalDate.of(ano, 1, 1));
+    }
+
+    private SalesReportDTO relatorio(SalesRollup.Granularidade granularidade, LocalDate periodo) {
+        return SalesReportDTO.fromRollups(granularidade, periodo,
+            salesRollupRepository.findByGranularidadeAndPeriodo(granularidade, periodo));
+    }
+
+    /**
+     * Parte do valor cobrado de cada veículo, proporcional ao preço de
+     * tabela; o resto do arredondamento fica com o último
+     */
+    static BigDecimal[] ratear(BigDecimal valorTotal, List<Vehicle> vehicles) {
+        BigDecimal tabela = vehicles.stream()
+            .map(Vehicle::getPreco)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        BigDecimal[] receitas = new BigDecimal[vehicles.size()];
+        BigDecimal restante = valorTotal;
+        for (int i = 0; i < receitas.length - 1; i++) {
+            receitas[i] = tabela.signum() == 0 ? BigDecimal.ZERO
+                : valorTotal.multiply(vehicles.get(i).getPreco()).divide(tabela, 2, RoundingMode.HALF_EVEN);
+            restante = restante.subtract(receitas[i]);
+        }
+        if (receitas.length > 0) {
+            receitas[receitas.length - 1] = restante;
+        }
+        return receitas;
+    }
+
+    private void incrementar(SalesRollup.Granularidade granularidade, LocalDate periodo,
+                             SalesRollup.Dimensao dimensao, String valor,
+                             long quantidade, BigDecimal receita) {
+        int atualizadas = salesRollupRepository.incrementar(granularidade, periodo, dimensao, valor, quantidade, receita);
+        if (atualizadas == 0) {
+            salesRollupRepository.save(new SalesRollup(granularidade, periodo, dimensao, valor, quantidade, receita));
+        }
+    }
+
+    private static final class Acumulado {
+        private long quantidade;
+        private BigDecimal receita = BigDecimal.ZERO;
+
+        void somar(BigDecimal valor) {
+            quantidade++;
+            receita = receita.add(valor);
+        }
+    }
+}
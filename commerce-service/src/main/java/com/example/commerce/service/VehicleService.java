@@ -6,6 +6,7 @@ import com.example.commerce.exception.ResourceNotFoundException;
 import com.example.commerce.mapper.VehicleMapper;
 import com.example.commerce.model.Vehicle;
 import com.example.commerce.repository.VehicleRepository;
+import com.example.commerce.retry.RetryOnConflict;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -38,6 +39,11 @@ import java.util.List;
  * - Status atualizado em tempo real
  * - Bloqueio automático ao adicionar no carrinho
  * - Liberação automática após expiração/cancelamento
+ * 
+ * CONCORRÊNCIA:
+ * ----------
+ * - Transições anotadas com @RetryOnConflict são repetidas com backoff
+ *   quando outra transação alterou o mesmo veículo (@Version)
  */
 @Service
 @RequiredArgsConstructor
@@ -71,6 +77,7 @@ public class VehicleService {
     /**
      * Deleta um veículo
      */
+    @RetryOnConflict("deletar")
     @Transactional
     public void deleteVehicle(Long id) {
         Vehicle vehicle = vehicleRepository.findByIdWithLock(id)
@@ -94,6 +101,7 @@ public class VehicleService {
     /**
      * Adiciona veículo ao carrinho
      */
+    @RetryOnConflict("reservar")
     @Transactional
     public VehicleDTO reservarVeiculo(Long vehicleId, String userId) {
         Vehicle vehicle = buscarPorId(vehicleId);
@@ -116,6 +124,7 @@ public class VehicleService {
     /**
      * Remove veículo do carrinho
      */
+    @RetryOnConflict("liberar")
     @Transactional
     public VehicleDTO liberarVeiculo(Long vehicleId) {
         Vehicle vehicle = vehicleRepository.findByIdWithLock(vehicleId)
@@ -134,6 +143,7 @@ public class VehicleService {
     /**
      * Marca veículo como vendido
      */
+    @RetryOnConflict("vender")
     @Transactional
     public VehicleDTO marcarComoVendido(Long vehicleId) {
         Vehicle vehicle = vehicleRepository.findByIdWithLock(vehicleId)
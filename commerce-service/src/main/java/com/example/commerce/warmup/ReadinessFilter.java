@@ -0,0 +1,38 @@
+package com.example.commerce.warmup;
+
+import jakarta.annotation.Nonnull;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * GET /health/readiness para a sonda de prontidão do orquestrador.
+ * 
+ * Responde 200 só depois de o Spring Boot publicar ACCEPTING_TRAFFIC (fim do
+ * aquecimento) e 503 antes disso. Registrado antes da cadeia do Spring
+ * Security, para responder sem autenticação no perfil prod.
+ */
+@RequiredArgsConstructor
+public class ReadinessFilter extends OncePerRequestFilter {
+
+    public static final String CAMINHO = "/health/readiness";
+
+    private final ApplicationAvailability availability;
+
+    @Override
+    protected void doFilterInternal(@Nonnull HttpServletRequest request,
+                                    @Nonnull HttpServletResponse response,
+                                    @Nonnull FilterChain filterChain) throws IOException {
+        boolean pronto = availability.getReadinessState() == ReadinessState.ACCEPTING_TRAFFIC;
+        response.setStatus(pronto ? HttpServletResponse.SC_OK : HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(pronto ? "{\"status\":\"UP\"}" : "{\"status\":\"OUT_OF_SERVICE\"}");
+    }
+}
@@ -0,0 +1,129 @@
+package com.example.commerce.warmup;
+
+import com.example.commerce.catalog.ColumnarCatalog;
+import com.example.commerce.catalog.FacetService;
+import com.example.commerce.catalog.ModelSearchIndex;
+import com.example.commerce.config.WarmupProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Carga dos Índices na Partida
+ * =========================
+ * 
+ * Primeira fase da prontidão, antes do aquecimento (WarmupService): carrega
+ * o catálogo colunar, o índice de modelos e as contagens por faceta, que
+ * leem o estoque inteiro do banco.
+ * 
+ * - As três cargas rodam em paralelo, em threads próprias
+ * - A espera é limitada por commerce.warmup.orcamento-indices; esgotado o
+ *   limite, as cargas pendentes continuam em segundo plano e a partida
+ *   segue (o catálogo colunar sem snapshot faz as buscas esperarem por
+ *   ela; o índice de modelos e as facetas respondem vazios até lá)
+ * - Falha de uma carga dentro do limite interrompe a partida, como antes
+ * - Duração exportada no timer startup.indexes.duration (tag resultado)
+ * 
+ * Com as duas fases, a instância fica pronta em no máximo
+ * orcamento-indices + orcamento.
+ */
+@Component
+@Slf4j
+public class StartupIndexLoader {
+
+    private final WarmupProperties properties;
+    private final ColumnarCatalog columnarCatalog;
+    private final ModelSearchIndex modelSearchIndex;
+    private final FacetService facetService;
+    private final MeterRegistry registry;
+
+    public StartupIndexLoader(WarmupProperties properties, ColumnarCatalog columnarCatalog,
+                              ModelSearchIndex modelSearchIndex, FacetService facetService,
+                              MeterRegistry registry) {
+        this.properties = properties;
+        this.columnarCatalog = columnarCatalog;
+        this.modelSearchIndex = modelSearchIndex;
+        this.facetService = facetService;
+        this.registry = registry;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void aoIniciar() {
+        carregar();
+    }
+
+    /**
+     * Dispara as cargas e espera por elas dentro do limite; devolve o
+     * resultado registrado no timer.
+     */
+    public String carregar() {
+        long inicio = System.nanoTime();
+        long prazo = inicio + properties.getOrcamentoIndices().toNanos();
+        ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "index-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Map<String, Future<?>> cargas = new LinkedHashMap<>();
+        cargas.put("columnar-catalog", executor.submit(columnarCatalog::iniciar));
+        cargas.put("model-search", executor.submit(modelSearchIndex::carregar));
+        cargas.put("facets", executor.submit(facetService::reconciliar));
+        executor.shutdown();
+
+        String resultado = WarmupService.CONCLUIDO;
+        List<String> pendentes = new ArrayList<>();
+        RuntimeException falha = null;
+        for (Map.Entry<String, Future<?>> carga : cargas.entrySet()) {
+            try {
+                carga.getValue().get(Math.max(0L, prazo - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                pendentes.add(carga.getKey());
+                resultado = WarmupService.ORCAMENTO_ESGOTADO;
+            } catch (ExecutionException e) {
+                falha = new IllegalStateException("Could not load " + carga.getKey() + " index", e.getCause());
+                resultado = WarmupService.FALHA;
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                falha = new IllegalStateException("Interrupted while loading indexes", e);
+                resultado = WarmupService.FALHA;
+                break;
+            }
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        Timer.builder("startup.indexes.duration")
+                .description("Time spent loading in-memory indexes before the warm-up")
+                .tag("resultado", resultado)
+                .register(registry)
+                .record(duracao, TimeUnit.NANOSECONDS);
+        if (falha != null) {
+            throw falha;
+        }
+        if (!pendentes.isEmpty()) {
+            log.warn("Index load budget of {} exhausted, still loading {} in the background",
+                    properties.getOrcamentoIndices(), pendentes);
+        } else {
+            log.info("Indexes loaded in {} ms", TimeUnit.NANOSECONDS.toMillis(duracao));
+        }
+        return resultado;
+    }
+}
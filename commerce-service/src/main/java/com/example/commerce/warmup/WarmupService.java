@@ -0,0 +1,283 @@
+package com.example.commerce.warmup;
+
+import com.example.commerce.catalog.CatalogFilter;
+import com.example.commerce.catalog.CatalogSnapshotService;
+import com.example.commerce.catalog.ColumnarCatalog;
+import com.example.commerce.catalog.FacetService;
+import com.example.commerce.catalog.ModelSearchIndex;
+import com.example.commerce.config.WarmupProperties;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.security.RateLimitInterceptor;
+import com.example.commerce.security.WarmupToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Aquecimento Antes de Aceitar Tráfego
+ * =================================
+ * 
+ * Sem aquecimento, as primeiras requisições de uma instância nova pagam a
+ * abertura das conexões do pool, a montagem do snapshot do catálogo e o
+ * código ainda interpretado pela JVM.
+ * 
+ * ETAPAS:
+ * ------
+ * 1. Pool: abre e valida as conexões do Hikari de uma vez (segurando todas,
+ *    para o pool criar uma por pedido)
+ * 2. Caches: monta o snapshot de veículos disponíveis
+ * 3. Leituras mais usadas: busca no catálogo colunar, autocomplete,
+ *    facetas e disponíveis, chamadas direto nos serviços (com a
+ *    serialização JSON) e por HTTP na própria porta
+ * 
+ * PRONTIDÃO:
+ * --------
+ * - Roda no próprio ApplicationReadyEvent, depois da carga dos índices
+ *   (StartupIndexLoader escuta o mesmo evento com
+ *   @Order(HIGHEST_PRECEDENCE); este, com LOWEST_PRECEDENCE); o Spring
+ *   Boot só publica ReadinessState.ACCEPTING_TRAFFIC quando os listeners
+ *   desse evento terminam, e GET /health/readiness responde 503 até lá
+ * - As etapas rodam em outra thread, limitadas por commerce.warmup.orcamento;
+ *   esgotado o orçamento, o aquecimento é interrompido e a instância fica
+ *   pronta assim mesmo
+ * - A carga dos índices tem limite próprio (commerce.warmup.orcamento-indices,
+ *   timer startup.indexes.duration): a instância fica pronta em no máximo
+ *   orcamento-indices + orcamento (só orcamento-indices com o aquecimento
+ *   desligado)
+ * - Duração exportada no timer warmup.duration (tag resultado)
+ * - As chamadas HTTP levam o cabeçalho X-Warmup com o WarmupToken da
+ *   partida e não consomem tokens do RateLimitInterceptor
+ * 
+ * No perfil prod as chamadas HTTP recebem 401 da autenticação padrão, o que
+ * ainda aquece o Tomcat e a cadeia de filtros; os controllers são aquecidos
+ * pelas chamadas diretas.
+ */
+@Service
+@Slf4j
+public class WarmupService {
+
+    static final String CONCLUIDO = "concluido";
+    static final String ORCAMENTO_ESGOTADO = "orcamento_esgotado";
+    static final String FALHA = "falha";
+
+    private static final VehicleColor[] CORES = VehicleColor.values();
+    private static final ColumnarCatalog.Ordem[] ORDENS = ColumnarCatalog.Ordem.values();
+    private static final int TIMEOUT_VALIDACAO_SEGUNDOS = 2;
+
+    private final WarmupProperties properties;
+    private final DataSource dataSource;
+    private final CatalogSnapshotService catalogSnapshotService;
+    private final ColumnarCatalog columnarCatalog;
+    private final ModelSearchIndex modelSearchIndex;
+    private final FacetService facetService;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry registry;
+    private final WarmupToken warmupToken;
+
+    public WarmupService(WarmupProperties properties, DataSource dataSource,
+                         CatalogSnapshotService catalogSnapshotService, ColumnarCatalog columnarCatalog,
+                         ModelSearchIndex modelSearchIndex, FacetService facetService,
+                         ObjectMapper objectMapper, MeterRegistry registry, WarmupToken warmupToken) {
+        this.properties = properties;
+        this.dataSource = dataSource;
+        this.catalogSnapshotService = catalogSnapshotService;
+        this.columnarCatalog = columnarCatalog;
+        this.modelSearchIndex = modelSearchIndex;
+        this.facetService = facetService;
+        this.objectMapper = objectMapper;
+        this.registry = registry;
+        this.warmupToken = warmupToken;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public void aoIniciar(ApplicationReadyEvent evento) {
+        if (properties.isEnabled()) {
+            aquecer(porta(evento.getApplicationContext()));
+        }
+    }
+
+    /**
+     * Executa as etapas dentro do orçamento e devolve o resultado registrado
+     * no timer. Porta nula dispensa as chamadas HTTP.
+     */
+    public String aquecer(Integer porta) {
+        long inicio = System.nanoTime();
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        String resultado;
+        Future<?> etapas = executor.submit(() -> {
+            executarEtapas(porta);
+            return null;
+        });
+        try {
+            etapas.get(properties.getOrcamento().toMillis(), TimeUnit.MILLISECONDS);
+            resultado = CONCLUIDO;
+        } catch (TimeoutException e) {
+            etapas.cancel(true);
+            resultado = ORCAMENTO_ESGOTADO;
+        } catch (ExecutionException e) {
+            log.warn("Warm-up failed, accepting traffic anyway", e.getCause());
+            resultado = FALHA;
+        } catch (InterruptedException e) {
+            etapas.cancel(true);
+            Thread.currentThread().interrupt();
+            resultado = FALHA;
+        } finally {
+            executor.shutdownNow();
+        }
+
+        long duracao = System.nanoTime() - inicio;
+        Timer.builder("warmup.duration")
+                .description("Time spent warming up before the instance reports ready")
+                .tag("resultado", resultado)
+                .register(registry)
+                .record(duracao, TimeUnit.NANOSECONDS);
+        if (ORCAMENTO_ESGOTADO.equals(resultado)) {
+            log.warn("Warm-up budget of {} exhausted, accepting traffic", properties.getOrcamento());
+        } else {
+            log.info("Warm-up {} in {} ms", resultado, TimeUnit.NANOSECONDS.toMillis(duracao));
+        }
+        return resultado;
+    }
+
+    private void executarEtapas(Integer porta) throws Exception {
+        int conexoes = primarConexoes();
+        catalogSnapshotService.obter();
+        log.info("Warm-up: {} pool connections ready, catalog snapshot built", conexoes);
+
+        HttpClient cliente = porta == null ? null : HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(TIMEOUT_VALIDACAO_SEGUNDOS))
+                .build();
+        for (int i = 0; i < properties.getIteracoes(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            chamarServicos(i);
+            if (cliente != null) {
+                chamarEndpoints(cliente, porta, i);
+            }
+        }
+    }
+
+    /**
+     * Segura as conexões até o fim, para o pool abrir uma nova a cada pedido
+     * em vez de devolver sempre a mesma.
+     */
+    private int primarConexoes() throws SQLException {
+        int quantidade = properties.getConexoes();
+        if (dataSource instanceof HikariDataSource hikari) {
+            int alvo = quantidade > 0 ? quantidade : hikari.getMinimumIdle();
+            int livres = hikari.getMaximumPoolSize();
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            if (pool != null) {
+                // Cargas em segundo plano (ex.: catálogo colunar) podem estar com conexões
+                livres -= pool.getActiveConnections();
+            }
+            quantidade = Math.min(alvo > 0 ? alvo : livres, livres);
+        } else if (quantidade <= 0) {
+            quantidade = 1;
+        }
+
+        List<Connection> abertas = new ArrayList<>(quantidade);
+        try {
+            for (int i = 0; i < quantidade; i++) {
+                Connection conexao = dataSource.getConnection();
+                abertas.add(conexao);
+                conexao.isValid(TIMEOUT_VALIDACAO_SEGUNDOS);
+            }
+        } finally {
+            for (Connection conexao : abertas) {
+                conexao.close();
+            }
+        }
+        return abertas.size();
+    }
+
+    private void chamarServicos(int i) throws IOException {
+        CatalogFilter filtro = filtro(i);
+        objectMapper.writeValueAsBytes(columnarCatalog.buscar(filtro, ORDENS[i % ORDENS.length], i % 3, 20));
+        objectMapper.writeValueAsBytes(modelSearchIndex.sugerir(prefixo(i), 10));
+        objectMapper.writeValueAsBytes(facetService.obter());
+        catalogSnapshotService.obter();
+    }
+
+    private void chamarEndpoints(HttpClient cliente, int porta, int i) throws IOException, InterruptedException {
+        String base = "http://localhost:" + porta + "/api/vehicles";
+        CatalogFilter filtro = filtro(i);
+        StringBuilder busca = new StringBuilder(base).append("/search?ordem=").append(ORDENS[i % ORDENS.length])
+                .append("&pagina=").append(i % 3)
+                .append("&anoMin=").append(filtro.anoMin())
+                .append("&precoMax=").append(filtro.precoMax().toPlainString());
+        if (filtro.cor() != null) {
+            busca.append("&cor=").append(filtro.cor());
+        }
+
+        get(cliente, busca.toString(), false);
+        get(cliente, base + "/autocomplete?q=" + prefixo(i), false);
+        get(cliente, base + "/facets", false);
+        get(cliente, base + "/available", i % 2 == 0);
+    }
+
+    private void get(HttpClient cliente, String url, boolean gzip) throws IOException, InterruptedException {
+        HttpRequest.Builder requisicao = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(TIMEOUT_VALIDACAO_SEGUNDOS))
+                .header(RateLimitInterceptor.WARMUP_HEADER, warmupToken.valor());
+        if (gzip) {
+            requisicao.header("Accept-Encoding", "gzip");
+        }
+        cliente.send(requisicao.build(), HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Filtros variados, para exercitar todos os caminhos da busca.
+     */
+    private static CatalogFilter filtro(int i) {
+        VehicleColor cor = i % (CORES.length + 1) == CORES.length ? null : CORES[i % (CORES.length + 1)];
+        return new CatalogFilter(cor, 2005 + i % 15, null, null, BigDecimal.valueOf(50_000L + (i % 10) * 30_000L));
+    }
+
+    private static String prefixo(int i) {
+        return String.valueOf((char) ('a' + i % 26));
+    }
+
+    private static Integer porta(ApplicationContext contexto) {
+        if (contexto instanceof WebServerApplicationContext web && web.getWebServer() != null) {
+            return web.getWebServer().getPort();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+-- Índices secundários dos finders de VehicleRepository, CartRepository e
+-- SaleRepository. As tabelas continuam criadas pelo Hibernate (ddl-auto);
+-- o ddl-auto não cria estes índices.
+
+-- Catálogo: findByDisponivelTrue, findByDisponivelTrueAndVendidoFalse,
+-- countByDisponivelTrueAndVendidoFalse*, streamCatalogRows,
+-- countCatalogByColor/Ano e findByPrecoLessThanEqualAndDisponivelTrue
+CREATE INDEX idx_vehicles_disponivel_vendido_preco ON vehicles (disponivel, vendido, preco);
+
+-- countCatalogByModelo: agrupa sem ler a tabela
+CREATE INDEX idx_vehicles_disponivel_vendido_modelo ON vehicles (disponivel, vendido, modelo);
+
+-- findByColor
+CREATE INDEX idx_vehicles_color ON vehicles (color);
+
+-- findByCarrinhoId
+CREATE INDEX idx_vehicles_carrinho_id ON vehicles (carrinho_id);
+
+-- findExpiredCartVehicles (carrinhoTimestamp < ? só casa com reservados)
+CREATE INDEX idx_vehicles_carrinho_timestamp ON vehicles (carrinho_timestamp);
+
+-- findByUserId e findByUserIdAndFinalizadoFalse
+CREATE INDEX idx_carts_user_finalizado ON carts (user_id, finalizado);
+
+-- findByUserIdAndStatus
+CREATE INDEX idx_carts_user_status ON carts (user_id, status);
+
+-- findByStatusAndExpirationTimeBefore
+CREATE INDEX idx_carts_status_expiration ON carts (status, expiration_time);
+
+-- findExpiredCarts
+CREATE INDEX idx_carts_finalizado_expires ON carts (finalizado, expires_at);
+
+-- findFirstByOrderByCreatedAtDesc (o H2 só lê o índice ordenado se a
+-- direção for a mesma do ORDER BY)
+CREATE INDEX idx_carts_created_at ON carts (created_at DESC);
+
+-- existsByVehiclesIdAndStatus: do veículo para os carrinhos
+-- (o sentido carrinho -> veículos usa a chave primária da junção)
+CREATE INDEX idx_cart_vehicle_vehicle_cart ON cart_vehicle (vehicle_id, cart_id);
+
+-- findByDataVendaBetween, streamReportLines e streamExportLines
+-- (histórico por usuário já usa idx_sales_user_data_id, da entidade)
+CREATE INDEX idx_sales_data_venda ON sales (data_venda);
+
+-- findByTipo
+CREATE INDEX idx_sales_tipo_data ON sales (tipo, data_venda);
+
+-- Veículos de cada venda nos relatórios (junção por sale_id)
+CREATE INDEX idx_sale_vehicles_sale ON sale_vehicles (sale_id, vehicle_id);
@@ -0,0 +1,4 @@
+-- sales_rollups.valor guarda o modelo do veículo (vehicles.modelo é
+-- varchar 255). O ddl-auto não altera o tamanho de colunas existentes; o
+-- H2 em memória já nasce com 255. Repetível: MODIFY do mesmo tipo não muda nada.
+ALTER TABLE sales_rollups MODIFY COLUMN valor VARCHAR(255) NOT NULL;
@@ -0,0 +1,90 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.service.VehicleService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CatalogSnapshotService
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private VehicleService vehicleService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        catalogSnapshotService = new CatalogSnapshotService(vehicleService, objectMapper, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void obter_DeveServirOMesmoSnapshotEnquantoOEstoqueNaoMuda() throws Exception {
+        // Arrange
+        List<VehicleDTO> vehicles = List.of(veiculo(1L, "Civic"), veiculo(2L, "Corolla"));
+        when(vehicleService.listarDisponiveis()).thenReturn(vehicles);
+
+        // Act
+        CatalogSnapshot primeiro = catalogSnapshotService.obter();
+        CatalogSnapshot segundo = catalogSnapshotService.obter();
+
+        // Assert
+        assertSame(primeiro, segundo);
+        verify(vehicleService, times(1)).listarDisponiveis();
+        assertArrayEquals(objectMapper.writeValueAsBytes(vehicles), primeiro.json());
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(primeiro.gzip()))) {
+            assertArrayEquals(primeiro.json(), gzip.readAllBytes());
+        }
+        assertTrue(primeiro.etag().startsWith("\"") && primeiro.etag().endsWith("\""));
+        assertEquals(objectMapper.readTree(primeiro.json()), new ObjectMapper(new SmileFactory()).readTree(primeiro.smile()));
+        assertEquals(objectMapper.readTree(primeiro.json()), new ObjectMapper(new CBORFactory()).readTree(primeiro.cbor()));
+        assertNotEquals(primeiro.etag(), primeiro.etag("gzip"));
+        assertNotEquals(primeiro.etag("smile"), primeiro.etag("cbor"));
+    }
+
+    @Test
+    void obter_AposAlteracaoDeEstoque_DeveRemontarComNovoEtag() {
+        // Arrange
+        when(vehicleService.listarDisponiveis())
+            .thenReturn(List.of(veiculo(1L, "Civic"), veiculo(2L, "Corolla")))
+            .thenReturn(List.of(veiculo(2L, "Corolla")));
+        CatalogSnapshot antes = catalogSnapshotService.obter();
+
+        // Act
+        catalogSnapshotService.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, null));
+        CatalogSnapshot depois = catalogSnapshotService.obter();
+
+        // Assert
+        assertNotEquals(antes.etag(), depois.etag());
+        assertTrue(depois.json().length < antes.json().length);
+        verify(vehicleService, times(2)).listarDisponiveis();
+    }
+
+    private static VehicleDTO veiculo(Long id, String modelo) {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setId(id);
+        dto.setModelo(modelo);
+        dto.setDisponivel(true);
+        return dto;
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.config.CatalogFileProperties;
+import com.example.commerce.config.FacetProperties;
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.dto.VehicleSearchPageDTO;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark: 1M de veículos, filtro por cor + faixa de ano + faixa de preço,
+ * ordenado por preço, página de 20.
+ * 
+ * Compara o ColumnarCatalog com os finders JPA existentes
+ * (findByDisponivelTrueAndVendidoFalse e findByColor) seguidos do mesmo
+ * filtro/ordenação em memória.
+ * 
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Import({ColumnarCatalog.class, CatalogFileProperties.class, FacetProperties.class, SimpleMeterRegistry.class})
+class ColumnarCatalogBenchmarkTest {
+
+    private static final int VEICULOS = 1_000_000;
+    private static final int LOTE = 10_000;
+    private static final CatalogFilter FILTRO = new CatalogFilter(VehicleColor.PRATA, 2018, 2022,
+        new BigDecimal("60000"), new BigDecimal("120000"));
+
+    @Autowired
+    private ColumnarCatalog catalog;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void buscaEmColunasContraFindersJpa() {
+        popular();
+        long inicio = System.nanoTime();
+        catalog.carregar();
+        System.out.printf("Carga das colunas: %d ms, bitmaps: %,d bytes%n",
+            (System.nanoTime() - inicio) / 1_000_000, catalog.getBytesIndices());
+
+        VehicleSearchPageDTO colunas = catalog.buscar(FILTRO, ColumnarCatalog.Ordem.PRECO_ASC, 0, 20);
+        List<Long> esperado = ids(colunas.getVeiculos());
+
+        double jpaDisponiveis = medir("JPA findByDisponivelTrueAndVendidoFalse", 3, () -> {
+            entityManager.clear();
+            return filtrarEmMemoria(vehicleRepository.findByDisponivelTrueAndVendidoFalse());
+        }, esperado);
+        double jpaCor = medir("JPA findByColor", 3, () -> {
+            entityManager.clear();
+            return filtrarEmMemoria(vehicleRepository.findByColor(VehicleColor.PRATA));
+        }, esperado);
+        double emColunas = medir("ColumnarCatalog", 50, () ->
+            catalog.buscar(FILTRO, ColumnarCatalog.Ordem.PRECO_ASC, 0, 20).getVeiculos(), esperado);
+
+        System.out.printf("Total filtrado: %,d; ganho sobre findByColor: %.0fx, sobre findByDisponivel...: %.0fx%n",
+            colunas.getTotal(), jpaCor / emColunas, jpaDisponiveis / emColunas);
+        assertTrue(emColunas * 10 < jpaCor);
+    }
+
+    private double medir(String nome, int rodadas, Supplier<List<VehicleDTO>> busca, List<Long> esperado) {
+        assertEquals(esperado, ids(busca.get())); // aquecimento e conferência
+        long inicio = System.nanoTime();
+        for (int i = 0; i < rodadas; i++) {
+            busca.get();
+        }
+        double ms = (System.nanoTime() - inicio) / 1_000_000.0 / rodadas;
+        System.out.printf("[%-40s] %.2f ms por busca%n", nome, ms);
+        return ms;
+    }
+
+    private static List<VehicleDTO> filtrarEmMemoria(List<Vehicle> vehicles) {
+        return vehicles.stream()
+            .filter(v -> v.isDisponivelNoEstoque() && !v.isVendido())
+            .filter(v -> v.getColor() == FILTRO.cor())
+            .filter(v -> v.getAno() >= FILTRO.anoMin() && v.getAno() <= FILTRO.anoMax())
+            .filter(v -> v.getPreco().compareTo(FILTRO.precoMin()) >= 0 && v.getPreco().compareTo(FILTRO.precoMax()) <= 0)
+            .sorted(Comparator.comparing(Vehicle::getPreco).thenComparing(Vehicle::getId))
+            .limit(20)
+            .map(VehicleDTO::fromEntity)
+            .toList();
+    }
+
+    private static List<Long> ids(List<VehicleDTO> vehicles) {
+        return vehicles.stream().map(VehicleDTO::getId).toList();
+    }
+
+    private void popular() {
+        Random random = new Random(42);
+        VehicleColor[] cores = VehicleColor.values();
+        String[] modelos = {"Civic", "Corolla", "Onix", "Polo", "Argo", "HB20", "Kicks", "Compass"};
+        for (int inicio = 0; inicio < VEICULOS; inicio += LOTE) {
+            List<Object[]> lote = new ArrayList<>(LOTE);
+            for (int i = 0; i < LOTE; i++) {
+                // Centavos distintos evitam empates de preço entre as duas buscas
+                BigDecimal preco = BigDecimal.valueOf(40_000_00L + random.nextInt(160_000_00), 2);
+                lote.add(new Object[]{modelos[random.nextInt(modelos.length)], 2010 + random.nextInt(15),
+                    cores[random.nextInt(cores.length)].name(), preco, random.nextInt(10) > 0, random.nextInt(20) == 0});
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO vehicles (modelo, ano, color, preco, disponivel, vendido, version) " +
+                "VALUES (?, ?, ?, ?, ?, ?, 0)", lote);
+        }
+    }
+}
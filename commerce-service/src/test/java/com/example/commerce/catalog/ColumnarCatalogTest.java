@@ -0,0 +1,317 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.config.CatalogFileProperties;
+import com.example.commerce.config.FacetProperties;
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.dto.VehicleSearchPageDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Busca no catálogo em colunas: carga do banco, filtros, ordenação e alterações
+ */
+@DataJpaTest
+@Import({ColumnarCatalog.class, CatalogFileProperties.class, FacetProperties.class, SimpleMeterRegistry.class})
+class ColumnarCatalogTest {
+
+    private static final CatalogFilter SEM_FILTRO = new CatalogFilter(null, null, null, null, null);
+
+    @Autowired
+    private ColumnarCatalog catalog;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Vehicle civic;
+
+    @BeforeEach
+    void setUp() {
+        civic = entityManager.persist(veiculo("Civic", 2022, VehicleColor.PRATA, "120000.00", false));
+        entityManager.persist(veiculo("Corolla", 2024, VehicleColor.PRETA, "150000.50", false));
+        entityManager.persist(veiculo("Onix", 2020, VehicleColor.PRATA, "80000.00", false));
+        entityManager.persist(veiculo("Polo", 2023, VehicleColor.BRANCA, "95000.00", false));
+        entityManager.persist(veiculo("Argo", 2024, VehicleColor.PRATA, "85000.00", true));
+        entityManager.flush();
+        catalog.carregar();
+    }
+
+    @Test
+    void buscar_DeveCombinarFiltrosComFaixasInclusivas() {
+        // Act
+        VehicleSearchPageDTO pagina = catalog.buscar(new CatalogFilter(VehicleColor.PRATA, 2020, 2022,
+            new BigDecimal("80000"), new BigDecimal("120000")), ColumnarCatalog.Ordem.PRECO_ASC, 0, 10);
+
+        // Assert: Argo vendido fica de fora
+        assertEquals(2, pagina.getTotal());
+        assertEquals(List.of("Onix", "Civic"), modelos(pagina));
+        VehicleDTO onix = pagina.getVeiculos().get(0);
+        assertEquals(new BigDecimal("80000.00"), onix.getPreco());
+        assertEquals(2020, onix.getAno());
+        assertTrue(onix.isDisponivel());
+    }
+
+    @Test
+    void buscar_DeveOrdenarEPaginar() {
+        // Act
+        VehicleSearchPageDTO primeira = catalog.buscar(SEM_FILTRO, ColumnarCatalog.Ordem.PRECO_DESC, 0, 3);
+        VehicleSearchPageDTO segunda = catalog.buscar(SEM_FILTRO, ColumnarCatalog.Ordem.PRECO_DESC, 1, 3);
+        VehicleSearchPageDTO alemDoFim = catalog.buscar(SEM_FILTRO, ColumnarCatalog.Ordem.PRECO_DESC, 5, 3);
+
+        // Assert
+        assertEquals(4, primeira.getTotal());
+        assertEquals(List.of("Corolla", "Civic", "Polo"), modelos(primeira));
+        assertEquals(new BigDecimal("150000.50"), primeira.getVeiculos().get(0).getPreco());
+        assertEquals(List.of("Onix"), modelos(segunda));
+        assertTrue(alemDoFim.getVeiculos().isEmpty());
+        assertEquals(List.of("Onix", "Civic", "Polo", "Corolla"),
+            modelos(catalog.buscar(SEM_FILTRO, ColumnarCatalog.Ordem.ANO_ASC, 0, 10)));
+    }
+
+    @Test
+    void aoAlterarEstoque_DeveRetirarEAtualizarLinhas() {
+        // Act: Civic reservado e depois devolvido com preço novo; veículo novo cadastrado
+        VehicleInventoryChangedEvent.Estado noCatalogo = VehicleInventoryChangedEvent.Estado.of(civic);
+        VehicleInventoryChangedEvent.Estado reservado = new VehicleInventoryChangedEvent.Estado(civic.getId(),
+            "Civic", 2022, VehicleColor.PRATA, new BigDecimal("120000.00"), false, false);
+        catalog.aoAlterarEstoque(new VehicleInventoryChangedEvent(noCatalogo, reservado));
+        long semCivic = catalog.buscar(SEM_FILTRO, null, 0, 10).getTotal();
+        catalog.aoAlterarEstoque(new VehicleInventoryChangedEvent(reservado, new VehicleInventoryChangedEvent.Estado(
+            civic.getId(), "Civic", 2022, VehicleColor.PRATA, new BigDecimal("110000.00"), true, false)));
+        catalog.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, new VehicleInventoryChangedEvent.Estado(
+            999L, "HB20", null, VehicleColor.BRANCA, new BigDecimal("70000.00"), true, false)));
+
+        // Assert
+        assertEquals(3, semCivic);
+        assertEquals(5, catalog.getTamanho());
+        VehicleSearchPageDTO pratas = catalog.buscar(
+            new CatalogFilter(VehicleColor.PRATA, null, null, null, null), ColumnarCatalog.Ordem.PRECO_DESC, 0, 10);
+        assertEquals(new BigDecimal("110000.00"), pratas.getVeiculos().get(0).getPreco());
+        // Ano nulo só aparece sem filtro de ano
+        assertEquals(5, catalog.buscar(SEM_FILTRO, null, 0, 10).getTotal());
+        assertEquals(4, catalog.buscar(new CatalogFilter(null, null, 2030, null, null), null, 0, 10).getTotal());
+    }
+
+    @Test
+    void aoAlterarEstoque_MuitasAlteracoes_DeveCompactarSemPerderVeiculos() {
+        // Act
+        VehicleInventoryChangedEvent.Estado estado = VehicleInventoryChangedEvent.Estado.of(civic);
+        for (int i = 0; i < 5_000; i++) {
+            catalog.aoAlterarEstoque(new VehicleInventoryChangedEvent(estado, estado));
+        }
+
+        // Assert
+        assertEquals(4, catalog.getTamanho());
+        assertEquals(List.of("Civic"), modelos(catalog.buscar(
+            new CatalogFilter(null, 2022, 2022, null, null), null, 0, 10)));
+        // Linhas mortas saem dos bitmaps: a memória não cresce com as alterações
+        assertTrue(catalog.getBytesIndices() < 10_000, () -> "bytes: " + catalog.getBytesIndices());
+    }
+
+    @Test
+    void carregar_DeveAtenderBuscasEReaplicarEventosDuranteALeitura() {
+        // Arrange: catálogo já carregado uma vez; a recarga lê o banco devagar
+        VehicleRepository repositorio = mock(VehicleRepository.class);
+        ColumnarCatalog recarregado = new ColumnarCatalog(repositorio, new CatalogFileProperties(), new FacetProperties(),
+            transactionManager, new SimpleMeterRegistry());
+        CatalogRow civicNoBanco = new CatalogRow(1L, "Civic", 2022, VehicleColor.PRATA, new BigDecimal("120000.00"));
+        when(repositorio.streamCatalogRows()).thenReturn(Stream.of(civicNoBanco));
+        recarregado.carregar();
+        AtomicLong totalDuranteCarga = new AtomicLong();
+        when(repositorio.streamCatalogRows()).thenAnswer(invocacao -> {
+            totalDuranteCarga.set(CompletableFuture.supplyAsync(
+                () -> recarregado.buscar(SEM_FILTRO, null, 0, 10).getTotal()).get(5, TimeUnit.SECONDS));
+            recarregado.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, new VehicleInventoryChangedEvent.Estado(
+                2L, "HB20", 2021, VehicleColor.BRANCA, new BigDecimal("70000.00"), true, false)));
+            return Stream.of(civicNoBanco);
+        });
+
+        // Act
+        recarregado.carregar();
+
+        // Assert: a busca não esperou a carga, e o HB20 chegou às colunas novas
+        assertEquals(1, totalDuranteCarga.get());
+        assertEquals(2, recarregado.getTamanho());
+        assertEquals(List.of("HB20"), modelos(recarregado.buscar(
+            new CatalogFilter(VehicleColor.BRANCA, null, null, null, null), null, 0, 10)));
+    }
+
+    @Test
+    void arquivo_Antigo_DeveSerIgnorado(@TempDir Path pasta) throws Exception {
+        // Arrange
+        CatalogFileProperties properties = new CatalogFileProperties();
+        properties.setEnabled(true);
+        properties.setCaminho(pasta.resolve("catalogo.bin"));
+        properties.setIdadeMaxima(Duration.ofMillis(1));
+        ColumnarCatalog anterior = novoCatalogo(properties);
+        anterior.carregar();
+        anterior.gravarArquivo();
+        Thread.sleep(20);
+
+        // Act & Assert
+        assertFalse(novoCatalogo(properties).abrirArquivo());
+    }
+
+    @Test
+    void arquivo_DeveServirBuscasAntesDaCargaDoBanco(@TempDir Path pasta) throws Exception {
+        // Arrange: um nó grava o snapshot; outro sobe com ele e ainda não carregou do banco
+        CatalogFileProperties properties = new CatalogFileProperties();
+        properties.setEnabled(true);
+        properties.setCaminho(pasta.resolve("catalogo.bin"));
+        ColumnarCatalog anterior = novoCatalogo(properties);
+        anterior.carregar();
+        anterior.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, new VehicleInventoryChangedEvent.Estado(
+            999L, null, null, null, null, true, false)));
+        anterior.gravarArquivo();
+        ColumnarCatalog reiniciado = novoCatalogo(properties);
+
+        // Act
+        boolean aberto = reiniciado.abrirArquivo();
+        VehicleSearchPageDTO pratas = reiniciado.buscar(new CatalogFilter(VehicleColor.PRATA, null, null,
+            null, new BigDecimal("150000")), ColumnarCatalog.Ordem.PRECO_DESC, 0, 10);
+
+        // Assert: mesmo resultado das colunas em heap, inclusive para campos nulos
+        assertTrue(aberto);
+        assertEquals(5, reiniciado.getTamanho());
+        assertEquals(List.of("Civic", "Onix"), modelos(pratas));
+        assertEquals(new BigDecimal("120000.00"), pratas.getVeiculos().get(0).getPreco());
+        assertEquals(2022, pratas.getVeiculos().get(0).getAno());
+        VehicleDTO semDados = reiniciado.buscar(SEM_FILTRO, ColumnarCatalog.Ordem.ANO_DESC, 0, 10).getVeiculos().get(4);
+        assertEquals(999L, semDados.getId());
+        assertNull(semDados.getModelo());
+        assertNull(semDados.getColor());
+
+        // Act: a carga do banco substitui o snapshot
+        reiniciado.carregar();
+
+        // Assert
+        assertEquals(4, reiniciado.getTamanho());
+    }
+
+    @Test
+    void arquivo_EventosAntesDaCarga_DevemSerSobrepostosAoSnapshot(@TempDir Path pasta) throws Exception {
+        // Arrange
+        CatalogFileProperties properties = new CatalogFileProperties();
+        properties.setEnabled(true);
+        properties.setCaminho(pasta.resolve("catalogo.bin"));
+        ColumnarCatalog anterior = novoCatalogo(properties);
+        anterior.carregar();
+        anterior.gravarArquivo();
+        ColumnarCatalog reiniciado = novoCatalogo(properties);
+        assertTrue(reiniciado.abrirArquivo());
+
+        // Act: Civic reservado, Onix com preço novo e um HB20 cadastrado, tudo antes da carga do banco
+        reiniciado.aoAlterarEstoque(new VehicleInventoryChangedEvent(VehicleInventoryChangedEvent.Estado.of(civic),
+            new VehicleInventoryChangedEvent.Estado(civic.getId(), "Civic", 2022, VehicleColor.PRATA,
+                new BigDecimal("120000.00"), false, false)));
+        Vehicle onix = vehicleRepository.findAll().stream().filter(v -> v.getModelo().equals("Onix")).findFirst().orElseThrow();
+        reiniciado.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, new VehicleInventoryChangedEvent.Estado(
+            onix.getId(), "Onix", 2020, VehicleColor.PRATA, new BigDecimal("79000.00"), true, false)));
+        reiniciado.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, new VehicleInventoryChangedEvent.Estado(
+            999L, "HB20", 2021, VehicleColor.PRATA, new BigDecimal("70000.00"), true, false)));
+
+        // Assert: o snapshot ainda atende, já com as alterações
+        VehicleSearchPageDTO pratas = reiniciado.buscar(new CatalogFilter(VehicleColor.PRATA, null, null,
+            null, null), ColumnarCatalog.Ordem.PRECO_ASC, 0, 10);
+        assertEquals(List.of("HB20", "Onix"), modelos(pratas));
+        assertEquals(new BigDecimal("79000.00"), pratas.getVeiculos().get(1).getPreco());
+        assertEquals(4, reiniciado.getTamanho());
+    }
+
+    @Test
+    void arquivo_FalhaNaCargaEmSegundoPlano_DeveTentarDeNovo(@TempDir Path pasta) throws Exception {
+        // Arrange
+        CatalogFileProperties properties = new CatalogFileProperties();
+        properties.setEnabled(true);
+        properties.setCaminho(pasta.resolve("catalogo.bin"));
+        properties.setRetentativa(Duration.ofMillis(10));
+        ColumnarCatalog anterior = novoCatalogo(properties);
+        anterior.carregar();
+        anterior.gravarArquivo();
+        VehicleRepository repositorio = mock(VehicleRepository.class);
+        when(repositorio.streamCatalogRows())
+            .thenThrow(new IllegalStateException("banco fora"))
+            .thenReturn(Stream.of(new CatalogRow(1L, "Civic", 2022, VehicleColor.PRATA, new BigDecimal("120000.00"))));
+        ColumnarCatalog reiniciado = new ColumnarCatalog(repositorio, properties, new FacetProperties(),
+            transactionManager, new SimpleMeterRegistry());
+
+        // Act
+        reiniciado.iniciar();
+
+        // Assert: a segunda tentativa substitui o snapshot
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (reiniciado.getTamanho() != 1 && System.nanoTime() < limite) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, reiniciado.getTamanho());
+        verify(repositorio, times(2)).streamCatalogRows();
+    }
+
+    @Test
+    void arquivo_Corrompido_DeveSerIgnorado(@TempDir Path pasta) throws Exception {
+        // Arrange
+        CatalogFileProperties properties = new CatalogFileProperties();
+        properties.setEnabled(true);
+        properties.setCaminho(pasta.resolve("catalogo.bin"));
+        ColumnarCatalog anterior = novoCatalogo(properties);
+        anterior.carregar();
+        anterior.gravarArquivo();
+        byte[] bytes = Files.readAllBytes(properties.getCaminho());
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(properties.getCaminho(), bytes);
+
+        // Act & Assert
+        assertFalse(novoCatalogo(properties).abrirArquivo());
+    }
+
+    private ColumnarCatalog novoCatalogo(CatalogFileProperties properties) {
+        return new ColumnarCatalog(vehicleRepository, properties, new FacetProperties(), transactionManager,
+            new SimpleMeterRegistry());
+    }
+
+    private static List<String> modelos(VehicleSearchPageDTO pagina) {
+        return pagina.getVeiculos().stream().map(VehicleDTO::getModelo).toList();
+    }
+
+    private static Vehicle veiculo(String modelo, int ano, VehicleColor cor, String preco, boolean vendido) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setModelo(modelo);
+        vehicle.setAno(ano);
+        vehicle.setColor(cor);
+        vehicle.setPreco(new BigDecimal(preco));
+        vehicle.setVendido(vendido);
+        return vehicle;
+    }
+}
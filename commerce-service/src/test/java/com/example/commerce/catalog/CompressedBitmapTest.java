@@ -0,0 +1,95 @@
+package com.example.commerce.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para CompressedBitmap, conferidos contra java.util.BitSet
+ */
+class CompressedBitmapTest {
+
+    @Test
+    void adicionarERemover_DevemManterOsMesmosValoresQueUmBitSet() {
+        // Arrange: blocos esparsos e densos, passando várias vezes pelo limite de 4096
+        Random random = new Random(7);
+        CompressedBitmap bitmap = new CompressedBitmap();
+        BitSet esperado = new BitSet();
+
+        // Act
+        for (int i = 0; i < 200_000; i++) {
+            int valor = random.nextInt(3 * 65536);
+            if (random.nextInt(3) > 0) {
+                bitmap.adicionar(valor);
+                esperado.set(valor);
+            } else {
+                bitmap.remover(valor);
+                esperado.clear(valor);
+            }
+        }
+
+        // Assert
+        assertEquals(esperado.cardinality(), bitmap.cardinalidade());
+        assertArrayEquals(esperado.stream().toArray(), valores(bitmap));
+        assertTrue(bitmap.contem(esperado.nextSetBit(0)));
+        assertFalse(bitmap.contem(esperado.nextClearBit(0)));
+    }
+
+    @Test
+    void andEOr_DevemCombinarBlocosEsparsosEDensos() {
+        // Arrange: par esparso no primeiro bloco, denso no segundo, só um dos lados no terceiro
+        CompressedBitmap pares = new CompressedBitmap();
+        CompressedBitmap multiplosDeTres = new CompressedBitmap();
+        BitSet esperadoPares = new BitSet();
+        BitSet esperadoTres = new BitSet();
+        for (int i = 0; i < 65536; i += 40) {
+            pares.adicionar(i);
+            esperadoPares.set(i);
+        }
+        for (int i = 65536; i < 2 * 65536; i += 2) {
+            pares.adicionar(i);
+            esperadoPares.set(i);
+        }
+        for (int i = 0; i < 2 * 65536; i += 3) {
+            multiplosDeTres.adicionar(i);
+            esperadoTres.set(i);
+        }
+        multiplosDeTres.adicionar(5 * 65536);
+        esperadoTres.set(5 * 65536);
+
+        // Act
+        CompressedBitmap intersecao = pares.and(multiplosDeTres);
+        CompressedBitmap uniao = pares.or(multiplosDeTres);
+
+        // Assert: operandos não são alterados
+        BitSet esperadoIntersecao = (BitSet) esperadoPares.clone();
+        esperadoIntersecao.and(esperadoTres);
+        BitSet esperadoUniao = (BitSet) esperadoPares.clone();
+        esperadoUniao.or(esperadoTres);
+        assertArrayEquals(esperadoIntersecao.stream().toArray(), valores(intersecao));
+        assertArrayEquals(esperadoUniao.stream().toArray(), valores(uniao));
+        assertArrayEquals(esperadoPares.stream().toArray(), valores(pares));
+        assertEquals(esperadoTres.cardinality(), multiplosDeTres.cardinalidade());
+    }
+
+    @Test
+    void bytes_DeveCrescerMenosQueUmBitSetEmConjuntosEsparsos() {
+        // Arrange: 1000 valores espalhados por 10M
+        CompressedBitmap bitmap = new CompressedBitmap();
+        for (int i = 0; i < 1000; i++) {
+            bitmap.adicionar(i * 10_000);
+        }
+
+        // Assert: BitSet equivalente ocuparia ~1,25 MB
+        assertTrue(bitmap.bytes() < 20_000, () -> "bytes: " + bitmap.bytes());
+    }
+
+    private static int[] valores(CompressedBitmap bitmap) {
+        int[] valores = new int[bitmap.cardinalidade()];
+        assertEquals(valores.length, bitmap.copiarPara(valores));
+        return valores;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.config.FacetProperties;
+import com.example.commerce.dto.FacetCountsDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para FacetService
+ */
+@ExtendWith(MockitoExtension.class)
+class FacetServiceTest {
+
+    private static final BigDecimal CEM_MIL = new BigDecimal("100000");
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SimpleMeterRegistry registry;
+    private FacetService facetService;
+
+    @BeforeEach
+    void setUp() {
+        FacetProperties properties = new FacetProperties();
+        properties.setFaixasPreco(List.of(CEM_MIL, new BigDecimal("50000")));
+        registry = new SimpleMeterRegistry();
+        facetService = new FacetService(vehicleRepository, transactionManager, properties, registry);
+    }
+
+    @Test
+    void aoAlterarEstoque_DeveContarApenasTransicoesDoCatalogo() {
+        // Act: dois cadastros, uma venda e uma reserva liberada (fora -> dentro)
+        facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, estado(VehicleColor.PRATA, 2024, "80000", true, false)));
+        facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, estado(VehicleColor.PRETA, 2023, "100000", true, false)));
+        facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(
+            estado(VehicleColor.PRETA, 2023, "100000", true, false), estado(VehicleColor.PRETA, 2023, "100000", true, true)));
+        facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(
+            estado(VehicleColor.BRANCA, 2020, "30000", false, false), estado(VehicleColor.BRANCA, 2020, "30000", true, false)));
+
+        // Assert
+        FacetCountsDTO facets = facetService.obter();
+        assertEquals(2, facets.getTotal());
+        assertEquals(Map.of(VehicleColor.BRANCA, 1L, VehicleColor.PRATA, 1L, VehicleColor.PRETA, 0L), facets.getCores());
+        assertEquals(Map.of(2020, 1L, 2024, 1L), facets.getAnos());
+        assertEquals(List.of(1L, 1L, 0L), facets.getFaixasPreco().stream().map(FacetCountsDTO.FaixaPreco::getQuantidade).toList());
+        assertEquals(0, facets.getFaixasPreco().get(0).getMin().signum());
+        assertEquals(CEM_MIL, facets.getFaixasPreco().get(2).getMin());
+        assertNull(facets.getFaixasPreco().get(2).getMax());
+    }
+
+    @Test
+    void reconciliar_DeveSubstituirContadoresPeloBanco() {
+        // Arrange: contador local divergente do banco
+        facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, estado(VehicleColor.PRATA, 2024, "80000", true, false)));
+        bancoComTresVeiculos();
+
+        // Act
+        facetService.reconciliar();
+
+        // Assert
+        FacetCountsDTO facets = facetService.obter();
+        assertEquals(3, facets.getTotal());
+        assertEquals(2L, facets.getCores().get(VehicleColor.PRATA));
+        assertEquals(Map.of(2024, 3L), facets.getAnos());
+        assertEquals(List.of(1L, 0L, 2L), facets.getFaixasPreco().stream().map(FacetCountsDTO.FaixaPreco::getQuantidade).toList());
+        assertEquals(1.0, registry.counter("catalog.facets.corrections").count());
+
+        ArgumentCaptor<TransactionDefinition> transacao = ArgumentCaptor.forClass(TransactionDefinition.class);
+        verify(transactionManager).getTransaction(transacao.capture());
+        assertTrue(transacao.getValue().isReadOnly());
+        assertEquals(TransactionDefinition.ISOLATION_REPEATABLE_READ, transacao.getValue().getIsolationLevel());
+    }
+
+    @Test
+    void reconciliar_EventoDuranteAContagem_DeveReaplicarNosContadoresNovos() {
+        // Arrange: uma venda confirmada depois de o banco ter sido lido
+        bancoComTresVeiculos();
+        when(vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoIsNotNull()).thenAnswer(invocacao -> {
+            facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(
+                estado(VehicleColor.BRANCA, 2024, "40000", true, false), estado(VehicleColor.BRANCA, 2024, "40000", true, true)));
+            return 3L;
+        });
+
+        // Act
+        facetService.reconciliar();
+
+        // Assert
+        FacetCountsDTO facets = facetService.obter();
+        assertEquals(2, facets.getTotal());
+        assertEquals(0L, facets.getCores().get(VehicleColor.BRANCA));
+        assertEquals(Map.of(2024, 2L), facets.getAnos());
+        assertEquals(List.of(0L, 0L, 2L), facets.getFaixasPreco().stream().map(FacetCountsDTO.FaixaPreco::getQuantidade).toList());
+    }
+
+    @Test
+    void aoAlterarEstoque_EventosConcorrentes_NaoDevemPerderContagens() throws Exception {
+        // Arrange
+        int threads = 8;
+        int eventosPorThread = 2_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < threads; t++) {
+            int ano = 2010 + t;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < eventosPorThread; i++) {
+                    facetService.aoAlterarEstoque(new VehicleInventoryChangedEvent(null,
+                        estado(VehicleColor.PRATA, ano, "80000", true, false)));
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(30, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // Assert
+        FacetCountsDTO facets = facetService.obter();
+        assertEquals(threads * eventosPorThread, facets.getTotal());
+        assertEquals((long) threads * eventosPorThread, facets.getCores().get(VehicleColor.PRATA));
+        assertEquals(threads, facets.getAnos().size());
+        assertTrue(facets.getAnos().values().stream().allMatch(quantidade -> quantidade == eventosPorThread));
+    }
+
+    private void bancoComTresVeiculos() {
+        when(vehicleRepository.countByDisponivelTrueAndVendidoFalse()).thenReturn(3L);
+        when(vehicleRepository.countCatalogByColor()).thenReturn(List.<Object[]>of(
+            new Object[]{VehicleColor.PRATA, 2L}, new Object[]{VehicleColor.BRANCA, 1L}));
+        when(vehicleRepository.countCatalogByAno()).thenReturn(List.<Object[]>of(new Object[]{2024, 3L}));
+        when(vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoLessThan(new BigDecimal("50000"))).thenReturn(1L);
+        when(vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoLessThan(CEM_MIL)).thenReturn(1L);
+        when(vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoIsNotNull()).thenReturn(3L);
+    }
+
+    private static VehicleInventoryChangedEvent.Estado estado(VehicleColor cor, int ano, String preco,
+                                                              boolean disponivel, boolean vendido) {
+        return new VehicleInventoryChangedEvent.Estado(1L, "Civic", ano, cor, new BigDecimal(preco), disponivel, vendido);
+    }
+}
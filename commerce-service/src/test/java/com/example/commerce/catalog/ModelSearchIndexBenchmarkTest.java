@@ -0,0 +1,76 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmark: autocomplete com 1M de veículos em 5 mil modelos distintos.
+ * 
+ * Os veículos entram pelo mesmo caminho dos eventos de estoque; a consulta
+ * deve ficar bem abaixo de 1 ms.
+ * 
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class ModelSearchIndexBenchmarkTest {
+
+    private static final int VEICULOS = 1_000_000;
+    private static final int MODELOS = 5_000;
+    private static final List<String> MARCAS = List.of(
+        "Toyota", "Honda", "Chevrolet", "Volkswagen", "Fiat", "Hyundai", "Renault", "Jeep", "Nissan", "Citroën");
+    private static final List<String> NOMES = List.of(
+        "Corolla", "Civic", "Onix", "Polo", "Argo", "HB20", "Kwid", "Compass", "Kicks", "Cactus",
+        "Cross", "Tracker", "Nivus", "Pulse", "Creta", "Duster", "Renegade", "Sentra", "Yaris", "Fit");
+    private static final List<String> CONSULTAS = List.of("cor", "co", "civ", "toyota cor", "tracker", "h", "sport", "xyz");
+    private static final int AQUECIMENTO = 20_000;
+    private static final int RODADAS = 100_000;
+
+    @Test
+    void autocompleteCom1MilhaoDeVeiculos() {
+        ModelSearchIndex index = new ModelSearchIndex(mock(VehicleRepository.class));
+        Random random = new Random(42);
+        String[] modelos = new String[MODELOS];
+        for (int i = 0; i < MODELOS; i++) {
+            modelos[i] = MARCAS.get(i % MARCAS.size()) + " " + NOMES.get(random.nextInt(NOMES.size()))
+                + " " + (i % 3 == 0 ? "Sport " : "") + i;
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < VEICULOS; i++) {
+            String modelo = modelos[random.nextInt(MODELOS)];
+            index.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, new VehicleInventoryChangedEvent.Estado(
+                (long) i, modelo, 2024, VehicleColor.PRATA, BigDecimal.TEN, true, false)));
+        }
+        System.out.printf("Indexação: %,d veículos em %d ms (%,d modelos)%n",
+            VEICULOS, (System.nanoTime() - inicio) / 1_000_000, index.getQuantidadeModelos());
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            index.sugerir(CONSULTAS.get(i % CONSULTAS.size()), 10);
+        }
+
+        for (String consulta : CONSULTAS) {
+            long tempo = System.nanoTime();
+            int encontrados = 0;
+            for (int i = 0; i < RODADAS / CONSULTAS.size(); i++) {
+                encontrados += index.sugerir(consulta, 10).size();
+            }
+            double microssegundos = (System.nanoTime() - tempo) / 1_000.0 / (RODADAS / CONSULTAS.size());
+            System.out.printf("[%-10s] %.1f µs por consulta%n", consulta, microssegundos);
+            assertTrue(microssegundos < 1_000, "consulta '" + consulta + "' acima de 1 ms");
+            if (!consulta.equals("xyz")) {
+                assertFalse(encontrados == 0);
+            }
+        }
+    }
+}
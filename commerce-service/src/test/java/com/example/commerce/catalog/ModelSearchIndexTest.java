@@ -0,0 +1,111 @@
+package com.example.commerce.catalog;
+
+import com.example.commerce.dto.ModelSuggestionDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.VehicleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+/**
+ * Testes unitários para ModelSearchIndex
+ */
+@ExtendWith(MockitoExtension.class)
+class ModelSearchIndexTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    private ModelSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(vehicleRepository.countCatalogByModelo()).thenReturn(List.of(
+            new Object[]{"Toyota Corolla", 5L},
+            new Object[]{"Corolla Cross", 2L},
+            new Object[]{"Chevrolet Tracker", 8L},
+            new Object[]{"Citroën C4 Cactus", 1L},
+            new Object[]{"Honda Civic", 3L}));
+        index = new ModelSearchIndex(vehicleRepository);
+        index.carregar();
+    }
+
+    @Test
+    void sugerir_DeveOrdenarPorPosicaoEDepoisPorQuantidade() {
+        // Act
+        List<String> modelos = nomes(index.sugerir("cor", 10));
+
+        // Assert
+        assertEquals(List.of("Corolla Cross", "Toyota Corolla"), modelos);
+    }
+
+    @Test
+    void sugerir_DeveIgnorarCaixaEAcentos() {
+        // Act & Assert
+        assertEquals(List.of("Citroën C4 Cactus"), nomes(index.sugerir("CITROEN", 10)));
+        assertEquals(List.of("Citroën C4 Cactus"), nomes(index.sugerir("c4-cac", 10)));
+    }
+
+    @Test
+    void sugerir_TrechoComVariasPalavras_DeveConfirmarOTrechoInteiro() {
+        assertTrue(index.sugerir("rolla x", 10).isEmpty());
+        assertEquals(List.of("Corolla Cross"), nomes(index.sugerir("rolla c", 10)));
+    }
+
+    @Test
+    void sugerir_ConsultaCurta_DeveBuscarInicioDePalavra() {
+        // Act
+        List<ModelSuggestionDTO> sugestoes = index.sugerir("c", 2);
+
+        // Assert
+        assertEquals(List.of("Chevrolet Tracker", "Corolla Cross"), nomes(sugestoes));
+        assertEquals(List.of("Citroën C4 Cactus", "Honda Civic"), nomes(index.sugerir("ci", 10)));
+        assertTrue(index.sugerir("ic", 10).isEmpty());
+    }
+
+    @Test
+    void aoAlterarEstoque_DeveAjustarQuantidadesERemoverModelosZerados() {
+        // Act: Civic vendido três vezes, novo Corolla cadastrado
+        for (int i = 0; i < 3; i++) {
+            index.aoAlterarEstoque(new VehicleInventoryChangedEvent(
+                estado("Honda Civic", true, false), estado("Honda Civic", true, true)));
+        }
+        index.aoAlterarEstoque(new VehicleInventoryChangedEvent(null, estado("Toyota Corolla", true, false)));
+
+        // Assert
+        assertTrue(index.sugerir("civic", 10).isEmpty());
+        assertEquals(6L, index.sugerir("toyota", 10).get(0).getQuantidade());
+        assertEquals(4, index.getQuantidadeModelos());
+    }
+
+    @Test
+    void aoAlterarEstoque_RenomearModelo_DeveMoverQuantidade() {
+        // Act
+        index.aoAlterarEstoque(new VehicleInventoryChangedEvent(
+            estado("Honda Civic", true, false), estado("Honda Civic Touring", true, false)));
+
+        // Assert
+        List<ModelSuggestionDTO> sugestoes = index.sugerir("civic", 10);
+        assertEquals(List.of("Honda Civic", "Honda Civic Touring"), nomes(sugestoes));
+        assertEquals(2L, sugestoes.get(0).getQuantidade());
+        assertEquals(1L, sugestoes.get(1).getQuantidade());
+    }
+
+    private static VehicleInventoryChangedEvent.Estado estado(String modelo, boolean disponivel, boolean vendido) {
+        return new VehicleInventoryChangedEvent.Estado(1L, modelo, 2024, VehicleColor.PRATA,
+            new BigDecimal("100000.00"), disponivel, vendido);
+    }
+
+    private static List<String> nomes(List<ModelSuggestionDTO> sugestoes) {
+        return sugestoes.stream().map(ModelSuggestionDTO::getModelo).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.commerce.config;
+
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.model.VehicleColor;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark: catálogo de 10 mil veículos em JSON, CBOR e Smile.
+ * 
+ * Mede tamanho (cru e gzip), tempo de serialização e de desserialização
+ * para List<Map> (como o ui-service consome hoje) e para List<VehicleDTO>.
+ * 
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class BinaryFormatsBenchmarkTest {
+
+    private static final int VEICULOS = 10_000;
+    private static final int AQUECIMENTO = 30;
+    private static final int RODADAS = 50;
+
+    @Test
+    void compararFormatosParaCatalogoDe10MilVeiculos() throws Exception {
+        List<VehicleDTO> catalogo = catalogo();
+
+        Resultado json = medir("JSON ", new JsonFactory(), catalogo);
+        Resultado cbor = medir("CBOR ", new CBORFactory(), catalogo);
+        Resultado smile = medir("Smile", new SmileFactory(), catalogo);
+
+        assertTrue(cbor.bytes < json.bytes, "CBOR deveria ser menor que JSON");
+        assertTrue(smile.bytes < json.bytes, "Smile deveria ser menor que JSON");
+    }
+
+    private Resultado medir(String nome, JsonFactory factory, List<VehicleDTO> catalogo) throws Exception {
+        ObjectMapper mapper = Jackson2ObjectMapperBuilder.json().factory(factory).build();
+        TypeReference<List<Map<String, Object>>> mapas = new TypeReference<>() {
+        };
+        TypeReference<List<VehicleDTO>> dtos = new TypeReference<>() {
+        };
+
+        byte[] bytes = mapper.writeValueAsBytes(catalogo);
+        assertEquals(VEICULOS, mapper.readValue(bytes, dtos).size());
+
+        for (int i = 0; i < AQUECIMENTO; i++) {
+            mapper.writeValueAsBytes(catalogo);
+            mapper.readValue(bytes, mapas);
+            mapper.readValue(bytes, dtos);
+        }
+
+        long inicio = System.nanoTime();
+        for (int i = 0; i < RODADAS; i++) {
+            mapper.writeValueAsBytes(catalogo);
+        }
+        long serializar = (System.nanoTime() - inicio) / RODADAS;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < RODADAS; i++) {
+            mapper.readValue(bytes, mapas);
+        }
+        long lerMapas = (System.nanoTime() - inicio) / RODADAS;
+
+        inicio = System.nanoTime();
+        for (int i = 0; i < RODADAS; i++) {
+            mapper.readValue(bytes, dtos);
+        }
+        long lerDtos = (System.nanoTime() - inicio) / RODADAS;
+
+        System.out.printf("[%s] %,d bytes (gzip %,d), serializar=%.2f ms, ler List<Map>=%.2f ms, ler List<VehicleDTO>=%.2f ms%n",
+            nome, bytes.length, gzip(bytes),
+            serializar / 1e6, lerMapas / 1e6, lerDtos / 1e6);
+        return new Resultado(bytes.length);
+    }
+
+    private static int gzip(byte[] bytes) throws Exception {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(bytes);
+        }
+        return saida.size();
+    }
+
+    private static List<VehicleDTO> catalogo() {
+        String[] modelos = {"Toyota Corolla", "Honda Civic", "Volkswagen Golf", "Chevrolet Onix", "Fiat Argo",
+            "Hyundai HB20", "Renault Kwid", "Jeep Renegade", "Nissan Kicks", "Ford Ranger"};
+        VehicleColor[] cores = VehicleColor.values();
+        List<VehicleDTO> catalogo = new ArrayList<>(VEICULOS);
+        for (int i = 0; i < VEICULOS; i++) {
+            VehicleDTO dto = new VehicleDTO();
+            dto.setId((long) i + 1);
+            dto.setModelo(modelos[i % modelos.length]);
+            dto.setAno(2018 + i % 7);
+            dto.setColor(cores[i % cores.length]);
+            dto.setPreco(BigDecimal.valueOf(60_000 + (i * 37L) % 200_000, 0).setScale(2));
+            dto.setDisponivel(true);
+            catalogo.add(dto);
+        }
+        return catalogo;
+    }
+
+    private record Resultado(int bytes) {
+    }
+}
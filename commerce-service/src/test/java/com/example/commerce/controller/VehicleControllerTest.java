@@ -1,17 +1,40 @@
 package com.example.commerce.controller;
 
+import com.example.commerce.catalog.CatalogSnapshot;
+import com.example.commerce.catalog.CatalogSnapshotService;
+import com.example.commerce.catalog.ColumnarCatalog;
+import com.example.commerce.catalog.FacetService;
+import com.example.commerce.catalog.ModelSearchIndex;
+import com.example.commerce.dto.ModelSuggestionDTO;
+import com.example.commerce.config.BinaryFormatsConfig;
+import com.example.commerce.config.MetricsConfig;
+import com.example.commerce.config.RateLimitProperties;
+import com.example.commerce.config.ReportProperties;
+import com.example.commerce.security.WarmupToken;
 import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.flashsale.FlashSaleReservationService;
 import com.example.commerce.model.Vehicle;
 import com.example.commerce.service.VehicleService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.List;
 
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -20,6 +43,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Testes de integração para VehicleController
  */
 @WebMvcTest(VehicleController.class)
+@Import({MetricsConfig.class, BinaryFormatsConfig.class, RateLimitProperties.class, ReportProperties.class,
+        WarmupToken.class})
 class VehicleControllerTest {
 
     @Autowired
@@ -28,6 +53,21 @@ class VehicleControllerTest {
     @MockBean
     private VehicleService vehicleService;
 
+    @MockBean
+    private FlashSaleReservationService flashSaleReservationService;
+
+    @MockBean
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @MockBean
+    private ModelSearchIndex modelSearchIndex;
+
+    @MockBean
+    private FacetService facetService;
+
+    @MockBean
+    private ColumnarCatalog columnarCatalog;
+
     @Test
     @WithMockUser
     void listarDisponiveis_DeveRetornarVeiculosDisponiveis() throws Exception {
@@ -46,4 +86,97 @@ class VehicleControllerTest {
                 .andExpect(jsonPath("$[0].id").value(1))
                 .andExpect(jsonPath("$[0].modelo").value("Test Car"));
     }
-} 
\ No newline at end of file
+
+    @Test
+    @WithMockUser
+    void listarDisponiveis_ComAcceptCbor_DeveResponderEmCbor() throws Exception {
+        // Arrange
+        VehicleDTO vehicleDTO = new VehicleDTO();
+        vehicleDTO.setId(1L);
+        vehicleDTO.setModelo("Test Car");
+        when(vehicleService.listarDisponiveis()).thenReturn(Arrays.asList(vehicleDTO));
+
+        // Act
+        byte[] corpo = mockMvc.perform(get("/api/vehicles").accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Assert
+        JsonNode veiculos = new ObjectMapper(new CBORFactory()).readTree(corpo);
+        assertEquals("Test Car", veiculos.get(0).get("modelo").asText());
+    }
+
+    @Test
+    @WithMockUser
+    void listAvailable_DeveServirSnapshotComEtagE304() throws Exception {
+        // Arrange
+        byte[] json = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(catalogSnapshotService.obter())
+                .thenReturn(new CatalogSnapshot(1, json, new byte[]{1, 2}, new byte[]{3}, new byte[]{4}, "\"abc\""));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/vehicles/available"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"abc\""))
+                .andExpect(header().stringValues("Vary", hasItem("Accept, Accept-Encoding")))
+                .andExpect(header().longValue("Content-Length", json.length))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        mockMvc.perform(get("/api/vehicles/available").header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andExpect(header().string("ETag", "\"abc-gzip\""))
+                .andExpect(content().bytes(new byte[]{1, 2}));
+
+        mockMvc.perform(get("/api/vehicles/available").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/vehicles/available").header("Accept-Encoding", "gzip").header("If-None-Match", "\"abc\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @WithMockUser
+    void listAvailable_PedidoDoUiServiceEmSmile_DeveServirSmileDoSnapshot() throws Exception {
+        // Arrange
+        byte[] json = "[{\"id\":1}]".getBytes(StandardCharsets.UTF_8);
+        when(catalogSnapshotService.obter())
+                .thenReturn(new CatalogSnapshot(1, json, new byte[]{1, 2}, new byte[]{3}, new byte[]{4}, "\"abc\""));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/vehicles/available")
+                        .header("Accept", "application/x-jackson-smile, application/json;q=0.9")
+                        .header("Accept-Encoding", "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andExpect(header().string("ETag", "\"abc-smile\""))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(new byte[]{3}));
+
+        mockMvc.perform(get("/api/vehicles/available").header("Accept", "application/cbor;q=0.5, application/json"))
+                .andExpect(content().bytes(json));
+
+        mockMvc.perform(get("/api/vehicles/available").header("Accept", MediaType.APPLICATION_CBOR_VALUE))
+                .andExpect(header().string("ETag", "\"abc-cbor\""))
+                .andExpect(content().bytes(new byte[]{4}));
+
+        mockMvc.perform(get("/api/vehicles/available").header("Accept-Encoding", "gzip;q=0, deflate"))
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(content().bytes(json));
+        verify(vehicleService, never()).listarDisponiveis();
+    }
+
+    @Test
+    @WithMockUser
+    void autocomplete_DeveLimitarQuantidadeDeSugestoes() throws Exception {
+        // Arrange
+        when(modelSearchIndex.sugerir("cor", 50)).thenReturn(List.of(new ModelSuggestionDTO("Toyota Corolla", 5)));
+
+        // Act & Assert
+        mockMvc.perform(get("/api/vehicles/autocomplete").param("q", "cor").param("limite", "500"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].modelo").value("Toyota Corolla"))
+                .andExpect(jsonPath("$[0].quantidade").value(5));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.config.DatasetProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark: massa sintética de 1M de veículos (com vendas, carrinhos e
+ * totais) no H2 em memória, pelos INSERTs em lote.
+ * 
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetLoaderBenchmarkTest {
+
+    private static final int VEICULOS = 1_000_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void cargaDeUmMilhaoDeVeiculos() {
+        DatasetProperties properties = new DatasetProperties();
+        properties.setVeiculos(VEICULOS);
+        properties.setFimHistorico(LocalDate.of(2024, 6, 30));
+
+        long inicio = System.nanoTime();
+        SyntheticDatasetGenerator.Resumo resumo = new DatasetLoader(properties, jdbcTemplate, transactionManager)
+            .carregar().orElseThrow();
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        // Inclui as tabelas de junção (cart_vehicle e sale_vehicles)
+        long linhas = resumo.veiculos() + resumo.carrinhos() + resumo.vendas() + resumo.totais()
+            + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cart_vehicle", Long.class)
+            + jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_vehicles", Long.class);
+        System.out.printf("%,d veículos, %,d carrinhos, %,d vendas, %,d totais em %.1f s (%,.0f linhas/s)%n",
+            resumo.veiculos(), resumo.carrinhos(), resumo.vendas(), resumo.totais(), segundos, linhas / segundos);
+        assertEquals(VEICULOS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles", Long.class));
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.config.DatasetProperties;
+import com.example.commerce.model.CartStatus;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.SaleRepository;
+import com.example.commerce.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Carga da massa sintética no H2 pelos INSERTs em lote, feita pelo
+ * ApplicationRunner na subida do contexto. Sem a transação do teste: a
+ * carga faz commit por lote e reinicia a identidade (DDL).
+ */
+@DataJpaTest
+@Import({DatasetLoader.class, DatasetProperties.class})
+@TestPropertySource(properties = {
+    "commerce.dataset.enabled=true",
+    "commerce.dataset.veiculos=20000",
+    "commerce.dataset.tamanho-lote=1000",
+    "commerce.dataset.fim-historico=2024-06-30"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DatasetLoaderTest {
+
+    @Autowired
+    private DatasetLoader loader;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void partida_DeveCarregarAMassaUmaVezELiberarIdsParaOJpa() {
+        // Act: o ApplicationRunner já carregou na subida do contexto
+        Optional<SyntheticDatasetGenerator.Resumo> repetida = loader.carregar();
+
+        // Assert
+        assertTrue(repetida.isEmpty(), "Banco com veículos não deveria receber outra massa");
+        assertEquals(20_000, vehicleRepository.count());
+        for (CartStatus status : CartStatus.values()) {
+            assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM carts WHERE status = ?", Long.class, status.name()) > 0);
+        }
+        assertEquals(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM vehicles WHERE vendido = TRUE", Long.class),
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sale_vehicles", Long.class));
+        assertEquals(saleRepository.count(), jdbcTemplate.queryForObject(
+            "SELECT SUM(quantidade) FROM sales_rollups WHERE granularidade = 'ANO' AND dimensao = 'TIPO'", Long.class));
+
+        // O próximo INSERT do JPA continua depois dos ids gerados
+        Vehicle novo = new Vehicle();
+        novo.setModelo("Fiat Uno");
+        novo.setAno(2010);
+        novo.setPreco(new BigDecimal("20000.00"));
+        novo.setColor(VehicleColor.BRANCA);
+        assertEquals(20_001L, vehicleRepository.save(novo).getId());
+    }
+}
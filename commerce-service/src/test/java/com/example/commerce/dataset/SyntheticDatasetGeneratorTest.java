@@ -0,0 +1,162 @@
+package com.example.commerce.dataset;
+
+import com.example.commerce.config.DatasetProperties;
+import com.example.commerce.model.Cart;
+import com.example.commerce.model.CartStatus;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.SalesRollup;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para SyntheticDatasetGenerator
+ */
+class SyntheticDatasetGeneratorTest {
+
+    private static final LocalDate FIM = LocalDate.of(2024, 6, 30);
+    private static final SyntheticDatasetGenerator.Ids IDS = new SyntheticDatasetGenerator.Ids(1, 1, 1);
+
+    private DatasetProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DatasetProperties();
+        properties.setVeiculos(50_000);
+    }
+
+    @Test
+    void gerar_MesmaSemente_DeveGerarAsMesmasLinhas() {
+        // Act
+        Coletor primeira = gerar();
+        Coletor segunda = gerar();
+        properties.setSemente(7);
+        Coletor outraSemente = gerar();
+
+        // Assert
+        assertEquals(primeira.assinatura(), segunda.assinatura());
+        assertNotEquals(primeira.assinatura(), outraSemente.assinatura());
+    }
+
+    @Test
+    void gerar_DeveSeguirAsDistribuicoesConfiguradas() {
+        // Act
+        Coletor dados = gerar();
+
+        // Assert: cores próximas de 42/31/27%
+        Map<VehicleColor, Long> cores = dados.veiculos.stream()
+            .collect(Collectors.groupingBy(Vehicle::getColor, () -> new EnumMap<>(VehicleColor.class), Collectors.counting()));
+        assertEquals(0.42, cores.get(VehicleColor.BRANCA) / 50_000.0, 0.01);
+        assertEquals(0.27, cores.get(VehicleColor.PRETA) / 50_000.0, 0.01);
+
+        long vendidos = dados.veiculos.stream().filter(Vehicle::isVendido).count();
+        assertEquals(0.3, vendidos / 50_000.0, 0.01);
+        assertTrue(dados.veiculos.stream().allMatch(v -> v.getAno() <= FIM.getYear() && v.getAno() >= FIM.getYear() - 23));
+        assertTrue(dados.veiculos.stream().allMatch(v -> v.getPreco().compareTo(new BigDecimal("15000")) >= 0));
+
+        // Vendas cobrem os três anos do histórico
+        Set<Integer> anosVenda = dados.vendas.stream().map(s -> s.getDataVenda().getYear()).collect(Collectors.toSet());
+        assertEquals(Set.of(2021, 2022, 2023, 2024), anosVenda);
+        assertTrue(dados.vendas.stream().anyMatch(s -> s.getTipo() == Sale.SaleType.FISICA && s.getVendedorId() != null));
+    }
+
+    @Test
+    void gerar_DeveManterVeiculosCarrinhosEVendasCoerentes() {
+        // Act
+        Coletor dados = gerar();
+
+        // Assert: todo status de carrinho presente
+        Map<CartStatus, List<Cart>> porStatus = dados.carrinhos.stream().collect(Collectors.groupingBy(Cart::getStatus));
+        assertEquals(Set.of(CartStatus.values()), porStatus.keySet());
+
+        // Cada vendido está em exatamente uma venda
+        Set<Long> vendidos = dados.veiculos.stream().filter(Vehicle::isVendido).map(Vehicle::getId).collect(Collectors.toSet());
+        List<Long> emVendas = dados.vendas.stream().flatMap(s -> s.getVehicleIds().stream()).toList();
+        assertEquals(vendidos.size(), emVendas.size());
+        assertEquals(vendidos, new HashSet<>(emVendas));
+
+        // Reservados apontam para o carrinho ativo que os contém
+        for (Cart cart : porStatus.get(CartStatus.ACTIVE)) {
+            assertFalse(cart.isFinalizado());
+            cart.getVehicles().forEach(v -> {
+                assertEquals(cart.getId(), v.getCarrinhoId());
+                assertFalse(v.isDisponivelNoEstoque());
+            });
+        }
+
+        // Totais anuais somam exatamente as vendas
+        long vendasEmTotais = dados.totais.stream()
+            .filter(t -> t.getGranularidade() == SalesRollup.Granularidade.ANO && t.getDimensao() == SalesRollup.Dimensao.TIPO)
+            .mapToLong(SalesRollup::getQuantidade).sum();
+        BigDecimal receitaEmTotais = dados.totais.stream()
+            .filter(t -> t.getGranularidade() == SalesRollup.Granularidade.MES && t.getDimensao() == SalesRollup.Dimensao.TIPO)
+            .map(SalesRollup::getReceita).reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(dados.vendas.size(), vendasEmTotais);
+        assertEquals(dados.vendas.stream().map(Sale::getValorTotal).reduce(BigDecimal.ZERO, BigDecimal::add), receitaEmTotais);
+    }
+
+    private Coletor gerar() {
+        Coletor coletor = new Coletor();
+        SyntheticDatasetGenerator.Resumo resumo = new SyntheticDatasetGenerator(properties, FIM).gerar(IDS, coletor);
+        assertTrue(coletor.concluido);
+        assertEquals(properties.getVeiculos(), resumo.veiculos());
+        assertEquals(coletor.vendas.size(), resumo.vendas());
+        return coletor;
+    }
+
+    private static class Coletor implements DatasetSink {
+        private final List<Vehicle> veiculos = new ArrayList<>();
+        private final List<Cart> carrinhos = new ArrayList<>();
+        private final List<Sale> vendas = new ArrayList<>();
+        private final List<SalesRollup> totais = new ArrayList<>();
+        private boolean concluido;
+
+        @Override
+        public void veiculo(Vehicle vehicle) {
+            veiculos.add(vehicle);
+        }
+
+        @Override
+        public void carrinho(Cart cart) {
+            carrinhos.add(cart);
+        }
+
+        @Override
+        public void venda(Sale sale) {
+            vendas.add(sale);
+        }
+
+        @Override
+        public void totais(SalesRollup rollup) {
+            totais.add(rollup);
+        }
+
+        @Override
+        public void concluir() {
+            concluido = true;
+        }
+
+        String assinatura() {
+            StringBuilder texto = new StringBuilder();
+            veiculos.forEach(v -> texto.append(v.getId()).append(v.getModelo()).append(v.getAno())
+                .append(v.getPreco()).append(v.getColor()).append(v.isVendido()).append(v.getCarrinhoId()));
+            vendas.forEach(s -> texto.append(s.getUserId()).append(s.getDataVenda()).append(s.getValorTotal())
+                .append(s.getVehicleIds()));
+            carrinhos.forEach(c -> texto.append(c.getStatus()).append(c.getCreatedAt()));
+            return texto.toString();
+        }
+    }
+}
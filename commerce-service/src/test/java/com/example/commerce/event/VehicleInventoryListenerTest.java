@@ -0,0 +1,63 @@
+package com.example.commerce.event;
+
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que toda alteração gravada de veículo gera um evento com antes/depois
+ */
+@DataJpaTest
+@RecordApplicationEvents
+class VehicleInventoryListenerTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Test
+    void alteracoesGravadas_DevemPublicarAntesEDepois() {
+        // Arrange
+        Vehicle vehicle = new Vehicle();
+        vehicle.setModelo("Civic");
+        vehicle.setAno(2024);
+        vehicle.setColor(VehicleColor.PRATA);
+        vehicle.setPreco(new BigDecimal("100000.00"));
+        Long id = entityManager.persistAndFlush(vehicle).getId();
+        entityManager.clear();
+
+        // Act
+        Vehicle carregado = entityManager.find(Vehicle.class, id);
+        carregado.setVendido(true);
+        entityManager.flush();
+        carregado.setAno(2024); // sem mudança: nenhum evento
+        entityManager.flush();
+        entityManager.remove(carregado);
+        entityManager.flush();
+
+        // Assert
+        List<VehicleInventoryChangedEvent> publicados = events.stream(VehicleInventoryChangedEvent.class).toList();
+        assertEquals(3, publicados.size());
+
+        assertNull(publicados.get(0).antes());
+        assertTrue(publicados.get(0).depois().isNoCatalogo());
+
+        assertTrue(publicados.get(1).antes().isNoCatalogo());
+        assertFalse(publicados.get(1).depois().isNoCatalogo());
+
+        assertTrue(publicados.get(2).antes().vendido());
+        assertNull(publicados.get(2).depois());
+    }
+}
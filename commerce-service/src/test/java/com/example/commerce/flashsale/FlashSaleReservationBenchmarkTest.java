@@ -0,0 +1,112 @@
+package com.example.commerce.flashsale;
+
+import com.example.commerce.config.FlashSaleProperties;
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark: 10 mil reservas concorrentes para o mesmo veículo, comparando o
+ * caminho atual (lock/versão no banco) com a fila de escritor único.
+ * 
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class FlashSaleReservationBenchmarkTest {
+
+    private static final int REQUISICOES = 10_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private VehicleService vehicleService;
+
+    @Test
+    void compararCaminhoAtualComFilaDeEscritorUnico() throws Exception {
+        Resultado atual = executar("caminho atual", vehicleService::reservarVeiculo);
+
+        FlashSaleProperties properties = new FlashSaleProperties();
+        properties.setEnabled(true);
+        properties.setCapacidadeFila(REQUISICOES);
+        FlashSaleReservationService flashSale =
+            new FlashSaleReservationService(vehicleService, properties, new SimpleMeterRegistry());
+        flashSale.iniciar();
+        Resultado filaUnica;
+        try {
+            filaUnica = executar("escritor único", flashSale::reservar);
+        } finally {
+            flashSale.parar();
+        }
+
+        assertEquals(1, atual.vencedores);
+        assertEquals(1, filaUnica.vencedores);
+    }
+
+    private Resultado executar(String nome, BiFunction<Long, String, VehicleDTO> reservar) throws Exception {
+        Long vehicleId = criarVeiculo();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger vencedores = new AtomicInteger();
+        long[] latencias = new long[REQUISICOES];
+        List<Future<?>> tarefas = new ArrayList<>(REQUISICOES);
+
+        for (int i = 0; i < REQUISICOES; i++) {
+            int indice = i;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                long inicio = System.nanoTime();
+                try {
+                    reservar.apply(vehicleId, "user-" + indice);
+                    vencedores.incrementAndGet();
+                } catch (RuntimeException e) {
+                    // perdedor da disputa
+                }
+                latencias[indice] = System.nanoTime() - inicio;
+                return null;
+            }));
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(5, TimeUnit.MINUTES);
+        }
+        long total = System.nanoTime() - inicio;
+        executor.shutdown();
+
+        java.util.Arrays.sort(latencias);
+        System.out.printf("[%s] %d requisições em %d ms (%.0f req/s), p50=%.3f ms, p99=%.3f ms, vencedores=%d%n",
+            nome, REQUISICOES, TimeUnit.NANOSECONDS.toMillis(total),
+            REQUISICOES / (total / 1e9),
+            latencias[REQUISICOES / 2] / 1e6,
+            latencias[(int) (REQUISICOES * 0.99)] / 1e6,
+            vencedores.get());
+        return new Resultado(vencedores.get());
+    }
+
+    private Long criarVeiculo() {
+        VehicleDTO dto = new VehicleDTO();
+        dto.setModelo("Flash Sale");
+        dto.setAno(2024);
+        dto.setColor(VehicleColor.PRATA);
+        dto.setPreco(new BigDecimal("99900.00"));
+        return vehicleService.createVehicle(dto).getId();
+    }
+
+    private record Resultado(int vencedores) {
+    }
+}
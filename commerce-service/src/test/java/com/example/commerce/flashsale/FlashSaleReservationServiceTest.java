@@ -0,0 +1,207 @@
+package com.example.commerce.flashsale;
+
+import com.example.commerce.config.FlashSaleProperties;
+import com.example.commerce.dto.VehicleDTO;
+import com.example.commerce.event.VehicleInventoryChangedEvent;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.service.VehicleService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlashSaleReservationServiceTest {
+
+    @Mock
+    private VehicleService vehicleService;
+
+    private FlashSaleReservationService service;
+
+    private FlashSaleProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new FlashSaleProperties();
+        properties.setEnabled(true);
+        properties.setCapacidadeFila(1024);
+        properties.setMaxDecididos(100);
+        properties.setEscritores(4);
+        service = new FlashSaleReservationService(vehicleService, properties, new SimpleMeterRegistry());
+        service.iniciar();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.parar();
+    }
+
+    @Test
+    void shouldPersistOnlyTheFirstClaimant() throws Exception {
+        // given
+        when(vehicleService.reservarVeiculo(eq(1L), anyString())).thenReturn(new VehicleDTO());
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger vencedores = new AtomicInteger();
+        AtomicInteger rejeitados = new AtomicInteger();
+        List<Future<?>> tarefas = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < 500; i++) {
+            String userId = "user-" + i;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    service.reservar(1L, userId);
+                    vencedores.incrementAndGet();
+                } catch (BusinessException e) {
+                    rejeitados.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // then
+        assertEquals(1, vencedores.get());
+        assertEquals(499, rejeitados.get());
+        verify(vehicleService, times(1)).reservarVeiculo(eq(1L), anyString());
+    }
+
+    @Test
+    void shouldReopenVehicleAfterRelease() {
+        // given
+        when(vehicleService.reservarVeiculo(eq(2L), anyString())).thenReturn(new VehicleDTO());
+        service.reservar(2L, "a");
+        assertThrows(BusinessException.class, () -> service.reservar(2L, "b"));
+
+        // when
+        service.liberar(2L);
+
+        // then
+        assertNotNull(service.reservar(2L, "b"));
+        verify(vehicleService, times(2)).reservarVeiculo(eq(2L), anyString());
+    }
+
+    @Test
+    void shouldKeepVehicleClosedWhenDatabaseRejectsReservation() {
+        // given
+        when(vehicleService.reservarVeiculo(eq(3L), anyString()))
+            .thenThrow(new BusinessException("Veículo não está disponível"));
+
+        // when & then
+        assertThrows(BusinessException.class, () -> service.reservar(3L, "a"));
+        assertThrows(BusinessException.class, () -> service.reservar(3L, "b"));
+        verify(vehicleService, times(1)).reservarVeiculo(eq(3L), anyString());
+    }
+
+    @Test
+    void shouldReopenVehicleWhenCommitReturnsItToStockOrSellsIt() {
+        // given
+        when(vehicleService.reservarVeiculo(eq(4L), anyString())).thenReturn(new VehicleDTO());
+        when(vehicleService.reservarVeiculo(eq(5L), anyString())).thenReturn(new VehicleDTO());
+        service.reservar(4L, "a");
+        service.reservar(5L, "a");
+
+        // when: a reserva da própria escritora não reabre; expiração e venda sim
+        service.aoAlterarEstoque(evento(4L, false, false));
+        service.aoAlterarEstoque(evento(5L, true, false));
+        service.aoAlterarEstoque(evento(4L, false, true));
+        // filas FIFO: 104 e 105 caem nos escritores de 4 e 5, depois dos eventos acima
+        service.liberar(104L);
+        service.liberar(105L);
+
+        // then
+        assertNotNull(service.reservar(4L, "b"));
+        assertNotNull(service.reservar(5L, "b"));
+        verify(vehicleService, times(2)).reservarVeiculo(eq(4L), anyString());
+        verify(vehicleService, times(2)).reservarVeiculo(eq(5L), anyString());
+    }
+
+    @Test
+    void shouldForgetOldestDecisionWhenLimitIsReached() {
+        // given
+        service.parar();
+        properties.setMaxDecididos(2);
+        properties.setEscritores(1);
+        service = new FlashSaleReservationService(vehicleService, properties, new SimpleMeterRegistry());
+        service.iniciar();
+        when(vehicleService.reservarVeiculo(anyLong(), anyString()))
+            .thenThrow(new BusinessException("Veículo não está disponível"));
+
+        // when
+        for (long id = 10; id <= 12; id++) {
+            long vehicleId = id;
+            assertThrows(BusinessException.class, () -> service.reservar(vehicleId, "a"));
+        }
+        assertThrows(BusinessException.class, () -> service.reservar(12L, "b"));
+        assertThrows(BusinessException.class, () -> service.reservar(10L, "b"));
+
+        // then: 12 ainda decidido, 10 foi esquecido e voltou ao banco
+        verify(vehicleService, times(1)).reservarVeiculo(eq(12L), anyString());
+        verify(vehicleService, times(2)).reservarVeiculo(eq(10L), anyString());
+    }
+
+    @Test
+    void shouldReplaceWriterThatDiesWithAnError() {
+        // given: 6 e 10 são do mesmo escritor
+        when(vehicleService.reservarVeiculo(eq(6L), anyString())).thenThrow(new StackOverflowError());
+        when(vehicleService.reservarVeiculo(eq(10L), anyString())).thenReturn(new VehicleDTO());
+
+        // when
+        assertThrows(IllegalStateException.class, () -> service.reservar(6L, "a"));
+
+        // then
+        assertNotNull(service.reservar(10L, "a"));
+    }
+
+    @Test
+    void shouldNotQueueOtherVehiclesBehindASlowReservation() throws Exception {
+        // given: a gravação do veículo 20 fica presa no banco
+        properties.setTimeoutResposta(Duration.ofSeconds(2));
+        CountDownLatch gravando = new CountDownLatch(1);
+        CountDownLatch liberarBanco = new CountDownLatch(1);
+        when(vehicleService.reservarVeiculo(eq(20L), anyString())).thenAnswer(invocacao -> {
+            gravando.countDown();
+            liberarBanco.await();
+            return new VehicleDTO();
+        });
+        when(vehicleService.reservarVeiculo(eq(21L), anyString())).thenReturn(new VehicleDTO());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        Future<VehicleDTO> lento = executor.submit(() -> service.reservar(20L, "a"));
+        assertTrue(gravando.await(5, TimeUnit.SECONDS));
+
+        // when & then: 21 é de outro escritor e não espera pelo 20
+        try {
+            assertNotNull(service.reservar(21L, "b"));
+        } finally {
+            liberarBanco.countDown();
+        }
+        assertNotNull(lento.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    private static VehicleInventoryChangedEvent evento(Long id, boolean disponivel, boolean vendido) {
+        return new VehicleInventoryChangedEvent(null,
+            new VehicleInventoryChangedEvent.Estado(id, "Modelo", 2020, null, null, disponivel, vendido));
+    }
+}
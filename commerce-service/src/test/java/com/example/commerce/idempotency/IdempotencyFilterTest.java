@@ -0,0 +1,179 @@
+package com.example.commerce.idempotency;
+
+import com.example.commerce.config.IdempotencyProperties;
+import com.example.commerce.model.IdempotencyRecord;
+import com.example.commerce.repository.IdempotencyRecordRepository;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyFilterTest {
+
+    @Mock
+    private IdempotencyRecordRepository repository;
+
+    private IdempotencyFilter filter;
+    private AtomicInteger execucoes;
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        filter = new IdempotencyFilter(properties, new IdempotencyStore(properties, repository));
+        execucoes = new AtomicInteger();
+    }
+
+    @Test
+    void shouldReplayCompletedResponseWithoutExecutingAgain() throws Exception {
+        FilterChain chain = responder(HttpServletResponse.SC_OK, "{\"id\":1}", null);
+
+        MockHttpServletResponse primeira = executar("chave-1", chain);
+        MockHttpServletResponse repetida = executar("chave-1", chain);
+
+        assertEquals(1, execucoes.get());
+        assertEquals(200, repetida.getStatus());
+        assertEquals("{\"id\":1}", repetida.getContentAsString());
+        assertEquals("true", repetida.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertNull(primeira.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void shouldExecuteAgainAfterServerError() throws Exception {
+        FilterChain chain = responder(HttpServletResponse.SC_SERVICE_UNAVAILABLE, "", null);
+
+        executar("chave-2", chain);
+        executar("chave-2", chain);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void concurrentDuplicatesShouldWaitForFirstExecution() throws Exception {
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain chain = responder(HttpServletResponse.SC_ACCEPTED, "ok", () -> {
+            emExecucao.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<MockHttpServletResponse> original = executor.submit(() -> executar("chave-3", chain));
+        assertTrue(emExecucao.await(5, TimeUnit.SECONDS));
+        Future<MockHttpServletResponse> duplicada = executor.submit(() -> executar("chave-3", chain));
+        Thread.sleep(50);
+        liberar.countDown();
+
+        assertEquals(202, original.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals(202, duplicada.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("ok", duplicada.get().getContentAsString());
+        assertEquals(1, execucoes.get());
+        executor.shutdown();
+    }
+
+    @Test
+    void shouldIgnoreRequestsWithoutKey() throws Exception {
+        FilterChain chain = responder(HttpServletResponse.SC_OK, "", null);
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cart/1/finish");
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertEquals(2, execucoes.get());
+    }
+
+    @Test
+    void shouldReplaySendErrorResponsesThroughSendError() throws Exception {
+        FilterChain chain = (request, response) -> {
+            execucoes.incrementAndGet();
+            ((HttpServletResponse) response).sendError(HttpServletResponse.SC_BAD_REQUEST, "Carrinho vazio");
+        };
+
+        executar("chave-4", chain);
+        MockHttpServletResponse repetida = executar("chave-4", chain);
+
+        assertEquals(1, execucoes.get());
+        assertEquals(400, repetida.getStatus());
+        assertEquals("Carrinho vazio", repetida.getErrorMessage());
+        assertEquals("true", repetida.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void shouldRejectKeysThatDoNotFitTheStore() throws Exception {
+        FilterChain chain = responder(HttpServletResponse.SC_OK, "", null);
+
+        MockHttpServletResponse response = executar("k".repeat(IdempotencyRecord.TAMANHO_CHAVE), chain);
+
+        assertEquals(400, response.getStatus());
+        assertEquals(0, execucoes.get());
+    }
+
+    @Test
+    void inFlightExecutionShouldSurviveLruEviction() throws Exception {
+        IdempotencyProperties properties = new IdempotencyProperties();
+        properties.setMaxEntradas(1);
+        filter = new IdempotencyFilter(properties, new IdempotencyStore(properties, repository));
+        CountDownLatch emExecucao = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        FilterChain lenta = responder(HttpServletResponse.SC_ACCEPTED, "ok", () -> {
+            emExecucao.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<MockHttpServletResponse> original = executor.submit(() -> executar("lenta", lenta));
+        assertTrue(emExecucao.await(5, TimeUnit.SECONDS));
+
+        // Outras chaves concluídas passam do limite de entradas
+        executar("rapida-1", responder(HttpServletResponse.SC_OK, "", null));
+        executar("rapida-2", responder(HttpServletResponse.SC_OK, "", null));
+        Future<MockHttpServletResponse> duplicada = executor.submit(() -> executar("lenta", lenta));
+        Thread.sleep(50);
+        liberar.countDown();
+
+        assertEquals(202, original.get(5, TimeUnit.SECONDS).getStatus());
+        assertEquals("true", duplicada.get(5, TimeUnit.SECONDS).getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(3, execucoes.get());
+        executor.shutdown();
+    }
+
+    private MockHttpServletResponse executar(String chave, FilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/cart/1/finish");
+        request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, chave);
+        request.addHeader("X-User-Id", "u1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private FilterChain responder(int status, String corpo, Acao antes) {
+        return (request, response) -> {
+            execucoes.incrementAndGet();
+            if (antes != null) {
+                try {
+                    antes.executar();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            HttpServletResponse http = (HttpServletResponse) response;
+            http.setStatus(status);
+            http.setContentType("application/json");
+            http.getOutputStream().write(corpo.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    private interface Acao {
+        void executar() throws InterruptedException;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.commerce.migration;
+
+import com.example.commerce.config.MigrationProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({SchemaMigrations.class, MigrationProperties.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SchemaMigrationsTest {
+
+    @Autowired
+    private SchemaMigrations schemaMigrations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void migrar_IndicesJaCriadosSemRegistro_DeveReexecutarEGravarVersao() throws Exception {
+        // Arrange: script rodou, mas a instância caiu antes de gravar a versão
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE versao = 1");
+
+        // Act
+        int novas = schemaMigrations.migrar();
+
+        // Assert
+        assertEquals(1, novas);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations WHERE versao = 1", Integer.class));
+    }
+
+    @Test
+    void migrar_OutraInstanciaComTrava_DeveEsperarEReler() throws Exception {
+        // Arrange
+        Map<String, Object> v1 = jdbcTemplate.queryForMap("SELECT * FROM schema_migrations WHERE versao = 1");
+        jdbcTemplate.update("DELETE FROM schema_migrations WHERE versao = 1");
+
+        CompletableFuture<Integer> migracao;
+        try (Connection outraInstancia = dataSource.getConnection()) {
+            outraInstancia.setAutoCommit(false);
+            try (Statement comando = outraInstancia.createStatement()) {
+                comando.executeQuery(SchemaMigrations.TRAVAR).close();
+            }
+
+            // Act
+            migracao = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return schemaMigrations.migrar();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+            Thread.sleep(1500);
+            assertFalse(migracao.isDone(), "Migração deveria esperar a trava");
+
+            jdbcTemplate.update("INSERT INTO schema_migrations (versao, descricao, checksum, aplicada_em) VALUES (?, ?, ?, ?)",
+                v1.get("VERSAO"), v1.get("DESCRICAO"), v1.get("CHECKSUM"), v1.get("APLICADA_EM"));
+            outraInstancia.rollback();
+        }
+
+        // Assert
+        assertEquals(0, migracao.get(10, TimeUnit.SECONDS));
+    }
+}
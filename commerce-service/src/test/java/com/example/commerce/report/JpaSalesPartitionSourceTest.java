@@ -0,0 +1,94 @@
+package com.example.commerce.report;
+
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Garante que a consulta em streaming agrupa as linhas por venda
+ */
+@DataJpaTest
+@Import(JpaSalesPartitionSource.class)
+class JpaSalesPartitionSourceTest {
+
+    private static final LocalDateTime MARCO = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+    @Autowired
+    private JpaSalesPartitionSource source;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void percorrer_DeveEntregarCadaVendaComSeusVeiculos() {
+        // Arrange
+        Vehicle civic = entityManager.persist(veiculo("Civic", "100000.00"));
+        Vehicle corolla = entityManager.persist(veiculo("Corolla", "120000.00"));
+        Vehicle hrv = entityManager.persist(veiculo("HR-V", "130000.00"));
+        venda(MARCO.plusDays(1), "200000.00", civic, corolla);
+        venda(MARCO.plusDays(2), "130000.00", hrv);
+        venda(MARCO.plusMonths(1), "100000.00", civic);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<SaleFact> vendas = new ArrayList<>();
+        source.percorrer(MARCO, MARCO.plusMonths(1), vendas::add);
+
+        // Assert
+        assertEquals(2, vendas.size());
+        assertEquals(2, vendas.get(0).itens().size());
+        assertEquals(new BigDecimal("20000.00"), vendas.get(0).desconto());
+        assertEquals("HR-V", vendas.get(1).itens().get(0).modelo());
+    }
+
+    @Test
+    void percorrer_VendaSemVeiculos_DeveEntregarComItensVazios() {
+        // Arrange
+        venda(MARCO.plusDays(3), "50000.00");
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<SaleFact> vendas = new ArrayList<>();
+        source.percorrer(MARCO, MARCO.plusMonths(1), vendas::add);
+
+        // Assert
+        assertEquals(1, vendas.size());
+        assertTrue(vendas.get(0).itens().isEmpty());
+        assertEquals(new BigDecimal("50000.00"), vendas.get(0).valorTotal());
+    }
+
+    private void venda(LocalDateTime data, String valor, Vehicle... vehicles) {
+        Sale sale = new Sale();
+        sale.setUserId("relatorio");
+        sale.setTipo(Sale.SaleType.ONLINE);
+        sale.setDataVenda(data);
+        sale.setValorTotal(new BigDecimal(valor));
+        for (Vehicle vehicle : vehicles) {
+            sale.getVehicleIds().add(vehicle.getId());
+        }
+        entityManager.persist(sale);
+    }
+
+    private static Vehicle veiculo(String modelo, String preco) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setModelo(modelo);
+        vehicle.setAno(2024);
+        vehicle.setColor(VehicleColor.PRETA);
+        vehicle.setPreco(new BigDecimal(preco));
+        return vehicle;
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.commerce.report;
+
+import com.example.commerce.config.ReportProperties;
+import com.example.commerce.model.Sale;
+import com.example.commerce.repository.SaleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para a exportação de vendas em CSV
+ */
+@DataJpaTest
+@Import({SaleExportService.class, ReportProperties.class})
+class SaleExportServiceTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    @Autowired
+    private SaleExportService saleExportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void exportarCsv_DeveEscreverUmaLinhaPorVendaComSeusVeiculos() throws Exception {
+        // Arrange
+        Long primeira = venda("cliente-1", LocalDateTime.of(2024, 2, 10, 9, 30), "200000.00", 11L, 12L);
+        Long segunda = venda("Silva, \"Ana\"", LocalDateTime.of(2024, 5, 1, 14, 0), "90000.00");
+        venda("fora-do-periodo", LocalDateTime.of(2025, 2, 1, 0, 0), "1.00", 13L);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        saleExportService.exportarCsv(INICIO, FIM, saida);
+
+        // Assert
+        List<String> linhas = saida.toString(StandardCharsets.UTF_8).lines().toList();
+        assertEquals(List.of(
+            SaleExportService.CABECALHO,
+            primeira + ",cliente-1,ONLINE,2024-02-10T09:30,200000.00,11;12",
+            segunda + ",\"Silva, \"\"Ana\"\"\",ONLINE,2024-05-01T14:00,90000.00,"
+        ), linhas);
+    }
+
+    @Test
+    void exportarCsvGzip_DeveProduzirOMesmoConteudoComprimido() throws Exception {
+        // Arrange
+        venda("cliente-1", LocalDateTime.of(2024, 3, 3, 8, 0), "100000.00", 21L);
+        entityManager.flush();
+        entityManager.clear();
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        saleExportService.exportarCsv(INICIO, FIM, csv);
+
+        // Act
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        saleExportService.exportarCsvGzip(INICIO, FIM, gzip);
+
+        // Assert
+        try (GZIPInputStream entrada = new GZIPInputStream(new ByteArrayInputStream(gzip.toByteArray()))) {
+            assertArrayEquals(csv.toByteArray(), entrada.readAllBytes());
+        }
+    }
+
+    @Test
+    void exportarCsv_DuracaoMaximaEsgotada_DeveInterromper() {
+        // Arrange
+        venda("cliente-1", LocalDateTime.of(2024, 4, 4, 10, 0), "50000.00", 31L);
+        entityManager.flush();
+        entityManager.clear();
+        ReportProperties properties = new ReportProperties();
+        properties.setDuracaoMaximaExportacao(Duration.ofNanos(1));
+        SaleExportService exportacao = new SaleExportService(saleRepository, transactionManager, properties);
+
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+
+        // Act & Assert
+        assertThrows(TransactionTimedOutException.class, () -> exportacao.exportarCsv(INICIO, FIM, saida));
+        assertEquals(List.of(SaleExportService.CABECALHO, SaleExportService.TRUNCADO),
+            saida.toString(StandardCharsets.UTF_8).lines().toList());
+    }
+
+    private Long venda(String userId, LocalDateTime data, String valor, Long... vehicleIds) {
+        Sale sale = new Sale();
+        sale.setUserId(userId);
+        sale.setTipo(Sale.SaleType.ONLINE);
+        sale.setDataVenda(data);
+        sale.setValorTotal(new BigDecimal(valor));
+        sale.getVehicleIds().addAll(List.of(vehicleIds));
+        return entityManager.persist(sale).getId();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.commerce.report;
+
+import com.example.commerce.config.ReportProperties;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark: relatório de receita por modelo sobre 4 anos de vendas,
+ * variando o paralelismo do pool.
+ * 
+ * Cada partição só gasta CPU: gera as vendas e agrega, sem espera de
+ * consulta. O ganho vem então dos núcleos e não de esperas sobrepostas:
+ * esperado ao menos EFICIENCIA_MINIMA × min(paralelismo, núcleos), e nunca
+ * muito acima do número de núcleos disponíveis. Vale a melhor de RODADAS
+ * execuções.
+ * 
+ * Executar com: mvn test -Pbenchmark
+ */
+@Tag("benchmark")
+class SalesReportEngineBenchmarkTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2021, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 1, 1, 0, 0);
+    private static final double EFICIENCIA_MINIMA = 0.6;
+    private static final double FOLGA_MAXIMA = 1.25;
+    private static final int RODADAS = 3;
+
+    @Test
+    void ganhoDeveCrescerComOParalelismo() {
+        int nucleos = Runtime.getRuntime().availableProcessors();
+        Map<YearMonth, Map<String, BigDecimal>> referencia = null;
+        long base = 0;
+        for (int paralelismo : new int[]{1, 2, 4, 8}) {
+            ReportProperties properties = new ReportProperties();
+            properties.setParalelismo(paralelismo);
+            properties.setTamanhoParticao(Duration.ofDays(7));
+            SalesReportEngine engine = new SalesReportEngine(new FonteSomenteCpu(), properties);
+            try {
+                engine.executar(INICIO, FIM, SalesAggregations.receitaPorModeloPorMes()); // aquecimento
+                Map<YearMonth, Map<String, BigDecimal>> resultado = null;
+                long duracao = Long.MAX_VALUE;
+                for (int rodada = 0; rodada < RODADAS; rodada++) {
+                    long inicio = System.nanoTime();
+                    resultado = engine.executar(INICIO, FIM, SalesAggregations.receitaPorModeloPorMes());
+                    duracao = Math.min(duracao, System.nanoTime() - inicio);
+                }
+
+                if (referencia == null) {
+                    referencia = resultado;
+                    base = duracao;
+                }
+                assertEquals(referencia, resultado);
+                double ganho = (double) base / duracao;
+                double esperado = EFICIENCIA_MINIMA * Math.min(paralelismo, nucleos);
+                System.out.printf("[paralelismo=%d] %d ms, ganho=%.2fx, esperado>=%.2fx (%d núcleos disponíveis)%n",
+                    paralelismo, TimeUnit.NANOSECONDS.toMillis(duracao), ganho, esperado, nucleos);
+                assertTrue(ganho >= esperado, "Ganho deveria acompanhar os núcleos até min(paralelismo, núcleos)");
+                assertTrue(ganho <= nucleos * FOLGA_MAXIMA, "Ganho acima dos núcleos indica espera, não CPU");
+            } finally {
+                engine.encerrar();
+            }
+        }
+    }
+
+    /**
+     * Uma venda por minuto, gerada na própria partição
+     */
+    private static class FonteSomenteCpu implements SalesPartitionSource {
+        @Override
+        public void percorrer(LocalDateTime inicio, LocalDateTime fim, Consumer<SaleFact> consumidor) {
+            long id = 0;
+            for (LocalDateTime data = inicio; data.isBefore(fim); data = data.plusMinutes(1)) {
+                consumidor.accept(SalesReportEngineTest.FonteSintetica.venda(++id, data));
+            }
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.commerce.report;
+
+import com.example.commerce.config.ReportProperties;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.VehicleColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes unitários para SalesReportEngine
+ */
+class SalesReportEngineTest {
+
+    private static final LocalDateTime INICIO = LocalDateTime.of(2023, 1, 1, 0, 0);
+    private static final LocalDateTime FIM = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private SalesReportEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) {
+            engine.encerrar();
+        }
+    }
+
+    @Test
+    void particionar_DeveCobrirOIntervaloSemSobreposicao() {
+        // Arrange
+        engine = criarEngine(new FonteSintetica(), 4, Duration.ofDays(30));
+
+        // Act
+        List<LocalDateTime[]> particoes = engine.particionar(INICIO, FIM);
+
+        // Assert
+        assertEquals(INICIO, particoes.get(0)[0]);
+        assertEquals(FIM, particoes.get(particoes.size() - 1)[1]);
+        for (int i = 1; i < particoes.size(); i++) {
+            assertEquals(particoes.get(i - 1)[1], particoes.get(i)[0]);
+        }
+        assertEquals(25, particoes.size());
+    }
+
+    @Test
+    void executar_ResultadoParaleloDeveSerIgualAoSequencial() {
+        // Arrange
+        FonteSintetica fonte = new FonteSintetica();
+        SalesReportEngine sequencial = criarEngine(fonte, 1, Duration.ofDays(3650));
+        engine = criarEngine(fonte, 4, Duration.ofDays(7));
+
+        try {
+            // Act
+            Map<YearMonth, Map<String, BigDecimal>> esperado =
+                sequencial.executar(INICIO, FIM, SalesAggregations.receitaPorModeloPorMes());
+            Map<YearMonth, Map<String, BigDecimal>> paralelo =
+                engine.executar(INICIO, FIM, SalesAggregations.receitaPorModeloPorMes());
+
+            // Assert
+            assertEquals(24, paralelo.size());
+            assertEquals(esperado, paralelo);
+            assertTrue(fonte.threads.size() > 1, "Partições deveriam rodar em mais de uma thread");
+        } finally {
+            sequencial.encerrar();
+        }
+    }
+
+    @Test
+    void executar_DescontoMedioDeveCombinarSomasEContagens() {
+        // Arrange
+        engine = criarEngine(new FonteSintetica(), 4, Duration.ofDays(10));
+
+        // Act
+        Map<Sale.SaleType, BigDecimal> medias = engine.executar(INICIO, FIM, SalesAggregations.descontoMedioPorTipo());
+
+        // Assert
+        assertEquals(new BigDecimal("0.00"), medias.get(Sale.SaleType.ONLINE));
+        assertEquals(new BigDecimal("5000.00"), medias.get(Sale.SaleType.FISICA));
+    }
+
+    @Test
+    void executar_VendaSemVeiculos_NaoDeveEntrarNoDescontoMedio() {
+        // Arrange
+        SalesPartitionSource fonte = (inicio, fim, consumidor) -> {
+            new FonteSintetica().percorrer(inicio, fim, consumidor);
+            if (!inicio.isAfter(INICIO)) {
+                consumidor.accept(new SaleFact(-1L, inicio.plusHours(12), Sale.SaleType.FISICA,
+                    new BigDecimal("80000.00"), List.of()));
+            }
+        };
+        engine = criarEngine(fonte, 4, Duration.ofDays(10));
+
+        // Act
+        Map<Sale.SaleType, BigDecimal> medias = engine.executar(INICIO, FIM, SalesAggregations.descontoMedioPorTipo());
+
+        // Assert
+        assertEquals(new BigDecimal("5000.00"), medias.get(Sale.SaleType.FISICA));
+    }
+
+    @Test
+    void executar_PeriodoInvalido_DeveLancarExcecao() {
+        engine = criarEngine(new FonteSintetica(), 1, Duration.ofDays(30));
+
+        assertThrows(BusinessException.class,
+            () -> engine.executar(FIM, INICIO, SalesAggregations.descontoMedioPorTipo()));
+    }
+
+    private static SalesReportEngine criarEngine(SalesPartitionSource fonte, int paralelismo, Duration particao) {
+        ReportProperties properties = new ReportProperties();
+        properties.setParalelismo(paralelismo);
+        properties.setTamanhoParticao(particao);
+        return new SalesReportEngine(fonte, properties);
+    }
+
+    /**
+     * Uma venda a cada 6 horas; vendas físicas têm 5 mil de desconto
+     */
+    static class FonteSintetica implements SalesPartitionSource {
+        final Map<String, Boolean> threads = new ConcurrentHashMap<>();
+
+        @Override
+        public void percorrer(LocalDateTime inicio, LocalDateTime fim, Consumer<SaleFact> consumidor) {
+            threads.put(Thread.currentThread().getName(), true);
+            long id = 0;
+            for (LocalDateTime data = inicio; data.isBefore(fim); data = data.plusHours(6)) {
+                consumidor.accept(venda(++id, data));
+            }
+        }
+
+        static SaleFact venda(long id, LocalDateTime data) {
+            boolean fisica = data.getHour() == 12;
+            BigDecimal preco = new BigDecimal("100000.00");
+            List<SaleFact.Item> itens = new ArrayList<>();
+            itens.add(new SaleFact.Item("Modelo " + data.getDayOfWeek().getValue() % 3, VehicleColor.PRATA, preco));
+            return new SaleFact(id, data,
+                fisica ? Sale.SaleType.FISICA : Sale.SaleType.ONLINE,
+                fisica ? preco.subtract(new BigDecimal("5000.00")) : preco,
+                itens);
+        }
+    }
+}
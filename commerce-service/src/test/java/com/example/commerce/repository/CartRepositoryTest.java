@@ -0,0 +1,81 @@
+package com.example.commerce.repository;
+
+import com.example.commerce.dto.CartDTO;
+import com.example.commerce.model.Cart;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Garante que listar carrinhos com veículos não gera consultas N+1
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class CartRepositoryTest {
+
+    private static final int VEICULOS_POR_CARRINHO = 3;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 5, 20})
+    void findByUserId_DeveCarregarCarrinhosEVeiculosEmUmaConsulta(int quantidadeCarrinhos) {
+        // Arrange
+        for (int i = 0; i < quantidadeCarrinhos; i++) {
+            Cart cart = new Cart();
+            cart.setUserId("frota");
+            for (int j = 0; j < VEICULOS_POR_CARRINHO; j++) {
+                cart.adicionarVeiculo(entityManager.persist(veiculo("Modelo " + i + "-" + j)));
+            }
+            entityManager.persist(cart);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        // Act
+        List<CartDTO> carts = cartRepository.findByUserId("frota").stream()
+            .map(CartDTO::fromEntity)
+            .toList();
+
+        // Assert
+        assertEquals(quantidadeCarrinhos, carts.size());
+        carts.forEach(cart -> assertEquals(VEICULOS_POR_CARRINHO, cart.getVehicles().size()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static Vehicle veiculo(String modelo) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setModelo(modelo);
+        vehicle.setAno(2024);
+        vehicle.setColor(VehicleColor.BRANCA);
+        vehicle.setPreco(new BigDecimal("100000.00"));
+        return vehicle;
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.commerce.repository;
+
+import com.example.commerce.config.DatasetProperties;
+import com.example.commerce.config.MigrationProperties;
+import com.example.commerce.dataset.DatasetLoader;
+import com.example.commerce.migration.SchemaMigrations;
+import com.example.commerce.model.CartStatus;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.VehicleColor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Plano de execução (EXPLAIN do H2) de cada consulta declarada em
+ * VehicleRepository, CartRepository e SaleRepository, com as migrações
+ * aplicadas e a massa sintética carregada. Falha se alguma consulta varrer
+ * uma tabela inteira ou se um finder novo não estiver coberto aqui.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+    "com.example.commerce.repository.RepositoryQueryPlanTest$Captura")
+@Import({SchemaMigrations.class, MigrationProperties.class, DatasetLoader.class, DatasetProperties.class})
+@TestPropertySource(properties = {
+    "commerce.dataset.enabled=true",
+    "commerce.dataset.veiculos=5000",
+    "commerce.dataset.clientes=500",
+    "commerce.dataset.fim-historico=2024-06-30"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RepositoryQueryPlanTest {
+
+    private static final LocalDateTime AGORA = LocalDateTime.of(2024, 6, 30, 12, 0);
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private SchemaMigrations schemaMigrations;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Recebe o SQL de cada consulta que o Hibernate prepara
+     */
+    public static class Captura implements StatementInspector {
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql);
+            return sql;
+        }
+    }
+
+    @Test
+    void migrar_JaAplicada_NaoDeveReaplicar() throws Exception {
+        // Act
+        int novas = schemaMigrations.migrar();
+
+        // Assert
+        assertEquals(0, novas);
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM schema_migrations", Integer.class));
+        assertTrue(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES " +
+            "WHERE INDEX_NAME = 'IDX_VEHICLES_DISPONIVEL_VENDIDO_PRECO'", Integer.class) > 0);
+    }
+
+    @Test
+    void finders_ComMigracoes_NaoDevemVarrerTabelas() {
+        // Arrange
+        Map<String, Runnable> consultas = new LinkedHashMap<>();
+        consultas.put("findByDisponivelTrue", () -> vehicleRepository.findByDisponivelTrue());
+        consultas.put("findByColor", () -> vehicleRepository.findByColor(VehicleColor.PRATA));
+        consultas.put("findByPrecoLessThanEqualAndDisponivelTrue",
+            () -> vehicleRepository.findByPrecoLessThanEqualAndDisponivelTrue(new BigDecimal("50000")));
+        consultas.put("findByCarrinhoId", () -> vehicleRepository.findByCarrinhoId(1L));
+        consultas.put("findExpiredCartVehicles", () -> vehicleRepository.findExpiredCartVehicles(System.currentTimeMillis()));
+        consultas.put("findByDisponivelTrueAndVendidoFalse", () -> vehicleRepository.findByDisponivelTrueAndVendidoFalse());
+        consultas.put("countCatalogByModelo", () -> vehicleRepository.countCatalogByModelo());
+        consultas.put("countByDisponivelTrueAndVendidoFalse", () -> vehicleRepository.countByDisponivelTrueAndVendidoFalse());
+        consultas.put("streamCatalogRows", () -> {
+            try (Stream<?> linhas = vehicleRepository.streamCatalogRows()) {
+                linhas.count();
+            }
+        });
+        consultas.put("countCatalogByColor", () -> vehicleRepository.countCatalogByColor());
+        consultas.put("countCatalogByAno", () -> vehicleRepository.countCatalogByAno());
+        consultas.put("countByDisponivelTrueAndVendidoFalseAndPrecoIsNotNull",
+            () -> vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoIsNotNull());
+        consultas.put("countByDisponivelTrueAndVendidoFalseAndPrecoLessThan",
+            () -> vehicleRepository.countByDisponivelTrueAndVendidoFalseAndPrecoLessThan(new BigDecimal("50000")));
+        consultas.put("findByIdWithLock", () -> vehicleRepository.findByIdWithLock(1L));
+        consultas.put("findAllByIdInWithLock", () -> vehicleRepository.findAllByIdInWithLock(List.of(1L, 2L, 3L)));
+
+        consultas.put("findByUserIdAndFinalizadoFalse", () -> cartRepository.findByUserIdAndFinalizadoFalse("cliente-1"));
+        consultas.put("findByIdWithVehicles", () -> cartRepository.findByIdWithVehicles(1L));
+        consultas.put("findExpiredCarts", () -> cartRepository.findExpiredCarts(AGORA));
+        consultas.put("findByUserId", () -> cartRepository.findByUserId("cliente-1"));
+        consultas.put("findFirstByOrderByCreatedAtDesc", () -> cartRepository.findFirstByOrderByCreatedAtDesc());
+        consultas.put("findByUserIdAndStatus", () -> cartRepository.findByUserIdAndStatus("cliente-1", CartStatus.ACTIVE));
+        consultas.put("existsByVehiclesIdAndStatus", () -> cartRepository.existsByVehiclesIdAndStatus(1L, CartStatus.ACTIVE));
+        consultas.put("findByStatusAndExpirationTimeBefore",
+            () -> cartRepository.findByStatusAndExpirationTimeBefore(CartStatus.ACTIVE, AGORA));
+
+        consultas.put("Sale.findByUserId", () -> saleRepository.findByUserId("cliente-1"));
+        consultas.put("findByUserIdOrderByDataVendaDescIdDesc",
+            () -> saleRepository.findByUserIdOrderByDataVendaDescIdDesc("cliente-1", Limit.of(20)));
+        consultas.put("findHistoryAfter", () -> saleRepository.findHistoryAfter("cliente-1", AGORA, 100L, Limit.of(20)));
+        consultas.put("findByTipo", () -> saleRepository.findByTipo(Sale.SaleType.ONLINE));
+        consultas.put("findByDataVendaBetween", () -> saleRepository.findByDataVendaBetween(AGORA.minusDays(7), AGORA));
+        consultas.put("streamReportLines", () -> {
+            try (Stream<?> linhas = saleRepository.streamReportLines(AGORA.minusDays(7), AGORA)) {
+                linhas.count();
+            }
+        });
+        consultas.put("streamExportLines", () -> {
+            try (Stream<?> linhas = saleRepository.streamExportLines(AGORA.minusDays(7), AGORA)) {
+                linhas.count();
+            }
+        });
+
+        // Act
+        List<String> varreduras = new ArrayList<>();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        consultas.forEach((nome, consulta) -> {
+            Captura.SQL.clear();
+            transacao.executeWithoutResult(status -> consulta.run());
+            assertFalse(Captura.SQL.isEmpty(), nome + " não gerou SQL");
+            for (String sql : Captura.SQL) {
+                String plano = explicar(sql);
+                if (plano.contains("tableScan")) {
+                    varreduras.add(nome + ":\n" + plano);
+                }
+            }
+        });
+
+        // Assert
+        Set<String> cobertos = consultas.keySet().stream()
+            .map(nome -> nome.substring(nome.indexOf('.') + 1))
+            .collect(Collectors.toSet());
+        List<String> descobertos = Stream.of(VehicleRepository.class, CartRepository.class, SaleRepository.class)
+            .flatMap(repositorio -> Arrays.stream(repositorio.getDeclaredMethods()))
+            .map(Method::getName)
+            .filter(nome -> !cobertos.contains(nome))
+            .toList();
+        assertEquals(List.of(), descobertos, "Finders sem verificação de plano");
+        assertTrue(varreduras.isEmpty(), "Consultas com varredura completa:\n" + String.join("\n\n", varreduras));
+    }
+
+    /**
+     * O plano do H2 é fixado no prepare, então os parâmetros só precisam
+     * estar preenchidos
+     */
+    private String explicar(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            for (int i = 1; i <= ps.getParameterMetaData().getParameterCount(); i++) {
+                ps.setObject(i, null);
+            }
+        }, rs -> {
+            StringBuilder plano = new StringBuilder();
+            while (rs.next()) {
+                plano.append(rs.getString(1));
+            }
+            return plano.toString();
+        });
+    }
+}
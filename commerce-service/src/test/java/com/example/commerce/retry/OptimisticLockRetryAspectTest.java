@@ -0,0 +1,105 @@
+package com.example.commerce.retry;
+
+import com.example.commerce.config.RetryProperties;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.exception.ConcurrencyConflictException;
+import com.example.commerce.monitoring.MetricsService;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OptimisticLockRetryAspectTest {
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private RetryProperties properties;
+    private OptimisticLockRetryAspect aspect;
+    private RetryOnConflict retryOnConflict;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        properties = new RetryProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setMaxBackoff(Duration.ofMillis(2));
+        aspect = new OptimisticLockRetryAspect(properties, metricsService);
+        retryOnConflict = getClass().getDeclaredMethod("operacaoAnotada").getAnnotation(RetryOnConflict.class);
+    }
+
+    @Test
+    void shouldRetryUntilSuccess() throws Throwable {
+        // given
+        when(joinPoint.proceed())
+            .thenThrow(conflito())
+            .thenReturn("result");
+
+        // when
+        Object result = aspect.retry(joinPoint, retryOnConflict);
+
+        // then
+        assertEquals("result", result);
+        verify(joinPoint, times(2)).proceed();
+        verify(metricsService).incrementOptimisticConflict("reservar");
+        verify(metricsService).incrementOptimisticRetry("reservar");
+        verify(metricsService, never()).incrementOptimisticGiveUp(anyString());
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() throws Throwable {
+        // given
+        when(joinPoint.proceed()).thenThrow(conflito());
+
+        // when & then
+        assertThrows(ConcurrencyConflictException.class, () -> aspect.retry(joinPoint, retryOnConflict));
+        verify(joinPoint, times(3)).proceed();
+        verify(metricsService, times(2)).incrementOptimisticRetry("reservar");
+        verify(metricsService).incrementOptimisticGiveUp("reservar");
+    }
+
+    @Test
+    void shouldFailFastOnTerminalBusinessState() throws Throwable {
+        // given: a nova tentativa encontra o veículo já vendido
+        when(joinPoint.proceed())
+            .thenThrow(conflito())
+            .thenThrow(new BusinessException("Veículo já foi vendido"));
+
+        // when & then
+        assertThrows(BusinessException.class, () -> aspect.retry(joinPoint, retryOnConflict));
+        verify(joinPoint, times(2)).proceed();
+        verify(metricsService, never()).incrementOptimisticGiveUp(anyString());
+    }
+
+    @Test
+    void backoffShouldStayWithinBounds() {
+        properties.setInitialBackoff(Duration.ofMillis(20));
+        properties.setMaxBackoff(Duration.ofMillis(100));
+
+        for (int attempt = 1; attempt <= 10; attempt++) {
+            long teto = Math.min(20L << (attempt - 1), 100L);
+            long delay = aspect.backoff(attempt);
+            assertTrue(delay >= teto / 2 && delay <= teto, "attempt " + attempt + " -> " + delay);
+        }
+    }
+
+    private static ObjectOptimisticLockingFailureException conflito() {
+        return new ObjectOptimisticLockingFailureException("Vehicle", 1L);
+    }
+
+    @RetryOnConflict("reservar")
+    private void operacaoAnotada() {
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.commerce.security;
+
+import com.example.commerce.config.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitInterceptorTest {
+
+    private MeterRegistry registry;
+    private RateLimitProperties properties;
+    private WarmupToken warmupToken;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        properties = new RateLimitProperties();
+        properties.setUsuario(new RateLimitProperties.Limite(2, 1));
+        properties.setGlobal(new RateLimitProperties.Limite(3, 1));
+        warmupToken = new WarmupToken();
+    }
+
+    @Test
+    void tokenBucketShouldAllowBurstThenRefill() {
+        long agora = 0;
+        TokenBucket balde = new TokenBucket(2, 10, agora);
+
+        assertEquals(0, balde.tryAcquire(agora));
+        assertEquals(0, balde.tryAcquire(agora));
+        long espera = balde.tryAcquire(agora);
+        assertEquals(100_000_000L, espera);
+
+        assertEquals(0, balde.tryAcquire(agora + espera));
+        assertFalse(balde.isCheio(agora + espera));
+        assertTrue(balde.isCheio(agora + 10 * espera));
+    }
+
+    @Test
+    void shouldRejectUserOverLimitWith429AndRetryAfter() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, warmupToken);
+
+        assertTrue(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+        assertTrue(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("bot"), response, this));
+        assertEquals(429, response.getStatus());
+        assertEquals("1", response.getHeader("Retry-After"));
+        assertEquals(1.0, registry.find("ratelimit.requests").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    void shouldApplyGlobalLimitAcrossUsers() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, warmupToken);
+
+        assertTrue(interceptor.preHandle(request("a"), new MockHttpServletResponse(), this));
+        assertTrue(interceptor.preHandle(request("b"), new MockHttpServletResponse(), this));
+        assertTrue(interceptor.preHandle(request("c"), new MockHttpServletResponse(), this));
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(request("d"), response, this));
+        assertEquals(429, response.getStatus());
+        assertEquals(1.0, registry.find("ratelimit.requests").tag("scope", "global").counter().count());
+    }
+
+    @Test
+    void shouldNotChargeUserWhenGlobalLimitRejects() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, warmupToken);
+        for (String outro : new String[]{"b", "c", "d"}) {
+            assertTrue(interceptor.preHandle(request(outro), new MockHttpServletResponse(), this));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            assertFalse(interceptor.preHandle(request("a"), new MockHttpServletResponse(), this));
+        }
+
+        assertEquals(3.0, registry.find("ratelimit.requests").tag("scope", "global").counter().count());
+        assertEquals(0.0, registry.find("ratelimit.requests").tag("scope", "user").counter().count());
+    }
+
+    @Test
+    void shouldLetWarmupWithBootTokenThroughWithoutChargingBuckets() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, warmupToken);
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletRequest aquecimento = request("bot");
+            aquecimento.addHeader(RateLimitInterceptor.WARMUP_HEADER, warmupToken.valor());
+            assertTrue(interceptor.preHandle(aquecimento, new MockHttpServletResponse(), this));
+        }
+
+        assertTrue(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+        assertTrue(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+        assertEquals(2.0, registry.find("ratelimit.requests").tag("outcome", "allowed").counter().count());
+    }
+
+    @Test
+    void shouldIgnoreWarmupHeaderWithoutBootToken() {
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, warmupToken);
+
+        for (int i = 0; i < 2; i++) {
+            assertTrue(interceptor.preHandle(forjado(), new MockHttpServletResponse(), this));
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        assertFalse(interceptor.preHandle(forjado(), response, this));
+        assertEquals(429, response.getStatus());
+    }
+
+    @Test
+    void shouldEvictNearlyFullBucketsInsteadOfSharingOneAtCapacity() {
+        properties.setMaxUsuarios(2);
+        properties.setGlobal(new RateLimitProperties.Limite(100, 1));
+        RateLimitInterceptor interceptor = new RateLimitInterceptor(properties, registry, warmupToken);
+        assertTrue(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+        assertTrue(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(interceptor.preHandle(request("novo-" + i), new MockHttpServletResponse(), this));
+        }
+
+        assertFalse(interceptor.preHandle(request("bot"), new MockHttpServletResponse(), this));
+        assertEquals(2.0, registry.get("ratelimit.tracked.users").gauge().value());
+        assertEquals(4.0, registry.get("ratelimit.evictions").counter().count());
+    }
+
+    @Test
+    void tokenBucketShouldTakeBackReturnedToken() {
+        TokenBucket balde = new TokenBucket(1, 1, 0);
+        assertEquals(0, balde.tryAcquire(0));
+
+        balde.devolver();
+
+        assertEquals(0, balde.tryAcquire(0));
+    }
+
+    private static MockHttpServletRequest request(String userId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/vehicles/1/reserve");
+        request.addHeader("X-User-Id", userId);
+        return request;
+    }
+
+    private static MockHttpServletRequest forjado() {
+        MockHttpServletRequest request = request("bot");
+        request.addHeader(RateLimitInterceptor.WARMUP_HEADER, "true");
+        return request;
+    }
+}
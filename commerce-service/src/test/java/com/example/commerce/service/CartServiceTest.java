@@ -1,6 +1,9 @@
 package com.example.commerce.service;
 
+import com.example.commerce.dto.CartBatchRequestDTO;
+import com.example.commerce.dto.CartBatchResultDTO;
 import com.example.commerce.model.Cart;
+import com.example.commerce.model.Vehicle;
 import com.example.commerce.repository.CartRepository;
 import com.example.commerce.repository.VehicleRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,7 +14,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.TreeSet;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -71,9 +76,49 @@ class CartServiceTest {
         assertThrows(RuntimeException.class, () -> criarCarrinhoComExcecao());
         verify(cartRepository, never()).save(any(Cart.class));
     }
-     
+
+    @Test
+    void aplicarOperacoesEmLote_DeveCarregarVeiculosEmOrdemERetornarResultadoPorItem() {
+        // Arrange
+        testCart.setExpirationTime(LocalDateTime.now().plusMinutes(1));
+        Vehicle disponivel = veiculo(5L, false);
+        Vehicle vendido = veiculo(2L, true);
+        when(cartRepository.findByIdWithVehicles(10L)).thenReturn(Optional.of(testCart));
+        when(vehicleRepository.findAllByIdInWithLock(any())).thenReturn(List.of(vendido, disponivel));
+
+        // Act
+        List<CartBatchResultDTO> resultados = cartService.aplicarOperacoesEmLote(10L, List.of(
+            item(CartBatchRequestDTO.Operacao.ADICIONAR, 5L),
+            item(CartBatchRequestDTO.Operacao.ADICIONAR, 2L),
+            item(CartBatchRequestDTO.Operacao.ADICIONAR, 99L)
+        ));
+
+        // Assert
+        verify(vehicleRepository).findAllByIdInWithLock(new TreeSet<>(List.of(2L, 5L, 99L)));
+        verify(cartRepository, times(1)).save(testCart);
+        assertTrue(resultados.get(0).isSucesso());
+        assertFalse(resultados.get(1).isSucesso());
+        assertFalse(resultados.get(2).isSucesso());
+        assertEquals(1, testCart.getVehicles().size());
+    }
 
     private void criarCarrinhoComExcecao() {
         cartService.criarCarrinho(String.valueOf(1L));
     }
-} 
\ No newline at end of file
+
+    private static Vehicle veiculo(Long id, boolean vendido) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setModelo("Carro " + id);
+        vehicle.setVendido(vendido);
+        vehicle.setDisponivel(!vendido);
+        return vehicle;
+    }
+
+    private static CartBatchRequestDTO.Item item(CartBatchRequestDTO.Operacao operacao, Long vehicleId) {
+        CartBatchRequestDTO.Item item = new CartBatchRequestDTO.Item();
+        item.setOperacao(operacao);
+        item.setVehicleId(vehicleId);
+        return item;
+    }
+}
@@ -0,0 +1,194 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.CheckoutProperties;
+import com.example.commerce.dto.CheckoutStatusDTO;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.exception.ServiceOverloadedException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.monitoring.MetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para CheckoutService
+ */
+@ExtendWith(MockitoExtension.class)
+class CheckoutServiceTest {
+
+    @Mock
+    private CartService cartService;
+
+    @Mock
+    private SaleGroupCommitWriter saleGroupCommitWriter;
+
+    @Mock
+    private MetricsService metricsService;
+
+    private CheckoutService checkoutService;
+
+    @BeforeEach
+    void setUp() {
+        CheckoutProperties properties = new CheckoutProperties();
+        properties.setWorkers(1);
+        properties.setCapacidadeFila(1);
+        checkoutService = new CheckoutService(cartService, saleGroupCommitWriter, metricsService, properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() {
+        checkoutService.encerrar();
+    }
+
+    @Test
+    void iniciar_DeveProcessarCheckoutEmSegundoPlano() throws Exception {
+        // Arrange
+        Sale sale = new Sale();
+        sale.setId(7L);
+        when(cartService.checkout(1L)).thenReturn(sale);
+
+        // Act
+        CheckoutStatusDTO pendente = checkoutService.iniciar(1L);
+
+        // Assert
+        assertEquals(CheckoutStatusDTO.Estado.PENDENTE, pendente.getEstado());
+        CheckoutStatusDTO finalizado = aguardarFim(pendente.getId());
+        assertEquals(CheckoutStatusDTO.Estado.CONCLUIDO, finalizado.getEstado());
+        assertEquals(7L, finalizado.getSaleId());
+        verify(metricsService).incrementSalesCompleted();
+    }
+
+    @Test
+    void iniciar_QuandoValidacaoFalha_NaoDeveEnfileirar() {
+        // Arrange
+        doThrow(new BusinessException("Carrinho vazio")).when(cartService).validarCheckout(1L);
+
+        // Act & Assert
+        assertThrows(BusinessException.class, () -> checkoutService.iniciar(1L));
+        verify(cartService, never()).checkout(anyLong());
+    }
+
+    @Test
+    void iniciar_ConflitoDeChaveUnica_DeveRefazerCheckoutUmaVez() throws Exception {
+        // Arrange: outra transação criou a mesma linha de totais ao mesmo tempo
+        Sale sale = new Sale();
+        sale.setId(8L);
+        when(cartService.checkout(1L))
+            .thenThrow(new DataIntegrityViolationException("uk_sales_rollups_chave"))
+            .thenReturn(sale);
+
+        // Act
+        CheckoutStatusDTO pendente = checkoutService.iniciar(1L);
+
+        // Assert
+        CheckoutStatusDTO finalizado = aguardarFim(pendente.getId());
+        assertEquals(CheckoutStatusDTO.Estado.CONCLUIDO, finalizado.getEstado());
+        assertEquals(8L, finalizado.getSaleId());
+        verify(cartService, times(2)).checkout(1L);
+    }
+
+    @Test
+    void iniciar_QuandoFilaCheia_DeveRejeitarImediatamente() throws Exception {
+        // Arrange: o único worker fica ocupado e a fila comporta um item
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch ocupado = new CountDownLatch(1);
+        when(cartService.checkout(anyLong())).thenAnswer(invocation -> {
+            ocupado.countDown();
+            liberar.await(5, TimeUnit.SECONDS);
+            return new Sale();
+        });
+        checkoutService.iniciar(1L);
+        assertTrue(ocupado.await(5, TimeUnit.SECONDS));
+        checkoutService.iniciar(2L);
+
+        // Act & Assert
+        assertThrows(ServiceOverloadedException.class, () -> checkoutService.iniciar(3L));
+        liberar.countDown();
+    }
+
+    @Test
+    void iniciar_MesmoCarrinhoEmAndamento_DeveRetornarCheckoutExistente() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(cartService.checkout(1L)).thenAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return new Sale();
+        });
+
+        // Act
+        CheckoutStatusDTO primeiro = checkoutService.iniciar(1L);
+        CheckoutStatusDTO repetido = checkoutService.iniciar(1L);
+        liberar.countDown();
+
+        // Assert
+        assertEquals(primeiro.getId(), repetido.getId());
+        aguardarFim(primeiro.getId());
+        verify(cartService, times(1)).checkout(1L);
+    }
+
+    @Test
+    void iniciar_MesmoCarrinhoConcorrente_DeveEnfileirarUmCheckout() throws Exception {
+        // Arrange
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(cartService.checkout(1L)).thenAnswer(invocation -> {
+            liberar.await(5, TimeUnit.SECONDS);
+            return new Sale();
+        });
+        ExecutorService clientes = Executors.newFixedThreadPool(16);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<CheckoutStatusDTO>> pedidos = new ArrayList<>();
+
+        // Act
+        for (int i = 0; i < 200; i++) {
+            pedidos.add(clientes.submit(() -> {
+                largada.await();
+                return checkoutService.iniciar(1L);
+            }));
+        }
+        largada.countDown();
+        Set<String> ids = new HashSet<>();
+        for (Future<CheckoutStatusDTO> pedido : pedidos) {
+            CheckoutStatusDTO status = pedido.get(5, TimeUnit.SECONDS);
+            assertNotNull(status);
+            ids.add(status.getId());
+        }
+        clientes.shutdown();
+        liberar.countDown();
+
+        // Assert
+        assertEquals(1, ids.size());
+        aguardarFim(ids.iterator().next());
+        verify(cartService, times(1)).checkout(1L);
+    }
+
+    private CheckoutStatusDTO aguardarFim(String checkoutId) throws InterruptedException {
+        long limite = System.currentTimeMillis() + 5000;
+        while (System.currentTimeMillis() < limite) {
+            CheckoutStatusDTO status = checkoutService.consultar(checkoutId).orElseThrow();
+            if (status.isFinalizado()) {
+                return status;
+            }
+            Thread.sleep(10);
+        }
+        fail("Checkout não finalizou a tempo");
+        return null;
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.commerce.service;
+
+import com.example.commerce.dto.PhysicalSaleBatchRequestDTO;
+import com.example.commerce.dto.PhysicalSaleResultDTO;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.monitoring.MetricsService;
+import com.example.commerce.repository.SaleRepository;
+import com.example.commerce.repository.VehicleRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para PhysicalSaleService
+ */
+@ExtendWith(MockitoExtension.class)
+class PhysicalSaleServiceTest {
+
+    @Mock
+    private VehicleRepository vehicleRepository;
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private SalesRollupService salesRollupService;
+
+    @Mock
+    private MetricsService metricsService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private PhysicalSaleService physicalSaleService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void registrarLote_DeveBloquearUmaVezEGravarApenasVendasValidas() {
+        // Arrange
+        Vehicle vendido = veiculo(2L);
+        vendido.setVendido(true);
+        when(vehicleRepository.findAllByIdInWithLock(any()))
+            .thenReturn(List.of(veiculo(1L), vendido, veiculo(3L), veiculo(5L)));
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Sale> vendas = new ArrayList<>(invocation.getArgument(0));
+            long id = 100;
+            for (Sale sale : vendas) {
+                sale.setId(id++);
+            }
+            return vendas;
+        });
+
+        List<PhysicalSaleBatchRequestDTO.Item> itens = List.of(
+            item("cliente-a", 5L, 1L),
+            item("cliente-b", 2L),
+            item("cliente-c", 1L),
+            item("cliente-d", 4L),
+            item("cliente-e", 3L));
+
+        // Act
+        List<PhysicalSaleResultDTO> resultados = physicalSaleService.registrarLote("vendedor-1", itens);
+
+        // Assert
+        assertEquals(5, resultados.size());
+        assertTrue(resultados.get(0).isSucesso());
+        assertEquals(100L, resultados.get(0).getSaleId());
+        assertFalse(resultados.get(1).isSucesso());
+        assertEquals("Veículo 1 já foi vendido neste lote", resultados.get(2).getMensagem());
+        assertEquals("Veículo 4 não encontrado", resultados.get(3).getMensagem());
+        assertTrue(resultados.get(4).isSucesso());
+        assertEquals(101L, resultados.get(4).getSaleId());
+
+        ArgumentCaptor<TreeSet<Long>> ids = ArgumentCaptor.forClass(TreeSet.class);
+        verify(vehicleRepository, times(1)).findAllByIdInWithLock(ids.capture());
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), new ArrayList<>(ids.getValue()));
+
+        ArgumentCaptor<List<Sale>> vendas = ArgumentCaptor.forClass(List.class);
+        verify(saleRepository, times(1)).saveAll(vendas.capture());
+        Sale primeira = vendas.getValue().get(0);
+        assertEquals(Sale.SaleType.FISICA, primeira.getTipo());
+        assertEquals("vendedor-1", primeira.getVendedorId());
+        assertEquals(List.of(1L, 5L), primeira.getVehicleIds());
+        verify(salesRollupService, times(2)).registrarVenda(any(Sale.class), anyList());
+        verify(metricsService, times(2)).incrementSalesCompleted();
+    }
+
+    @Test
+    void registrarLote_ConflitoNaChaveDosTotais_DeveRefazerEmTransacaoNova() {
+        // Arrange
+        // Cada tentativa relê o veículo, como depois de um rollback de verdade
+        when(vehicleRepository.findAllByIdInWithLock(any())).thenAnswer(invocation -> List.of(veiculo(1L)));
+        when(saleRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Sale> vendas = new ArrayList<>(invocation.getArgument(0));
+            vendas.get(0).setId(100L);
+            return vendas;
+        });
+        doThrow(new DataIntegrityViolationException("uk_sales_rollups"))
+            .doNothing()
+            .when(salesRollupService).registrarVenda(any(Sale.class), anyList());
+
+        // Act
+        List<PhysicalSaleResultDTO> resultados = physicalSaleService.registrarLote("vendedor-1",
+            List.of(item("cliente-a", 1L)));
+
+        // Assert
+        assertTrue(resultados.get(0).isSucesso());
+        assertEquals(100L, resultados.get(0).getSaleId());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(1)).rollback(any());
+        verify(metricsService, times(1)).incrementSalesCompleted();
+    }
+
+    private static PhysicalSaleBatchRequestDTO.Item item(String userId, Long... vehicleIds) {
+        PhysicalSaleBatchRequestDTO.Item item = new PhysicalSaleBatchRequestDTO.Item();
+        item.setUserId(userId);
+        item.setVehicleIds(List.of(vehicleIds));
+        item.setValorTotal(new BigDecimal("95000.00"));
+        return item;
+    }
+
+    private static Vehicle veiculo(Long id) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setId(id);
+        vehicle.setModelo("Civic");
+        vehicle.setPreco(new BigDecimal("100000.00"));
+        return vehicle;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.GroupCommitProperties;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.repository.SaleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para SaleGroupCommitWriter
+ */
+@ExtendWith(MockitoExtension.class)
+class SaleGroupCommitWriterTest {
+
+    @Mock
+    private SaleRepository saleRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private SaleGroupCommitWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        GroupCommitProperties properties = new GroupCommitProperties();
+        writer = new SaleGroupCommitWriter(saleRepository, transactionManager, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void gravar_DeveGravarLoteEmUmaUnicaTransacao() throws Exception {
+        // Arrange
+        SaleGroupCommitWriter.Pedido primeiro = new SaleGroupCommitWriter.Pedido(() -> venda(1L));
+        SaleGroupCommitWriter.Pedido segundo = new SaleGroupCommitWriter.Pedido(() -> venda(2L));
+
+        // Act
+        writer.gravar(List.of(primeiro, segundo));
+
+        // Assert
+        assertEquals(1L, primeiro.resultado.get(1, TimeUnit.SECONDS).getId());
+        assertEquals(2L, segundo.resultado.get(1, TimeUnit.SECONDS).getId());
+        verify(saleRepository, times(1)).saveAll(anyList());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void gravar_ErroDeNegocioDeveAfetarApenasSuaUnidade() throws Exception {
+        // Arrange
+        SaleGroupCommitWriter.Pedido valido = new SaleGroupCommitWriter.Pedido(() -> venda(1L));
+        SaleGroupCommitWriter.Pedido invalido = new SaleGroupCommitWriter.Pedido(() -> {
+            throw new BusinessException("Carrinho vazio");
+        });
+
+        // Act
+        writer.gravar(List.of(valido, invalido));
+
+        // Assert
+        assertEquals(1L, valido.resultado.get(1, TimeUnit.SECONDS).getId());
+        ExecutionException erro = assertThrows(ExecutionException.class,
+            () -> invalido.resultado.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessException.class, erro.getCause());
+        verify(transactionManager, times(1)).commit(any());
+    }
+
+    @Test
+    void gravar_QuandoLoteFalha_DeveRefazerCadaVendaSeparadamente() throws Exception {
+        // Arrange
+        when(saleRepository.saveAll(anyList()))
+            .thenThrow(new DataIntegrityViolationException("duplicada"))
+            .thenReturn(List.of())
+            .thenThrow(new DataIntegrityViolationException("duplicada"));
+        SaleGroupCommitWriter.Pedido primeiro = new SaleGroupCommitWriter.Pedido(() -> venda(1L));
+        SaleGroupCommitWriter.Pedido segundo = new SaleGroupCommitWriter.Pedido(() -> venda(2L));
+
+        // Act
+        writer.gravar(List.of(primeiro, segundo));
+
+        // Assert
+        assertEquals(1L, primeiro.resultado.get(1, TimeUnit.SECONDS).getId());
+        assertThrows(ExecutionException.class, () -> segundo.resultado.get(1, TimeUnit.SECONDS));
+        verify(saleRepository, times(3)).saveAll(anyList());
+        verify(transactionManager, times(2)).rollback(any());
+    }
+
+    @Test
+    void enviar_QuandoAtivo_DeveAgruparEnviosConcorrentes() throws Exception {
+        // Arrange
+        GroupCommitProperties properties = new GroupCommitProperties();
+        properties.setMaxDelay(Duration.ofMillis(200));
+        properties.setMaxBatchSize(3);
+        SaleGroupCommitWriter ativo = new SaleGroupCommitWriter(
+            saleRepository, transactionManager, properties, new SimpleMeterRegistry());
+        ativo.iniciar();
+
+        try {
+            // Act
+            List<CompletableFuture<Sale>> resultados = List.of(
+                ativo.enviar(() -> venda(1L)),
+                ativo.enviar(() -> venda(2L)),
+                ativo.enviar(() -> venda(3L)));
+            CompletableFuture.allOf(resultados.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+            // Assert
+            assertTrue(ativo.isAtivo());
+            verify(saleRepository, times(1)).saveAll(anyList());
+        } finally {
+            ativo.parar();
+        }
+    }
+
+    private static Sale venda(Long id) {
+        Sale sale = new Sale();
+        sale.setId(id);
+        return sale;
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.GroupCommitProperties;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.exception.ResourceNotFoundException;
+import com.example.commerce.model.Cart;
+import com.example.commerce.model.CartStatus;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import com.example.commerce.repository.CartRepository;
+import com.example.commerce.repository.SaleRepository;
+import com.example.commerce.repository.VehicleRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Lote de checkouts com uma venda inválida, em transação real (sem mocks do
+ * gerenciador de transações): as válidas gravam juntas e a inválida recebe
+ * o próprio BusinessException.
+ */
+@DataJpaTest
+@Import({SaleGroupCommitWriter.class, CartService.class, SalesRollupService.class,
+    GroupCommitProperties.class, SimpleMeterRegistry.class})
+@TestPropertySource(properties = "commerce.sales.group-commit.enabled=false")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SaleGroupCommitWriterTransactionTest {
+
+    @Autowired
+    private SaleGroupCommitWriter writer;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private VehicleRepository vehicleRepository;
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private SimpleMeterRegistry registry;
+
+    @Test
+    void gravar_ComUmaVendaInvalida_DeveGravarAsDemaisNoMesmoLote() throws Exception {
+        // Arrange
+        Long valido1 = carrinho("a", false);
+        Long invalido = carrinho("b", true);
+        Long valido2 = carrinho("c", false);
+        List<SaleGroupCommitWriter.Pedido> lote = List.of(
+            new SaleGroupCommitWriter.Pedido(() -> cartService.prepararCheckout(valido1)),
+            new SaleGroupCommitWriter.Pedido(() -> cartService.prepararCheckout(invalido)),
+            new SaleGroupCommitWriter.Pedido(() -> cartService.prepararCheckout(valido2)));
+
+        // Act
+        writer.gravar(lote);
+
+        // Assert
+        Sale primeira = lote.get(0).resultado.get(1, TimeUnit.SECONDS);
+        Sale terceira = lote.get(2).resultado.get(1, TimeUnit.SECONDS);
+        ExecutionException erro = assertThrows(ExecutionException.class,
+            () -> lote.get(1).resultado.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(BusinessException.class, erro.getCause());
+        assertEquals("Veículo já foi vendido", erro.getCause().getMessage());
+
+        assertNotNull(primeira.getId());
+        assertNotNull(terceira.getId());
+        assertEquals(2, saleRepository.count());
+        assertEquals(CartStatus.COMPLETED, cartRepository.findById(valido1).orElseThrow().getStatus());
+        assertEquals(CartStatus.ACTIVE, cartRepository.findById(invalido).orElseThrow().getStatus());
+        assertEquals(0.0, registry.counter("sales.batch.fallbacks").count());
+    }
+
+    @Test
+    void gravar_ComCarrinhoInexistente_DeveGravarAsDemaisNoMesmoLote() throws Exception {
+        // Arrange
+        Long valido = carrinho("a", false);
+        List<SaleGroupCommitWriter.Pedido> lote = List.of(
+            new SaleGroupCommitWriter.Pedido(() -> cartService.prepararCheckout(-1L)),
+            new SaleGroupCommitWriter.Pedido(() -> cartService.prepararCheckout(valido)));
+
+        // Act
+        writer.gravar(lote);
+
+        // Assert
+        ExecutionException erro = assertThrows(ExecutionException.class,
+            () -> lote.get(0).resultado.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ResourceNotFoundException.class, erro.getCause());
+        assertNotNull(lote.get(1).resultado.get(1, TimeUnit.SECONDS).getId());
+        assertEquals(1, saleRepository.count());
+        assertEquals(0.0, registry.counter("sales.batch.fallbacks").count());
+    }
+
+    private Long carrinho(String userId, boolean veiculoJaVendido) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setModelo("Fiat Argo");
+        vehicle.setAno(2024);
+        vehicle.setColor(VehicleColor.PRATA);
+        vehicle.setPreco(new BigDecimal("82000.00"));
+        vehicle.setVendido(veiculoJaVendido);
+        vehicle = vehicleRepository.save(vehicle);
+
+        Cart cart = new Cart();
+        cart.setUserId(userId);
+        cart.adicionarVeiculo(vehicle);
+        return cartRepository.save(cart).getId();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.commerce.service;
+
+import com.example.commerce.config.SaleHistoryProperties;
+import com.example.commerce.dto.SaleDTO;
+import com.example.commerce.dto.SaleHistoryPageDTO;
+import com.example.commerce.event.SaleCreatedEvent;
+import com.example.commerce.exception.BusinessException;
+import com.example.commerce.model.Sale;
+import com.example.commerce.repository.SaleRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para o histórico de compras paginado
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class SaleHistoryServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 1, 12, 0);
+
+    @Autowired
+    private SaleRepository saleRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private SaleHistoryService saleHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        SaleHistoryProperties properties = new SaleHistoryProperties();
+        properties.setTamanhoPagina(3);
+        saleHistoryService = new SaleHistoryService(saleRepository, properties);
+    }
+
+    @Test
+    void buscarHistorico_DevePercorrerTodasAsVendasSemRepetir() {
+        // Arrange: datas repetidas forçam o desempate pelo id
+        for (int i = 0; i < 8; i++) {
+            venda("frota", BASE.plusDays(i / 2));
+        }
+        venda("outro", BASE);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Act
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        int paginas = 0;
+        do {
+            SaleHistoryPageDTO pagina = saleHistoryService.buscarHistorico("frota", cursor, null);
+            pagina.getVendas().forEach(venda -> ids.add(venda.getId()));
+            cursor = pagina.getProximoCursor();
+            paginas++;
+        } while (cursor != null);
+
+        // Assert
+        assertEquals(3, paginas);
+        assertEquals(8, ids.size());
+        assertEquals(8, ids.stream().distinct().count());
+        List<SaleDTO> primeira = saleHistoryService.buscarHistorico("frota", null, 8).getVendas();
+        assertEquals(ids, primeira.stream().map(SaleDTO::getId).toList());
+        assertEquals(BASE.plusDays(3), primeira.get(0).getDataVenda());
+    }
+
+    @Test
+    void buscarHistorico_PrimeiraPaginaDeveVirDoCacheAteNovaVenda() {
+        // Arrange
+        venda("cliente", BASE);
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        saleHistoryService.buscarHistorico("cliente", null, null);
+        statistics.clear();
+
+        // Act & Assert: cache
+        assertEquals(1, saleHistoryService.buscarHistorico("cliente", null, null).getVendas().size());
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        // Act & Assert: invalidação
+        venda("cliente", BASE.plusDays(1));
+        entityManager.flush();
+        saleHistoryService.aoCriarVenda(new SaleCreatedEvent("cliente"));
+        assertEquals(2, saleHistoryService.buscarHistorico("cliente", null, null).getVendas().size());
+    }
+
+    @Test
+    void buscarHistorico_CursorInvalido_DeveLancarExcecao() {
+        assertThrows(BusinessException.class,
+            () -> saleHistoryService.buscarHistorico("cliente", "nao-e-um-cursor", null));
+        assertThrows(BusinessException.class,
+            () -> saleHistoryService.buscarHistorico("cliente", null, 1000));
+    }
+
+    private void venda(String userId, LocalDateTime data) {
+        Sale sale = new Sale();
+        sale.setUserId(userId);
+        sale.setTipo(Sale.SaleType.ONLINE);
+        sale.setDataVenda(data);
+        sale.setValorTotal(new BigDecimal("100000.00"));
+        sale.getVehicleIds().add(1L);
+        entityManager.persist(sale);
+    }
+}
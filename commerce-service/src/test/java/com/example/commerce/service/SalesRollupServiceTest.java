@@ -0,0 +1,155 @@
+package com.example.commerce.service;
+
+import com.example.commerce.dto.SalesReportDTO;
+import com.example.commerce.model.Sale;
+import com.example.commerce.model.Vehicle;
+import com.example.commerce.model.VehicleColor;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Testes para os totais de vendas pré-agregados
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(SalesRollupService.class)
+class SalesRollupServiceTest {
+
+    private static final LocalDateTime MARCO = LocalDateTime.of(2024, 3, 15, 10, 0);
+
+    @Autowired
+    private SalesRollupService salesRollupService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void registrarVenda_DeveAcumularTotaisPorTipoModeloECor() {
+        // Arrange
+        Vehicle civicPreto = veiculo("Civic", VehicleColor.PRETA, "100000.00");
+        Vehicle civicBranco = veiculo("Civic", VehicleColor.BRANCA, "90000.00");
+        Vehicle corolla = veiculo("Corolla", VehicleColor.PRETA, "120000.00");
+
+        // Act
+        registrar(Sale.SaleType.ONLINE, MARCO, civicPreto, civicBranco);
+        registrar(Sale.SaleType.ONLINE, MARCO.plusDays(3), corolla);
+        registrar(Sale.SaleType.FISICA, MARCO.plusMonths(1), civicPreto);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        SalesReportDTO marco = salesRollupService.relatorioMensal(2024, 3);
+        assertEquals(2, marco.getQuantidadeVendas());
+        assertEquals(new BigDecimal("310000.00"), marco.getReceitaTotal());
+        assertTotal(marco.getPorModelo(), "Civic", 2, "190000.00");
+        assertTotal(marco.getPorModelo(), "Corolla", 1, "120000.00");
+        assertTotal(marco.getPorCor(), "PRETA", 2, "220000.00");
+
+        SalesReportDTO dia = salesRollupService.relatorioDiario(MARCO.toLocalDate());
+        assertEquals(1, dia.getQuantidadeVendas());
+
+        SalesReportDTO ano = salesRollupService.relatorioAnual(2024);
+        assertEquals(3, ano.getQuantidadeVendas());
+        assertTotal(ano.getPorTipo(), "ONLINE", 2, "310000.00");
+        assertTotal(ano.getPorTipo(), "FISICA", 1, "100000.00");
+    }
+
+    @Test
+    void registrarVenda_ComDesconto_DeveRatearValorCobradoEntreModeloECor() {
+        // Arrange
+        Sale sale = new Sale();
+        sale.setTipo(Sale.SaleType.FISICA);
+        sale.setDataVenda(MARCO);
+        sale.setValorTotal(new BigDecimal("100000.00"));
+
+        // Act
+        salesRollupService.registrarVenda(sale, List.of(
+            veiculo("Civic", VehicleColor.PRETA, "60000.00"),
+            veiculo("Corolla", VehicleColor.BRANCA, "30000.00"),
+            veiculo("Corolla", VehicleColor.PRETA, "30000.00")));
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        SalesReportDTO dia = salesRollupService.relatorioDiario(MARCO.toLocalDate());
+        assertTotal(dia.getPorTipo(), "FISICA", 1, "100000.00");
+        assertTotal(dia.getPorModelo(), "Civic", 1, "50000.00");
+        assertTotal(dia.getPorModelo(), "Corolla", 2, "50000.00");
+        assertTotal(dia.getPorCor(), "PRETA", 2, "75000.00");
+        assertTotal(dia.getPorCor(), "BRANCA", 1, "25000.00");
+    }
+
+    @Test
+    void ratear_ValorQueNaoDivideExato_DeveSomarOValorCobrado() {
+        // Act
+        BigDecimal[] receitas = SalesRollupService.ratear(new BigDecimal("100000.00"), List.of(
+            veiculo("A", VehicleColor.PRATA, "10000.00"),
+            veiculo("B", VehicleColor.PRATA, "10000.00"),
+            veiculo("C", VehicleColor.PRATA, "10000.00")));
+
+        // Assert
+        assertEquals(new BigDecimal("33333.33"), receitas[0]);
+        assertEquals(new BigDecimal("33333.34"), receitas[2]);
+        assertEquals(new BigDecimal("100000.00"), Arrays.stream(receitas).reduce(BigDecimal.ZERO, BigDecimal::add));
+    }
+
+    @Test
+    void relatorioAnual_DeveUsarUmaConsultaIndependenteDoVolume() {
+        // Arrange
+        for (int i = 0; i < 50; i++) {
+            registrar(Sale.SaleType.ONLINE, MARCO.plusDays(i), veiculo("Modelo " + (i % 5), VehicleColor.PRATA, "50000.00"));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // Act
+        SalesReportDTO ano = salesRollupService.relatorioAnual(2024);
+
+        // Assert
+        assertEquals(50, ano.getQuantidadeVendas());
+        assertEquals(5, ano.getPorModelo().size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private static void assertTotal(List<SalesReportDTO.Total> totais, String valor, long quantidade, String receita) {
+        SalesReportDTO.Total total = totais.stream()
+            .filter(t -> t.getValor().equals(valor))
+            .findFirst()
+            .orElseThrow(() -> new AssertionError("Sem total para " + valor));
+        assertEquals(quantidade, total.getQuantidade());
+        assertEquals(new BigDecimal(receita), total.getReceita());
+    }
+
+    private void registrar(Sale.SaleType tipo, LocalDateTime data, Vehicle... vehicles) {
+        Sale sale = new Sale();
+        sale.setTipo(tipo);
+        sale.setDataVenda(data);
+        sale.setValorTotal(Arrays.stream(vehicles).map(Vehicle::getPreco).reduce(BigDecimal.ZERO, BigDecimal::add));
+        salesRollupService.registrarVenda(sale, List.of(vehicles));
+    }
+
+    private static Vehicle veiculo(String modelo, VehicleColor cor, String preco) {
+        Vehicle vehicle = new Vehicle();
+        vehicle.setModelo(modelo);
+        vehicle.setColor(cor);
+        vehicle.setPreco(new BigDecimal(preco));
+        return vehicle;
+    }
+}
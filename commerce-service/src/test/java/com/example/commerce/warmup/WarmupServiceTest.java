@@ -0,0 +1,236 @@
+package com.example.commerce.warmup;
+
+import com.example.commerce.catalog.CatalogSnapshotService;
+import com.example.commerce.catalog.ColumnarCatalog;
+import com.example.commerce.catalog.FacetService;
+import com.example.commerce.catalog.ModelSearchIndex;
+import com.example.commerce.config.WarmupProperties;
+import com.example.commerce.security.WarmupToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.OrderUtils;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Testes unitários para WarmupService, StartupIndexLoader e ReadinessFilter
+ */
+@ExtendWith(MockitoExtension.class)
+class WarmupServiceTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private Connection conexao;
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+    @Mock
+    private ColumnarCatalog columnarCatalog;
+    @Mock
+    private ModelSearchIndex modelSearchIndex;
+    @Mock
+    private FacetService facetService;
+    @Mock
+    private ApplicationAvailability availability;
+
+    private WarmupProperties properties;
+    private SimpleMeterRegistry registry;
+    private WarmupService warmupService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmupProperties();
+        properties.setIteracoes(5);
+        registry = new SimpleMeterRegistry();
+        warmupService = new WarmupService(properties, dataSource, catalogSnapshotService, columnarCatalog,
+                modelSearchIndex, facetService, new ObjectMapper(), registry, new WarmupToken());
+    }
+
+    @Test
+    void aquecer_DevePrimarConexoesEExercitarLeituras() throws Exception {
+        // Arrange
+        properties.setConexoes(3);
+        when(dataSource.getConnection()).thenReturn(conexao);
+
+        // Act
+        String resultado = warmupService.aquecer(null);
+
+        // Assert: as três conexões ficam abertas ao mesmo tempo e são devolvidas
+        assertEquals(WarmupService.CONCLUIDO, resultado);
+        verify(dataSource, times(3)).getConnection();
+        verify(conexao, times(3)).isValid(anyInt());
+        verify(conexao, times(3)).close();
+        verify(columnarCatalog, times(5)).buscar(any(), any(), anyInt(), eq(20));
+        verify(modelSearchIndex, times(5)).sugerir(anyString(), eq(10));
+        verify(facetService, times(5)).obter();
+        verify(catalogSnapshotService, times(6)).obter();
+
+        Timer timer = registry.find("warmup.duration").tag("resultado", WarmupService.CONCLUIDO).timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void aquecer_OrcamentoEsgotado_DeveInterromperERegistrar() throws Exception {
+        // Arrange: snapshot que só termina se for interrompido
+        properties.setOrcamento(Duration.ofMillis(200));
+        when(dataSource.getConnection()).thenReturn(conexao);
+        CountDownLatch interrompido = new CountDownLatch(1);
+        when(catalogSnapshotService.obter()).thenAnswer(invocacao -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrompido.countDown();
+            }
+            return null;
+        });
+
+        // Act
+        long inicio = System.nanoTime();
+        String resultado = warmupService.aquecer(null);
+        long decorrido = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        // Assert
+        assertEquals(WarmupService.ORCAMENTO_ESGOTADO, resultado);
+        assertTrue(decorrido < 5_000, "Deveria respeitar o orçamento, levou " + decorrido + " ms");
+        assertTrue(interrompido.await(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.find("warmup.duration")
+                .tag("resultado", WarmupService.ORCAMENTO_ESGOTADO).timer().count());
+    }
+
+    @Test
+    void aquecer_FalhaNoBanco_DeveLiberarAInstanciaAssimMesmo() throws Exception {
+        // Arrange
+        when(dataSource.getConnection()).thenThrow(new SQLException("banco fora"));
+
+        // Act
+        String resultado = warmupService.aquecer(null);
+
+        // Assert
+        assertEquals(WarmupService.FALHA, resultado);
+        verifyNoInteractions(columnarCatalog);
+    }
+
+    @Test
+    void aoIniciar_DeveRodarDepoisDasCargasDeIndice() throws Exception {
+        // Arrange
+        int aquecimento = ordem(WarmupService.class.getMethod("aoIniciar", ApplicationReadyEvent.class));
+
+        // Act & Assert
+        assertTrue(ordem(StartupIndexLoader.class.getMethod("aoIniciar")) < aquecimento);
+    }
+
+    @Test
+    void carregarIndices_DeveCarregarOsTresIndicesERegistrar() {
+        // Arrange
+        StartupIndexLoader loader = new StartupIndexLoader(properties, columnarCatalog, modelSearchIndex,
+                facetService, registry);
+
+        // Act
+        String resultado = loader.carregar();
+
+        // Assert
+        assertEquals(WarmupService.CONCLUIDO, resultado);
+        verify(columnarCatalog).iniciar();
+        verify(modelSearchIndex).carregar();
+        verify(facetService).reconciliar();
+        assertEquals(1, registry.find("startup.indexes.duration")
+                .tag("resultado", WarmupService.CONCLUIDO).timer().count());
+    }
+
+    @Test
+    void carregarIndices_LimiteEsgotado_DeveSeguirComACargaEmSegundoPlano() throws Exception {
+        // Arrange: reconciliação presa até o fim do teste
+        properties.setOrcamentoIndices(Duration.ofMillis(200));
+        CountDownLatch liberar = new CountDownLatch(1);
+        CountDownLatch terminou = new CountDownLatch(1);
+        doAnswer(invocacao -> {
+            liberar.await();
+            terminou.countDown();
+            return null;
+        }).when(facetService).reconciliar();
+        StartupIndexLoader loader = new StartupIndexLoader(properties, columnarCatalog, modelSearchIndex,
+                facetService, registry);
+
+        // Act
+        long inicio = System.nanoTime();
+        String resultado = loader.carregar();
+        long decorrido = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+        liberar.countDown();
+
+        // Assert: não interrompe a carga, só deixa de esperar por ela
+        assertEquals(WarmupService.ORCAMENTO_ESGOTADO, resultado);
+        assertTrue(decorrido < 5_000, "Deveria respeitar o limite, levou " + decorrido + " ms");
+        assertTrue(terminou.await(5, TimeUnit.SECONDS));
+        assertEquals(1, registry.find("startup.indexes.duration")
+                .tag("resultado", WarmupService.ORCAMENTO_ESGOTADO).timer().count());
+    }
+
+    @Test
+    void carregarIndices_FalhaNaCarga_DeveInterromperAPartida() {
+        // Arrange
+        doThrow(new IllegalStateException("banco fora")).when(modelSearchIndex).carregar();
+        StartupIndexLoader loader = new StartupIndexLoader(properties, columnarCatalog, modelSearchIndex,
+                facetService, registry);
+
+        // Act & Assert
+        IllegalStateException erro = assertThrows(IllegalStateException.class, loader::carregar);
+        assertEquals("banco fora", erro.getCause().getMessage());
+        assertEquals(1, registry.find("startup.indexes.duration")
+                .tag("resultado", WarmupService.FALHA).timer().count());
+    }
+
+    @Test
+    void readiness_DeveResponder503AteAceitarTrafego() throws Exception {
+        // Arrange
+        ReadinessFilter filter = new ReadinessFilter(availability);
+        when(availability.getReadinessState())
+                .thenReturn(ReadinessState.REFUSING_TRAFFIC, ReadinessState.ACCEPTING_TRAFFIC);
+
+        // Act
+        MockHttpServletResponse antes = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", ReadinessFilter.CAMINHO), antes, new MockFilterChain());
+        MockHttpServletResponse depois = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", ReadinessFilter.CAMINHO), depois, new MockFilterChain());
+
+        // Assert
+        assertEquals(503, antes.getStatus());
+        assertEquals("{\"status\":\"OUT_OF_SERVICE\"}", antes.getContentAsString());
+        assertEquals(200, depois.getStatus());
+        assertEquals("{\"status\":\"UP\"}", depois.getContentAsString());
+    }
+
+    /**
+     * Mesma regra do Spring para ordenar listeners: sem @Order, LOWEST_PRECEDENCE
+     */
+    private static int ordem(Method listener) {
+        Integer ordem = OrderUtils.getOrder(listener);
+        return ordem != null ? ordem : Ordered.LOWEST_PRECEDENCE;
+    }
+}
@@ -0,0 +1,74 @@
+#!/bin/bash
+# Benchmark de partida: compara, para cada serviço, a imagem com o jar
+# executável comum (estágio "jar" do Dockerfile) com a imagem padrão
+# (AOT do Spring + arquivo CDS do treino).
+#
+# Mede, em RODADAS execuções de cada variante:
+#   - tempo até a primeira requisição respondida (qualquer status HTTP),
+#     contado a partir do docker run
+#   - RSS do processo java logo após essa resposta
+#
+# Uso: ./startup-benchmark.sh [serviço...]   (padrão: os três)
+#      RODADAS=5 ./startup-benchmark.sh commerce-service
+set -e
+
+RODADAS=${RODADAS:-3}
+services=("$@")
+if [ ${#services[@]} -eq 0 ]; then
+  services=("auth-service" "commerce-service" "ui-service")
+fi
+
+declare -A porta=(["auth-service"]=8082 ["commerce-service"]=8081 ["ui-service"]=8080)
+declare -A ambiente=(
+  ["auth-service"]="-e SPRING_DATASOURCE_URL=jdbc:mysql://mysql:3306/commercedb -e SPRING_DATASOURCE_USERNAME=root -e SPRING_DATASOURCE_PASSWORD=root"
+  ["commerce-service"]="-e SPRING_DATASOURCE_URL=jdbc:mysql://mysql:3306/commercedb -e SPRING_DATASOURCE_USERNAME=root -e SPRING_DATASOURCE_PASSWORD=root -e AUTH_SERVICE_URL=http://auth-service:8082"
+  ["ui-service"]="-e SECURITY_USER_NAME=admin -e SECURITY_USER_PASSWORD=admin"
+)
+
+echo "🐬 Subindo o MySQL..."
+docker compose up -d --wait mysql
+rede=$(docker inspect -f '{{range $nome, $_ := .NetworkSettings.Networks}}{{$nome}}{{end}}' "$(docker compose ps -q mysql)")
+
+agora_ms() {
+  echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Imprime "<ms até a primeira resposta> <RSS em KB>"
+medir() {
+  local imagem=$1 service=$2
+  local p=${porta[$service]}
+  local inicio fim rss
+  inicio=$(agora_ms)
+  docker run -d --rm --name "bench-$service" --network "$rede" -p "$p:$p" \
+    -e SPRING_PROFILES_ACTIVE=prod ${ambiente[$service]} "$imagem" > /dev/null
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$p/")" != "000" ]; do
+    sleep 0.05
+  done
+  fim=$(agora_ms)
+  rss=$(docker exec "bench-$service" sh -c "grep VmRSS /proc/1/status" | awk '{print $2}')
+  docker stop "bench-$service" > /dev/null
+  echo "$((fim - inicio)) $rss"
+}
+
+resultados=()
+for service in "${services[@]}"; do
+  echo "🔧 Construindo $service (jar e aot-cds)..."
+  DOCKER_BUILDKIT=1 docker build -q --target jar -t "$service:jar" "$service" > /dev/null
+  DOCKER_BUILDKIT=1 docker build -q -t "$service:aot-cds" "$service" > /dev/null
+
+  for variante in jar aot-cds; do
+    soma_ms=0
+    soma_rss=0
+    for ((i = 1; i <= RODADAS; i++)); do
+      read -r ms rss < <(medir "$service:$variante" "$service")
+      echo "   $service:$variante rodada $i: ${ms} ms, RSS $((rss / 1024)) MB"
+      soma_ms=$((soma_ms + ms))
+      soma_rss=$((soma_rss + rss))
+    done
+    resultados+=("$(printf '%-18s %-8s %10d %10d' "$service" "$variante" $((soma_ms / RODADAS)) $((soma_rss / RODADAS / 1024)))")
+  done
+done
+
+echo
+printf '%-18s %-8s %10s %10s\n' "serviço" "imagem" "1ª req ms" "RSS MB"
+printf '%s\n' "${resultados[@]}"
@@ -1,19 +1,37 @@
 package com.example.ui.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
 
 @Configuration
 public class WebClientConfig {
 
+    private static final String SMILE = "application/x-jackson-smile";
+    private static final String CBOR = "application/cbor";
+
     @Value("${service.auth.url}")
     private String authServiceUrl;
 
     @Value("${service.commerce.url}")
     private String commerceServiceUrl;
 
+    /**
+     * Formato pedido ao commerce-service (smile, cbor ou json)
+     */
+    @Value("${service.commerce.format:json}")
+    private String commerceFormat;
+
     @Bean
     public WebClient authWebClient() {
         return WebClient.builder()
@@ -23,8 +41,31 @@ public class WebClientConfig {
 
     @Bean
     public WebClient commerceWebClient() {
+        ObjectMapper smileMapper = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
         return WebClient.builder()
                 .baseUrl(commerceServiceUrl)
+                .codecs(codecs -> {
+                    codecs.customCodecs().register(new Jackson2SmileDecoder(smileMapper));
+                    codecs.customCodecs().register(new Jackson2SmileEncoder(smileMapper));
+                    codecs.customCodecs().register(new Jackson2CborDecoder(cborMapper));
+                    codecs.customCodecs().register(new Jackson2CborEncoder(cborMapper));
+                    // Catálogo completo passa do limite padrão de 256 KB em JSON
+                    codecs.defaultCodecs().maxInMemorySize(16 * 1024 * 1024);
+                })
+                .defaultHeader(HttpHeaders.ACCEPT, accept(commerceFormat))
                 .build();
     }
-} 
\ No newline at end of file
+
+    /**
+     * Formato binário preferido, com JSON como alternativa para versões do
+     * commerce-service sem suporte
+     */
+    static String accept(String format) {
+        return switch (format.toLowerCase()) {
+            case "smile" -> SMILE + ", application/json;q=0.9";
+            case "cbor" -> CBOR + ", application/json;q=0.9";
+            default -> "application/json";
+        };
+    }
+}